@@ -0,0 +1,123 @@
+package com.opensearch.nlquery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.config.AppConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared inputs for the benchmarks: the query corpus, a config that needs no
+ * environment, and synthetic search responses
+ */
+public final class BenchmarkFixtures {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Realistic natural language queries, one per line in queries.txt
+     */
+    public static String[] queryCorpus() {
+        List<String> queries = new ArrayList<>();
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/queries.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    queries.add(line.trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return queries.toArray(new String[0]);
+    }
+
+    /**
+     * Config equivalent to application.conf defaults, pointed at an unused local endpoint
+     */
+    public static AppConfig config() {
+        AppConfig config = new AppConfig();
+        config.setOpensearchEndpoint("http://localhost:9200");
+        config.setRegion("us-east-1");
+        config.setDefaultIndex("documents");
+        config.setMaxResults(10);
+        config.setConnectionTimeout(5000);
+        config.setSocketTimeout(10000);
+        config.setOpensearchMaxConnections(100);
+        config.setOpensearchMaxConnectionsPerRoute(100);
+        config.setPipelineTimeoutMs(60000);
+        config.setConversionCacheEnabled(true);
+        config.setConversionCacheMaxEntries(10000);
+        config.setConversionCacheMaxBytes(64L * 1024 * 1024);
+        config.setConversionCacheTtlSeconds(3600);
+        config.setSearchFastPathEnabled(true);
+        config.setDslOptimizerEnabled(true);
+        config.setDslTrackTotalHits(1000);
+        config.setDslTimeout("");
+        config.setDslValidationEnabled(true);
+        config.setDslValidationCorrectiveRetry(true);
+        return config;
+    }
+
+    /**
+     * A _search response body with {@code hitCount} hits, each carrying a
+     * source of roughly {@code bodyChars} characters of text plus metadata fields
+     */
+    public static byte[] searchResponse(int hitCount, int bodyChars) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("took", 12);
+        response.put("timed_out", false);
+        ObjectNode shards = response.putObject("_shards");
+        shards.put("total", 5);
+        shards.put("successful", 5);
+        shards.put("skipped", 0);
+        shards.put("failed", 0);
+
+        ObjectNode hits = response.putObject("hits");
+        ObjectNode total = hits.putObject("total");
+        total.put("value", hitCount);
+        total.put("relation", "eq");
+        hits.put("max_score", 12.5);
+
+        StringBuilder body = new StringBuilder(bodyChars);
+        while (body.length() < bodyChars) {
+            body.append("Customer churn decreased after the onboarding changes were rolled out. ");
+        }
+        body.setLength(bodyChars);
+
+        ArrayNode hitArray = hits.putArray("hits");
+        for (int i = 0; i < hitCount; i++) {
+            ObjectNode hit = hitArray.addObject();
+            hit.put("_index", "documents");
+            hit.put("_id", "doc-" + i);
+            hit.put("_score", 12.5 - i * 0.001);
+            ObjectNode source = hit.putObject("_source");
+            source.put("title", "Quarterly churn report " + i);
+            source.put("status", i % 3 == 0 ? "published" : "draft");
+            source.put("created_at", "2024-03-" + (10 + i % 18) + "T10:15:30Z");
+            source.put("views", 1000 + i);
+            source.putArray("tags").add("churn").add("retention").add("q" + (1 + i % 4));
+            ObjectNode author = source.putObject("author");
+            author.put("name", "Analyst " + (i % 17));
+            author.put("team", "growth");
+            source.put("body", body.toString());
+        }
+
+        try {
+            return MAPPER.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.opensearch.nlquery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.converter.QueryConverter;
+import com.opensearch.nlquery.service.NaturalLanguageQueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NaturalLanguageQueryService#convertToDSL(String)} around a stub LLM
+ * converter, so only the service overhead (cache, normalization, parsing the
+ * model's completion) is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionServiceBenchmark {
+
+    /**
+     * A typical completion returned by the model for a filtered query
+     */
+    private static final String STUB_COMPLETION =
+        "{\"query\":{\"bool\":{\"must\":[{\"multi_match\":{\"query\":\"overdue invoices\"," +
+        "\"fields\":[\"title^2\",\"body\"],\"operator\":\"and\"}}],\"filter\":[{\"term\":" +
+        "{\"status\":\"overdue\"}},{\"range\":{\"amount\":{\"gt\":500}}}]}},\"size\":10}";
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private NaturalLanguageQueryService service;
+    private String[] queries;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setup() {
+        AppConfig config = BenchmarkFixtures.config();
+        config.setConversionCacheEnabled(cacheEnabled);
+        service = new NaturalLanguageQueryService(config, new StubLlmConverter());
+        queries = BenchmarkFixtures.queryCorpus();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public ObjectNode convertToDSL(Cursor cursor) {
+        String query = queries[cursor.next];
+        cursor.next = (cursor.next + 1) % queries.length;
+        return service.convertToDSL(query);
+    }
+
+    /**
+     * Stands in for Bedrock: parses a canned completion the way the real converter does
+     */
+    private static final class StubLlmConverter implements QueryConverter {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+
+        @Override
+        public ObjectNode convert(String naturalLanguageQuery) {
+            try {
+                return (ObjectNode) objectMapper.readTree(STUB_COMPLETION);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.opensearch.nlquery.benchmark;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.converter.RuleBasedQueryConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RuleBasedQueryConverter#convert(String)} over the query corpus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleBasedConverterBenchmark {
+    private RuleBasedQueryConverter converter;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setup() {
+        converter = new RuleBasedQueryConverter();
+        queries = BenchmarkFixtures.queryCorpus();
+    }
+
+    @Benchmark
+    public ObjectNode convert() {
+        String query = queries[next];
+        next = (next + 1) % queries.length;
+        return converter.convert(query);
+    }
+}
@@ -0,0 +1,346 @@
+package com.opensearch.nlquery.loadtest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.benchmark.BenchmarkFixtures;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.converter.LLMQueryConverter;
+import com.opensearch.nlquery.converter.RuleBasedQueryConverter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import com.opensearch.nlquery.service.OpenSearchService;
+
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-loop load generator driving the real {@link LLMQueryConverter} and
+ * {@link OpenSearchService} clients against local stub servers.
+ *
+ * Requests are issued on a fixed schedule (uniform or Poisson arrivals at
+ * {@code --rate} per second) whether or not earlier ones have completed, so a
+ * slow system sees the queue build up as it would in production. Response time
+ * is measured from each request's intended start, which corrects for
+ * coordinated omission; service time, measured from the actual send, is
+ * reported alongside for comparison.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.opensearch.nlquery.loadtest.LoadTest \
+ *     --target pipeline --rate 200 --duration 60 --bedrock-latency-ms 800
+ * </pre>
+ *
+ * {@code --stubs-only} starts just the stub servers and prints their endpoints,
+ * e.g. to point {@code App --server} at them via {@code BEDROCK_ENDPOINT} and
+ * {@code OPENSEARCH_ENDPOINT}.
+ */
+public final class LoadTest {
+    private static final String INDEX = "documents";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+    private static final DecimalFormat PERCENTILE_FORMAT = new DecimalFormat("0.#");
+    private static final Set<String> CLIENT_COUNTERS = Set.of(
+        "nlquery_bedrock_retries_total", "nlquery_bedrock_throttled_total", "nlquery_bedrock_rejected_total",
+        "nlquery_hedges_total", "nlquery_adaptive_timeouts_total");
+
+    private final Map<String, String> options;
+
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(parseOptions(args)).run();
+    }
+
+    private void run() throws InterruptedException {
+        StubProfile bedrockProfile = stubProfile("bedrock", 800, 400, 429, 0);
+        StubProfile openSearchProfile = stubProfile("opensearch", 20, 10, 503, 10);
+
+        try (StubBedrockServer bedrock = new StubBedrockServer(bedrockProfile);
+             StubOpenSearchServer openSearch = new StubOpenSearchServer(openSearchProfile, INDEX)) {
+            System.out.printf("Stub Bedrock:    %s (%s)%n", bedrock.getEndpoint(), bedrockProfile);
+            System.out.printf("Stub OpenSearch: %s (%s)%n", openSearch.getEndpoint(), openSearchProfile);
+            if (options.containsKey("stubs-only")) {
+                Thread.currentThread().join();
+            }
+
+            AppConfig config = config(bedrock.getEndpoint(), openSearch.getEndpoint());
+            LLMQueryConverter converter = new LLMQueryConverter(config);
+            OpenSearchService openSearchService = new OpenSearchService(config);
+            try {
+                generate(operation(converter, openSearchService));
+                report(bedrock, openSearch);
+            } finally {
+                converter.close();
+                openSearchService.close();
+            }
+        }
+    }
+
+    /**
+     * The request issued for the i-th arrival, per {@code --target}
+     */
+    private LongFunction<CompletableFuture<?>> operation(LLMQueryConverter converter,
+                                                         OpenSearchService openSearchService) {
+        String[] corpus = BenchmarkFixtures.queryCorpus();
+        String target = option("target", "pipeline");
+        switch (target) {
+            case "bedrock":
+                return i -> converter.convertAsync(uniqueQuery(corpus, i));
+            case "opensearch":
+                RuleBasedQueryConverter rules = new RuleBasedQueryConverter();
+                ObjectNode[] dsl = new ObjectNode[corpus.length];
+                for (int q = 0; q < corpus.length; q++) {
+                    dsl[q] = rules.convert(corpus[q]);
+                }
+                return i -> openSearchService.searchAsync(dsl[(int) (i % dsl.length)], INDEX);
+            case "pipeline":
+                return i -> converter.convertAsync(uniqueQuery(corpus, i))
+                    .thenCompose(query -> openSearchService.searchAsync(query, INDEX));
+            default:
+                throw new IllegalArgumentException("Unknown --target " + target
+                    + " (expected bedrock, opensearch or pipeline)");
+        }
+    }
+
+    /**
+     * A corpus query made unique per request, so identical in-flight Bedrock
+     * calls are not coalesced and every arrival reaches the stub
+     */
+    private static String uniqueQuery(String[] corpus, long i) {
+        return corpus[(int) (i % corpus.length)] + " " + i;
+    }
+
+    /**
+     * Issue requests on schedule for the warmup plus measurement period, then
+     * wait for stragglers. Only requests intended to start after the warmup are
+     * recorded.
+     */
+    private void generate(LongFunction<CompletableFuture<?>> operation) throws InterruptedException {
+        double rate = Double.parseDouble(option("rate", "100"));
+        boolean poisson = "poisson".equals(option("arrival", "poisson"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmup", "10")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration", "60")));
+        int maxOutstanding = Integer.parseInt(option("max-outstanding", "10000"));
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        System.out.printf("Offering %.1f req/s (%s arrivals) for %ds after %ds warmup%n",
+            rate, poisson ? "Poisson" : "uniform",
+            TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + warmupNanos;
+        long endNanos = measureFromNanos + durationNanos;
+        double offsetNanos = 0;
+        for (long i = 0; ; i++) {
+            long intendedNanos = startNanos + (long) offsetNanos;
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            long waitNanos;
+            while ((waitNanos = intendedNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            issue(operation, i, intendedNanos, intendedNanos >= measureFromNanos, maxOutstanding);
+            offsetNanos += poisson
+                ? -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                : meanIntervalNanos;
+        }
+
+        long drainDeadline = System.nanoTime()
+            + TimeUnit.SECONDS.toNanos(Long.parseLong(option("drain", "30")));
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        double seconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("Completed %d (%.1f req/s), failed %d, dropped %d, still outstanding %d%n",
+            completed.sum(), completed.sum() / seconds, failed.sum(), dropped.sum(), outstanding.get());
+    }
+
+    private void issue(LongFunction<CompletableFuture<?>> operation, long i, long intendedNanos,
+                       boolean measured, int maxOutstanding) {
+        if (outstanding.get() >= maxOutstanding) {
+            // The system under test has fallen hopelessly behind; counted, not queued
+            if (measured) {
+                dropped.increment();
+            }
+            return;
+        }
+        outstanding.incrementAndGet();
+        long sentNanos = System.nanoTime();
+        CompletableFuture<?> request;
+        try {
+            request = operation.apply(i);
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        request.whenComplete((result, error) -> {
+            outstanding.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            long doneNanos = System.nanoTime();
+            responseTime.record(doneNanos - intendedNanos);
+            serviceTime.record(doneNanos - sentNanos);
+            if (error == null) {
+                completed.increment();
+            } else {
+                failed.increment();
+            }
+        });
+    }
+
+    private void report(StubBedrockServer bedrock, StubOpenSearchServer openSearch) {
+        System.out.println();
+        System.out.println("Response time, from intended start (corrected for coordinated omission):");
+        printPercentiles(responseTime);
+        System.out.println("Service time, from actual send:");
+        printPercentiles(serviceTime);
+        System.out.printf("Stub Bedrock: %d requests, %d injected errors%n",
+            bedrock.getRequestCount(), bedrock.getErrorCount());
+        System.out.printf("Stub OpenSearch: %d requests, %d injected errors%n",
+            openSearch.getRequestCount(), openSearch.getErrorCount());
+        printClientCounters();
+    }
+
+    /**
+     * Retries, rejections, hedges and timeouts on the client side, where any happened
+     */
+    private static void printClientCounters() {
+        for (MetricsRegistry.Metric metric : MetricsRegistry.getDefault().getMetrics()) {
+            if (CLIENT_COUNTERS.contains(metric.getName()) && metric.getValue() > 0) {
+                String[] labels = metric.getLabels();
+                StringBuilder line = new StringBuilder("  ").append(metric.getName());
+                for (int i = 0; i < labels.length; i += 2) {
+                    line.append(i == 0 ? '{' : ',').append(labels[i]).append('=').append(labels[i + 1]);
+                }
+                line.append(labels.length > 0 ? "} " : " ").append((long) metric.getValue());
+                System.out.println(line);
+            }
+        }
+    }
+
+    private static void printPercentiles(LatencyHistogram histogram) {
+        long[] values = histogram.getPercentilesNanos(PERCENTILES);
+        StringBuilder line = new StringBuilder(" ");
+        for (int p = 0; p < PERCENTILES.length; p++) {
+            String label = PERCENTILES[p] == 100 ? "max" : "p" + PERCENTILE_FORMAT.format(PERCENTILES[p]);
+            line.append(String.format(" %s=%.2fms", label, values[p] / 1e6));
+        }
+        System.out.println(line);
+    }
+
+    private StubProfile stubProfile(String prefix, long latencyMs, long jitterMs, int errorStatus, int payload) {
+        return new StubProfile(
+            Long.parseLong(option(prefix + "-latency-ms", Long.toString(latencyMs))),
+            Long.parseLong(option(prefix + "-jitter-ms", Long.toString(jitterMs))),
+            Double.parseDouble(option(prefix + "-slow-rate", "0")),
+            Long.parseLong(option(prefix + "-slow-ms", "0")),
+            Double.parseDouble(option(prefix + "-error-rate", "0")),
+            Integer.parseInt(option(prefix + "-error-status", Integer.toString(errorStatus))),
+            Integer.parseInt(option(prefix + "-payload", Integer.toString(payload))));
+    }
+
+    /**
+     * Client config pointed at the stubs, with pools sized by {@code --connections}
+     */
+    private AppConfig config(String bedrockEndpoint, String openSearchEndpoint) {
+        // The stub does not check signatures, but the signer needs some credentials
+        if (System.getenv("AWS_ACCESS_KEY_ID") == null && System.getProperty("aws.accessKeyId") == null) {
+            System.setProperty("aws.accessKeyId", "AKIDLOADTEST");
+            System.setProperty("aws.secretAccessKey", "loadtest");
+        }
+
+        int connections = Integer.parseInt(option("connections", "200"));
+        AppConfig config = BenchmarkFixtures.config();
+        config.setOpensearchEndpoint(openSearchEndpoint);
+        config.setDefaultIndex(INDEX);
+        config.setSocketTimeout(Integer.parseInt(option("socket-timeout-ms", "30000")));
+        config.setOpensearchMaxConnections(connections);
+        config.setOpensearchMaxConnectionsPerRoute(connections);
+        config.setMappingRefreshSeconds(300);
+        config.setMappingMaxTextFields(20);
+        config.setUseLLMForConversion(true);
+        config.setBedrockModelId("anthropic.claude-3-haiku-20240307-v1:0");
+        config.setBedrockRegion("us-east-1");
+        config.setBedrockEndpoint(bedrockEndpoint);
+        config.setBedrockStreaming(false);
+        config.setBedrockMaxConnections(connections);
+        config.setBedrockMaxConnectionsPerRoute(connections);
+        config.setBedrockKeepAliveMs(60000);
+        config.setBedrockIdleEvictMs(30000);
+        config.setBedrockConcurrencyInitialLimit(connections);
+        config.setBedrockConcurrencyMinLimit(1);
+        config.setBedrockConcurrencyMaxLimit(Integer.parseInt(option("bedrock-max-concurrency", String.valueOf(connections))));
+        config.setBedrockConcurrencyBackoffRatio(0.7);
+        config.setBedrockConcurrencyLatencyTolerance(2.0);
+        config.setBedrockConcurrencyMaxQueued(Integer.parseInt(option("bedrock-max-queued", "10000")));
+        config.setBedrockRetryMaxAttempts(Integer.parseInt(option("bedrock-retries", "3")));
+        config.setBedrockRetryBaseBackoffMs(100);
+        config.setBedrockRetryMaxBackoffMs(2000);
+        config.setBedrockRetryDeadlineMs(10000);
+        config.setBedrockCircuitBreakerEnabled(Boolean.parseBoolean(option("circuit-breaker", "true")));
+        config.setBedrockCircuitBreakerWindowSize(50);
+        config.setBedrockCircuitBreakerMinimumCalls(20);
+        config.setBedrockCircuitBreakerFailureRate(0.5);
+        config.setBedrockCircuitBreakerOpenMs(5000);
+        config.setBedrockCircuitBreakerHalfOpenProbes(3);
+        boolean hedging = Boolean.parseBoolean(option("hedging", "false"));
+        boolean adaptiveTimeout = Boolean.parseBoolean(option("adaptive-timeout", "false"));
+        double hedgeBudget = Double.parseDouble(option("hedge-budget-percent", "10"));
+        config.setOpensearchHedgingEnabled(hedging);
+        config.setOpensearchHedgingPercentile(95);
+        config.setOpensearchHedgingBudgetPercent(hedgeBudget);
+        config.setOpensearchAdaptiveTimeoutEnabled(adaptiveTimeout);
+        config.setOpensearchAdaptiveTimeoutMultiplier(3);
+        config.setOpensearchAdaptiveTimeoutMinMs(200);
+        config.setBedrockHedgingEnabled(hedging);
+        config.setBedrockHedgingPercentile(95);
+        config.setBedrockHedgingBudgetPercent(hedgeBudget);
+        config.setBedrockAdaptiveTimeoutEnabled(adaptiveTimeout);
+        config.setBedrockAdaptiveTimeoutMultiplier(3);
+        config.setBedrockAdaptiveTimeoutMinMs(2000);
+        config.setSearchCacheEnabled(Boolean.parseBoolean(option("search-cache", "false")));
+        config.setSearchCacheMaxEntries(10000);
+        config.setSearchCacheMaxBytes(128L * 1024 * 1024);
+        config.setSearchCacheTtlSeconds(60);
+        return config;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * {@code --name value} pairs; a flag followed by another flag is set to "true"
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(name, args[++i]);
+            } else {
+                options.put(name, "true");
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,84 @@
+package com.opensearch.nlquery.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stand-in for the Bedrock runtime {@code POST /model/{modelId}/invoke} API
+ * with a Claude messages response.
+ *
+ * The completion is a DSL query searching for the user's query text, padded to
+ * the profile's payload size so parsing cost can be scaled. Signatures are not
+ * checked. The streaming {@code invoke-with-response-stream} action is not
+ * simulated and answers 404.
+ */
+public class StubBedrockServer extends StubServer {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PROMPT_MARKER = "DSL:\n\n";
+
+    private final String padding;
+
+    public StubBedrockServer(StubProfile profile) {
+        super("bedrock", profile);
+        this.padding = " ".repeat(profile.getPayloadSize());
+    }
+
+    @Override
+    protected byte[] respond(String method, String path, byte[] body) {
+        if (!"POST".equals(method) || !path.startsWith("/model/") || !path.endsWith("/invoke")) {
+            return null;
+        }
+        try {
+            ObjectNode dsl = MAPPER.createObjectNode();
+            ObjectNode multiMatch = dsl.putObject("query").putObject("bool").putArray("must")
+                .addObject().putObject("multi_match");
+            multiMatch.put("query", userQuery(MAPPER.readTree(body)));
+            multiMatch.putArray("fields").add("title^2").add("body");
+            multiMatch.put("operator", "and");
+            dsl.put("size", 10);
+
+            ObjectNode response = MAPPER.createObjectNode();
+            response.put("id", "msg_stub");
+            response.put("type", "message");
+            response.put("role", "assistant");
+            response.putArray("content").addObject()
+                .put("type", "text")
+                .put("text", MAPPER.writeValueAsString(dsl) + padding);
+            response.put("stop_reason", "end_turn");
+            ObjectNode usage = response.putObject("usage");
+            usage.put("input_tokens", body.length / 4);
+            usage.put("output_tokens", 40 + padding.length() / 4);
+            return MAPPER.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The natural language query from the user prompt, without the prompt template
+     */
+    private static String userQuery(JsonNode request) {
+        String prompt = "";
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role").asText())) {
+                prompt = message.path("content").asText();
+            }
+        }
+        int start = prompt.indexOf(PROMPT_MARKER);
+        String query = start >= 0 ? prompt.substring(start + PROMPT_MARKER.length()) : prompt;
+        int end = query.indexOf("\n\n");
+        return (end >= 0 ? query.substring(0, end) : query).trim();
+    }
+
+    @Override
+    protected byte[] errorBody(int status) {
+        String message = status == 429 ? "ThrottlingException: Too many requests, please wait before trying again."
+            : "ServiceUnavailableException: Service is temporarily unavailable.";
+        return ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package com.opensearch.nlquery.loadtest;
+
+import com.opensearch.nlquery.benchmark.BenchmarkFixtures;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stand-in for the OpenSearch {@code POST /{index}/_search} and
+ * {@code GET /{index}/_mapping} APIs.
+ *
+ * Every search returns the same precomputed response with the profile's
+ * payload size in hits, so the stub itself does no per-request work beyond
+ * reading the body. Queries are not evaluated.
+ */
+public class StubOpenSearchServer extends StubServer {
+    private static final int HIT_BODY_CHARS = 512;
+
+    private final byte[] searchResponse;
+    private final byte[] mappingResponse;
+
+    public StubOpenSearchServer(StubProfile profile, String index) {
+        super("opensearch", profile);
+        this.searchResponse = BenchmarkFixtures.searchResponse(profile.getPayloadSize(), HIT_BODY_CHARS);
+        this.mappingResponse = ("{\"" + index + "\":{\"mappings\":{\"properties\":{"
+            + "\"title\":{\"type\":\"text\"},"
+            + "\"body\":{\"type\":\"text\"},"
+            + "\"status\":{\"type\":\"keyword\"},"
+            + "\"tags\":{\"type\":\"keyword\"},"
+            + "\"views\":{\"type\":\"long\"},"
+            + "\"created_at\":{\"type\":\"date\"},"
+            + "\"author\":{\"properties\":{\"name\":{\"type\":\"text\"},\"team\":{\"type\":\"keyword\"}}}"
+            + "}}}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected byte[] respond(String method, String path, byte[] body) {
+        if (path.endsWith("/_search") && ("POST".equals(method) || "GET".equals(method))) {
+            return searchResponse;
+        }
+        if (path.endsWith("/_mapping") && "GET".equals(method)) {
+            return mappingResponse;
+        }
+        return null;
+    }
+
+    @Override
+    protected byte[] errorBody(int status) {
+        String type = status == 429 ? "es_rejected_execution_exception" : "search_phase_execution_exception";
+        return ("{\"error\":{\"root_cause\":[{\"type\":\"" + type + "\",\"reason\":\"stub failure\"}],"
+            + "\"type\":\"" + type + "\",\"reason\":\"stub failure\"},\"status\":" + status + "}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+}
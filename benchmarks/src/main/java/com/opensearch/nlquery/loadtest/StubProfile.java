@@ -0,0 +1,70 @@
+package com.opensearch.nlquery.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How a stub server behaves: response latency, failures and payload size.
+ *
+ * Latency is {@code latencyMs} plus a uniform jitter of up to {@code jitterMs};
+ * a {@code slowRate} fraction of responses instead take {@code slowMs}, which
+ * gives the latency distribution a tail. A {@code errorRate} fraction of
+ * requests is answered with {@code errorStatus} after the same delay.
+ */
+public final class StubProfile {
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double slowRate;
+    private final long slowMs;
+    private final double errorRate;
+    private final int errorStatus;
+    private final int payloadSize;
+
+    public StubProfile(long latencyMs, long jitterMs, double slowRate, long slowMs,
+                       double errorRate, int errorStatus, int payloadSize) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.slowRate = slowRate;
+        this.slowMs = slowMs;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.payloadSize = payloadSize;
+    }
+
+    /**
+     * Delay before the next response, in nanoseconds
+     */
+    long nextDelayNanos() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (slowRate > 0 && random.nextDouble() < slowRate) {
+            return TimeUnit.MILLISECONDS.toNanos(slowMs);
+        }
+        long jitter = jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0;
+        return TimeUnit.MILLISECONDS.toNanos(latencyMs + jitter);
+    }
+
+    /**
+     * Whether the next response should fail
+     */
+    boolean nextIsError() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    int getErrorStatus() {
+        return errorStatus;
+    }
+
+    /**
+     * Hits per search response for the OpenSearch stub; characters of padding
+     * in each completion for the Bedrock stub
+     */
+    int getPayloadSize() {
+        return payloadSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("latency=%d+%dms, slow=%.1f%%@%dms, errors=%.1f%%(%d), payload=%d",
+            latencyMs, jitterMs, slowRate * 100, slowMs, errorRate * 100, errorStatus, payloadSize);
+    }
+}
@@ -0,0 +1,142 @@
+package com.opensearch.nlquery.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP server answering after a simulated delay.
+ *
+ * Requests are read on a small pool and the response is scheduled on a timer,
+ * so slow responses do not hold threads and the stub can sustain thousands of
+ * concurrent requests, as the real service would.
+ */
+abstract class StubServer implements AutoCloseable {
+    private static final String JSON = "application/json";
+
+    static {
+        // Without it, headers and body go out as separate segments and delayed
+        // ACKs add ~40 ms to every response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    protected final StubProfile profile;
+    private final HttpServer server;
+    private final ExecutorService readers;
+    private final ScheduledExecutorService responders;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    StubServer(String name, StubProfile profile) {
+        this.profile = profile;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.readers = Executors.newFixedThreadPool(4,
+            runnable -> daemon(runnable, name + "-stub-" + threadCount.incrementAndGet()));
+        this.responders = Executors.newScheduledThreadPool(2,
+            runnable -> daemon(runnable, name + "-stub-timer-" + threadCount.incrementAndGet()));
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(readers);
+        server.createContext("/", this::dispatch);
+        server.start();
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Base URL, e.g. {@code http://127.0.0.1:40123}
+     */
+    String getEndpoint() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    long getRequestCount() {
+        return requests.sum();
+    }
+
+    long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Response body for a request the stub understands, or null to answer 404
+     */
+    protected abstract byte[] respond(String method, String path, byte[] body);
+
+    /**
+     * Body sent with the injected error status
+     */
+    protected abstract byte[] errorBody(int status);
+
+    private void dispatch(HttpExchange exchange) {
+        requests.increment();
+        byte[] requestBody;
+        try (InputStream in = exchange.getRequestBody()) {
+            requestBody = in.readAllBytes();
+        } catch (IOException e) {
+            exchange.close();
+            return;
+        }
+
+        int status;
+        byte[] responseBody;
+        if (profile.nextIsError()) {
+            errors.increment();
+            status = profile.getErrorStatus();
+            responseBody = errorBody(status);
+        } else {
+            responseBody = respond(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), requestBody);
+            status = responseBody != null ? 200 : 404;
+            if (responseBody == null) {
+                responseBody = "{\"message\":\"Not found\"}".getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        int responseStatus = status;
+        byte[] response = responseBody;
+        responders.schedule(() -> send(exchange, responseStatus, response),
+            profile.nextDelayNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // Client gave up (timeout or cancellation); nothing to do
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responders.shutdownNow();
+        readers.shutdownNow();
+    }
+}
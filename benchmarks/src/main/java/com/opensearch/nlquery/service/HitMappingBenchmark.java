@@ -0,0 +1,115 @@
+package com.opensearch.nlquery.service;
+
+import com.opensearch.nlquery.benchmark.BenchmarkFixtures;
+import com.opensearch.nlquery.model.RawJson;
+import com.opensearch.nlquery.model.SearchResult;
+import jakarta.json.stream.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.core.SearchResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit to {@link SearchResult} mapping for large responses: the client's
+ * response decoding plus {@link OpenSearchService#toSearchResults}, the same
+ * followed by reading one field per hit, and the mapping step on its own,
+ * against the fast path's {@link SearchResponseReader} with new and reused
+ * result objects
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitMappingBenchmark {
+
+    @Param({"100", "1000"})
+    public int hits;
+
+    @Param({"2000"})
+    public int bodyChars;
+
+    private OpenSearchService service;
+    private JacksonJsonpMapper jsonpMapper;
+    private JsonpDeserializer<SearchResponse<RawJson>> deserializer;
+    private byte[] responseBody;
+    private SearchResponse<RawJson> decoded;
+    private List<SearchResult> reused;
+
+    @Setup
+    public void setup() {
+        service = new OpenSearchService(BenchmarkFixtures.config());
+        jsonpMapper = new JacksonJsonpMapper();
+        deserializer = SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(RawJson.class));
+        responseBody = BenchmarkFixtures.searchResponse(hits, bodyChars);
+        decoded = decode();
+        reused = new ArrayList<>();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public List<SearchResult> decodeAndMap() {
+        return service.toSearchResults(decode());
+    }
+
+    /**
+     * Decode the response and read one small field per hit, the way results are displayed
+     */
+    @Benchmark
+    public void decodeAndReadTitle(Blackhole blackhole) {
+        for (SearchResult result : service.toSearchResults(decode())) {
+            blackhole.consume(result.getSourceField("title"));
+        }
+    }
+
+    @Benchmark
+    public List<SearchResult> mapOnly() {
+        return service.toSearchResults(decoded);
+    }
+
+    @Benchmark
+    public List<SearchResult> streamRead() throws IOException {
+        return SearchResponseReader.read(responseBody);
+    }
+
+    @Benchmark
+    public List<SearchResult> streamReadReuse() throws IOException {
+        return SearchResponseReader.read(responseBody, reused);
+    }
+
+    @Benchmark
+    public void streamReadAndReadTitle(Blackhole blackhole) throws IOException {
+        for (SearchResult result : SearchResponseReader.read(responseBody)) {
+            blackhole.consume(result.getSourceField("title"));
+        }
+    }
+
+    private SearchResponse<RawJson> decode() {
+        try (JsonParser parser = jsonpMapper.jsonProvider().createParser(new ByteArrayInputStream(responseBody))) {
+            return deserializer.deserialize(parser, jsonpMapper);
+        }
+    }
+}
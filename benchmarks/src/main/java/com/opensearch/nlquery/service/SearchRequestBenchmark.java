@@ -0,0 +1,72 @@
+package com.opensearch.nlquery.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opensearch.nlquery.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.opensearch.core.SearchRequest;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DSL to {@link SearchRequest} translation performed inside
+ * {@link OpenSearchService#search}, and the raw request body the fast path
+ * writes instead. Lives in the service package to reach the package-private
+ * builders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchRequestBenchmark {
+
+    @Param({"match", "bool_filters"})
+    public String shape;
+
+    private OpenSearchService service;
+    private JsonNode dsl;
+
+    @Setup
+    public void setup() throws IOException {
+        service = new OpenSearchService(BenchmarkFixtures.config());
+        String json;
+        if ("match".equals(shape)) {
+            json = "{\"query\":{\"match\":{\"title\":{\"query\":\"customer churn\",\"operator\":\"and\"}}},\"size\":10}";
+        } else {
+            json = "{\"query\":{\"bool\":{\"must\":[{\"multi_match\":{\"query\":\"overdue invoices\"," +
+                "\"fields\":[\"title^2\",\"body\"]}}],\"filter\":[{\"term\":{\"status\":\"overdue\"}}," +
+                "{\"range\":{\"amount\":{\"gt\":500}}},{\"range\":{\"created_at\":{\"gte\":\"2023-01-01\"," +
+                "\"lte\":\"2023-12-31\"}}}],\"must_not\":[{\"term\":{\"archived\":true}}]}},\"size\":10,\"from\":0}";
+        }
+        dsl = new ObjectMapper().readTree(json);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public SearchRequest buildSearchRequest() throws IOException {
+        return service.buildSearchRequest(dsl, "documents");
+    }
+
+    @Benchmark
+    public byte[] buildSearchBody() throws IOException {
+        return service.buildSearchBody(dsl);
+    }
+}
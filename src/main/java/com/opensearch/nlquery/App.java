@@ -1,21 +1,50 @@
 package com.opensearch.nlquery;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.aws.SigV4Signer;
+import com.opensearch.nlquery.batch.BatchQueryRunner;
 import com.opensearch.nlquery.config.ConfigLoader;
 import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.metrics.JmxExporter;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import com.opensearch.nlquery.metrics.PrometheusExporter;
+import com.opensearch.nlquery.server.QueryServer;
+import com.opensearch.nlquery.service.FanOutSearchService;
 import com.opensearch.nlquery.service.NaturalLanguageQueryService;
 import com.opensearch.nlquery.service.OpenSearchService;
+import com.opensearch.nlquery.service.QueryPipeline;
+import com.opensearch.nlquery.service.SearchTarget;
+import com.opensearch.nlquery.model.QueryResult;
 import com.opensearch.nlquery.model.SearchResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
  * Main application entry point for OpenSearch Natural Language Query POC
  */
 public class App {
     private static final Logger logger = LoggerFactory.getLogger(App.class);
+    private static final ObjectWriter DSL_PRINTER = new ObjectMapper().writerWithDefaultPrettyPrinter();
 
     public static void main(String[] args) {
         logger.info("Starting OpenSearch Natural Language Query POC");
@@ -25,19 +54,68 @@ public class App {
             AppConfig config = ConfigLoader.load();
             logger.info("Configuration loaded successfully");
             
-            // Initialize services
-            NaturalLanguageQueryService nlQueryService = new NaturalLanguageQueryService(config);
-            OpenSearchService openSearchService = new OpenSearchService(config);
+            // Metrics exporters; the services record into the default registry
+            MetricsRegistry metrics = MetricsRegistry.getDefault();
+            JmxExporter jmxExporter = config.isMetricsJmxEnabled() ? new JmxExporter(metrics) : null;
+            PrometheusExporter prometheusExporter = config.getMetricsPrometheusPort() > 0
+                ? new PrometheusExporter(metrics, config.getMetricsPrometheusPort()) : null;
             
-            // Interactive mode or command line mode
-            if (args.length > 0) {
-                // Command line mode: single query
-                String query = String.join(" ", args);
-                logger.info("Processing query: {}", query);
-                processQuery(nlQueryService, openSearchService, query, config);
-            } else {
-                // Interactive mode
-                runInteractiveMode(nlQueryService, openSearchService, config);
+            // Initialize services; Bedrock and OpenSearch share one signer and credentials cache
+            SigV4Signer signer = config.isUseLLMForConversion() || config.isOpensearchSigningEnabled()
+                ? SigV4Signer.create() : null;
+            OpenSearchService openSearchService = new OpenSearchService(config, signer);
+            NaturalLanguageQueryService nlQueryService =
+                new NaturalLanguageQueryService(config, openSearchService.getMappingCache(), signer);
+            // Fan-out targets, when configured, replace the default index for pipeline searches
+            FanOutSearchService fanOutSearchService = SearchTarget.parseList(config.getFanOutTargets()).isEmpty()
+                ? null : new FanOutSearchService(config, openSearchService, signer);
+            QueryPipeline pipeline = new QueryPipeline(nlQueryService, openSearchService, fanOutSearchService, config);
+            
+            // Run once, by the shutdown hook in server mode or when main returns
+            AtomicBoolean closed = new AtomicBoolean();
+            Runnable closeAll = () -> {
+                if (!closed.compareAndSet(false, true)) {
+                    return;
+                }
+                nlQueryService.close();
+                if (fanOutSearchService != null) {
+                    fanOutSearchService.close();
+                }
+                openSearchService.close();
+                if (signer != null) {
+                    signer.close();
+                }
+                if (prometheusExporter != null) {
+                    prometheusExporter.close();
+                }
+                if (jmxExporter != null) {
+                    jmxExporter.close();
+                }
+            };
+            
+            try {
+                // Server, batch, command line or interactive mode
+                if (args.length > 0 && "--server".equals(args[0])) {
+                    runServerMode(nlQueryService, pipeline, config, closeAll);
+                } else if (args.length > 0 && "--batch".equals(args[0])) {
+                    // Batch mode: newline-delimited queries from a file or stdin ("-")
+                    String input = args.length > 1 ? args[1] : "-";
+                    runBatchMode(nlQueryService, openSearchService, input, config);
+                } else if (args.length > 1 && "--export".equals(args[0])) {
+                    // Export mode: every hit of one query as NDJSON
+                    String query = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
+                    runExportMode(nlQueryService, openSearchService, query, config);
+                } else if (args.length > 0) {
+                    // Command line mode: single query
+                    String query = String.join(" ", args);
+                    logger.info("Processing query: {}", query);
+                    processQuery(pipeline, query, config);
+                } else {
+                    // Interactive mode
+                    runInteractiveMode(pipeline, config);
+                }
+            } finally {
+                closeAll.run();
             }
             
         } catch (Exception e) {
@@ -46,10 +124,69 @@ public class App {
         }
     }
     
-    private static void runInteractiveMode(
+    /**
+     * Serve until the JVM is asked to stop (SIGTERM / Ctrl-C), then drain
+     * in-flight requests and release the services before exiting
+     */
+    private static void runServerMode(
+            NaturalLanguageQueryService nlQueryService,
+            QueryPipeline pipeline,
+            AppConfig config,
+            Runnable closeAll) throws InterruptedException {
+        
+        QueryServer server = new QueryServer(nlQueryService, pipeline, config);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            closeAll.run();
+            stopped.countDown();
+        }, "server-shutdown"));
+        stopped.await();
+    }
+    
+    private static void runBatchMode(
+            NaturalLanguageQueryService nlQueryService,
+            OpenSearchService openSearchService,
+            String input,
+            AppConfig config) throws IOException, InterruptedException {
+        
+        logger.info("Running batch mode from: {}", "-".equals(input) ? "stdin" : input);
+        BatchQueryRunner runner = new BatchQueryRunner(nlQueryService, openSearchService, config);
+        
+        Reader source = "-".equals(input)
+            ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+            : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+        
+        try (BufferedReader reader = new BufferedReader(source);
+             Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            runner.run(reader, output, config.getDefaultIndex());
+        }
+    }
+    
+    private static void runExportMode(
             NaturalLanguageQueryService nlQueryService,
             OpenSearchService openSearchService,
-            AppConfig config) {
+            String naturalLanguageQuery,
+            AppConfig config) throws IOException {
+        
+        logger.info("Exporting all hits for query: {}", naturalLanguageQuery);
+        ObjectNode dslQuery = nlQueryService.convertToDSL(naturalLanguageQuery);
+        ObjectWriter lineWriter = new ObjectMapper().writer();
+        long count = 0;
+        
+        try (Stream<SearchResult> hits = openSearchService.searchStream(dslQuery, config.getDefaultIndex());
+             Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            Iterator<SearchResult> iterator = hits.iterator();
+            while (iterator.hasNext()) {
+                output.write(lineWriter.writeValueAsString(iterator.next()));
+                output.write('\n');
+                count++;
+            }
+        }
+        logger.info("Exported {} hits", count);
+    }
+    
+    private static void runInteractiveMode(QueryPipeline pipeline, AppConfig config) {
         
         logger.info("=== OpenSearch Natural Language Query POC ===");
         logger.info("Enter natural language queries (type 'exit' to quit)");
@@ -71,7 +208,7 @@ public class App {
             }
             
             try {
-                processQuery(nlQueryService, openSearchService, query, config);
+                processQuery(pipeline, query, config);
             } catch (Exception e) {
                 logger.error("Error processing query: {}", e.getMessage(), e);
             }
@@ -81,27 +218,33 @@ public class App {
         scanner.close();
     }
     
-    private static void processQuery(
-            NaturalLanguageQueryService nlQueryService,
-            OpenSearchService openSearchService,
-            String naturalLanguageQuery,
-            AppConfig config) {
+    private static void processQuery(QueryPipeline pipeline, String naturalLanguageQuery, AppConfig config) {
         
         try {
-            // Step 1: Convert natural language to OpenSearch DSL
+            // Steps 1 and 2: convert natural language to OpenSearch DSL and execute it against OpenSearch
             logger.info("[1/3] Converting natural language to OpenSearch DSL...");
             logger.debug("Natural language query: {}", naturalLanguageQuery);
-            String dslQuery = nlQueryService.convertToDSL(naturalLanguageQuery);
-            logger.info("Generated DSL Query: {}", dslQuery);
-            
-            // Step 2: Execute query against OpenSearch
             logger.info("[2/3] Executing query against AWS OpenSearch...");
-            logger.debug("Executing query on index: {}", config.getDefaultIndex());
-            List<SearchResult> results = openSearchService.search(dslQuery, config.getDefaultIndex());
+            QueryResult queryResult;
+            if (pipeline.isFanOutEnabled()) {
+                logger.debug("Executing query on targets: {}", pipeline.getFanOutTargets());
+                queryResult = pipeline.executeFanOut(naturalLanguageQuery);
+            } else {
+                logger.debug("Executing query on index: {}", config.getDefaultIndex());
+                queryResult = pipeline.execute(naturalLanguageQuery, config.getDefaultIndex());
+            }
+            if (logger.isInfoEnabled()) {
+                // Pretty-print only for display
+                logger.info("Generated DSL Query: {}", DSL_PRINTER.writeValueAsString(queryResult.getDslQuery()));
+            }
+            List<SearchResult> results = queryResult.getResults();
             
             // Step 3: Log results
             logger.info("[3/3] Search Results:");
             logger.info("Total hits: {}", results.size());
+            if (queryResult.isPartial()) {
+                logger.warn("Partial results; missing targets: {}", queryResult.getFailedTargets());
+            }
             
             if (results.isEmpty()) {
                 logger.info("No results found.");
@@ -123,4 +266,3 @@ public class App {
         }
     }
 }
-
@@ -0,0 +1,184 @@
+package com.opensearch.nlquery.aws;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Incremental decoder for the AWS event stream framing used by streaming
+ * responses such as Bedrock invoke-with-response-stream.
+ *
+ * Bytes are fed as they arrive from the network; each complete message is
+ * checksummed and handed to the handler, partial messages are kept until the
+ * rest of their bytes arrive.
+ */
+public class EventStreamDecoder {
+    private static final int PRELUDE_LENGTH = 12;
+    private static final int CRC_LENGTH = 4;
+    private static final int MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+
+    private final MessageHandler handler;
+    private byte[] buffer = new byte[8192];
+    private int length;
+
+    public EventStreamDecoder(MessageHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Feed the next chunk of the response body
+     */
+    public void feed(ByteBuffer data) throws IOException {
+        int count = data.remaining();
+        if (length + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+        }
+        data.get(buffer, length, count);
+        length += count;
+
+        int offset = 0;
+        while (length - offset >= PRELUDE_LENGTH) {
+            int totalLength = readInt(offset);
+            int headersLength = readInt(offset + 4);
+            if (crc(offset, 8) != readInt(offset + 8)) {
+                throw new IOException("Event stream prelude checksum mismatch");
+            }
+            if (totalLength > MAX_MESSAGE_LENGTH || headersLength < 0
+                    || totalLength < PRELUDE_LENGTH + headersLength + CRC_LENGTH) {
+                throw new IOException("Invalid event stream message length: " + totalLength);
+            }
+            if (length - offset < totalLength) {
+                break;
+            }
+            decode(offset, totalLength, headersLength);
+            offset += totalLength;
+        }
+
+        if (offset > 0) {
+            System.arraycopy(buffer, offset, buffer, 0, length - offset);
+            length -= offset;
+        }
+    }
+
+    /**
+     * True when bytes of an incomplete message are still buffered
+     */
+    public boolean hasPartialMessage() {
+        return length > 0;
+    }
+
+    private void decode(int offset, int totalLength, int headersLength) throws IOException {
+        int crcOffset = offset + totalLength - CRC_LENGTH;
+        if (crc(offset, totalLength - CRC_LENGTH) != readInt(crcOffset)) {
+            throw new IOException("Event stream message checksum mismatch");
+        }
+
+        int payloadOffset = offset + PRELUDE_LENGTH + headersLength;
+        Map<String, String> headers = decodeHeaders(offset + PRELUDE_LENGTH, payloadOffset);
+        byte[] payload = Arrays.copyOfRange(buffer, payloadOffset, crcOffset);
+        handler.onMessage(new Message(headers, payload));
+    }
+
+    /**
+     * Decode the header block, keeping string-valued headers (the only type
+     * the service sets) and skipping the rest
+     */
+    private Map<String, String> decodeHeaders(int position, int end) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        while (position < end) {
+            int nameLength = buffer[position++] & 0xFF;
+            String name = new String(buffer, position, nameLength, StandardCharsets.UTF_8);
+            position += nameLength;
+            int type = buffer[position++];
+            switch (type) {
+                case 0: // true
+                case 1: // false
+                    break;
+                case 2: // byte
+                    position += 1;
+                    break;
+                case 3: // short
+                    position += 2;
+                    break;
+                case 4: // int
+                    position += 4;
+                    break;
+                case 5: // long
+                case 8: // timestamp
+                    position += 8;
+                    break;
+                case 6: // bytes
+                case 7: { // string
+                    int valueLength = ((buffer[position] & 0xFF) << 8) | (buffer[position + 1] & 0xFF);
+                    position += 2;
+                    if (type == 7) {
+                        headers.put(name, new String(buffer, position, valueLength, StandardCharsets.UTF_8));
+                    }
+                    position += valueLength;
+                    break;
+                }
+                case 9: // uuid
+                    position += 16;
+                    break;
+                default:
+                    throw new IOException("Unknown event stream header type: " + type);
+            }
+        }
+        if (position != end) {
+            throw new IOException("Malformed event stream headers");
+        }
+        return headers;
+    }
+
+    private int readInt(int offset) {
+        return ((buffer[offset] & 0xFF) << 24)
+            | ((buffer[offset + 1] & 0xFF) << 16)
+            | ((buffer[offset + 2] & 0xFF) << 8)
+            | (buffer[offset + 3] & 0xFF);
+    }
+
+    private int crc(int offset, int count) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer, offset, count);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Receives decoded messages; throwing aborts the stream
+     */
+    public interface MessageHandler {
+        void onMessage(Message message) throws IOException;
+    }
+
+    /**
+     * A decoded event stream message
+     */
+    public static final class Message {
+        private final Map<String, String> headers;
+        private final byte[] payload;
+
+        Message(Map<String, String> headers, byte[] payload) {
+            this.headers = headers;
+            this.payload = payload;
+        }
+
+        public String getHeader(String name) {
+            return headers.get(name);
+        }
+
+        /**
+         * Value of the {@code :message-type} header: event, exception or error
+         */
+        public String getMessageType() {
+            return headers.get(":message-type");
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.opensearch.nlquery.aws;
+
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * Signs every request of the OpenSearch low-level REST client with SigV4.
+ *
+ * Added last to the client's interceptor chain, so it sees the final path and
+ * Host. Bodies are hashed by streaming them through the digest rather than
+ * copying them, or not hashed at all in unsigned-payload mode.
+ */
+public class SigV4RequestInterceptor implements HttpRequestInterceptor {
+    private final SigV4Signer signer;
+    private final String region;
+    private final String service;
+    private final boolean unsignedPayload;
+    private final LatencyHistogram signLatency;
+
+    /**
+     * @param service         {@code es} for managed domains, {@code aoss} for serverless collections
+     * @param unsignedPayload send {@code UNSIGNED-PAYLOAD} instead of hashing bodies
+     */
+    public SigV4RequestInterceptor(SigV4Signer signer, String region, String service,
+                                   boolean unsignedPayload, LatencyHistogram signLatency) {
+        this.signer = signer;
+        this.region = region;
+        this.service = service;
+        this.unsignedPayload = unsignedPayload;
+        this.signLatency = signLatency;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) throws IOException {
+        long startNanos = System.nanoTime();
+        URI uri = URI.create(request.getRequestLine().getUri());
+
+        Header hostHeader = request.getFirstHeader("Host");
+        String host;
+        if (hostHeader != null) {
+            host = hostHeader.getValue();
+        } else {
+            HttpHost target = (HttpHost) context.getAttribute(HttpCoreContext.HTTP_TARGET_HOST);
+            host = target.toHostString();
+        }
+
+        Map<String, String> headers = signer.sign(request.getRequestLine().getMethod(), host,
+            uri.getRawPath(), uri.getRawQuery(), payloadHash(request), region, service);
+        headers.forEach(request::setHeader);
+        signLatency.recordSince(startNanos);
+    }
+
+    private String payloadHash(HttpRequest request) throws IOException {
+        if (unsignedPayload) {
+            return SigV4Signer.UNSIGNED_PAYLOAD;
+        }
+        if (!(request instanceof HttpEntityEnclosingRequest)
+                || ((HttpEntityEnclosingRequest) request).getEntity() == null) {
+            return SigV4Signer.sha256Hex(new byte[0]);
+        }
+        HttpEntityEnclosingRequest enclosing = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = enclosing.getEntity();
+        if (!entity.isRepeatable()) {
+            // Hashing consumes the content, so keep a copy to send
+            entity = new BufferedHttpEntity(entity);
+            enclosing.setEntity(entity);
+        }
+        MessageDigest digest = SigV4Signer.payloadDigest();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            entity.writeTo(out);
+        }
+        return SigV4Signer.hex(digest.digest());
+    }
+}
@@ -0,0 +1,307 @@
+package com.opensearch.nlquery.aws;
+
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AWS Signature Version 4 signer shared by the Bedrock and OpenSearch clients.
+ *
+ * The signing key derived from the secret key, date, region and service is
+ * cached, so a request costs one SHA-256 of the canonical request and one
+ * HMAC instead of the five HMACs of a full derivation. Credentials come from
+ * the SDK's default chain, which caches them and refreshes session
+ * credentials in the background ahead of their expiry, and digests and MACs
+ * are reused per thread. The caller supplies the payload hash, so a
+ * body is hashed once (or not at all with {@link #UNSIGNED_PAYLOAD}).
+ *
+ * Only {@code host}, {@code x-amz-content-sha256}, {@code x-amz-date} and, for
+ * session credentials, {@code x-amz-security-token} are signed.
+ */
+public class SigV4Signer implements AutoCloseable {
+    public static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final DateTimeFormatter AMZ_DATE =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    private static final ThreadLocal<Mac> HMAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    });
+
+    private final AwsCredentialsProvider credentialsProvider;
+    private final Map<String, SigningKey> signingKeys = new ConcurrentHashMap<>();
+    private volatile Timestamp timestamp = new Timestamp(0, "");
+
+    public SigV4Signer(AwsCredentialsProvider credentialsProvider) {
+        this.credentialsProvider = credentialsProvider;
+    }
+
+    /**
+     * Signer over the default credentials chain, refreshed asynchronously so
+     * request threads do not wait on it
+     */
+    public static SigV4Signer create() {
+        return new SigV4Signer(DefaultCredentialsProvider.builder().asyncCredentialUpdateEnabled(true).build());
+    }
+
+    /**
+     * Headers to add to the request so that it is signed for the given region
+     * and service
+     *
+     * @param rawPath     request path as sent on the wire (already percent-encoded)
+     * @param rawQuery    query string as sent on the wire, or null
+     * @param payloadHash hex SHA-256 of the body ({@link #sha256Hex(byte[])}) or
+     *                    {@link #UNSIGNED_PAYLOAD}
+     */
+    public Map<String, String> sign(String method, String host, String rawPath, String rawQuery,
+                                    String payloadHash, String region, String service) {
+        AwsCredentials credentials = credentialsProvider.resolveCredentials();
+        String sessionToken = credentials instanceof AwsSessionCredentials
+            ? ((AwsSessionCredentials) credentials).sessionToken() : null;
+
+        String amzDate = amzDate();
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/" + service + "/aws4_request";
+
+        StringBuilder canonical = new StringBuilder(256);
+        canonical.append(method).append('\n');
+        canonicalPath(rawPath, canonical);
+        canonical.append('\n');
+        canonicalQuery(rawQuery, canonical);
+        canonical.append('\n');
+        canonical.append("host:").append(host).append('\n');
+        canonical.append("x-amz-content-sha256:").append(payloadHash).append('\n');
+        canonical.append("x-amz-date:").append(amzDate).append('\n');
+        String signedHeaders = "host;x-amz-content-sha256;x-amz-date";
+        if (sessionToken != null) {
+            canonical.append("x-amz-security-token:").append(sessionToken).append('\n');
+            signedHeaders += ";x-amz-security-token";
+        }
+        canonical.append('\n').append(signedHeaders).append('\n').append(payloadHash);
+
+        String stringToSign = ALGORITHM + '\n' + amzDate + '\n' + scope + '\n'
+            + sha256Hex(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] key = signingKey(credentials.secretAccessKey(), date, region, service);
+        String signature = hex(hmac(key, stringToSign));
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("X-Amz-Date", amzDate);
+        headers.put("x-amz-content-sha256", payloadHash);
+        if (sessionToken != null) {
+            headers.put("X-Amz-Security-Token", sessionToken);
+        }
+        headers.put("Authorization", ALGORITHM + " Credential=" + credentials.accessKeyId() + "/" + scope
+            + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature);
+        return headers;
+    }
+
+    /**
+     * Signing key for the day, region and service, derived once per combination
+     * and re-derived when the date rolls over or the credentials change
+     */
+    private byte[] signingKey(String secretKey, String date, String region, String service) {
+        String cacheKey = region + '/' + service;
+        SigningKey cached = signingKeys.get(cacheKey);
+        if (cached != null && cached.date.equals(date) && cached.secretKey.equals(secretKey)) {
+            return cached.key;
+        }
+        byte[] key = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+        key = hmac(key, region);
+        key = hmac(key, service);
+        key = hmac(key, "aws4_request");
+        signingKeys.put(cacheKey, new SigningKey(date, secretKey, key));
+        return key;
+    }
+
+    /**
+     * Current time in the x-amz-date format, formatted at most once per second
+     */
+    private String amzDate() {
+        long second = System.currentTimeMillis() / 1000;
+        Timestamp current = timestamp;
+        if (current.second != second) {
+            current = new Timestamp(second, AMZ_DATE.format(Instant.ofEpochSecond(second)));
+            timestamp = current;
+        }
+        return current.formatted;
+    }
+
+    /**
+     * Each path segment URI-encoded once more, as SigV4 requires for every
+     * service but S3
+     */
+    private static void canonicalPath(String rawPath, StringBuilder out) {
+        if (rawPath == null || rawPath.isEmpty()) {
+            out.append('/');
+            return;
+        }
+        int start = 0;
+        while (start <= rawPath.length()) {
+            int slash = rawPath.indexOf('/', start);
+            int end = slash < 0 ? rawPath.length() : slash;
+            uriEncode(rawPath.substring(start, end), out);
+            if (slash < 0) {
+                break;
+            }
+            out.append('/');
+            start = slash + 1;
+        }
+    }
+
+    /**
+     * Parameters decoded, re-encoded and sorted by name, then value
+     */
+    private static void canonicalQuery(String rawQuery, StringBuilder out) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return;
+        }
+        List<String[]> params = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            int eq = param.indexOf('=');
+            String name = eq < 0 ? param : param.substring(0, eq);
+            String value = eq < 0 ? "" : param.substring(eq + 1);
+            StringBuilder encodedName = new StringBuilder();
+            StringBuilder encodedValue = new StringBuilder();
+            uriEncode(URLDecoder.decode(name.replace("+", "%2B"), StandardCharsets.UTF_8), encodedName);
+            uriEncode(URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8), encodedValue);
+            params.add(new String[]{encodedName.toString(), encodedValue.toString()});
+        }
+        params.sort((a, b) -> {
+            int byName = a[0].compareTo(b[0]);
+            return byName != 0 ? byName : a[1].compareTo(b[1]);
+        });
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) {
+                out.append('&');
+            }
+            out.append(params.get(i)[0]).append('=').append(params.get(i)[1]);
+        }
+    }
+
+    /**
+     * RFC 3986 encoding: everything but unreserved characters is percent-encoded
+     */
+    private static void uriEncode(String value, StringBuilder out) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~') {
+                out.append(c);
+            } else {
+                out.append('%').append(HEX_UPPER[c >> 4]).append(HEX_UPPER[c & 0xf]);
+            }
+        }
+    }
+
+    /**
+     * Hex SHA-256 of a request body, for the {@code payloadHash} of {@link #sign}
+     */
+    public static String sha256Hex(byte[] data) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return hex(digest.digest(data));
+    }
+
+    /**
+     * This thread's SHA-256 digest, reset, for hashing a body incrementally
+     * (finish with {@link #hex(byte[])}). It is the digest {@link #sign} and
+     * {@link #sha256Hex(byte[])} use, so finish it before calling either.
+     */
+    public static MessageDigest payloadDigest() {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return digest;
+    }
+
+    /**
+     * Hex form of a finished digest, e.g. one fed incrementally while streaming a body
+     */
+    public static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        Mac mac = HMAC.get();
+        try {
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid HMAC key", e);
+        }
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Release the credentials provider
+     */
+    @Override
+    public void close() {
+        if (credentialsProvider instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) credentialsProvider).close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Closing credentials provider failed", e);
+            }
+        }
+    }
+
+    private static final class SigningKey {
+        final String date;
+        final String secretKey;
+        final byte[] key;
+
+        SigningKey(String date, String secretKey, byte[] key) {
+            this.date = date;
+            this.secretKey = secretKey;
+            this.key = key;
+        }
+    }
+
+    private static final class Timestamp {
+        final long second;
+        final String formatted;
+
+        Timestamp(long second, String formatted) {
+            this.second = second;
+            this.formatted = formatted;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.opensearch.nlquery.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.model.SearchOutcome;
+import com.opensearch.nlquery.service.NaturalLanguageQueryService;
+import com.opensearch.nlquery.service.OpenSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays newline-delimited natural language queries in bulk.
+ *
+ * Queries are converted with bounded concurrency, the resulting DSL is grouped
+ * into _msearch requests, and one NDJSON line per query is streamed to the
+ * output as soon as its group completes. Output order follows completion, so
+ * each line carries the 1-based input line number.
+ */
+public class BatchQueryRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BatchQueryRunner.class);
+
+    private static final PendingQuery END_OF_INPUT = new PendingQuery(-1, null, null);
+
+    private final NaturalLanguageQueryService nlQueryService;
+    private final OpenSearchService openSearchService;
+    private final ObjectMapper objectMapper;
+    private final int concurrency;
+    private final int msearchSize;
+    private final int maxInFlightSearches;
+    private final int lingerMs;
+
+    public BatchQueryRunner(NaturalLanguageQueryService nlQueryService, OpenSearchService openSearchService,
+                            AppConfig config) {
+        this.nlQueryService = nlQueryService;
+        this.openSearchService = openSearchService;
+        this.objectMapper = new ObjectMapper();
+        this.concurrency = config.getBatchConcurrency();
+        this.msearchSize = config.getBatchMsearchSize();
+        this.maxInFlightSearches = config.getBatchMaxInFlightSearches();
+        this.lingerMs = config.getBatchLingerMs();
+    }
+
+    /**
+     * Run every query read from {@code input} against {@code index}, writing NDJSON to {@code output}
+     */
+    public void run(BufferedReader input, Writer output, String index) throws IOException, InterruptedException {
+        Run run = new Run(output, index);
+        Thread dispatcher = new Thread(run::dispatch, "batch-msearch-dispatcher");
+        dispatcher.start();
+
+        long startNanos = System.nanoTime();
+        int lineNumber = 0;
+        String line;
+        while ((line = input.readLine()) != null) {
+            lineNumber++;
+            String query = line.trim();
+            if (query.isEmpty()) {
+                continue;
+            }
+            run.submit(lineNumber, query);
+        }
+
+        run.finish();
+        dispatcher.join();
+        run.awaitSearches();
+        output.flush();
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        long total = run.succeeded.get() + run.failed.get();
+        logger.info("Batch completed: {} queries ({} succeeded, {} failed) in {} s, {} queries/s",
+            total, run.succeeded.get(), run.failed.get(),
+            String.format("%.2f", elapsedSeconds),
+            String.format("%.1f", elapsedSeconds > 0 ? total / elapsedSeconds : 0.0));
+    }
+
+    /**
+     * State of a single batch run
+     */
+    private final class Run {
+        private final Writer output;
+        private final String index;
+        private final Semaphore conversionPermits = new Semaphore(concurrency);
+        private final Semaphore searchPermits = new Semaphore(maxInFlightSearches);
+        // Bounds queries held in memory between conversion and output
+        private final Semaphore queuedPermits = new Semaphore(concurrency + msearchSize * (maxInFlightSearches + 1));
+        private final BlockingQueue<PendingQuery> converted = new LinkedBlockingQueue<>();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        Run(Writer output, String index) {
+            this.output = output;
+            this.index = index;
+        }
+
+        void submit(int lineNumber, String query) throws InterruptedException {
+            queuedPermits.acquire();
+            conversionPermits.acquire();
+
+            CompletableFuture<ObjectNode> conversion;
+            try {
+                conversion = nlQueryService.convertToDSLAsync(query);
+            } catch (RuntimeException e) {
+                conversion = CompletableFuture.failedFuture(e);
+            }
+
+            conversion.whenComplete((dslQuery, error) -> {
+                if (error != null) {
+                    writeFailure(lineNumber, query, "Conversion failed: " + Futures.unwrap(error).getMessage());
+                    queuedPermits.release();
+                } else {
+                    converted.add(new PendingQuery(lineNumber, query, dslQuery));
+                }
+                conversionPermits.release();
+            });
+        }
+
+        void finish() throws InterruptedException {
+            // Wait for outstanding conversions before signalling the dispatcher
+            conversionPermits.acquire(concurrency);
+            converted.add(END_OF_INPUT);
+        }
+
+        void awaitSearches() throws InterruptedException {
+            searchPermits.acquire(maxInFlightSearches);
+        }
+
+        /**
+         * Group converted queries into _msearch requests. A partial group is sent
+         * once no new query has arrived for the linger period.
+         */
+        void dispatch() {
+            List<PendingQuery> group = new ArrayList<>(msearchSize);
+            try {
+                while (true) {
+                    PendingQuery next = group.isEmpty()
+                        ? converted.take()
+                        : converted.poll(lingerMs, TimeUnit.MILLISECONDS);
+
+                    if (next == END_OF_INPUT) {
+                        send(group);
+                        return;
+                    }
+                    if (next == null) {
+                        send(group);
+                        group = new ArrayList<>(msearchSize);
+                        continue;
+                    }
+
+                    group.add(next);
+                    if (group.size() >= msearchSize) {
+                        send(group);
+                        group = new ArrayList<>(msearchSize);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Batch dispatcher interrupted");
+            }
+        }
+
+        private void send(List<PendingQuery> group) throws InterruptedException {
+            if (group.isEmpty()) {
+                return;
+            }
+            searchPermits.acquire();
+
+            List<ObjectNode> dslQueries = new ArrayList<>(group.size());
+            group.forEach(pending -> dslQueries.add(pending.dslQuery));
+
+            openSearchService.multiSearchAsync(dslQueries, index).whenComplete((outcomes, error) -> {
+                try {
+                    for (int i = 0; i < group.size(); i++) {
+                        PendingQuery pending = group.get(i);
+                        if (error != null) {
+                            writeFailure(pending.lineNumber, pending.query, Futures.unwrap(error).getMessage());
+                        } else {
+                            writeOutcome(pending, outcomes.get(i));
+                        }
+                    }
+                } finally {
+                    queuedPermits.release(group.size());
+                    searchPermits.release();
+                }
+            });
+        }
+
+        private void writeOutcome(PendingQuery pending, SearchOutcome outcome) {
+            if (!outcome.isSuccess()) {
+                writeFailure(pending.lineNumber, pending.query, outcome.getError());
+                return;
+            }
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("line", pending.lineNumber);
+            line.put("query", pending.query);
+            line.put("hitCount", outcome.getResults().size());
+            line.set("hits", objectMapper.valueToTree(outcome.getResults()));
+            write(line);
+            succeeded.incrementAndGet();
+        }
+
+        private void writeFailure(int lineNumber, String query, String message) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("line", lineNumber);
+            line.put("query", query);
+            line.put("error", message);
+            write(line);
+            failed.incrementAndGet();
+        }
+
+        private void write(ObjectNode line) {
+            try {
+                String json = objectMapper.writeValueAsString(line);
+                synchronized (output) {
+                    output.write(json);
+                    output.write('\n');
+                }
+            } catch (IOException e) {
+                logger.error("Failed to write batch output: ", e);
+            }
+        }
+    }
+
+    private static final class PendingQuery {
+        final int lineNumber;
+        final String query;
+        final ObjectNode dslQuery;
+
+        PendingQuery(int lineNumber, String query, ObjectNode dslQuery) {
+            this.lineNumber = lineNumber;
+            this.query = query;
+            this.dslQuery = dslQuery;
+        }
+    }
+}
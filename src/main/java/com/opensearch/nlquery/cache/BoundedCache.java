@@ -0,0 +1,202 @@
+package com.opensearch.nlquery.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Concurrent in-memory cache bounded by entry count and estimated byte size,
+ * with a per-entry time to live and LRU eviction.
+ *
+ * The key space is split into independently locked segments, each an
+ * access-ordered {@link LinkedHashMap} holding its share of the bounds, so
+ * lookups on different keys rarely contend.
+ */
+public class BoundedCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final ToLongBiFunction<K, V> weigher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param maxEntries maximum number of entries held
+     * @param maxBytes   maximum total weight as reported by {@code weigher}
+     * @param ttlMillis  time to live per entry, or 0 for no expiry
+     * @param weigher    estimated size in bytes of a key/value pair
+     */
+    public BoundedCache(int maxEntries, long maxBytes, long ttlMillis, ToLongBiFunction<K, V> weigher) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000L : 0;
+        this.weigher = weigher;
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && maxEntries / (segmentCount * 2) >= MIN_ENTRIES_PER_SEGMENT) {
+            segmentCount *= 2;
+        }
+        this.segments = newSegments(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(
+                Math.max(1, maxEntries / segmentCount),
+                Math.max(1, maxBytes / segmentCount));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Segment<K, V>[] newSegments(int count) {
+        return new Segment[count];
+    }
+
+    /**
+     * Return the cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = System.nanoTime();
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (isExpired(entry, now)) {
+                segment.map.remove(key);
+                segment.bytes -= entry.weight;
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        long weight = weigher.applyAsLong(key, value);
+        Segment<K, V> segment = segmentFor(key);
+        if (weight > segment.maxBytes) {
+            // Larger than the segment could ever hold; drop any older value so it is not served instead
+            invalidate(key);
+            return;
+        }
+
+        synchronized (segment) {
+            Entry<V> previous = segment.map.put(key, new Entry<>(value, weight, System.nanoTime()));
+            if (previous != null) {
+                segment.bytes -= previous.weight;
+            }
+            segment.bytes += weight;
+            evictIfNeeded(segment);
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> removed = segment.map.remove(key);
+            if (removed != null) {
+                segment.bytes -= removed.weight;
+            }
+        }
+    }
+
+    /**
+     * Remove every entry whose key matches the predicate
+     *
+     * @return number of entries removed
+     */
+    public int invalidateIf(Predicate<K> predicate) {
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Map.Entry<K, Entry<V>>> it = segment.map.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<K, Entry<V>> mapEntry = it.next();
+                    if (predicate.test(mapEntry.getKey())) {
+                        segment.bytes -= mapEntry.getValue().weight;
+                        it.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+                segment.bytes = 0;
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        long entries = 0;
+        long bytes = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                entries += segment.map.size();
+                bytes += segment.bytes;
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), entries, bytes);
+    }
+
+    private void evictIfNeeded(Segment<K, V> segment) {
+        // Least recently used entries sit at the head of the access-ordered map
+        Iterator<Entry<V>> it = segment.map.values().iterator();
+        while ((segment.map.size() > segment.maxEntries || segment.bytes > segment.maxBytes) && it.hasNext()) {
+            Entry<V> eldest = it.next();
+            it.remove();
+            segment.bytes -= eldest.weight;
+            evictions.increment();
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return ttlNanos > 0 && now - entry.createdNanos > ttlNanos;
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static final class Segment<K, V> {
+        final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        final int maxEntries;
+        final long maxBytes;
+        long bytes;
+
+        Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long weight;
+        final long createdNanos;
+
+        Entry(V value, long weight, long createdNanos) {
+            this.value = value;
+            this.weight = weight;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
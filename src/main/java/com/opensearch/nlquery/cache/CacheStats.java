@@ -0,0 +1,65 @@
+package com.opensearch.nlquery.cache;
+
+/**
+ * Point-in-time snapshot of cache statistics
+ */
+public class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long entryCount;
+    private final long byteSize;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount,
+                      long entryCount, long byteSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.entryCount = entryCount;
+        this.byteSize = byteSize;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+            "hits=" + hitCount +
+            ", misses=" + missCount +
+            ", hitRate=" + String.format("%.3f", getHitRate()) +
+            ", evictions=" + evictionCount +
+            ", expirations=" + expirationCount +
+            ", entries=" + entryCount +
+            ", bytes=" + byteSize +
+            '}';
+    }
+}
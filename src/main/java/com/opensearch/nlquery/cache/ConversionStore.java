@@ -0,0 +1,317 @@
+package com.opensearch.nlquery.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of NL -> DSL conversions that survives restarts.
+ *
+ * The file starts with a header holding the fingerprint of the converter that
+ * produced the entries (model ID and prompt version); opening it with a
+ * different fingerprint discards the old entries. Each record is
+ * {@code [length][crc32][written-at millis][key][dsl]}; a torn record left by a
+ * crash is cut off on open. The existing file is memory-mapped and scanned once
+ * to build an in-memory index from key to record offset, and lookups read the
+ * record straight from the mapping. The file is compacted on open when most of
+ * it is superseded or expired records.
+ */
+public class ConversionStore implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConversionStore.class);
+
+    private static final int MAGIC = 0x4E4C5153; // "NLQS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int COMPACT_MIN_RECORDS = 1000;
+
+    private final Path path;
+    private final String fingerprint;
+    private final long maxAgeMillis;
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer mapped;
+    private long size;
+
+    private ConversionStore(Path path, String fingerprint, long maxAgeMillis) {
+        this.path = path;
+        this.fingerprint = fingerprint;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Open (or create) the store, dropping entries recorded under another
+     * fingerprint or older than {@code maxAgeMillis} (0 keeps them forever)
+     */
+    public static ConversionStore open(Path path, String fingerprint, long maxAgeMillis) throws IOException {
+        ConversionStore store = new ConversionStore(path, fingerprint, maxAgeMillis);
+        store.load();
+        return store;
+    }
+
+    private void load() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = channel.size();
+
+        if (size == 0 || !headerMatches()) {
+            if (size > 0) {
+                logger.info("Discarding conversion store {} recorded for another model or prompt version", path);
+            }
+            reset();
+            return;
+        }
+
+        int records = scan();
+        logger.info("Conversion store {} opened with {} conversions", path, index.size());
+        if (records >= COMPACT_MIN_RECORDS && index.size() < records / 2) {
+            compact(records);
+        }
+    }
+
+    private boolean headerMatches() throws IOException {
+        remap();
+        ByteBuffer buffer = mapped.duplicate();
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return false;
+            }
+            byte[] stored = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(stored);
+            return fingerprint.equals(new String(stored, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private int headerBytes() {
+        return 10 + fingerprint.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void reset() throws IOException {
+        index.clear();
+        channel.truncate(0);
+        byte[] fingerprintBytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(headerBytes());
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putShort((short) fingerprintBytes.length).put(fingerprintBytes);
+        header.flip();
+        channel.write(header, 0);
+        size = header.capacity();
+        remap();
+    }
+
+    /**
+     * Index every valid record, cutting off a torn tail. Returns the number of records read.
+     */
+    private int scan() throws IOException {
+        ByteBuffer buffer = mapped.duplicate();
+        long now = System.currentTimeMillis();
+        long offset = headerBytes();
+        int records = 0;
+        CRC32 crc = new CRC32();
+
+        while (offset + RECORD_HEADER_BYTES <= size) {
+            buffer.position((int) offset);
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 14 || length > MAX_RECORD_BYTES || offset + RECORD_HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            records++;
+            long writtenAt = payload.getLong();
+            String key = readKey(payload);
+            if (maxAgeMillis <= 0 || now - writtenAt <= maxAgeMillis) {
+                index.put(key, offset);
+            } else {
+                index.remove(key);
+            }
+            offset += RECORD_HEADER_BYTES + length;
+        }
+
+        if (offset < size) {
+            logger.warn("Conversion store {} has a damaged tail, truncating {} bytes", path, size - offset);
+            channel.truncate(offset);
+            size = offset;
+            remap();
+        }
+        return records;
+    }
+
+    /**
+     * Rewrite the live records into a fresh file and swap it in
+     */
+    private void compact(int records) throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        List<Map.Entry<String, Long>> live = new ArrayList<>(index.entrySet());
+        live.sort(Map.Entry.comparingByValue());
+
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = mapped.duplicate();
+            header.limit(headerBytes());
+            out.write(header);
+            for (Map.Entry<String, Long> entry : live) {
+                out.write(recordAt(entry.getValue()));
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = channel.size();
+        remap();
+        index.clear();
+        scan();
+        logger.info("Compacted conversion store {} from {} to {} records", path, records, index.size());
+    }
+
+    private void remap() throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /**
+     * The DSL JSON stored for the normalized query, or null
+     */
+    public byte[] get(String key) {
+        Long offset = index.get(key);
+        if (offset == null) {
+            return null;
+        }
+        try {
+            ByteBuffer payload = recordAt(offset);
+            payload.position(payload.position() + RECORD_HEADER_BYTES + 8);
+            readKey(payload);
+            byte[] dsl = new byte[payload.getInt()];
+            payload.get(dsl);
+            return dsl;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read conversion for '{}' from store: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Append a conversion; a later record for the same key replaces earlier ones
+     */
+    public synchronized void put(String key, byte[] dslJson) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = 8 + 2 + keyBytes.length + 4 + dslJson.length;
+        if (keyBytes.length > 0xFFFF || length > MAX_RECORD_BYTES) {
+            return;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+        record.position(RECORD_HEADER_BYTES);
+        record.putLong(System.currentTimeMillis())
+            .putShort((short) keyBytes.length).put(keyBytes)
+            .putInt(dslJson.length).put(dslJson);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_BYTES, length);
+        record.putInt(0, length).putInt(4, (int) crc.getValue());
+        record.position(0);
+
+        long offset = size;
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        size += record.capacity();
+        index.put(key, offset);
+    }
+
+    /**
+     * Visit up to {@code limit} of the most recently written conversions,
+     * oldest first, e.g. to warm an LRU cache
+     */
+    public void forEachRecent(int limit, BiConsumer<String, byte[]> consumer) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(index.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        List<Map.Entry<String, Long>> recent = entries.subList(0, Math.min(limit, entries.size()));
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            String key = recent.get(i).getKey();
+            byte[] dsl = get(key);
+            if (dsl != null) {
+                consumer.accept(key, dsl);
+            }
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * The whole record (header included) at the offset, from the mapping when it
+     * covers the record and from the file for records appended since
+     */
+    private ByteBuffer recordAt(long offset) throws IOException {
+        MappedByteBuffer current = mapped;
+        if (offset + RECORD_HEADER_BYTES <= current.capacity()) {
+            int length = current.getInt((int) offset);
+            if (offset + RECORD_HEADER_BYTES + length <= current.capacity()) {
+                ByteBuffer record = current.duplicate();
+                record.position((int) offset).limit((int) offset + RECORD_HEADER_BYTES + length);
+                return record.slice();
+            }
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        readFully(header, offset);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + header.getInt(0));
+        readFully(record, offset);
+        record.flip();
+        return record;
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of conversion store at offset " + offset);
+            }
+        }
+    }
+
+    private static String readKey(ByteBuffer payload) {
+        byte[] key = new byte[payload.getShort() & 0xFFFF];
+        payload.get(key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Flush appended conversions to disk and close the file
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close conversion store {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.opensearch.nlquery.cache;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Canonical text form of a DSL query, used as a cache key so that queries
+ * differing only in key order or formatting share one entry
+ */
+public final class DslCanonicalizer {
+    private static final JsonFactory FACTORY = new ObjectMapper().getFactory();
+
+    private DslCanonicalizer() {
+    }
+
+    /**
+     * Compact JSON with the keys of every object sorted. Array order and values
+     * are kept as they are, since both can change what the query matches.
+     */
+    public static String canonicalize(JsonNode dsl) {
+        StringWriter out = new StringWriter(256);
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            write(dsl, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Canonicalizing DSL failed", e);
+        }
+        return out.toString();
+    }
+
+    private static void write(JsonNode node, JsonGenerator generator) throws IOException {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>(node.size());
+            Iterator<String> it = node.fieldNames();
+            while (it.hasNext()) {
+                names.add(it.next());
+            }
+            Collections.sort(names);
+            generator.writeStartObject();
+            for (String name : names) {
+                generator.writeFieldName(name);
+                write(node.get(name), generator);
+            }
+            generator.writeEndObject();
+        } else if (node.isArray()) {
+            generator.writeStartArray();
+            for (JsonNode element : node) {
+                write(element, generator);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeTree(node);
+        }
+    }
+}
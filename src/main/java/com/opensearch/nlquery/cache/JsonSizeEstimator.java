@@ -0,0 +1,45 @@
+package com.opensearch.nlquery.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Rough retained-heap estimate of a Jackson tree, used to weigh cache entries
+ * without serializing them
+ */
+public final class JsonSizeEstimator {
+    private static final long NODE_OVERHEAD = 24;
+    private static final long CONTAINER_OVERHEAD = 64;
+    private static final long FIELD_OVERHEAD = 48;
+
+    private JsonSizeEstimator() {
+    }
+
+    public static long estimateBytes(JsonNode node) {
+        if (node == null) {
+            return 0;
+        }
+        if (node.isObject()) {
+            long size = CONTAINER_OVERHEAD;
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                size += FIELD_OVERHEAD + 2L * field.getKey().length() + estimateBytes(field.getValue());
+            }
+            return size;
+        }
+        if (node.isArray()) {
+            long size = CONTAINER_OVERHEAD;
+            for (JsonNode element : node) {
+                size += 8 + estimateBytes(element);
+            }
+            return size;
+        }
+        if (node.isTextual()) {
+            return NODE_OVERHEAD + 40 + 2L * node.textValue().length();
+        }
+        return NODE_OVERHEAD;
+    }
+}
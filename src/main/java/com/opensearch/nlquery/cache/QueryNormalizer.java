@@ -0,0 +1,42 @@
+package com.opensearch.nlquery.cache;
+
+/**
+ * Normalizes natural language queries into cache keys so that queries that
+ * differ only in case or spacing ("Find  docs" vs "find docs") share one entry
+ */
+public final class QueryNormalizer {
+
+    /**
+     * Changes whenever {@link #normalize(String)} does, so keys persisted by an
+     * older version are not matched against new ones
+     */
+    public static final int VERSION = 2;
+
+    private QueryNormalizer() {
+    }
+
+    /**
+     * Lower-case the query and collapse runs of whitespace into one space,
+     * trimming both ends. Every other character is kept: punctuation such as
+     * {@code !} in {@code !=}, commas between values and quotes around them
+     * change what the query means.
+     */
+    public static String normalize(String query) {
+        StringBuilder sb = new StringBuilder(query.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,173 @@
+package com.opensearch.nlquery.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit for calls to a downstream service, adjusted by AIMD.
+ *
+ * Successes raise the limit by about one per limit's worth of calls. It is cut
+ * by {@code backoffRatio} on throttling, or when the recent average latency
+ * exceeds {@code latencyTolerance} times the long-run average, which means
+ * the service is queueing. Cuts happen at most once per recent average
+ * latency, so one burst of rejections counts as a single signal. Comparing
+ * averages rather than single calls keeps naturally variable latencies, such
+ * as LLM completions of different lengths, from shrinking the limit. Callers
+ * over the limit wait in a FIFO queue of bounded length; beyond that they are
+ * rejected at once.
+ */
+public class AdaptiveLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final int maxQueued;
+
+    private final ArrayDeque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double recentNanos;
+    private double longRunNanos;
+    private long lastDecreaseNanos;
+
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit,
+                           double backoffRatio, double latencyTolerance, int maxQueued) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxQueued = maxQueued;
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * A permit, at once if under the limit, otherwise once one is released.
+     * Fails with {@link RejectedExecutionException} when the queue is full.
+     * Cancelling the future gives up the place in the queue.
+     */
+    public CompletableFuture<Permit> acquire() {
+        synchronized (this) {
+            if (inFlight < (int) limit && waiters.isEmpty()) {
+                inFlight++;
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            if (waiters.size() < maxQueued) {
+                CompletableFuture<Permit> waiter = new CompletableFuture<>();
+                waiters.add(waiter);
+                return waiter;
+            }
+        }
+        rejected.increment();
+        return CompletableFuture.failedFuture(
+            new RejectedExecutionException("Concurrency limit reached and " + maxQueued + " calls already queued"));
+    }
+
+    private void release(Outcome outcome, long latencyNanos) {
+        List<CompletableFuture<Permit>> admitted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            adjust(outcome, latencyNanos);
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                inFlight++;
+                admitted.add(waiters.poll());
+            }
+        }
+        // Complete outside the lock; a waiter that was cancelled hands its permit back
+        for (CompletableFuture<Permit> waiter : admitted) {
+            Permit permit = new Permit();
+            if (!waiter.complete(permit)) {
+                permit.release(Outcome.IGNORED, 0);
+            }
+        }
+    }
+
+    private void adjust(Outcome outcome, long latencyNanos) {
+        long now = System.nanoTime();
+        if (outcome == Outcome.SUCCESS) {
+            if (longRunNanos == 0) {
+                recentNanos = latencyNanos;
+                longRunNanos = latencyNanos;
+            } else {
+                recentNanos += (latencyNanos - recentNanos) * 0.1;
+                longRunNanos += (latencyNanos - longRunNanos) * 0.005;
+            }
+            if (recentNanos <= longRunNanos * latencyTolerance) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+                return;
+            }
+        } else if (outcome == Outcome.THROTTLED) {
+            throttled.increment();
+        } else {
+            return;
+        }
+        if (now - lastDecreaseNanos >= (long) recentNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            lastDecreaseNanos = now;
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    /**
+     * Calls that were answered with throttling
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Calls refused because the queue was full
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * How a call went, as far as the limit is concerned
+     */
+    public enum Outcome {
+        /** Completed; its latency feeds the limit */
+        SUCCESS,
+        /** Rejected or slowed down by the service because of load */
+        THROTTLED,
+        /** Failed for reasons unrelated to load, or cancelled */
+        IGNORED
+    }
+
+    /**
+     * One admitted call; release exactly once when it completes
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        public void release(Outcome outcome) {
+            release(outcome, System.nanoTime() - startNanos);
+        }
+
+        private void release(Outcome outcome, long latencyNanos) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveLimiter.this.release(outcome, latencyNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.opensearch.nlquery.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * While closed, the outcomes of the last {@code windowSize} calls are kept;
+ * once at least {@code minimumCalls} are known and the failure rate reaches
+ * the threshold, the breaker opens and refuses calls for {@code openMillis}.
+ * It then lets {@code halfOpenProbes} calls through: if they all succeed it
+ * closes again, and any failure reopens it.
+ */
+public class CircuitBreaker {
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final Consumer<State> onTransition;
+
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * @param onTransition called with the new state on every transition, under
+     *                     the breaker's lock; keep it cheap (metrics, logging)
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openMillis, int halfOpenProbes, Consumer<State> onTransition) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.onTransition = onTransition;
+    }
+
+    /**
+     * Whether a call may go ahead; each permitted call must be reported with
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openNanos) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                resetWindow();
+                transition(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && windowFailures >= failureRateThreshold * windowCount) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * The call ended without telling anything about the service's health,
+     * e.g. it was cancelled; a half-open probe slot is given back
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void resetWindow() {
+        windowNext = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void transition(State next) {
+        state = next;
+        onTransition.accept(next);
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
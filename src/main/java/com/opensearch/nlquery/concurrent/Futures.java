@@ -0,0 +1,57 @@
+package com.opensearch.nlquery.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Helpers for blocking on and composing {@link CompletableFuture}s
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Block for the result, rethrowing the original unchecked failure rather
+     * than the {@link CompletionException} wrapper
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Strip {@link CompletionException} / {@link ExecutionException} wrappers
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Cancel {@code dependency} when {@code future} is cancelled or fails,
+     * e.g. because a timeout fired further down the pipeline
+     */
+    public static void propagateCancellation(CompletableFuture<?> future, CompletableFuture<?> dependency) {
+        future.whenComplete((value, error) -> {
+            if (error != null && !dependency.isDone()) {
+                dependency.cancel(true);
+            }
+        });
+    }
+}
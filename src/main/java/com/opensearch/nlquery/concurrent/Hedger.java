@@ -0,0 +1,287 @@
+package com.opensearch.nlquery.concurrent;
+
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged calls and timeouts derived from observed latency.
+ *
+ * Latencies of successful calls are kept in histograms of ten-second windows;
+ * estimates come from the current window once it holds enough samples, and
+ * from the previous one until then. When hedging is on and a call has not finished by the
+ * configured percentile of that distribution, a second identical call is
+ * sent; the first to succeed wins and the other is cancelled. Each call earns
+ * {@code budgetPercent / 100} of a hedge token and each hedge spends a whole
+ * one, so hedges never exceed that share of traffic however slow the
+ * downstream gets.
+ *
+ * With adaptive timeouts on, a call (hedges included) fails with a
+ * {@link TimeoutException} after {@code timeoutMultiplier} times the p99,
+ * kept between the configured minimum and maximum. A timed-out call is
+ * recorded at the timeout, so a lasting slowdown raises the estimate instead
+ * of timing out everything. Until enough calls have been seen, nothing is
+ * hedged and the maximum timeout applies.
+ */
+public class Hedger implements AutoCloseable {
+    private static final int MIN_SAMPLES = 100;
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double MAX_TOKENS = 10;
+
+    private final boolean hedging;
+    private final double hedgePercentile;
+    private final double budgetRatio;
+    private final boolean adaptiveTimeout;
+    private final double timeoutMultiplier;
+    private final long minTimeoutNanos;
+    private final long maxTimeoutNanos;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private volatile LatencyHistogram window = new LatencyHistogram();
+    private LatencyHistogram previousWindow;
+    private long windowStartNanos = System.nanoTime();
+    private volatile Estimate estimate;
+    private double tokens = MAX_TOKENS;
+
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder overBudget = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * @param hedgePercentile   latency percentile (0-100) after which a hedge is sent
+     * @param budgetPercent     hedges allowed per 100 calls
+     * @param timeoutMultiplier adaptive timeout as a multiple of the p99
+     * @param maxTimeoutMillis  timeout before enough calls are seen, and the cap after
+     */
+    public Hedger(String name, boolean hedging, double hedgePercentile, double budgetPercent,
+                  boolean adaptiveTimeout, double timeoutMultiplier, long minTimeoutMillis, long maxTimeoutMillis) {
+        this.hedging = hedging;
+        this.hedgePercentile = hedgePercentile;
+        this.budgetRatio = budgetPercent / 100.0;
+        this.adaptiveTimeout = adaptiveTimeout;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.maxTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(maxTimeoutMillis);
+        this.minTimeoutNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(minTimeoutMillis), maxTimeoutNanos);
+        this.estimate = new Estimate(0, maxTimeoutNanos, System.nanoTime() + REFRESH_NANOS);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, name + "-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Run {@code call}, hedging and timing it out as configured. The supplier
+     * may be invoked twice; cancelling the returned future cancels every
+     * attempt still running.
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        if (!isEnabled()) {
+            return call.get();
+        }
+        Estimate current = estimate();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        attempt(call, result, pending, false);
+
+        if (hedging) {
+            earnToken();
+            if (current.hedgeDelayNanos > 0 && !result.isDone()) {
+                ScheduledFuture<?> hedge = timer.schedule(() -> {
+                    if (result.isDone()) {
+                        return;
+                    }
+                    if (!spendToken()) {
+                        overBudget.increment();
+                        return;
+                    }
+                    hedges.increment();
+                    pending.incrementAndGet();
+                    attempt(call, result, pending, true);
+                }, current.hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                result.whenComplete((value, error) -> hedge.cancel(false));
+            }
+        }
+        if (adaptiveTimeout && !result.isDone()) {
+            long timeoutNanos = current.timeoutNanos;
+            ScheduledFuture<?> timeout = timer.schedule(() -> {
+                if (result.completeExceptionally(new TimeoutException(
+                        "No response within adaptive timeout of " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms"))) {
+                    timeouts.increment();
+                    window.record(timeoutNanos);
+                }
+            }, timeoutNanos, TimeUnit.NANOSECONDS);
+            result.whenComplete((value, error) -> timeout.cancel(false));
+        }
+        return result;
+    }
+
+    private <T> void attempt(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result,
+                             AtomicInteger pending, boolean hedge) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> attempt;
+        try {
+            attempt = call.get();
+        } catch (RuntimeException e) {
+            attempt = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> started = attempt;
+        started.whenComplete((value, error) -> {
+            if (error == null) {
+                window.record(System.nanoTime() - startNanos);
+                if (result.complete(value) && hedge) {
+                    hedgeWins.increment();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                // Only fail once no other attempt can still succeed
+                result.completeExceptionally(Futures.unwrap(error));
+            }
+        });
+        // The loser of a hedge, or every attempt on cancellation or timeout
+        result.whenComplete((value, error) -> {
+            if (!started.isDone()) {
+                started.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Current hedge delay and timeout, recomputed at most once a second
+     */
+    private Estimate estimate() {
+        Estimate current = estimate;
+        long now = System.nanoTime();
+        if (now < current.nextRefreshNanos) {
+            return current;
+        }
+        synchronized (this) {
+            current = estimate;
+            if (now < current.nextRefreshNanos) {
+                return current;
+            }
+            if (now - windowStartNanos >= WINDOW_NANOS && window.getCount() >= MIN_SAMPLES) {
+                previousWindow = window;
+                window = new LatencyHistogram();
+                windowStartNanos = now;
+            }
+            LatencyHistogram samples = window.getCount() >= MIN_SAMPLES ? window : previousWindow;
+            if (samples != null) {
+                long hedgeDelay = samples.getPercentileNanos(hedgePercentile);
+                long timeout = (long) (samples.getPercentileNanos(99) * timeoutMultiplier);
+                current = new Estimate(hedgeDelay, Math.max(minTimeoutNanos, Math.min(maxTimeoutNanos, timeout)),
+                    now + REFRESH_NANOS);
+            } else {
+                current = new Estimate(current.hedgeDelayNanos, current.timeoutNanos, now + REFRESH_NANOS);
+            }
+            estimate = current;
+            return current;
+        }
+    }
+
+    private synchronized void earnToken() {
+        tokens = Math.min(MAX_TOKENS, tokens + budgetRatio);
+    }
+
+    private synchronized boolean spendToken() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Export hedge counts, timeouts and the current estimates under a
+     * {@code target} label
+     */
+    public void registerMetrics(MetricsRegistry metrics, String target) {
+        String hedgesName = "nlquery_hedges_total";
+        String hedgesHelp = "Hedged calls by outcome";
+        metrics.functionCounter(hedgesName, hedgesHelp, this::getHedgeCount, "target", target, "outcome", "sent");
+        metrics.functionCounter(hedgesName, hedgesHelp, this::getHedgeWinCount, "target", target, "outcome", "won");
+        metrics.functionCounter(hedgesName, hedgesHelp, this::getOverBudgetCount, "target", target, "outcome", "over_budget");
+        metrics.functionCounter("nlquery_adaptive_timeouts_total", "Calls failed by the adaptive timeout",
+            this::getTimeoutCount, "target", target);
+        metrics.gauge("nlquery_hedge_delay_seconds", "Latency after which a call is hedged",
+            () -> getHedgeDelayNanos() / 1e9, "target", target);
+        metrics.gauge("nlquery_adaptive_timeout_seconds", "Timeout currently applied to calls",
+            () -> getTimeoutNanos() / 1e9, "target", target);
+    }
+
+    /**
+     * Whether calls are hedged or timed out at all
+     */
+    public boolean isEnabled() {
+        return hedging || adaptiveTimeout;
+    }
+
+    /**
+     * Delay after which a call is hedged, or 0 while not hedging
+     */
+    public long getHedgeDelayNanos() {
+        return hedging ? estimate.hedgeDelayNanos : 0;
+    }
+
+    /**
+     * Timeout applied to calls, or 0 when adaptive timeouts are off
+     */
+    public long getTimeoutNanos() {
+        return adaptiveTimeout ? estimate.timeoutNanos : 0;
+    }
+
+    /**
+     * Hedges sent
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Calls answered by their hedge rather than the original attempt
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Hedges not sent because the budget was spent
+     */
+    public long getOverBudgetCount() {
+        return overBudget.sum();
+    }
+
+    /**
+     * Calls failed by the adaptive timeout
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private static final class Estimate {
+        final long hedgeDelayNanos;
+        final long timeoutNanos;
+        final long nextRefreshNanos;
+
+        Estimate(long hedgeDelayNanos, long timeoutNanos, long nextRefreshNanos) {
+            this.hedgeDelayNanos = hedgeDelayNanos;
+            this.timeoutNanos = timeoutNanos;
+            this.nextRefreshNanos = nextRefreshNanos;
+        }
+    }
+}
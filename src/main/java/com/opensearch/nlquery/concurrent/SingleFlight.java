@@ -0,0 +1,93 @@
+package com.opensearch.nlquery.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ *
+ * The first caller for a key starts the loader; callers arriving while it is in
+ * flight receive a view of the same future and share its result or failure.
+ * Cancelling a caller's future only detaches that caller; the underlying call
+ * is cancelled once every caller waiting on it has cancelled.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        Flight<V> created = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            deduplicated.increment();
+            return existing.join();
+        }
+
+        executions.increment();
+        CompletableFuture<V> view = created.join();
+        try {
+            created.attach(loader.get());
+        } catch (RuntimeException e) {
+            created.source.completeExceptionally(e);
+        }
+        created.source.whenComplete((value, error) -> inFlight.remove(key, created));
+        return view;
+    }
+
+    /**
+     * Number of loader executions, i.e. calls that were not coalesced
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Number of calls that joined an execution already in flight
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static final class Flight<V> {
+        final CompletableFuture<V> source = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger();
+        volatile CompletableFuture<V> call;
+
+        CompletableFuture<V> join() {
+            waiters.incrementAndGet();
+            CompletableFuture<V> view = source.copy();
+            view.whenComplete((value, error) -> {
+                if (view.isCancelled() && waiters.decrementAndGet() == 0) {
+                    source.cancel(true);
+                    CompletableFuture<V> running = call;
+                    if (running != null) {
+                        running.cancel(true);
+                    }
+                }
+            });
+            return view;
+        }
+
+        void attach(CompletableFuture<V> running) {
+            this.call = running;
+            running.whenComplete((value, error) -> {
+                if (error != null) {
+                    source.completeExceptionally(error);
+                } else {
+                    source.complete(value);
+                }
+            });
+            if (source.isCancelled()) {
+                running.cancel(true);
+            }
+        }
+    }
+}
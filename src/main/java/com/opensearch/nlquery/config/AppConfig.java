@@ -11,8 +11,88 @@ public class AppConfig {
     private boolean useLLMForConversion;
     private String bedrockModelId;
     private String bedrockRegion;
+    private String bedrockEndpoint;
     private int connectionTimeout;
     private int socketTimeout;
+    private int bedrockMaxConnections;
+    private int bedrockMaxConnectionsPerRoute;
+    private int bedrockKeepAliveMs;
+    private int bedrockIdleEvictMs;
+    private int bedrockConcurrencyInitialLimit;
+    private int bedrockConcurrencyMinLimit;
+    private int bedrockConcurrencyMaxLimit;
+    private double bedrockConcurrencyBackoffRatio;
+    private double bedrockConcurrencyLatencyTolerance;
+    private int bedrockConcurrencyMaxQueued;
+    private int bedrockRetryMaxAttempts;
+    private int bedrockRetryBaseBackoffMs;
+    private int bedrockRetryMaxBackoffMs;
+    private int bedrockRetryDeadlineMs;
+    private boolean bedrockCircuitBreakerEnabled;
+    private int bedrockCircuitBreakerWindowSize;
+    private int bedrockCircuitBreakerMinimumCalls;
+    private double bedrockCircuitBreakerFailureRate;
+    private int bedrockCircuitBreakerOpenMs;
+    private int bedrockCircuitBreakerHalfOpenProbes;
+    private boolean conversionCacheEnabled;
+    private int conversionCacheMaxEntries;
+    private long conversionCacheMaxBytes;
+    private int conversionCacheTtlSeconds;
+    private boolean searchCacheEnabled;
+    private int searchCacheMaxEntries;
+    private long searchCacheMaxBytes;
+    private int searchCacheTtlSeconds;
+    private boolean searchFastPathEnabled;
+    private String fanOutTargets;
+    private int fanOutTargetTimeoutMs;
+    private boolean dslOptimizerEnabled;
+    private int dslTrackTotalHits;
+    private int dslTerminateAfter;
+    private String dslTimeout;
+    private boolean dslValidationEnabled;
+    private boolean dslValidationCorrectiveRetry;
+    private int opensearchMaxConnections;
+    private int opensearchMaxConnectionsPerRoute;
+    private int pipelineTimeoutMs;
+    private int batchConcurrency;
+    private int batchMsearchSize;
+    private int batchMaxInFlightSearches;
+    private int batchLingerMs;
+    private boolean bedrockStreaming;
+    private boolean tieredConversionEnabled;
+    private double tieredConfidenceThreshold;
+    private int mappingRefreshSeconds;
+    private int mappingMaxTextFields;
+    private boolean metricsJmxEnabled;
+    private int metricsPrometheusPort;
+    private int streamPageSize;
+    private String streamPitKeepAlive;
+    private String sourceIncludes;
+    private String sourceExcludes;
+    private boolean opensearchSigningEnabled;
+    private String opensearchSigningService;
+    private boolean opensearchUnsignedPayload;
+    private boolean opensearchHedgingEnabled;
+    private double opensearchHedgingPercentile;
+    private double opensearchHedgingBudgetPercent;
+    private boolean opensearchAdaptiveTimeoutEnabled;
+    private double opensearchAdaptiveTimeoutMultiplier;
+    private int opensearchAdaptiveTimeoutMinMs;
+    private boolean bedrockHedgingEnabled;
+    private double bedrockHedgingPercentile;
+    private double bedrockHedgingBudgetPercent;
+    private boolean bedrockAdaptiveTimeoutEnabled;
+    private double bedrockAdaptiveTimeoutMultiplier;
+    private int bedrockAdaptiveTimeoutMinMs;
+    private boolean conversionStoreEnabled;
+    private String conversionStorePath;
+    private int conversionStoreMaxAgeHours;
+    private int serverPort;
+    private int serverWorkerThreads;
+    private boolean serverVirtualThreads;
+    private int serverMaxInFlight;
+    private int serverRequestTimeoutMs;
+    private int serverShutdownGraceMs;
     
     // Getters and Setters
     public String getOpensearchEndpoint() {
@@ -71,6 +151,14 @@ public class AppConfig {
         this.bedrockRegion = bedrockRegion;
     }
     
+    public String getBedrockEndpoint() {
+        return bedrockEndpoint;
+    }
+    
+    public void setBedrockEndpoint(String bedrockEndpoint) {
+        this.bedrockEndpoint = bedrockEndpoint;
+    }
+    
     public int getConnectionTimeout() {
         return connectionTimeout;
     }
@@ -86,5 +174,636 @@ public class AppConfig {
     public void setSocketTimeout(int socketTimeout) {
         this.socketTimeout = socketTimeout;
     }
+    
+    public int getBedrockMaxConnections() {
+        return bedrockMaxConnections;
+    }
+    
+    public void setBedrockMaxConnections(int bedrockMaxConnections) {
+        this.bedrockMaxConnections = bedrockMaxConnections;
+    }
+    
+    public int getBedrockMaxConnectionsPerRoute() {
+        return bedrockMaxConnectionsPerRoute;
+    }
+    
+    public void setBedrockMaxConnectionsPerRoute(int bedrockMaxConnectionsPerRoute) {
+        this.bedrockMaxConnectionsPerRoute = bedrockMaxConnectionsPerRoute;
+    }
+    
+    public int getBedrockKeepAliveMs() {
+        return bedrockKeepAliveMs;
+    }
+    
+    public void setBedrockKeepAliveMs(int bedrockKeepAliveMs) {
+        this.bedrockKeepAliveMs = bedrockKeepAliveMs;
+    }
+    
+    public int getBedrockIdleEvictMs() {
+        return bedrockIdleEvictMs;
+    }
+    
+    public void setBedrockIdleEvictMs(int bedrockIdleEvictMs) {
+        this.bedrockIdleEvictMs = bedrockIdleEvictMs;
+    }
+    
+    public int getBedrockConcurrencyInitialLimit() {
+        return bedrockConcurrencyInitialLimit;
+    }
+    
+    public void setBedrockConcurrencyInitialLimit(int bedrockConcurrencyInitialLimit) {
+        this.bedrockConcurrencyInitialLimit = bedrockConcurrencyInitialLimit;
+    }
+    
+    public int getBedrockConcurrencyMinLimit() {
+        return bedrockConcurrencyMinLimit;
+    }
+    
+    public void setBedrockConcurrencyMinLimit(int bedrockConcurrencyMinLimit) {
+        this.bedrockConcurrencyMinLimit = bedrockConcurrencyMinLimit;
+    }
+    
+    public int getBedrockConcurrencyMaxLimit() {
+        return bedrockConcurrencyMaxLimit;
+    }
+    
+    public void setBedrockConcurrencyMaxLimit(int bedrockConcurrencyMaxLimit) {
+        this.bedrockConcurrencyMaxLimit = bedrockConcurrencyMaxLimit;
+    }
+    
+    public double getBedrockConcurrencyBackoffRatio() {
+        return bedrockConcurrencyBackoffRatio;
+    }
+    
+    public void setBedrockConcurrencyBackoffRatio(double bedrockConcurrencyBackoffRatio) {
+        this.bedrockConcurrencyBackoffRatio = bedrockConcurrencyBackoffRatio;
+    }
+    
+    public double getBedrockConcurrencyLatencyTolerance() {
+        return bedrockConcurrencyLatencyTolerance;
+    }
+    
+    public void setBedrockConcurrencyLatencyTolerance(double bedrockConcurrencyLatencyTolerance) {
+        this.bedrockConcurrencyLatencyTolerance = bedrockConcurrencyLatencyTolerance;
+    }
+    
+    public int getBedrockConcurrencyMaxQueued() {
+        return bedrockConcurrencyMaxQueued;
+    }
+    
+    public void setBedrockConcurrencyMaxQueued(int bedrockConcurrencyMaxQueued) {
+        this.bedrockConcurrencyMaxQueued = bedrockConcurrencyMaxQueued;
+    }
+    
+    public int getBedrockRetryMaxAttempts() {
+        return bedrockRetryMaxAttempts;
+    }
+    
+    public void setBedrockRetryMaxAttempts(int bedrockRetryMaxAttempts) {
+        this.bedrockRetryMaxAttempts = bedrockRetryMaxAttempts;
+    }
+    
+    public int getBedrockRetryBaseBackoffMs() {
+        return bedrockRetryBaseBackoffMs;
+    }
+    
+    public void setBedrockRetryBaseBackoffMs(int bedrockRetryBaseBackoffMs) {
+        this.bedrockRetryBaseBackoffMs = bedrockRetryBaseBackoffMs;
+    }
+    
+    public int getBedrockRetryMaxBackoffMs() {
+        return bedrockRetryMaxBackoffMs;
+    }
+    
+    public void setBedrockRetryMaxBackoffMs(int bedrockRetryMaxBackoffMs) {
+        this.bedrockRetryMaxBackoffMs = bedrockRetryMaxBackoffMs;
+    }
+    
+    public int getBedrockRetryDeadlineMs() {
+        return bedrockRetryDeadlineMs;
+    }
+    
+    public void setBedrockRetryDeadlineMs(int bedrockRetryDeadlineMs) {
+        this.bedrockRetryDeadlineMs = bedrockRetryDeadlineMs;
+    }
+    
+    public boolean isBedrockCircuitBreakerEnabled() {
+        return bedrockCircuitBreakerEnabled;
+    }
+    
+    public void setBedrockCircuitBreakerEnabled(boolean bedrockCircuitBreakerEnabled) {
+        this.bedrockCircuitBreakerEnabled = bedrockCircuitBreakerEnabled;
+    }
+    
+    public int getBedrockCircuitBreakerWindowSize() {
+        return bedrockCircuitBreakerWindowSize;
+    }
+    
+    public void setBedrockCircuitBreakerWindowSize(int bedrockCircuitBreakerWindowSize) {
+        this.bedrockCircuitBreakerWindowSize = bedrockCircuitBreakerWindowSize;
+    }
+    
+    public int getBedrockCircuitBreakerMinimumCalls() {
+        return bedrockCircuitBreakerMinimumCalls;
+    }
+    
+    public void setBedrockCircuitBreakerMinimumCalls(int bedrockCircuitBreakerMinimumCalls) {
+        this.bedrockCircuitBreakerMinimumCalls = bedrockCircuitBreakerMinimumCalls;
+    }
+    
+    public double getBedrockCircuitBreakerFailureRate() {
+        return bedrockCircuitBreakerFailureRate;
+    }
+    
+    public void setBedrockCircuitBreakerFailureRate(double bedrockCircuitBreakerFailureRate) {
+        this.bedrockCircuitBreakerFailureRate = bedrockCircuitBreakerFailureRate;
+    }
+    
+    public int getBedrockCircuitBreakerOpenMs() {
+        return bedrockCircuitBreakerOpenMs;
+    }
+    
+    public void setBedrockCircuitBreakerOpenMs(int bedrockCircuitBreakerOpenMs) {
+        this.bedrockCircuitBreakerOpenMs = bedrockCircuitBreakerOpenMs;
+    }
+    
+    public int getBedrockCircuitBreakerHalfOpenProbes() {
+        return bedrockCircuitBreakerHalfOpenProbes;
+    }
+    
+    public void setBedrockCircuitBreakerHalfOpenProbes(int bedrockCircuitBreakerHalfOpenProbes) {
+        this.bedrockCircuitBreakerHalfOpenProbes = bedrockCircuitBreakerHalfOpenProbes;
+    }
+    
+    public boolean isConversionCacheEnabled() {
+        return conversionCacheEnabled;
+    }
+    
+    public void setConversionCacheEnabled(boolean conversionCacheEnabled) {
+        this.conversionCacheEnabled = conversionCacheEnabled;
+    }
+    
+    public int getConversionCacheMaxEntries() {
+        return conversionCacheMaxEntries;
+    }
+    
+    public void setConversionCacheMaxEntries(int conversionCacheMaxEntries) {
+        this.conversionCacheMaxEntries = conversionCacheMaxEntries;
+    }
+    
+    public long getConversionCacheMaxBytes() {
+        return conversionCacheMaxBytes;
+    }
+    
+    public void setConversionCacheMaxBytes(long conversionCacheMaxBytes) {
+        this.conversionCacheMaxBytes = conversionCacheMaxBytes;
+    }
+    
+    public int getConversionCacheTtlSeconds() {
+        return conversionCacheTtlSeconds;
+    }
+    
+    public void setConversionCacheTtlSeconds(int conversionCacheTtlSeconds) {
+        this.conversionCacheTtlSeconds = conversionCacheTtlSeconds;
+    }
+    
+    public int getOpensearchMaxConnections() {
+        return opensearchMaxConnections;
+    }
+    
+    public void setOpensearchMaxConnections(int opensearchMaxConnections) {
+        this.opensearchMaxConnections = opensearchMaxConnections;
+    }
+    
+    public int getOpensearchMaxConnectionsPerRoute() {
+        return opensearchMaxConnectionsPerRoute;
+    }
+    
+    public void setOpensearchMaxConnectionsPerRoute(int opensearchMaxConnectionsPerRoute) {
+        this.opensearchMaxConnectionsPerRoute = opensearchMaxConnectionsPerRoute;
+    }
+    
+    public int getPipelineTimeoutMs() {
+        return pipelineTimeoutMs;
+    }
+    
+    public void setPipelineTimeoutMs(int pipelineTimeoutMs) {
+        this.pipelineTimeoutMs = pipelineTimeoutMs;
+    }
+    
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+    
+    public void setBatchConcurrency(int batchConcurrency) {
+        this.batchConcurrency = batchConcurrency;
+    }
+    
+    public int getBatchMsearchSize() {
+        return batchMsearchSize;
+    }
+    
+    public void setBatchMsearchSize(int batchMsearchSize) {
+        this.batchMsearchSize = batchMsearchSize;
+    }
+    
+    public int getBatchMaxInFlightSearches() {
+        return batchMaxInFlightSearches;
+    }
+    
+    public void setBatchMaxInFlightSearches(int batchMaxInFlightSearches) {
+        this.batchMaxInFlightSearches = batchMaxInFlightSearches;
+    }
+    
+    public int getBatchLingerMs() {
+        return batchLingerMs;
+    }
+    
+    public void setBatchLingerMs(int batchLingerMs) {
+        this.batchLingerMs = batchLingerMs;
+    }
+    
+    public boolean isBedrockStreaming() {
+        return bedrockStreaming;
+    }
+    
+    public void setBedrockStreaming(boolean bedrockStreaming) {
+        this.bedrockStreaming = bedrockStreaming;
+    }
+    
+    public boolean isTieredConversionEnabled() {
+        return tieredConversionEnabled;
+    }
+    
+    public void setTieredConversionEnabled(boolean tieredConversionEnabled) {
+        this.tieredConversionEnabled = tieredConversionEnabled;
+    }
+    
+    public double getTieredConfidenceThreshold() {
+        return tieredConfidenceThreshold;
+    }
+    
+    public void setTieredConfidenceThreshold(double tieredConfidenceThreshold) {
+        this.tieredConfidenceThreshold = tieredConfidenceThreshold;
+    }
+    
+    public int getMappingRefreshSeconds() {
+        return mappingRefreshSeconds;
+    }
+    
+    public void setMappingRefreshSeconds(int mappingRefreshSeconds) {
+        this.mappingRefreshSeconds = mappingRefreshSeconds;
+    }
+    
+    public int getMappingMaxTextFields() {
+        return mappingMaxTextFields;
+    }
+    
+    public void setMappingMaxTextFields(int mappingMaxTextFields) {
+        this.mappingMaxTextFields = mappingMaxTextFields;
+    }
+    
+    public boolean isMetricsJmxEnabled() {
+        return metricsJmxEnabled;
+    }
+    
+    public void setMetricsJmxEnabled(boolean metricsJmxEnabled) {
+        this.metricsJmxEnabled = metricsJmxEnabled;
+    }
+    
+    public int getMetricsPrometheusPort() {
+        return metricsPrometheusPort;
+    }
+    
+    public void setMetricsPrometheusPort(int metricsPrometheusPort) {
+        this.metricsPrometheusPort = metricsPrometheusPort;
+    }
+    
+    public int getStreamPageSize() {
+        return streamPageSize;
+    }
+    
+    public void setStreamPageSize(int streamPageSize) {
+        this.streamPageSize = streamPageSize;
+    }
+    
+    public String getStreamPitKeepAlive() {
+        return streamPitKeepAlive;
+    }
+    
+    public void setStreamPitKeepAlive(String streamPitKeepAlive) {
+        this.streamPitKeepAlive = streamPitKeepAlive;
+    }
+    
+    public String getSourceIncludes() {
+        return sourceIncludes;
+    }
+    
+    public void setSourceIncludes(String sourceIncludes) {
+        this.sourceIncludes = sourceIncludes;
+    }
+    
+    public String getSourceExcludes() {
+        return sourceExcludes;
+    }
+    
+    public void setSourceExcludes(String sourceExcludes) {
+        this.sourceExcludes = sourceExcludes;
+    }
+    
+    public boolean isConversionStoreEnabled() {
+        return conversionStoreEnabled;
+    }
+    
+    public void setConversionStoreEnabled(boolean conversionStoreEnabled) {
+        this.conversionStoreEnabled = conversionStoreEnabled;
+    }
+    
+    public String getConversionStorePath() {
+        return conversionStorePath;
+    }
+    
+    public void setConversionStorePath(String conversionStorePath) {
+        this.conversionStorePath = conversionStorePath;
+    }
+    
+    public int getConversionStoreMaxAgeHours() {
+        return conversionStoreMaxAgeHours;
+    }
+    
+    public void setConversionStoreMaxAgeHours(int conversionStoreMaxAgeHours) {
+        this.conversionStoreMaxAgeHours = conversionStoreMaxAgeHours;
+    }
+    
+    public int getServerPort() {
+        return serverPort;
+    }
+    
+    public void setServerPort(int serverPort) {
+        this.serverPort = serverPort;
+    }
+    
+    public int getServerWorkerThreads() {
+        return serverWorkerThreads;
+    }
+    
+    public void setServerWorkerThreads(int serverWorkerThreads) {
+        this.serverWorkerThreads = serverWorkerThreads;
+    }
+    
+    public boolean isServerVirtualThreads() {
+        return serverVirtualThreads;
+    }
+    
+    public void setServerVirtualThreads(boolean serverVirtualThreads) {
+        this.serverVirtualThreads = serverVirtualThreads;
+    }
+    
+    public int getServerMaxInFlight() {
+        return serverMaxInFlight;
+    }
+    
+    public void setServerMaxInFlight(int serverMaxInFlight) {
+        this.serverMaxInFlight = serverMaxInFlight;
+    }
+    
+    public int getServerRequestTimeoutMs() {
+        return serverRequestTimeoutMs;
+    }
+    
+    public void setServerRequestTimeoutMs(int serverRequestTimeoutMs) {
+        this.serverRequestTimeoutMs = serverRequestTimeoutMs;
+    }
+    
+    public int getServerShutdownGraceMs() {
+        return serverShutdownGraceMs;
+    }
+    
+    public void setServerShutdownGraceMs(int serverShutdownGraceMs) {
+        this.serverShutdownGraceMs = serverShutdownGraceMs;
+    }
+    
+    public boolean isOpensearchSigningEnabled() {
+        return opensearchSigningEnabled;
+    }
+    
+    public void setOpensearchSigningEnabled(boolean opensearchSigningEnabled) {
+        this.opensearchSigningEnabled = opensearchSigningEnabled;
+    }
+    
+    public String getOpensearchSigningService() {
+        return opensearchSigningService;
+    }
+    
+    public void setOpensearchSigningService(String opensearchSigningService) {
+        this.opensearchSigningService = opensearchSigningService;
+    }
+    
+    public boolean isOpensearchUnsignedPayload() {
+        return opensearchUnsignedPayload;
+    }
+    
+    public void setOpensearchUnsignedPayload(boolean opensearchUnsignedPayload) {
+        this.opensearchUnsignedPayload = opensearchUnsignedPayload;
+    }
+    
+    public boolean isOpensearchHedgingEnabled() {
+        return opensearchHedgingEnabled;
+    }
+    
+    public void setOpensearchHedgingEnabled(boolean opensearchHedgingEnabled) {
+        this.opensearchHedgingEnabled = opensearchHedgingEnabled;
+    }
+    
+    public double getOpensearchHedgingPercentile() {
+        return opensearchHedgingPercentile;
+    }
+    
+    public void setOpensearchHedgingPercentile(double opensearchHedgingPercentile) {
+        this.opensearchHedgingPercentile = opensearchHedgingPercentile;
+    }
+    
+    public double getOpensearchHedgingBudgetPercent() {
+        return opensearchHedgingBudgetPercent;
+    }
+    
+    public void setOpensearchHedgingBudgetPercent(double opensearchHedgingBudgetPercent) {
+        this.opensearchHedgingBudgetPercent = opensearchHedgingBudgetPercent;
+    }
+    
+    public boolean isOpensearchAdaptiveTimeoutEnabled() {
+        return opensearchAdaptiveTimeoutEnabled;
+    }
+    
+    public void setOpensearchAdaptiveTimeoutEnabled(boolean opensearchAdaptiveTimeoutEnabled) {
+        this.opensearchAdaptiveTimeoutEnabled = opensearchAdaptiveTimeoutEnabled;
+    }
+    
+    public double getOpensearchAdaptiveTimeoutMultiplier() {
+        return opensearchAdaptiveTimeoutMultiplier;
+    }
+    
+    public void setOpensearchAdaptiveTimeoutMultiplier(double opensearchAdaptiveTimeoutMultiplier) {
+        this.opensearchAdaptiveTimeoutMultiplier = opensearchAdaptiveTimeoutMultiplier;
+    }
+    
+    public int getOpensearchAdaptiveTimeoutMinMs() {
+        return opensearchAdaptiveTimeoutMinMs;
+    }
+    
+    public void setOpensearchAdaptiveTimeoutMinMs(int opensearchAdaptiveTimeoutMinMs) {
+        this.opensearchAdaptiveTimeoutMinMs = opensearchAdaptiveTimeoutMinMs;
+    }
+    
+    public boolean isBedrockHedgingEnabled() {
+        return bedrockHedgingEnabled;
+    }
+    
+    public void setBedrockHedgingEnabled(boolean bedrockHedgingEnabled) {
+        this.bedrockHedgingEnabled = bedrockHedgingEnabled;
+    }
+    
+    public double getBedrockHedgingPercentile() {
+        return bedrockHedgingPercentile;
+    }
+    
+    public void setBedrockHedgingPercentile(double bedrockHedgingPercentile) {
+        this.bedrockHedgingPercentile = bedrockHedgingPercentile;
+    }
+    
+    public double getBedrockHedgingBudgetPercent() {
+        return bedrockHedgingBudgetPercent;
+    }
+    
+    public void setBedrockHedgingBudgetPercent(double bedrockHedgingBudgetPercent) {
+        this.bedrockHedgingBudgetPercent = bedrockHedgingBudgetPercent;
+    }
+    
+    public boolean isBedrockAdaptiveTimeoutEnabled() {
+        return bedrockAdaptiveTimeoutEnabled;
+    }
+    
+    public void setBedrockAdaptiveTimeoutEnabled(boolean bedrockAdaptiveTimeoutEnabled) {
+        this.bedrockAdaptiveTimeoutEnabled = bedrockAdaptiveTimeoutEnabled;
+    }
+    
+    public double getBedrockAdaptiveTimeoutMultiplier() {
+        return bedrockAdaptiveTimeoutMultiplier;
+    }
+    
+    public void setBedrockAdaptiveTimeoutMultiplier(double bedrockAdaptiveTimeoutMultiplier) {
+        this.bedrockAdaptiveTimeoutMultiplier = bedrockAdaptiveTimeoutMultiplier;
+    }
+    
+    public int getBedrockAdaptiveTimeoutMinMs() {
+        return bedrockAdaptiveTimeoutMinMs;
+    }
+    
+    public void setBedrockAdaptiveTimeoutMinMs(int bedrockAdaptiveTimeoutMinMs) {
+        this.bedrockAdaptiveTimeoutMinMs = bedrockAdaptiveTimeoutMinMs;
+    }
+    
+    public boolean isSearchCacheEnabled() {
+        return searchCacheEnabled;
+    }
+    
+    public void setSearchCacheEnabled(boolean searchCacheEnabled) {
+        this.searchCacheEnabled = searchCacheEnabled;
+    }
+    
+    public int getSearchCacheMaxEntries() {
+        return searchCacheMaxEntries;
+    }
+    
+    public void setSearchCacheMaxEntries(int searchCacheMaxEntries) {
+        this.searchCacheMaxEntries = searchCacheMaxEntries;
+    }
+    
+    public long getSearchCacheMaxBytes() {
+        return searchCacheMaxBytes;
+    }
+    
+    public void setSearchCacheMaxBytes(long searchCacheMaxBytes) {
+        this.searchCacheMaxBytes = searchCacheMaxBytes;
+    }
+    
+    public int getSearchCacheTtlSeconds() {
+        return searchCacheTtlSeconds;
+    }
+    
+    public void setSearchCacheTtlSeconds(int searchCacheTtlSeconds) {
+        this.searchCacheTtlSeconds = searchCacheTtlSeconds;
+    }
+    
+    public boolean isSearchFastPathEnabled() {
+        return searchFastPathEnabled;
+    }
+    
+    public void setSearchFastPathEnabled(boolean searchFastPathEnabled) {
+        this.searchFastPathEnabled = searchFastPathEnabled;
+    }
+    
+    public String getFanOutTargets() {
+        return fanOutTargets;
+    }
+    
+    public void setFanOutTargets(String fanOutTargets) {
+        this.fanOutTargets = fanOutTargets;
+    }
+    
+    public int getFanOutTargetTimeoutMs() {
+        return fanOutTargetTimeoutMs;
+    }
+    
+    public void setFanOutTargetTimeoutMs(int fanOutTargetTimeoutMs) {
+        this.fanOutTargetTimeoutMs = fanOutTargetTimeoutMs;
+    }
+    
+    public boolean isDslOptimizerEnabled() {
+        return dslOptimizerEnabled;
+    }
+    
+    public void setDslOptimizerEnabled(boolean dslOptimizerEnabled) {
+        this.dslOptimizerEnabled = dslOptimizerEnabled;
+    }
+    
+    public int getDslTrackTotalHits() {
+        return dslTrackTotalHits;
+    }
+    
+    public void setDslTrackTotalHits(int dslTrackTotalHits) {
+        this.dslTrackTotalHits = dslTrackTotalHits;
+    }
+    
+    public int getDslTerminateAfter() {
+        return dslTerminateAfter;
+    }
+    
+    public void setDslTerminateAfter(int dslTerminateAfter) {
+        this.dslTerminateAfter = dslTerminateAfter;
+    }
+    
+    public String getDslTimeout() {
+        return dslTimeout;
+    }
+    
+    public void setDslTimeout(String dslTimeout) {
+        this.dslTimeout = dslTimeout;
+    }
+    
+    public boolean isDslValidationEnabled() {
+        return dslValidationEnabled;
+    }
+    
+    public void setDslValidationEnabled(boolean dslValidationEnabled) {
+        this.dslValidationEnabled = dslValidationEnabled;
+    }
+    
+    public boolean isDslValidationCorrectiveRetry() {
+        return dslValidationCorrectiveRetry;
+    }
+    
+    public void setDslValidationCorrectiveRetry(boolean dslValidationCorrectiveRetry) {
+        this.dslValidationCorrectiveRetry = dslValidationCorrectiveRetry;
+    }
 }
-
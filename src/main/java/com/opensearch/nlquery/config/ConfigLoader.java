@@ -40,6 +40,129 @@ public class ConfigLoader {
                 getEnvOrConfigInt("SOCKET_TIMEOUT", config, "opensearch.socketTimeout", 10000)
             );
             
+            // OpenSearch HTTP connection pool (shared by sync and async searches)
+            appConfig.setOpensearchMaxConnections(
+                getEnvOrConfigInt("OPENSEARCH_MAX_CONNECTIONS", config, "opensearch.maxConnections", 100)
+            );
+            appConfig.setOpensearchMaxConnectionsPerRoute(
+                getEnvOrConfigInt("OPENSEARCH_MAX_CONNECTIONS_PER_ROUTE", config, "opensearch.maxConnectionsPerRoute", 100)
+            );
+            
+            // End-to-end timeout for the async convert -> search pipeline
+            appConfig.setPipelineTimeoutMs(
+                getEnvOrConfigInt("PIPELINE_TIMEOUT_MS", config, "pipeline.timeoutMs", 60000)
+            );
+            
+            // Batch mode
+            appConfig.setBatchConcurrency(
+                getEnvOrConfigInt("BATCH_CONCURRENCY", config, "batch.concurrency", 32)
+            );
+            appConfig.setBatchMsearchSize(
+                getEnvOrConfigInt("BATCH_MSEARCH_SIZE", config, "batch.msearchSize", 50)
+            );
+            appConfig.setBatchMaxInFlightSearches(
+                getEnvOrConfigInt("BATCH_MAX_IN_FLIGHT_SEARCHES", config, "batch.maxInFlightSearches", 4)
+            );
+            appConfig.setBatchLingerMs(
+                getEnvOrConfigInt("BATCH_LINGER_MS", config, "batch.lingerMs", 20)
+            );
+            
+            // Index mapping cache used to target real fields instead of _all
+            appConfig.setMappingRefreshSeconds(
+                getEnvOrConfigInt("OPENSEARCH_MAPPING_REFRESH_SECONDS", config, "opensearch.mapping.refreshSeconds", 300)
+            );
+            appConfig.setMappingMaxTextFields(
+                getEnvOrConfigInt("OPENSEARCH_MAPPING_MAX_TEXT_FIELDS", config, "opensearch.mapping.maxTextFields", 20)
+            );
+            
+            // _source filtering applied when the DSL does not set its own _source
+            appConfig.setSourceIncludes(
+                getEnvOrConfig("OPENSEARCH_SOURCE_INCLUDES", config, "opensearch.source.includes", "")
+            );
+            appConfig.setSourceExcludes(
+                getEnvOrConfig("OPENSEARCH_SOURCE_EXCLUDES", config, "opensearch.source.excludes", "")
+            );
+            
+            // SigV4 signing of OpenSearch requests
+            appConfig.setOpensearchSigningEnabled(
+                getEnvOrConfigBoolean("OPENSEARCH_SIGNING_ENABLED", config, "opensearch.signing.enabled", false)
+            );
+            appConfig.setOpensearchSigningService(
+                getEnvOrConfig("OPENSEARCH_SIGNING_SERVICE", config, "opensearch.signing.service", "es")
+            );
+            appConfig.setOpensearchUnsignedPayload(
+                getEnvOrConfigBoolean("OPENSEARCH_UNSIGNED_PAYLOAD", config, "opensearch.signing.unsignedPayload", false)
+            );
+            
+            // Hedged searches and timeouts derived from observed search latency
+            appConfig.setOpensearchHedgingEnabled(
+                getEnvOrConfigBoolean("OPENSEARCH_HEDGING_ENABLED", config, "opensearch.hedging.enabled", false)
+            );
+            appConfig.setOpensearchHedgingPercentile(
+                getEnvOrConfigDouble("OPENSEARCH_HEDGING_PERCENTILE", config, "opensearch.hedging.percentile", 95.0)
+            );
+            appConfig.setOpensearchHedgingBudgetPercent(
+                getEnvOrConfigDouble("OPENSEARCH_HEDGING_BUDGET_PERCENT", config, "opensearch.hedging.budgetPercent", 10.0)
+            );
+            appConfig.setOpensearchAdaptiveTimeoutEnabled(
+                getEnvOrConfigBoolean("OPENSEARCH_ADAPTIVE_TIMEOUT_ENABLED", config, "opensearch.adaptiveTimeout.enabled", false)
+            );
+            appConfig.setOpensearchAdaptiveTimeoutMultiplier(
+                getEnvOrConfigDouble("OPENSEARCH_ADAPTIVE_TIMEOUT_MULTIPLIER", config, "opensearch.adaptiveTimeout.multiplier", 3.0)
+            );
+            appConfig.setOpensearchAdaptiveTimeoutMinMs(
+                getEnvOrConfigInt("OPENSEARCH_ADAPTIVE_TIMEOUT_MIN_MS", config, "opensearch.adaptiveTimeout.minMs", 200)
+            );
+            
+            // Cache of search results keyed by canonical DSL and index
+            appConfig.setSearchCacheEnabled(
+                getEnvOrConfigBoolean("SEARCH_CACHE_ENABLED", config, "opensearch.resultCache.enabled", false)
+            );
+            appConfig.setSearchCacheMaxEntries(
+                getEnvOrConfigInt("SEARCH_CACHE_MAX_ENTRIES", config, "opensearch.resultCache.maxEntries", 10000)
+            );
+            appConfig.setSearchCacheMaxBytes(
+                getEnvOrConfigLong("SEARCH_CACHE_MAX_BYTES", config, "opensearch.resultCache.maxBytes", 128L * 1024 * 1024)
+            );
+            appConfig.setSearchCacheTtlSeconds(
+                getEnvOrConfigInt("SEARCH_CACHE_TTL_SECONDS", config, "opensearch.resultCache.ttlSeconds", 60)
+            );
+            
+            // Searches sent on the low-level client, hits read with a streaming parser
+            appConfig.setSearchFastPathEnabled(
+                getEnvOrConfigBoolean("SEARCH_FAST_PATH_ENABLED", config, "opensearch.fastPath.enabled", true)
+            );
+            
+            // Searches fanned out over several indices or clusters
+            appConfig.setFanOutTargets(
+                getEnvOrConfig("FAN_OUT_TARGETS", config, "opensearch.fanOut.targets", "")
+            );
+            appConfig.setFanOutTargetTimeoutMs(
+                getEnvOrConfigInt("FAN_OUT_TARGET_TIMEOUT_MS", config, "opensearch.fanOut.targetTimeoutMs", 2000)
+            );
+            
+            // Rewrites applied to generated DSL before it is sent
+            appConfig.setDslOptimizerEnabled(
+                getEnvOrConfigBoolean("DSL_OPTIMIZER_ENABLED", config, "opensearch.optimizer.enabled", true)
+            );
+            appConfig.setDslTrackTotalHits(
+                getEnvOrConfigInt("DSL_TRACK_TOTAL_HITS", config, "opensearch.optimizer.trackTotalHits", 1000)
+            );
+            appConfig.setDslTerminateAfter(
+                getEnvOrConfigInt("DSL_TERMINATE_AFTER", config, "opensearch.optimizer.terminateAfter", 0)
+            );
+            appConfig.setDslTimeout(
+                getEnvOrConfig("DSL_TIMEOUT", config, "opensearch.optimizer.timeout", "")
+            );
+            
+            // Streaming iteration over all hits (point in time + search_after)
+            appConfig.setStreamPageSize(
+                getEnvOrConfigInt("OPENSEARCH_STREAM_PAGE_SIZE", config, "opensearch.stream.pageSize", 1000)
+            );
+            appConfig.setStreamPitKeepAlive(
+                getEnvOrConfig("OPENSEARCH_STREAM_PIT_KEEP_ALIVE", config, "opensearch.stream.pitKeepAlive", "2m")
+            );
+            
             // LLM configuration for NL to DSL conversion (using AWS Bedrock)
             appConfig.setUseLLMForConversion(
                 getEnvOrConfigBoolean("USE_LLM_CONVERSION", config, "nl.conversion.useLLM", false)
@@ -50,6 +173,165 @@ public class ConfigLoader {
             appConfig.setBedrockRegion(
                 getEnvOrConfig("BEDROCK_REGION", config, "nl.conversion.bedrock.region", appConfig.getRegion())
             );
+            appConfig.setBedrockEndpoint(
+                getEnvOrConfig("BEDROCK_ENDPOINT", config, "nl.conversion.bedrock.endpoint", "")
+            );
+            appConfig.setBedrockStreaming(
+                getEnvOrConfigBoolean("BEDROCK_STREAMING", config, "nl.conversion.bedrock.streaming", false)
+            );
+            
+            // Tiered conversion: rule engine first, LLM only for low-confidence queries
+            appConfig.setTieredConversionEnabled(
+                getEnvOrConfigBoolean("TIERED_CONVERSION_ENABLED", config, "nl.conversion.tiered.enabled", false)
+            );
+            appConfig.setTieredConfidenceThreshold(
+                getEnvOrConfigDouble("TIERED_CONFIDENCE_THRESHOLD", config, "nl.conversion.tiered.confidenceThreshold", 0.7)
+            );
+            
+            // Validation of LLM output against the index mapping
+            appConfig.setDslValidationEnabled(
+                getEnvOrConfigBoolean("DSL_VALIDATION_ENABLED", config, "nl.conversion.validation.enabled", true)
+            );
+            appConfig.setDslValidationCorrectiveRetry(
+                getEnvOrConfigBoolean("DSL_VALIDATION_CORRECTIVE_RETRY", config, "nl.conversion.validation.correctiveRetry", true)
+            );
+            
+            // Bedrock HTTP connection pool
+            appConfig.setBedrockMaxConnections(
+                getEnvOrConfigInt("BEDROCK_MAX_CONNECTIONS", config, "nl.conversion.bedrock.http.maxConnections", 50)
+            );
+            appConfig.setBedrockMaxConnectionsPerRoute(
+                getEnvOrConfigInt("BEDROCK_MAX_CONNECTIONS_PER_ROUTE", config, "nl.conversion.bedrock.http.maxConnectionsPerRoute", 20)
+            );
+            appConfig.setBedrockKeepAliveMs(
+                getEnvOrConfigInt("BEDROCK_KEEP_ALIVE_MS", config, "nl.conversion.bedrock.http.keepAliveMs", 60000)
+            );
+            appConfig.setBedrockIdleEvictMs(
+                getEnvOrConfigInt("BEDROCK_IDLE_EVICT_MS", config, "nl.conversion.bedrock.http.idleEvictMs", 30000)
+            );
+            
+            // Bedrock admission control: adaptive concurrency, retries and circuit breaker
+            appConfig.setBedrockConcurrencyInitialLimit(
+                getEnvOrConfigInt("BEDROCK_CONCURRENCY_INITIAL_LIMIT", config, "nl.conversion.bedrock.concurrency.initialLimit", 10)
+            );
+            appConfig.setBedrockConcurrencyMinLimit(
+                getEnvOrConfigInt("BEDROCK_CONCURRENCY_MIN_LIMIT", config, "nl.conversion.bedrock.concurrency.minLimit", 1)
+            );
+            appConfig.setBedrockConcurrencyMaxLimit(
+                getEnvOrConfigInt("BEDROCK_CONCURRENCY_MAX_LIMIT", config, "nl.conversion.bedrock.concurrency.maxLimit", 20)
+            );
+            appConfig.setBedrockConcurrencyBackoffRatio(
+                getEnvOrConfigDouble("BEDROCK_CONCURRENCY_BACKOFF_RATIO", config, "nl.conversion.bedrock.concurrency.backoffRatio", 0.7)
+            );
+            appConfig.setBedrockConcurrencyLatencyTolerance(
+                getEnvOrConfigDouble("BEDROCK_CONCURRENCY_LATENCY_TOLERANCE", config, "nl.conversion.bedrock.concurrency.latencyTolerance", 2.0)
+            );
+            appConfig.setBedrockConcurrencyMaxQueued(
+                getEnvOrConfigInt("BEDROCK_CONCURRENCY_MAX_QUEUED", config, "nl.conversion.bedrock.concurrency.maxQueued", 1000)
+            );
+            appConfig.setBedrockRetryMaxAttempts(
+                getEnvOrConfigInt("BEDROCK_RETRY_MAX_ATTEMPTS", config, "nl.conversion.bedrock.retry.maxAttempts", 3)
+            );
+            appConfig.setBedrockRetryBaseBackoffMs(
+                getEnvOrConfigInt("BEDROCK_RETRY_BASE_BACKOFF_MS", config, "nl.conversion.bedrock.retry.baseBackoffMs", 100)
+            );
+            appConfig.setBedrockRetryMaxBackoffMs(
+                getEnvOrConfigInt("BEDROCK_RETRY_MAX_BACKOFF_MS", config, "nl.conversion.bedrock.retry.maxBackoffMs", 2000)
+            );
+            appConfig.setBedrockRetryDeadlineMs(
+                getEnvOrConfigInt("BEDROCK_RETRY_DEADLINE_MS", config, "nl.conversion.bedrock.retry.deadlineMs", 10000)
+            );
+            appConfig.setBedrockCircuitBreakerEnabled(
+                getEnvOrConfigBoolean("BEDROCK_CIRCUIT_BREAKER_ENABLED", config, "nl.conversion.bedrock.circuitBreaker.enabled", true)
+            );
+            appConfig.setBedrockCircuitBreakerWindowSize(
+                getEnvOrConfigInt("BEDROCK_CIRCUIT_BREAKER_WINDOW_SIZE", config, "nl.conversion.bedrock.circuitBreaker.windowSize", 50)
+            );
+            appConfig.setBedrockCircuitBreakerMinimumCalls(
+                getEnvOrConfigInt("BEDROCK_CIRCUIT_BREAKER_MINIMUM_CALLS", config, "nl.conversion.bedrock.circuitBreaker.minimumCalls", 20)
+            );
+            appConfig.setBedrockCircuitBreakerFailureRate(
+                getEnvOrConfigDouble("BEDROCK_CIRCUIT_BREAKER_FAILURE_RATE", config, "nl.conversion.bedrock.circuitBreaker.failureRate", 0.5)
+            );
+            appConfig.setBedrockCircuitBreakerOpenMs(
+                getEnvOrConfigInt("BEDROCK_CIRCUIT_BREAKER_OPEN_MS", config, "nl.conversion.bedrock.circuitBreaker.openMs", 30000)
+            );
+            appConfig.setBedrockCircuitBreakerHalfOpenProbes(
+                getEnvOrConfigInt("BEDROCK_CIRCUIT_BREAKER_HALF_OPEN_PROBES", config, "nl.conversion.bedrock.circuitBreaker.halfOpenProbes", 3)
+            );
+            
+            // Hedged Bedrock calls and timeouts derived from observed conversion latency
+            appConfig.setBedrockHedgingEnabled(
+                getEnvOrConfigBoolean("BEDROCK_HEDGING_ENABLED", config, "nl.conversion.bedrock.hedging.enabled", false)
+            );
+            appConfig.setBedrockHedgingPercentile(
+                getEnvOrConfigDouble("BEDROCK_HEDGING_PERCENTILE", config, "nl.conversion.bedrock.hedging.percentile", 95.0)
+            );
+            appConfig.setBedrockHedgingBudgetPercent(
+                getEnvOrConfigDouble("BEDROCK_HEDGING_BUDGET_PERCENT", config, "nl.conversion.bedrock.hedging.budgetPercent", 5.0)
+            );
+            appConfig.setBedrockAdaptiveTimeoutEnabled(
+                getEnvOrConfigBoolean("BEDROCK_ADAPTIVE_TIMEOUT_ENABLED", config, "nl.conversion.bedrock.adaptiveTimeout.enabled", false)
+            );
+            appConfig.setBedrockAdaptiveTimeoutMultiplier(
+                getEnvOrConfigDouble("BEDROCK_ADAPTIVE_TIMEOUT_MULTIPLIER", config, "nl.conversion.bedrock.adaptiveTimeout.multiplier", 3.0)
+            );
+            appConfig.setBedrockAdaptiveTimeoutMinMs(
+                getEnvOrConfigInt("BEDROCK_ADAPTIVE_TIMEOUT_MIN_MS", config, "nl.conversion.bedrock.adaptiveTimeout.minMs", 2000)
+            );
+            
+            // NL to DSL conversion cache
+            appConfig.setConversionCacheEnabled(
+                getEnvOrConfigBoolean("CONVERSION_CACHE_ENABLED", config, "nl.conversion.cache.enabled", true)
+            );
+            appConfig.setConversionCacheMaxEntries(
+                getEnvOrConfigInt("CONVERSION_CACHE_MAX_ENTRIES", config, "nl.conversion.cache.maxEntries", 10000)
+            );
+            appConfig.setConversionCacheMaxBytes(
+                getEnvOrConfigLong("CONVERSION_CACHE_MAX_BYTES", config, "nl.conversion.cache.maxBytes", 64L * 1024 * 1024)
+            );
+            appConfig.setConversionCacheTtlSeconds(
+                getEnvOrConfigInt("CONVERSION_CACHE_TTL_SECONDS", config, "nl.conversion.cache.ttlSeconds", 3600)
+            );
+            
+            // Persistent conversion store, read at startup
+            appConfig.setConversionStoreEnabled(
+                getEnvOrConfigBoolean("CONVERSION_STORE_ENABLED", config, "nl.conversion.store.enabled", true)
+            );
+            appConfig.setConversionStorePath(
+                getEnvOrConfig("CONVERSION_STORE_PATH", config, "nl.conversion.store.path", "data/conversion-store.log")
+            );
+            appConfig.setConversionStoreMaxAgeHours(
+                getEnvOrConfigInt("CONVERSION_STORE_MAX_AGE_HOURS", config, "nl.conversion.store.maxAgeHours", 168)
+            );
+            
+            // Embedded HTTP server (App --server)
+            appConfig.setServerPort(
+                getEnvOrConfigInt("SERVER_PORT", config, "server.port", 8080)
+            );
+            appConfig.setServerWorkerThreads(
+                getEnvOrConfigInt("SERVER_WORKER_THREADS", config, "server.workerThreads", 16)
+            );
+            appConfig.setServerVirtualThreads(
+                getEnvOrConfigBoolean("SERVER_VIRTUAL_THREADS", config, "server.virtualThreads", true)
+            );
+            appConfig.setServerMaxInFlight(
+                getEnvOrConfigInt("SERVER_MAX_IN_FLIGHT", config, "server.maxInFlight", 256)
+            );
+            appConfig.setServerRequestTimeoutMs(
+                getEnvOrConfigInt("SERVER_REQUEST_TIMEOUT_MS", config, "server.requestTimeoutMs", 30000)
+            );
+            appConfig.setServerShutdownGraceMs(
+                getEnvOrConfigInt("SERVER_SHUTDOWN_GRACE_MS", config, "server.shutdownGraceMs", 10000)
+            );
+            
+            // Metrics exporters
+            appConfig.setMetricsJmxEnabled(
+                getEnvOrConfigBoolean("METRICS_JMX_ENABLED", config, "metrics.jmx.enabled", true)
+            );
+            appConfig.setMetricsPrometheusPort(
+                getEnvOrConfigInt("METRICS_PROMETHEUS_PORT", config, "metrics.prometheus.port", 0)
+            );
             
             // Validate required fields
             if (appConfig.getOpensearchEndpoint() == null || appConfig.getOpensearchEndpoint().isEmpty()) {
@@ -97,6 +379,36 @@ public class ConfigLoader {
         return defaultValue;
     }
     
+    private static long getEnvOrConfigLong(String envVar, Config config, String configPath, long defaultValue) {
+        String envValue = System.getenv(envVar);
+        if (envValue != null && !envValue.isEmpty()) {
+            try {
+                return Long.parseLong(envValue);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid long value for {}: {}", envVar, envValue);
+            }
+        }
+        if (config.hasPath(configPath)) {
+            return config.getLong(configPath);
+        }
+        return defaultValue;
+    }
+    
+    private static double getEnvOrConfigDouble(String envVar, Config config, String configPath, double defaultValue) {
+        String envValue = System.getenv(envVar);
+        if (envValue != null && !envValue.isEmpty()) {
+            try {
+                return Double.parseDouble(envValue);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid decimal value for {}: {}", envVar, envValue);
+            }
+        }
+        if (config.hasPath(configPath)) {
+            return config.getDouble(configPath);
+        }
+        return defaultValue;
+    }
+    
     private static boolean getEnvOrConfigBoolean(String envVar, Config config, String configPath, boolean defaultValue) {
         String envValue = System.getenv(envVar);
         if (envValue != null && !envValue.isEmpty()) {
@@ -0,0 +1,33 @@
+package com.opensearch.nlquery.converter;
+
+/**
+ * Bedrock answered with a non-200 status
+ */
+public class BedrockApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public BedrockApiException(int statusCode, String responseBody) {
+        super("Bedrock API error: " + statusCode + " - " + responseBody);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Bedrock is shedding load (429 ThrottlingException, 503 ServiceUnavailable)
+     */
+    public boolean isThrottling() {
+        return statusCode == 429 || statusCode == 503;
+    }
+
+    /**
+     * Worth retrying: throttling and other server-side errors
+     */
+    public boolean isRetryable() {
+        return isThrottling() || statusCode >= 500;
+    }
+}
@@ -0,0 +1,124 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.aws.EventStreamDecoder;
+import org.apache.hc.client5.http.async.methods.AbstractBinResponseConsumer;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Consumes a Bedrock invoke-with-response-stream response on the I/O thread.
+ *
+ * Event stream messages are decoded as bytes arrive and the text deltas are fed
+ * to a {@link StreamingDslParser}. The result future completes the moment the
+ * DSL object closes, before the stream ends, and the converter then cancels
+ * the exchange; text that cannot be a JSON object fails the exchange
+ * immediately. Either way the connection is closed and the generation stops.
+ */
+class BedrockStreamConsumer extends AbstractBinResponseConsumer<ObjectNode> {
+    private static final Logger logger = LoggerFactory.getLogger(BedrockStreamConsumer.class);
+    private static final int MAX_ERROR_BODY = 8192;
+
+    private final ObjectMapper objectMapper;
+    private final CompletableFuture<ObjectNode> result;
+    private final EventStreamDecoder decoder;
+    private final StreamingDslParser dslParser;
+    private final long startNanos = System.nanoTime();
+    private int statusCode;
+    private ByteArrayOutputStream errorBody;
+
+    BedrockStreamConsumer(ObjectMapper objectMapper, CompletableFuture<ObjectNode> result) throws IOException {
+        this.objectMapper = objectMapper;
+        this.result = result;
+        this.decoder = new EventStreamDecoder(this::onMessage);
+        this.dslParser = new StreamingDslParser(objectMapper);
+    }
+
+    @Override
+    protected void start(HttpResponse response, ContentType contentType) {
+        statusCode = response.getCode();
+        if (statusCode != 200) {
+            errorBody = new ByteArrayOutputStream();
+        }
+    }
+
+    @Override
+    protected int capacityIncrement() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected void data(ByteBuffer src, boolean endOfStream) throws IOException {
+        if (errorBody != null) {
+            int count = Math.min(src.remaining(), MAX_ERROR_BODY - errorBody.size());
+            byte[] bytes = new byte[src.remaining()];
+            src.get(bytes);
+            errorBody.write(bytes, 0, count);
+            return;
+        }
+        decoder.feed(src);
+    }
+
+    private void onMessage(EventStreamDecoder.Message message) throws IOException {
+        if (!"event".equals(message.getMessageType())) {
+            String type = message.getHeader(":exception-type") != null
+                ? message.getHeader(":exception-type")
+                : message.getHeader(":error-code");
+            throw new IOException("Bedrock stream error: " + type + " - "
+                + new String(message.getPayload(), StandardCharsets.UTF_8));
+        }
+        if (!"chunk".equals(message.getHeader(":event-type")) || dslParser.getDsl() != null) {
+            return;
+        }
+
+        // Each chunk wraps one model event, base64 encoded
+        JsonNode chunk = objectMapper.readTree(message.getPayload());
+        JsonNode event = objectMapper.readTree(Base64.getDecoder().decode(chunk.path("bytes").asText()));
+        if (!"content_block_delta".equals(event.path("type").asText())) {
+            return;
+        }
+        JsonNode delta = event.path("delta");
+        if (!"text_delta".equals(delta.path("type").asText())) {
+            return;
+        }
+
+        if (dslParser.feed(delta.path("text").asText())) {
+            logger.debug("Bedrock DSL complete after {} ms: {}",
+                (System.nanoTime() - startNanos) / 1_000_000, dslParser.getDsl());
+            result.complete(dslParser.getDsl());
+        }
+    }
+
+    @Override
+    protected ObjectNode buildResult() {
+        if (errorBody != null) {
+            result.completeExceptionally(new BedrockApiException(statusCode,
+                new String(errorBody.toByteArray(), StandardCharsets.UTF_8)));
+            return null;
+        }
+        try {
+            if (decoder.hasPartialMessage()) {
+                throw new IOException("Bedrock stream ended inside an event stream message");
+            }
+            return dslParser.finish();
+        } catch (IOException e) {
+            result.completeExceptionally(new RuntimeException("Bedrock query conversion failed", e));
+            return null;
+        }
+    }
+
+    @Override
+    public void releaseResources() {
+    }
+}
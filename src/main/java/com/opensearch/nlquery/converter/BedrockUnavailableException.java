@@ -0,0 +1,27 @@
+package com.opensearch.nlquery.converter;
+
+/**
+ * A conversion refused without calling Bedrock, because its circuit breaker is
+ * open or too many calls are already waiting for the concurrency limit
+ */
+public class BedrockUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final boolean circuitOpen;
+
+    public BedrockUnavailableException(String message) {
+        this(message, false);
+    }
+
+    public BedrockUnavailableException(String message, boolean circuitOpen) {
+        super(message);
+        this.circuitOpen = circuitOpen;
+    }
+
+    /**
+     * Whether the call was refused by the open circuit breaker
+     */
+    public boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+}
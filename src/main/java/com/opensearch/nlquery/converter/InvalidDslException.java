@@ -0,0 +1,22 @@
+package com.opensearch.nlquery.converter;
+
+import com.opensearch.nlquery.dsl.DslValidation;
+
+/**
+ * Generated DSL that does not fit the index mapping and could not be
+ * repaired or corrected; the problems are available for reporting
+ */
+public class InvalidDslException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient DslValidation validation;
+
+    public InvalidDslException(DslValidation validation) {
+        super("Generated DSL does not fit the index mapping:\n" + validation.describeProblems());
+        this.validation = validation;
+    }
+
+    public DslValidation getValidation() {
+        return validation;
+    }
+}
@@ -1,40 +1,92 @@
 package com.opensearch.nlquery.converter;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.aws.SigV4Signer;
+import com.opensearch.nlquery.cache.QueryNormalizer;
+import com.opensearch.nlquery.concurrent.AdaptiveLimiter;
+import com.opensearch.nlquery.concurrent.CircuitBreaker;
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.concurrent.Hedger;
+import com.opensearch.nlquery.concurrent.SingleFlight;
 import com.opensearch.nlquery.config.AppConfig;
-import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.http.io.entity.StringEntity;
+import com.opensearch.nlquery.dsl.DslValidation;
+import com.opensearch.nlquery.dsl.DslValidator;
+import com.opensearch.nlquery.mapping.IndexMapping;
+import com.opensearch.nlquery.metrics.Counter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.auth.signer.Aws4Signer;
-import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
-import software.amazon.awssdk.http.SdkHttpFullRequest;
-import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.regions.Region;
 
+import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * LLM-based converter using AWS Bedrock to convert natural language to OpenSearch DSL
  * Uses direct HTTP calls with AWS request signing (no bedrock-runtime dependency required)
  */
-public class LLMQueryConverter {
+public class LLMQueryConverter implements QueryConverter {
     private static final Logger logger = LoggerFactory.getLogger(LLMQueryConverter.class);
     
     private final AppConfig config;
     private final ObjectMapper objectMapper;
     private final Region bedrockRegion;
-    private final Aws4Signer signer;
-    private final DefaultCredentialsProvider credentialsProvider;
+    private final String bedrockEndpoint;
+    private final SigV4Signer signer;
+    private final boolean ownsSigner;
+    private final PoolingAsyncClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpClient;
+    private final SingleFlight<String, ObjectNode> inFlightConversions;
+    private final Supplier<IndexMapping> mappingSupplier;
+    private final AdaptiveLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final RuleBasedQueryConverter ruleConverter;
+    private final Hedger hedger;
+    private final DslValidator validator;
+    
+    private final LatencyHistogram convertLatency;
+    private final LatencyHistogram requestBuildLatency;
+    private final LatencyHistogram signLatency;
+    private final LatencyHistogram httpLatency;
+    private final LatencyHistogram responseParseLatency;
+    private final Counter bedrockErrors;
+    private final Counter retries;
+    private final Counter streamsClosedEarly;
+    private final Counter bedrockCalls = new Counter();
+    private final Counter circuitOpenRejections;
+    private final Counter ruleFallbacks;
+    private final LatencyHistogram validateLatency;
     
     private static final String SYSTEM_PROMPT = 
         "You are an expert at converting natural language queries into OpenSearch DSL (Domain Specific Language) queries.\n" +
@@ -50,6 +102,10 @@ public class LLMQueryConverter {
         "6. Combine multiple conditions using 'bool' query with 'must', 'should', 'must_not', 'filter'\n" +
         "7. Always include a 'size' parameter (default: 10)\n" +
         "8. Do not include any explanations or markdown formatting, only the JSON\n" +
+        "9. When index fields are listed, use only those fields: full-text queries on text fields,\n" +
+        "   term/range queries in 'filter' on keyword, numeric and date fields. Never use '_all'\n" +
+        "10. If the user asks for particular fields only (e.g. 'show the title and price of ...'),\n" +
+        "   add a top-level '_source' array listing just those fields\n" +
         "\n" +
         "Example output format:\n" +
         "{\n" +
@@ -57,144 +113,701 @@ public class LLMQueryConverter {
         "    \"bool\": {\n" +
         "      \"must\": [\n" +
         "        {\n" +
-        "          \"match\": {\n" +
-        "            \"_all\": {\n" +
-        "              \"query\": \"search terms\",\n" +
-        "              \"operator\": \"and\"\n" +
-        "            }\n" +
+        "          \"multi_match\": {\n" +
+        "            \"query\": \"search terms\",\n" +
+        "            \"fields\": [\"title\", \"description\"],\n" +
+        "            \"operator\": \"and\"\n" +
         "          }\n" +
         "        }\n" +
+        "      ],\n" +
+        "      \"filter\": [\n" +
+        "        { \"range\": { \"price\": { \"lt\": 100 } } }\n" +
         "      ]\n" +
         "    }\n" +
         "  },\n" +
         "  \"size\": 10\n" +
         "}\n";
     
+    private static final String USER_PROMPT_TEMPLATE =
+        "Convert the following natural language query to OpenSearch DSL:\n\n%s";
+    
+    private static final String CORRECTION_PROMPT_TEMPLATE =
+        "That query cannot run against this index:\n%s\n\nReturn the corrected query, only the JSON.";
+    
+    // Changes whenever a prompt is edited, so persisted conversions are dropped
+    private static final String PROMPT_VERSION =
+        promptVersion(SYSTEM_PROMPT, USER_PROMPT_TEMPLATE, CORRECTION_PROMPT_TEMPLATE);
+    
+    // Upper bound on fields listed in the prompt, to bound its token count
+    private static final int MAX_PROMPT_FIELDS = 100;
+    
     public LLMQueryConverter(AppConfig config) {
+        this(config, () -> IndexMapping.EMPTY);
+    }
+    
+    /**
+     * @param mappingSupplier current mapping of the target index; its fields are
+     *                        listed in the prompt
+     */
+    public LLMQueryConverter(AppConfig config, Supplier<IndexMapping> mappingSupplier) {
+        this(config, mappingSupplier, SigV4Signer.create(), true);
+    }
+    
+    /**
+     * @param signer signer shared with other clients, e.g. the OpenSearch
+     *               service; it is left open on {@link #close()}
+     */
+    public LLMQueryConverter(AppConfig config, Supplier<IndexMapping> mappingSupplier, SigV4Signer signer) {
+        this(config, mappingSupplier, signer, false);
+    }
+    
+    private LLMQueryConverter(AppConfig config, Supplier<IndexMapping> mappingSupplier,
+                              SigV4Signer signer, boolean ownsSigner) {
         this.config = config;
+        this.mappingSupplier = mappingSupplier;
         this.objectMapper = new ObjectMapper();
         this.bedrockRegion = Region.of(config.getBedrockRegion() != null ? config.getBedrockRegion() : config.getRegion());
-        this.credentialsProvider = DefaultCredentialsProvider.create();
-        this.signer = Aws4Signer.create();
+        this.bedrockEndpoint = config.getBedrockEndpoint() != null && !config.getBedrockEndpoint().isEmpty()
+            ? config.getBedrockEndpoint().replaceAll("/+$", "")
+            : "https://bedrock-runtime." + bedrockRegion.id() + ".amazonaws.com";
+        this.signer = signer;
+        this.ownsSigner = ownsSigner;
+        this.inFlightConversions = new SingleFlight<>();
+        this.limiter = new AdaptiveLimiter(config.getBedrockConcurrencyInitialLimit(),
+            config.getBedrockConcurrencyMinLimit(), config.getBedrockConcurrencyMaxLimit(),
+            config.getBedrockConcurrencyBackoffRatio(), config.getBedrockConcurrencyLatencyTolerance(),
+            config.getBedrockConcurrencyMaxQueued());
+        this.hedger = new Hedger("bedrock", config.isBedrockHedgingEnabled(), config.getBedrockHedgingPercentile(),
+            config.getBedrockHedgingBudgetPercent(), config.isBedrockAdaptiveTimeoutEnabled(),
+            config.getBedrockAdaptiveTimeoutMultiplier(), config.getBedrockAdaptiveTimeoutMinMs(),
+            config.getPipelineTimeoutMs());
+        
+        // Long-lived non-blocking client with a keep-alive pool shared by all conversions
+        this.connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(config.getBedrockMaxConnections())
+            .setMaxConnPerRoute(config.getBedrockMaxConnectionsPerRoute())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(config.getConnectionTimeout()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+        this.httpClient = HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(config.getBedrockKeepAliveMs()))
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.ofMilliseconds(config.getBedrockIdleEvictMs()))
+            .build();
+        this.httpClient.start();
+        
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.convertLatency = metrics.stageLatency("llm_convert");
+        this.requestBuildLatency = metrics.stageLatency("bedrock_request_build");
+        this.signLatency = metrics.stageLatency("bedrock_sign");
+        this.httpLatency = metrics.stageLatency("bedrock_http");
+        this.responseParseLatency = metrics.stageLatency("bedrock_response_parse");
+        this.validateLatency = metrics.stageLatency("dsl_validate");
+        this.validator = config.isDslValidationEnabled() ? new DslValidator() : null;
+        this.bedrockErrors = metrics.errors("bedrock");
+        this.retries = metrics.counter("nlquery_bedrock_retries_total", "Bedrock calls retried after throttling or errors");
+        this.streamsClosedEarly = metrics.counter("nlquery_bedrock_streams_closed_early_total",
+            "Bedrock completion streams closed once the DSL was complete, before the model stopped");
+        this.circuitOpenRejections = metrics.counter("nlquery_bedrock_rejected_total",
+            "Conversions refused without calling Bedrock", "reason", "circuit_open");
+        metrics.functionCounter("nlquery_bedrock_rejected_total", "Conversions refused without calling Bedrock",
+            limiter::getRejectedCount, "reason", "queue_full");
+        metrics.functionCounter("nlquery_bedrock_throttled_total", "Bedrock calls answered with 429 or 503",
+            limiter::getThrottledCount);
+        metrics.gauge("nlquery_bedrock_concurrency", "Adaptive Bedrock concurrency limit and usage",
+            limiter::getLimit, "state", "limit");
+        metrics.gauge("nlquery_bedrock_concurrency", "Adaptive Bedrock concurrency limit and usage",
+            limiter::getInFlight, "state", "in_flight");
+        metrics.gauge("nlquery_bedrock_concurrency", "Adaptive Bedrock concurrency limit and usage",
+            limiter::getQueued, "state", "queued");
+        if (config.isBedrockCircuitBreakerEnabled()) {
+            this.circuitBreaker = new CircuitBreaker(config.getBedrockCircuitBreakerWindowSize(),
+                config.getBedrockCircuitBreakerMinimumCalls(), config.getBedrockCircuitBreakerFailureRate(),
+                config.getBedrockCircuitBreakerOpenMs(), config.getBedrockCircuitBreakerHalfOpenProbes(),
+                state -> {
+                    logger.warn("Bedrock circuit breaker is now {}", state);
+                    metrics.counter("nlquery_bedrock_circuit_transitions_total", "Bedrock circuit breaker transitions",
+                        "state", state.name().toLowerCase()).increment();
+                });
+            metrics.gauge("nlquery_bedrock_circuit_state", "Bedrock circuit breaker state (0 closed, 1 open, 2 half-open)",
+                () -> circuitBreaker.getState().ordinal());
+            this.ruleConverter = new RuleBasedQueryConverter(mappingSupplier);
+        } else {
+            this.circuitBreaker = null;
+            this.ruleConverter = null;
+        }
+        this.ruleFallbacks = metrics.fallbacks("llm_to_rules");
+        hedger.registerMetrics(metrics, "bedrock");
+        metrics.gauge("nlquery_bedrock_pool_connections", "Bedrock connection pool usage",
+            () -> getConnectionPoolStats().getLeased(), "state", "leased");
+        metrics.gauge("nlquery_bedrock_pool_connections", "Bedrock connection pool usage",
+            () -> getConnectionPoolStats().getAvailable(), "state", "available");
+        metrics.gauge("nlquery_bedrock_pool_connections", "Bedrock connection pool usage",
+            () -> getConnectionPoolStats().getPending(), "state", "pending");
+        metrics.functionCounter("nlquery_bedrock_calls_total",
+            "Bedrock HTTP calls made, and conversions that joined an identical in-flight call instead",
+            this::getBedrockCallCount, "outcome", "called");
+        metrics.functionCounter("nlquery_bedrock_calls_total",
+            "Bedrock HTTP calls made, and conversions that joined an identical in-flight call instead",
+            this::getDeduplicatedCallCount, "outcome", "deduplicated");
         
-        logger.info("Bedrock client initialized with model: {} in region: {}", 
-            config.getBedrockModelId(), bedrockRegion);
+        logger.info("Bedrock client initialized with model: {} at {} (pool max: {}, per route: {})", 
+            config.getBedrockModelId(), bedrockEndpoint,
+            config.getBedrockMaxConnections(), config.getBedrockMaxConnectionsPerRoute());
+    }
+    
+    /**
+     * Convert natural language query to OpenSearch DSL using AWS Bedrock.
+     * Concurrent calls for the same normalized query share one Bedrock call,
+     * which is hedged and timed out as configured. With validation enabled the
+     * DSL is checked against the index mapping first (see {@link DslValidator}).
+     *
+     * @throws InvalidDslException if the DSL still has problems after validation
+     */
+    @Override
+    public ObjectNode convert(String naturalLanguageQuery) {
+        return Futures.join(convertAsync(naturalLanguageQuery));
+    }
+    
+    /**
+     * Non-blocking variant of {@link #convert(String)}. Cancelling the returned
+     * future aborts the HTTP exchange unless other callers share the same call.
+     */
+    @Override
+    public CompletableFuture<ObjectNode> convertAsync(String naturalLanguageQuery) {
+        CompletableFuture<ScoredConversion> scored = convertScoredAsync(naturalLanguageQuery);
+        CompletableFuture<ObjectNode> result = scored.thenApply(ScoredConversion::getDsl);
+        Futures.propagateCancellation(result, scored);
+        return result;
+    }
+    
+    /**
+     * As {@link #convertAsync(String)}. While the circuit breaker is open the
+     * query is answered by the rule engine instead, marked as a fallback so
+     * that it is not cached.
+     */
+    @Override
+    public CompletableFuture<ScoredConversion> convertScoredAsync(String naturalLanguageQuery) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<ObjectNode> conversion = inFlightConversions.execute(
+            QueryNormalizer.normalize(naturalLanguageQuery),
+            () -> convertValidated(naturalLanguageQuery));
+        CompletableFuture<ScoredConversion> result = conversion.handle((dsl, error) -> {
+            if (error == null) {
+                convertLatency.recordSince(startNanos);
+                return new ScoredConversion(dsl, 1.0);
+            }
+            Throwable cause = Futures.unwrap(error);
+            if (ruleConverter == null || !(cause instanceof BedrockUnavailableException)
+                    || !((BedrockUnavailableException) cause).isCircuitOpen()) {
+                throw new CompletionException(cause);
+            }
+            ruleFallbacks.increment();
+            logger.debug("Bedrock circuit breaker is open, using rule-based DSL: {}", naturalLanguageQuery);
+            ScoredConversion rules = ruleConverter.convertScored(naturalLanguageQuery);
+            return new ScoredConversion(rules.getDsl(), rules.getConfidence(), true);
+        });
+        Futures.propagateCancellation(result, conversion);
+        return result;
+    }
+    
+    /**
+     * A Bedrock conversion checked against the mapping of the default index.
+     * Problems the validator cannot repair are shown to the model in one
+     * corrective call; what that returns is validated again and either used
+     * or rejected.
+     */
+    private CompletableFuture<ObjectNode> convertValidated(String naturalLanguageQuery) {
+        CompletableFuture<ObjectNode> first = hedger.execute(() -> invokeBedrock(naturalLanguageQuery, null, null));
+        if (validator == null) {
+            return first;
+        }
+        CompletableFuture<ObjectNode> result = new CompletableFuture<>();
+        Futures.propagateCancellation(result, first);
+        first.whenComplete((dsl, error) -> {
+            if (error != null) {
+                result.completeExceptionally(Futures.unwrap(error));
+                return;
+            }
+            DslValidation validation = validate(dsl);
+            if (validation.isValid()) {
+                countValidation(!validation.isChecked() ? "unchecked" : validation.isRepaired() ? "repaired" : "valid");
+                result.complete(validation.getDsl());
+                return;
+            }
+            if (!config.isDslValidationCorrectiveRetry()) {
+                countValidation("rejected");
+                result.completeExceptionally(new InvalidDslException(validation));
+                return;
+            }
+            logger.debug("Generated DSL has problems, asking Bedrock to correct it:\n{}", validation.describeProblems());
+            CompletableFuture<ObjectNode> retry = hedger.execute(
+                () -> invokeBedrock(naturalLanguageQuery, dsl, validation));
+            Futures.propagateCancellation(result, retry);
+            retry.whenComplete((corrected, retryError) -> {
+                if (retryError != null) {
+                    result.completeExceptionally(Futures.unwrap(retryError));
+                    return;
+                }
+                DslValidation revalidation = validate(corrected);
+                if (revalidation.isValid()) {
+                    countValidation("corrected");
+                    result.complete(revalidation.getDsl());
+                } else {
+                    countValidation("rejected");
+                    result.completeExceptionally(new InvalidDslException(revalidation));
+                }
+            });
+        });
+        return result;
+    }
+    
+    private DslValidation validate(ObjectNode dsl) {
+        long startNanos = System.nanoTime();
+        DslValidation validation = validator.validate(dsl, mappingSupplier.get());
+        validateLatency.recordSince(startNanos);
+        if (validation.isRepaired()) {
+            logger.debug("Repaired generated DSL: {}", validation.getRepairs());
+        }
+        return validation;
+    }
+    
+    private static void countValidation(String outcome) {
+        MetricsRegistry.getDefault().counter("nlquery_dsl_validations_total",
+            "Generated queries by outcome of validation against the index mapping", "outcome", outcome).increment();
     }
     
     /**
-     * Convert natural language query to OpenSearch DSL using AWS Bedrock
+     * One conversion: admitted by the circuit breaker, then sent under the
+     * concurrency limit and retried on throttling and server errors with
+     * jittered exponential backoff while the retry deadline allows. With a
+     * rejected query and its problems, this is a corrective call that shows
+     * both to the model after the original question.
      */
-    public String convert(String naturalLanguageQuery) {
+    private CompletableFuture<ObjectNode> invokeBedrock(String naturalLanguageQuery, ObjectNode rejected,
+                                                        DslValidation problems) {
         logger.debug("Converting query using Bedrock: {}", naturalLanguageQuery);
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            circuitOpenRejections.increment();
+            return CompletableFuture.failedFuture(new BedrockUnavailableException("Bedrock circuit breaker is open", true));
+        }
         
+        String requestBodyJson;
         try {
-            String userPrompt = String.format(
-                "Convert the following natural language query to OpenSearch DSL:\n\n%s",
-                naturalLanguageQuery
-            );
-            
-            // Build request payload for Claude (Anthropic) models
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("anthropic_version", "bedrock-2023-05-31");
+            requestBodyJson = buildRequestBody(naturalLanguageQuery, rejected, problems);
+        } catch (Exception e) {
+            logger.error("Error in Bedrock conversion: ", e);
+            bedrockErrors.increment();
+            if (circuitBreaker != null) {
+                circuitBreaker.onIgnored();
+            }
+            return CompletableFuture.failedFuture(new RuntimeException("Bedrock query conversion failed", e));
+        }
+        
+        CompletableFuture<ObjectNode> result = new CompletableFuture<>();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getBedrockRetryDeadlineMs());
+        attempt(requestBodyJson, 1, deadlineNanos, result);
+        result.whenComplete((dsl, error) -> {
+            if (error != null && !result.isCancelled()) {
+                bedrockErrors.increment();
+            }
+            if (circuitBreaker != null) {
+                recordHealth(result, error);
+            }
+        });
+        return result;
+    }
+    
+    private void attempt(String requestBodyJson, int attempt, long deadlineNanos, CompletableFuture<ObjectNode> result) {
+        CompletableFuture<AdaptiveLimiter.Permit> permit = limiter.acquire();
+        Futures.propagateCancellation(result, permit);
+        permit.whenComplete((granted, limitError) -> {
+            if (limitError != null) {
+                if (!permit.isCancelled()) {
+                    result.completeExceptionally(new BedrockUnavailableException(
+                        "Bedrock concurrency limit reached: " + Futures.unwrap(limitError).getMessage()));
+                }
+                return;
+            }
+            if (result.isDone()) {
+                granted.release(AdaptiveLimiter.Outcome.IGNORED);
+                return;
+            }
             
-            // Build messages array - Claude uses system and user messages
-            Map<String, Object> systemMessage = new HashMap<>();
-            systemMessage.put("role", "system");
-            systemMessage.put("content", SYSTEM_PROMPT);
+            bedrockCalls.increment();
+            CompletableFuture<ObjectNode> call = send(requestBodyJson);
+            Futures.propagateCancellation(result, call);
+            call.whenComplete((dsl, error) -> {
+                if (error == null) {
+                    granted.release(AdaptiveLimiter.Outcome.SUCCESS);
+                    result.complete(dsl);
+                    return;
+                }
+                BedrockApiException apiError = apiError(error);
+                granted.release(apiError != null && apiError.isThrottling()
+                    ? AdaptiveLimiter.Outcome.THROTTLED : AdaptiveLimiter.Outcome.IGNORED);
+                if (result.isDone()) {
+                    return;
+                }
+                long backoffNanos = backoffNanos(attempt);
+                if (isRetryable(error) && attempt < config.getBedrockRetryMaxAttempts()
+                        && System.nanoTime() + backoffNanos < deadlineNanos) {
+                    retries.increment();
+                    logger.debug("Bedrock attempt {} failed ({}), retrying in {} ms", attempt,
+                        Futures.unwrap(error).getMessage(), TimeUnit.NANOSECONDS.toMillis(backoffNanos));
+                    CompletableFuture.delayedExecutor(backoffNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                        if (!result.isDone()) {
+                            attempt(requestBodyJson, attempt + 1, deadlineNanos, result);
+                        }
+                    });
+                } else {
+                    result.completeExceptionally(Futures.unwrap(error));
+                }
+            });
+        });
+    }
+    
+    /**
+     * Full jitter: uniform between zero and the exponentially growing cap
+     */
+    private long backoffNanos(int attempt) {
+        long capMillis = Math.min(config.getBedrockRetryMaxBackoffMs(),
+            (long) config.getBedrockRetryBaseBackoffMs() << Math.min(attempt - 1, 20));
+        return TimeUnit.MILLISECONDS.toNanos(ThreadLocalRandom.current().nextLong(capMillis + 1));
+    }
+    
+    /**
+     * Throttling, server errors and transport failures; not client errors or
+     * completions that are not valid DSL
+     */
+    private static boolean isRetryable(Throwable error) {
+        BedrockApiException apiError = apiError(error);
+        if (apiError != null) {
+            return apiError.isRetryable();
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static BedrockApiException apiError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BedrockApiException) {
+                return (BedrockApiException) cause;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Feed the outcome of a conversion to the circuit breaker: Bedrock answered
+     * (even with a client error or unusable DSL) counts as healthy
+     */
+    private void recordHealth(CompletableFuture<ObjectNode> result, Throwable error) {
+        if (error == null) {
+            circuitBreaker.onSuccess();
+        } else if (result.isCancelled() || Futures.unwrap(error) instanceof BedrockUnavailableException) {
+            circuitBreaker.onIgnored();
+        } else if (isRetryable(error)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+    
+    private String buildRequestBody(String naturalLanguageQuery, ObjectNode rejected, DslValidation problems)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        String userPrompt = String.format(USER_PROMPT_TEMPLATE, naturalLanguageQuery);
+        IndexMapping mapping = mappingSupplier.get();
+        if (!mapping.isEmpty()) {
+            userPrompt += "\n\nIndex fields (name:type): " + mapping.describe(MAX_PROMPT_FIELDS);
+        }
+        
+        // Build request payload for Claude (Anthropic) models
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("anthropic_version", "bedrock-2023-05-31");
+        
+        // Build messages array - Claude uses system and user messages
+        Map<String, Object> systemMessage = new HashMap<>();
+        systemMessage.put("role", "system");
+        systemMessage.put("content", SYSTEM_PROMPT);
+        
+        Map<String, Object> userMessage = new HashMap<>();
+        userMessage.put("role", "user");
+        userMessage.put("content", userPrompt);
+        
+        if (rejected != null) {
+            Map<String, Object> rejectedMessage = new HashMap<>();
+            rejectedMessage.put("role", "assistant");
+            rejectedMessage.put("content", objectMapper.writeValueAsString(rejected));
             
-            Map<String, Object> userMessage = new HashMap<>();
-            userMessage.put("role", "user");
-            userMessage.put("content", userPrompt);
+            Map<String, Object> correctionMessage = new HashMap<>();
+            correctionMessage.put("role", "user");
+            correctionMessage.put("content", String.format(CORRECTION_PROMPT_TEMPLATE, problems.describeProblems()));
             
+            requestBody.put("messages", new Object[]{systemMessage, userMessage, rejectedMessage, correctionMessage});
+        } else {
             requestBody.put("messages", new Object[]{systemMessage, userMessage});
-            requestBody.put("max_tokens", 1000);
-            requestBody.put("temperature", 0.1);
-            
-            String requestBodyJson = objectMapper.writeValueAsString(requestBody);
-            
-            // Build Bedrock endpoint URL
-            String endpoint = String.format("https://bedrock-runtime.%s.amazonaws.com/model/%s/invoke", 
-                bedrockRegion.id(), config.getBedrockModelId());
-            
-            // Create HTTP request
-            SdkHttpFullRequest.Builder requestBuilder = SdkHttpFullRequest.builder()
-                .uri(URI.create(endpoint))
-                .method(SdkHttpMethod.POST)
-                .putHeader("Content-Type", "application/json")
-                .putHeader("Accept", "application/json")
-                .putHeader("X-Amz-Date", Instant.now().toString())
-                .contentStreamProvider(() -> 
-                    new java.io.ByteArrayInputStream(requestBodyJson.getBytes(StandardCharsets.UTF_8)));
-            
-            SdkHttpFullRequest request = requestBuilder.build();
-            
-            // Sign the request
-            Aws4SignerParams signerParams = Aws4SignerParams.builder()
-                .signingName("bedrock")
-                .signingRegion(bedrockRegion)
-                .awsCredentials(credentialsProvider.resolveCredentials())
-                .build();
-            
-            SdkHttpFullRequest signedRequest = signer.sign(request, signerParams);
-            
-            // Execute signed request using Apache HttpClient
-            try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-                HttpPost httpPost = new HttpPost(signedRequest.getUri());
-                
-                // Copy headers from signed request
-                signedRequest.headers().forEach((key, values) -> {
-                    values.forEach(value -> httpPost.addHeader(key, value));
-                });
-                
-                httpPost.setEntity(new StringEntity(requestBodyJson, org.apache.hc.core5.http.ContentType.APPLICATION_JSON));
-                
-                // Send request
-                try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
-                    int statusCode = response.getCode();
-                    String responseBody = EntityUtils.toString(response.getEntity());
-                    
-                    if (statusCode != 200) {
-                        throw new RuntimeException("Bedrock API error: " + statusCode + " - " + responseBody);
-                    }
-                    
-                    // Parse response
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> responseMap = objectMapper.readValue(responseBody, Map.class);
-                    
-                    // Extract content from Claude response
-                    @SuppressWarnings("unchecked")
-                    java.util.List<Map<String, Object>> contentList = (java.util.List<Map<String, Object>>) responseMap.get("content");
-                    if (contentList == null || contentList.isEmpty()) {
-                        throw new RuntimeException("Empty response from Bedrock");
-                    }
-                    
-                    Map<String, Object> contentBlock = contentList.get(0);
-                    String content = (String) contentBlock.get("text");
-                    
-                    // Clean the response (remove markdown code blocks if present)
-                    content = content.trim();
-                    if (content.startsWith("```json")) {
-                        content = content.substring(7);
-                    }
-                    if (content.startsWith("```")) {
-                        content = content.substring(3);
-                    }
-                    if (content.endsWith("```")) {
-                        content = content.substring(0, content.length() - 3);
+        }
+        requestBody.put("max_tokens", 1000);
+        requestBody.put("temperature", 0.1);
+        
+        String requestBodyJson = objectMapper.writeValueAsString(requestBody);
+        requestBuildLatency.recordSince(startNanos);
+        return requestBodyJson;
+    }
+    
+    /**
+     * A single signed Bedrock exchange; cancelling the returned future aborts it
+     */
+    private CompletableFuture<ObjectNode> send(String requestBodyJson) {
+        try {
+            CompletableFuture<ObjectNode> result = new CompletableFuture<>();
+            Future<?> exchange;
+            if (config.isBedrockStreaming()) {
+                // Stream the completion; the consumer completes the result at the DSL's closing brace
+                SimpleHttpRequest httpRequest = buildSignedRequest(
+                    "invoke-with-response-stream", "application/vnd.amazon.eventstream", requestBodyJson);
+                long sentNanos = System.nanoTime();
+                Future<?> stream = httpClient.execute(
+                    SimpleRequestProducer.create(httpRequest),
+                    new BedrockStreamConsumer(objectMapper, result),
+                    new ResultCallback<>(result, dsl -> dsl));
+                exchange = stream;
+                // Parsing is interleaved with the stream, so it counts as HTTP time
+                result.thenRun(() -> httpLatency.recordSince(sentNanos));
+                // Once the DSL is complete the rest of the completion is not needed: closing the
+                // connection stops the generation, which costs more than opening a new connection
+                result.thenRun(() -> {
+                    if (stream.cancel(true)) {
+                        streamsClosedEarly.increment();
                     }
-                    content = content.trim();
-                    
-                    // Validate JSON
-                    objectMapper.readTree(content);
-                    
-                    logger.debug("Bedrock generated DSL: {}", content);
-                    return content;
-                }
+                });
+            } else {
+                SimpleHttpRequest httpRequest = buildSignedRequest("invoke", "application/json", requestBodyJson);
+                long sentNanos = System.nanoTime();
+                exchange = httpClient.execute(httpRequest, new ResultCallback<SimpleHttpResponse>(
+                    result, response -> {
+                        httpLatency.recordSince(sentNanos);
+                        long parseStartNanos = System.nanoTime();
+                        ObjectNode dsl = extractDsl(response.getCode(), response.getBodyText());
+                        responseParseLatency.recordSince(parseStartNanos);
+                        return dsl;
+                    }));
             }
             
+            result.whenComplete((dsl, error) -> {
+                if (result.isCancelled()) {
+                    exchange.cancel(true);
+                }
+                if (logger.isDebugEnabled()) {
+                    PoolStats stats = getConnectionPoolStats();
+                    logger.debug("Bedrock connection pool - leased: {}, available: {}, pending: {}, max: {}",
+                        stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+                }
+            });
+            return result;
+            
         } catch (Exception e) {
             logger.error("Error in Bedrock conversion: ", e);
-            throw new RuntimeException("Bedrock query conversion failed", e);
+            return CompletableFuture.failedFuture(new RuntimeException("Bedrock query conversion failed", e));
+        }
+    }
+    
+    /**
+     * Build a SigV4-signed POST to the given Bedrock model action; the body is
+     * encoded and hashed once
+     */
+    private SimpleHttpRequest buildSignedRequest(String action, String accept, String requestBodyJson) {
+        URI endpoint = URI.create(String.format("%s/model/%s/%s", 
+            bedrockEndpoint, config.getBedrockModelId(), action));
+        byte[] body = requestBodyJson.getBytes(StandardCharsets.UTF_8);
+        
+        long signStartNanos = System.nanoTime();
+        Map<String, String> signature = signer.sign("POST", endpoint.getRawAuthority(),
+            endpoint.getRawPath(), endpoint.getRawQuery(), SigV4Signer.sha256Hex(body),
+            bedrockRegion.id(), "bedrock");
+        signLatency.recordSince(signStartNanos);
+        
+        SimpleRequestBuilder httpRequestBuilder = SimpleRequestBuilder.post(endpoint)
+            .addHeader("Accept", accept);
+        signature.forEach(httpRequestBuilder::addHeader);
+        httpRequestBuilder.setBody(body, ContentType.APPLICATION_JSON);
+        return httpRequestBuilder.build();
+    }
+    
+    /**
+     * Completes the conversion future from the async client's callback; the
+     * response is handled on the I/O thread
+     */
+    private static final class ResultCallback<T> implements FutureCallback<T> {
+        private final CompletableFuture<ObjectNode> result;
+        private final ResponseHandler<T> handler;
+        
+        ResultCallback(CompletableFuture<ObjectNode> result, ResponseHandler<T> handler) {
+            this.result = result;
+            this.handler = handler;
+        }
+        
+        @Override
+        public void completed(T response) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(handler.handle(response));
+            } catch (Exception e) {
+                failed(e);
+            }
+        }
+        
+        @Override
+        public void failed(Exception e) {
+            if (!result.isDone()) {
+                if (e instanceof BedrockApiException) {
+                    // Throttling and server errors are retried; no stack trace needed
+                    logger.warn("Bedrock call failed: {}", e.getMessage());
+                } else {
+                    logger.error("Error in Bedrock conversion: ", e);
+                }
+                result.completeExceptionally(new RuntimeException("Bedrock query conversion failed", e));
+            }
+        }
+        
+        @Override
+        public void cancelled() {
+            result.cancel(false);
+        }
+    }
+    
+    private interface ResponseHandler<T> {
+        ObjectNode handle(T response) throws Exception;
+    }
+    
+    /**
+     * Pull the generated DSL out of a Bedrock invoke response
+     */
+    private ObjectNode extractDsl(int statusCode, String responseBody) throws IOException {
+        if (statusCode != 200) {
+            throw new BedrockApiException(statusCode, responseBody);
+        }
+        
+        // Parse response
+        @SuppressWarnings("unchecked")
+        Map<String, Object> responseMap = objectMapper.readValue(responseBody, Map.class);
+        
+        // Extract content from Claude response
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> contentList = (List<Map<String, Object>>) responseMap.get("content");
+        if (contentList == null || contentList.isEmpty()) {
+            throw new RuntimeException("Empty response from Bedrock");
+        }
+        
+        Map<String, Object> contentBlock = contentList.get(0);
+        String content = (String) contentBlock.get("text");
+        
+        // Clean the response (remove markdown code blocks if present)
+        content = content.trim();
+        if (content.startsWith("```json")) {
+            content = content.substring(7);
+        }
+        if (content.startsWith("```")) {
+            content = content.substring(3);
+        }
+        if (content.endsWith("```")) {
+            content = content.substring(0, content.length() - 3);
+        }
+        content = content.trim();
+        
+        // Parse once; the tree is what flows on to the executor
+        JsonNode dsl = objectMapper.readTree(content);
+        if (!dsl.isObject()) {
+            throw new RuntimeException("Bedrock response is not a JSON object: " + content);
+        }
+        
+        logger.debug("Bedrock generated DSL: {}", content);
+        return (ObjectNode) dsl;
+    }
+    
+    /**
+     * Snapshot of the shared Bedrock connection pool usage
+     */
+    public PoolStats getConnectionPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+    
+    /**
+     * Adaptive concurrency limit around Bedrock calls
+     */
+    public AdaptiveLimiter getLimiter() {
+        return limiter;
+    }
+    
+    /**
+     * Number of Bedrock HTTP calls actually made, counting each retry, hedge
+     * and corrective call
+     */
+    public long getBedrockCallCount() {
+        return bedrockCalls.get();
+    }
+    
+    /**
+     * Bedrock model ID and a hash of the prompts; the same query gives the same
+     * DSL as long as both are unchanged
+     */
+    @Override
+    public String getFingerprint() {
+        return "bedrock/" + config.getBedrockModelId() + "/prompt-" + PROMPT_VERSION;
+    }
+    
+    private static String promptVersion(String... prompts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String prompt : prompts) {
+                digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder hex = new StringBuilder();
+            byte[] hash = digest.digest();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Number of conversions that were served by joining an identical in-flight call
+     */
+    public long getDeduplicatedCallCount() {
+        return inFlightConversions.getDeduplicatedCount();
+    }
+    
+    /**
+     * Release pooled connections, and stop the credentials refresher unless
+     * the signer is shared
+     */
+    @Override
+    public void close() {
+        logger.info("Bedrock calls: {}, deduplicated: {}, retries: {}, throttled: {}, concurrency limit: {}, "
+            + "hedges: {} ({} won), adaptive timeouts: {}",
+            getBedrockCallCount(), getDeduplicatedCallCount(), retries.get(), limiter.getThrottledCount(),
+            limiter.getLimit(), hedger.getHedgeCount(), hedger.getHedgeWinCount(), hedger.getTimeoutCount());
+        hedger.close();
+        httpClient.close(CloseMode.GRACEFUL);
+        if (ownsSigner) {
+            signer.close();
         }
     }
 }
@@ -0,0 +1,56 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.concurrent.Futures;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Converts a natural language query into OpenSearch DSL
+ */
+public interface QueryConverter {
+    
+    /**
+     * Convert natural language query to OpenSearch DSL
+     */
+    ObjectNode convert(String naturalLanguageQuery);
+    
+    /**
+     * Non-blocking variant of {@link #convert(String)}. The default runs the
+     * conversion on the calling thread, which suits CPU-only converters.
+     */
+    default CompletableFuture<ObjectNode> convertAsync(String naturalLanguageQuery) {
+        try {
+            return CompletableFuture.completedFuture(convert(naturalLanguageQuery));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Variant of {@link #convertAsync(String)} that tells whether the DSL came
+     * from a fallback path, which callers must not cache. The default reports
+     * every conversion as the converter's own, with full confidence.
+     */
+    default CompletableFuture<ScoredConversion> convertScoredAsync(String naturalLanguageQuery) {
+        CompletableFuture<ObjectNode> conversion = convertAsync(naturalLanguageQuery);
+        CompletableFuture<ScoredConversion> scored = conversion.thenApply(dsl -> new ScoredConversion(dsl, 1.0));
+        Futures.propagateCancellation(scored, conversion);
+        return scored;
+    }
+    
+    /**
+     * Identifies what the conversions depend on (model, prompt or rule version),
+     * so persisted conversions can be dropped when it changes. Null means
+     * conversions should not be persisted.
+     */
+    default String getFingerprint() {
+        return null;
+    }
+    
+    /**
+     * Release any resources held by the converter
+     */
+    default void close() {
+    }
+}
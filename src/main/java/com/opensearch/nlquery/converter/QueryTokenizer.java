@@ -0,0 +1,122 @@
+package com.opensearch.nlquery.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Single-pass tokenizer for natural language queries.
+ *
+ * Splits on whitespace into words, numbers, double-quoted strings, commas and
+ * comparison symbols (=, !=, <, <=, >, >=). Sentence punctuation is dropped
+ * from the end of words and a leading '$' is dropped from numbers.
+ */
+final class QueryTokenizer {
+
+    enum Type { WORD, NUMBER, QUOTED, SYMBOL, COMMA }
+
+    static final class Token {
+        final Type type;
+        final String text;
+        final String lower;
+
+        Token(Type type, String text) {
+            this.type = type;
+            this.text = text;
+            this.lower = type == Type.WORD ? text.toLowerCase(Locale.ROOT) : text;
+        }
+
+        @Override
+        public String toString() {
+            return type + ":" + text;
+        }
+    }
+
+    private QueryTokenizer() {
+    }
+
+    static List<Token> tokenize(String query) {
+        List<Token> tokens = new ArrayList<>();
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) {
+                    end = length;
+                }
+                tokens.add(new Token(Type.QUOTED, query.substring(i + 1, end)));
+                i = end + 1;
+            } else if (c == ',') {
+                tokens.add(new Token(Type.COMMA, ","));
+                i++;
+            } else if (isSymbol(c)) {
+                int end = i + 1;
+                if (end < length && query.charAt(end) == '=') {
+                    end++;
+                }
+                tokens.add(new Token(Type.SYMBOL, query.substring(i, end)));
+                i = end;
+            } else {
+                int end = i + 1;
+                while (end < length && !isWordBoundary(query.charAt(end))) {
+                    end++;
+                }
+                addWord(tokens, query, i, end);
+                i = end;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWord(List<Token> tokens, String query, int start, int end) {
+        // Trailing sentence punctuation is not part of the word ("shipped?" / "3.5.")
+        while (end > start && isTrailingPunctuation(query.charAt(end - 1))) {
+            end--;
+        }
+        if (end == start) {
+            return;
+        }
+        int numberStart = query.charAt(start) == '$' && end > start + 1 ? start + 1 : start;
+        if (isNumber(query, numberStart, end)) {
+            tokens.add(new Token(Type.NUMBER, query.substring(numberStart, end)));
+        } else {
+            tokens.add(new Token(Type.WORD, query.substring(start, end)));
+        }
+    }
+
+    private static boolean isNumber(String query, int start, int end) {
+        int i = start;
+        if (query.charAt(i) == '-' && end > start + 1) {
+            i++;
+        }
+        boolean digits = false;
+        boolean dot = false;
+        for (; i < end; i++) {
+            char c = query.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+
+    private static boolean isSymbol(char c) {
+        return c == '<' || c == '>' || c == '=' || c == '!';
+    }
+
+    private static boolean isWordBoundary(char c) {
+        return Character.isWhitespace(c) || c == ',' || c == '"' || isSymbol(c);
+    }
+
+    private static boolean isTrailingPunctuation(char c) {
+        return c == '.' || c == '?' || c == ';' || c == ':' || c == ')' || c == '(';
+    }
+}
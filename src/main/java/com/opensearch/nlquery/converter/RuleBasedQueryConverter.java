@@ -1,120 +1,601 @@
 package com.opensearch.nlquery.converter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.converter.QueryTokenizer.Token;
+import com.opensearch.nlquery.converter.QueryTokenizer.Type;
+import com.opensearch.nlquery.mapping.FieldType;
+import com.opensearch.nlquery.mapping.IndexMapping;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Rule-based converter for natural language to OpenSearch DSL
  * Handles common query patterns without requiring LLM
+ *
+ * The query is tokenized once and read left to right against phrase tables
+ * built at class load. Conditions become non-scoring clauses that OpenSearch
+ * can cache: {@code <field> [is] <operator> <value>} turns into a {@code term}
+ * or {@code range} in {@code bool.filter} ({@code must_not} for "is not").
+ * Equality needs a clause opened by where / with / that / having / whose and
+ * chained with "and" or commas; range phrases (between .. and, from .. to,
+ * greater / less than, at least / most, after, before, since, until, and the
+ * comparison symbols) are also recognised in free text, taking the word before
+ * them as the field. Remaining words become the scored full-text match.
+ *
+ * When the index mapping is known, the text goes to a {@code multi_match} over
+ * its text fields, and condition fields are resolved against the mapping: exact
+ * clauses go to keyword, numeric and date fields (or a text field's keyword
+ * sub-field), time phrases without a usable field go to the index's date field,
+ * and conditions on unknown fields fall back to text.
+ *
+ * Each conversion also gets a confidence score. Question openers, words the
+ * grammar does not model (negation, sorting, aggregation, relative time),
+ * clause words that did not form a condition, range fields guessed from free
+ * text and long free text each lower it,
+ * so callers can escalate ambiguous queries to the LLM.
  */
-public class RuleBasedQueryConverter {
+public class RuleBasedQueryConverter implements QueryConverter {
     private static final Logger logger = LoggerFactory.getLogger(RuleBasedQueryConverter.class);
+    
+    /**
+     * Bump when the grammar or the confidence scoring changes, so conversions
+     * persisted by the tiered converter are dropped
+     */
+    public static final int RULES_VERSION = 1;
+    
     private final ObjectMapper objectMapper;
+    private final Supplier<IndexMapping> mappingSupplier;
     
-    // Common patterns
-    private static final Pattern FILTER_PATTERN = Pattern.compile(
-        "(where|with|that|having) (.+)", Pattern.CASE_INSENSITIVE
-    );
-    private static final Pattern RANGE_PATTERN = Pattern.compile(
-        "(between|from|after|before|greater than|less than|>|<|>=|<=) (.+)", Pattern.CASE_INSENSITIVE
+    private enum Operator { EQ, NE, GT, GTE, LT, LTE, BETWEEN, FROM_TO }
+    
+    /**
+     * A multi-word operator phrase; clause-only phrases are too ambiguous in free text
+     */
+    private static final class Phrase {
+        final String[] words;
+        final Operator operator;
+        final boolean clauseOnly;
+        
+        Phrase(String text, Operator operator, boolean clauseOnly) {
+            this.words = text.split(" ");
+            this.operator = operator;
+            this.clauseOnly = clauseOnly;
+        }
+    }
+    
+    private static final Set<String> CLAUSE_STARTS = Set.of("where", "with", "that", "having", "whose");
+    private static final Set<String> TEMPORAL_WORDS = Set.of("after", "before", "since", "until");
+    private static final Set<String> COPULAS = Set.of("is", "are", "was", "were");
+    private static final String[][] LEADING_COMMANDS = sortedByLength(new String[][] {
+        {"find"}, {"find", "all"}, {"search"}, {"search", "for"}, {"get"}, {"get", "me"}, {"show"},
+        {"show", "me"}, {"show", "me", "all"}, {"list"}, {"list", "all"}, {"give", "me"}, {"return"}
+    });
+    
+    // Operator phrases indexed by first word, longest first
+    private static final Map<String, Phrase[]> OPERATORS = operatorTable(
+        new Phrase("=", Operator.EQ, false),
+        new Phrase("==", Operator.EQ, false),
+        new Phrase("equals", Operator.EQ, true),
+        new Phrase("equal to", Operator.EQ, true),
+        new Phrase("!=", Operator.NE, false),
+        new Phrase("not", Operator.NE, true),
+        new Phrase("not equal to", Operator.NE, true),
+        new Phrase(">", Operator.GT, false),
+        new Phrase("greater than", Operator.GT, false),
+        new Phrase("more than", Operator.GT, false),
+        new Phrase("higher than", Operator.GT, false),
+        new Phrase("larger than", Operator.GT, false),
+        new Phrase("over", Operator.GT, true),
+        new Phrase("above", Operator.GT, true),
+        new Phrase("after", Operator.GT, false),
+        new Phrase(">=", Operator.GTE, false),
+        new Phrase("at least", Operator.GTE, false),
+        new Phrase("greater than or equal to", Operator.GTE, false),
+        new Phrase("since", Operator.GTE, false),
+        new Phrase("<", Operator.LT, false),
+        new Phrase("less than", Operator.LT, false),
+        new Phrase("fewer than", Operator.LT, false),
+        new Phrase("lower than", Operator.LT, false),
+        new Phrase("smaller than", Operator.LT, false),
+        new Phrase("under", Operator.LT, true),
+        new Phrase("below", Operator.LT, true),
+        new Phrase("before", Operator.LT, false),
+        new Phrase("<=", Operator.LTE, false),
+        new Phrase("at most", Operator.LTE, false),
+        new Phrase("less than or equal to", Operator.LTE, false),
+        new Phrase("until", Operator.LTE, false),
+        new Phrase("between", Operator.BETWEEN, false),
+        new Phrase("from", Operator.FROM_TO, false)
     );
     
+    // Free-text words whose meaning the grammar cannot express in DSL
+    private static final Set<String> UNMODELLED_WORDS = Set.of(
+        "not", "no", "without", "except", "or", "nor", "top", "most", "best", "worst", "latest", "newest",
+        "oldest", "recent", "recently", "last", "next", "yesterday", "today", "tomorrow", "ago", "sorted",
+        "sort", "order", "ordered", "rank", "average", "avg", "count", "sum", "many", "much", "per",
+        "similar", "like", "near", "around", "approximately", "about");
+    private static final Set<String> QUESTION_OPENERS = Set.of(
+        "what", "which", "who", "whom", "whose", "how", "why", "when", "can", "could", "should",
+        "would", "is", "are", "do", "does", "did");
+    
+    private static final double QUESTION_PENALTY = 0.5;
+    private static final double UNMODELLED_WORD_PENALTY = 0.35;
+    private static final double UNPARSED_CLAUSE_WORD_PENALTY = 0.25;
+    private static final double INFERRED_FIELD_PENALTY = 0.35;
+    private static final double LONG_TEXT_PENALTY = 0.05;
+    private static final int LONG_TEXT_WORDS = 4;
+    
+    // Words that never name a field
+    private static final Set<String> RESERVED = reservedWords();
+    
     public RuleBasedQueryConverter() {
+        this(() -> IndexMapping.EMPTY);
+    }
+    
+    /**
+     * @param mappingSupplier current mapping of the target index; fields in the
+     *                        generated DSL are resolved against it
+     */
+    public RuleBasedQueryConverter(Supplier<IndexMapping> mappingSupplier) {
         this.objectMapper = new ObjectMapper();
+        this.mappingSupplier = mappingSupplier;
     }
     
     /**
      * Convert natural language query to OpenSearch DSL
      */
-    public String convert(String naturalLanguageQuery) {
+    @Override
+    public ObjectNode convert(String naturalLanguageQuery) {
+        return convertScored(naturalLanguageQuery).getDsl();
+    }
+    
+    /**
+     * Convert natural language query to OpenSearch DSL, scoring how much of
+     * the query the rules understood
+     */
+    public ScoredConversion convertScored(String naturalLanguageQuery) {
         logger.debug("Converting query: {}", naturalLanguageQuery);
         
         try {
+            Parse parse = new Parse(QueryTokenizer.tokenize(naturalLanguageQuery), mappingSupplier.get());
             ObjectNode query = objectMapper.createObjectNode();
+            query.set("query", parse.run());
             
-            // Clean the query
-            String cleanedQuery = naturalLanguageQuery.trim();
+            // Add default size
+            query.put("size", 10);
             
-            // Extract main search terms
-            String searchTerms = extractSearchTerms(cleanedQuery);
+            double confidence = parse.confidence();
+            logger.debug("Generated DSL (confidence {}): {}", confidence, query);
             
-            // Build match query (default)
-            ObjectNode matchQuery = objectMapper.createObjectNode();
-            matchQuery.put("query", searchTerms);
-            matchQuery.put("operator", "and");
+            return new ScoredConversion(query, confidence);
             
-            ObjectNode match = objectMapper.createObjectNode();
-            match.set("_all", matchQuery);
+        } catch (Exception e) {
+            logger.error("Error in rule-based conversion: ", e);
+            MetricsRegistry.getDefault().fallbacks("rule_query_string").increment();
+            // Fallback to simple match_all with query_string
+            return new ScoredConversion(createFallbackQuery(naturalLanguageQuery), 0.0);
+        }
+    }
+    
+    /**
+     * State of one left-to-right pass over the tokens
+     */
+    private final class Parse {
+        private final List<Token> tokens;
+        private final IndexMapping mapping;
+        private final StringBuilder searchTerms = new StringBuilder();
+        private final ArrayNode filters = objectMapper.createArrayNode();
+        private final ArrayNode exclusions = objectMapper.createArrayNode();
+        private boolean inClause;
+        private boolean question;
+        private int freeTextWords;
+        private int unmodelledWords;
+        private int unparsedClauseWords;
+        private int inferredFields;
+        
+        Parse(List<Token> tokens, IndexMapping mapping) {
+            this.tokens = tokens;
+            this.mapping = mapping;
+        }
+        
+        ObjectNode run() {
+            int i = skipLeadingCommand();
+            question = i < tokens.size() && QUESTION_OPENERS.contains(tokens.get(i).lower);
+            while (i < tokens.size()) {
+                Token token = tokens.get(i);
+                if (isClauseStart(token)) {
+                    inClause = true;
+                    i++;
+                    continue;
+                }
+                if (isConnector(token)) {
+                    i++;
+                    continue;
+                }
+                
+                int next = parseCondition(i);
+                if (next > i) {
+                    i = next;
+                    continue;
+                }
+                // Words that are not part of a condition are still matched as text
+                if (token.type != Type.SYMBOL) {
+                    appendTerm(token);
+                    freeTextWords++;
+                    if (UNMODELLED_WORDS.contains(token.lower)) {
+                        unmodelledWords++;
+                    }
+                    if (inClause) {
+                        unparsedClauseWords++;
+                    }
+                }
+                i++;
+            }
+            return build();
+        }
+        
+        double confidence() {
+            double confidence = 1.0;
+            if (question) {
+                confidence -= QUESTION_PENALTY;
+            }
+            confidence -= UNMODELLED_WORD_PENALTY * unmodelledWords;
+            confidence -= UNPARSED_CLAUSE_WORD_PENALTY * unparsedClauseWords;
+            confidence -= INFERRED_FIELD_PENALTY * inferredFields;
+            if (freeTextWords > LONG_TEXT_WORDS) {
+                confidence -= LONG_TEXT_PENALTY * (freeTextWords - LONG_TEXT_WORDS);
+            }
+            return Math.max(0.0, Math.min(1.0, confidence));
+        }
+        
+        private int skipLeadingCommand() {
+            for (String[] command : LEADING_COMMANDS) {
+                if (matches(0, command)) {
+                    return command.length;
+                }
+            }
+            return 0;
+        }
+        
+        /**
+         * Try to read {@code <field> [is] <operator> <value>} at {@code start};
+         * returns the index after it, or {@code start} if there is none
+         */
+        private int parseCondition(int start) {
+            Token field = tokens.get(start);
+            if (field.type != Type.WORD || RESERVED.contains(field.lower)) {
+                return start;
+            }
             
-            ObjectNode boolQuery = objectMapper.createObjectNode();
-            boolQuery.set("must", objectMapper.createArrayNode().add(match));
+            int i = start + 1;
+            boolean copula = i < tokens.size() && COPULAS.contains(tokens.get(i).lower);
+            if (copula) {
+                i++;
+            }
             
-            // Check for filters
-            if (hasFilters(cleanedQuery)) {
-                ObjectNode filter = buildFilters(cleanedQuery);
-                if (filter != null && filter.size() > 0) {
-                    boolQuery.set("filter", objectMapper.createArrayNode().add(filter));
-                }
+            Phrase phrase = matchOperator(i);
+            Operator operator;
+            if (phrase != null) {
+                operator = phrase.operator;
+                i += phrase.words.length;
+            } else if (copula && inClause) {
+                operator = Operator.EQ;
+            } else {
+                return start;
             }
             
-            query.set("query", objectMapper.createObjectNode().set("bool", boolQuery));
+            // Find where the value ends
+            int end;
+            if (operator == Operator.EQ || operator == Operator.NE) {
+                end = i;
+                while (end < tokens.size() && !isConnector(tokens.get(end)) && !isClauseStart(tokens.get(end))) {
+                    end++;
+                }
+                if (end == i) {
+                    return start;
+                }
+            } else if (operator == Operator.BETWEEN || operator == Operator.FROM_TO) {
+                String separator = operator == Operator.BETWEEN ? "and" : "to";
+                if (!isValue(i) || !matches(i + 1, separator) || !isValue(i + 2)) {
+                    return start;
+                }
+                end = i + 3;
+            } else {
+                if (!isValue(i)) {
+                    return start;
+                }
+                end = i + 1;
+            }
             
-            // Add default size
-            query.put("size", 10);
+            boolean range = operator != Operator.EQ && operator != Operator.NE;
+            boolean dateValue = (phrase != null && TEMPORAL_WORDS.contains(phrase.words[0]))
+                || looksLikeDate(tokens.get(i));
+            String target = resolveField(field, range, dateValue);
+            if (target == null) {
+                // Unknown field: keep the words as text so the query can still match
+                appendTerm(field);
+                for (int v = i; v < end; v++) {
+                    if (!(range && v == i + 1 && end == i + 3)) {
+                        appendTerm(tokens.get(v));
+                    }
+                }
+                unparsedClauseWords++;
+                return end;
+            }
             
-            String result = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(query);
-            logger.debug("Generated DSL: {}", result);
+            switch (operator) {
+                case EQ:
+                case NE: {
+                    ObjectNode condition = objectMapper.createObjectNode();
+                    if (mapping.typeOf(target) == FieldType.TEXT) {
+                        // Text field without an exact sub-field: non-scoring phrase match
+                        ObjectNode match = objectMapper.createObjectNode();
+                        setValue(match, "query", i, end);
+                        match.put("operator", "and");
+                        condition.set("match", objectMapper.createObjectNode().set(target, match));
+                    } else {
+                        ObjectNode term = objectMapper.createObjectNode();
+                        if (mapping.typeOf(target) == FieldType.BOOLEAN && end == i + 1
+                                && (tokens.get(i).lower.equals("true") || tokens.get(i).lower.equals("false"))) {
+                            term.put(target, tokens.get(i).lower.equals("true"));
+                        } else {
+                            setValue(term, target, i, end);
+                        }
+                        condition.set("term", term);
+                    }
+                    (operator == Operator.EQ ? filters : exclusions).add(condition);
+                    return end;
+                }
+                case BETWEEN:
+                case FROM_TO: {
+                    ObjectNode bounds = objectMapper.createObjectNode();
+                    setValue(bounds, "gte", i, i + 1);
+                    setValue(bounds, "lte", i + 2, i + 3);
+                    addRange(target, bounds);
+                    return end;
+                }
+                default: {
+                    ObjectNode bounds = objectMapper.createObjectNode();
+                    setValue(bounds, rangeKey(operator), i, i + 1);
+                    addRange(target, bounds);
+                    return end;
+                }
+            }
+        }
+        
+        /**
+         * Field to put a condition on. Without a mapping the word is used as is.
+         * With one it must resolve to a field that suits the operator; a date
+         * value may fall back to the index's date field. Null means the
+         * condition cannot be expressed on this index.
+         */
+        private String resolveField(Token word, boolean range, boolean dateValue) {
+            if (mapping.isEmpty()) {
+                if (!inClause) {
+                    inferredFields++;
+                }
+                return word.text;
+            }
             
-            return result;
+            String resolved = mapping.resolve(word.text);
+            FieldType type = resolved != null ? mapping.typeOf(resolved) : null;
+            if (range) {
+                if (type == FieldType.NUMERIC || type == FieldType.DATE || type == FieldType.KEYWORD) {
+                    return resolved;
+                }
+                // "orders after 2024-01-01": the word describes the documents, not a field
+                return dateValue ? mapping.getDefaultDateField() : null;
+            }
+            if (type == FieldType.TEXT) {
+                String keyword = mapping.keywordFieldFor(resolved);
+                return keyword != null ? keyword : resolved;
+            }
+            return type != null && type != FieldType.OTHER ? resolved : null;
+        }
+        
+        private boolean looksLikeDate(Token token) {
+            String text = token.lower;
+            if (token.type != Type.WORD) {
+                return false;
+            }
+            if (text.startsWith("now")) {
+                return true;
+            }
+            if (text.length() < 7 || (text.charAt(4) != '-' && text.charAt(4) != '/')) {
+                return false;
+            }
+            for (int i = 0; i < 4; i++) {
+                if (!Character.isDigit(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private Phrase matchOperator(int start) {
+            if (start >= tokens.size()) {
+                return null;
+            }
+            Phrase[] candidates = OPERATORS.get(tokens.get(start).lower);
+            if (candidates == null) {
+                return null;
+            }
+            for (Phrase phrase : candidates) {
+                if ((inClause || !phrase.clauseOnly) && matches(start, phrase.words)) {
+                    return phrase;
+                }
+            }
+            return null;
+        }
+        
+        private boolean matches(int start, String... words) {
+            if (start + words.length > tokens.size()) {
+                return false;
+            }
+            for (int i = 0; i < words.length; i++) {
+                if (!tokens.get(start + i).lower.equals(words[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private boolean isValue(int index) {
+            if (index >= tokens.size()) {
+                return false;
+            }
+            Token token = tokens.get(index);
+            return token.type == Type.NUMBER || token.type == Type.QUOTED
+                || (token.type == Type.WORD && !RESERVED.contains(token.lower));
+        }
+        
+        private boolean isClauseStart(Token token) {
+            return token.type == Type.WORD && CLAUSE_STARTS.contains(token.lower);
+        }
+        
+        private boolean isConnector(Token token) {
+            return token.type == Type.COMMA || (inClause && token.type == Type.WORD && token.lower.equals("and"));
+        }
+        
+        /**
+         * Put tokens [start, end) under {@code key}: a lone number as a number,
+         * anything else as the original text
+         */
+        private void setValue(ObjectNode target, String key, int start, int end) {
+            Token first = tokens.get(start);
+            if (end == start + 1 && first.type == Type.NUMBER) {
+                if (first.text.indexOf('.') >= 0) {
+                    target.put(key, Double.parseDouble(first.text));
+                } else {
+                    target.put(key, Long.parseLong(first.text));
+                }
+                return;
+            }
+            if (end == start + 1) {
+                target.put(key, first.text);
+                return;
+            }
+            StringBuilder value = new StringBuilder(first.text);
+            for (int i = start + 1; i < end; i++) {
+                value.append(' ').append(tokens.get(i).text);
+            }
+            target.put(key, value.toString());
+        }
+        
+        private void addRange(String field, ObjectNode bounds) {
+            ObjectNode range = objectMapper.createObjectNode();
+            range.set(field, bounds);
+            filters.add(objectMapper.createObjectNode().set("range", range));
+        }
+        
+        private void appendTerm(Token token) {
+            if (searchTerms.length() > 0) {
+                searchTerms.append(' ');
+            }
+            searchTerms.append(token.text);
+        }
+        
+        private ObjectNode build() {
+            if (searchTerms.length() == 0 && filters.isEmpty() && exclusions.isEmpty()) {
+                return objectMapper.createObjectNode().set("match_all", objectMapper.createObjectNode());
+            }
             
-        } catch (Exception e) {
-            logger.error("Error in rule-based conversion: ", e);
-            // Fallback to simple match_all with query_string
-            return createFallbackQuery(naturalLanguageQuery);
+            ObjectNode boolQuery = objectMapper.createObjectNode();
+            if (searchTerms.length() > 0) {
+                // Full-text part: all words across the index's text fields
+                ObjectNode multiMatch = objectMapper.createObjectNode();
+                multiMatch.put("query", searchTerms.toString());
+                if (!mapping.getTextFields().isEmpty()) {
+                    ArrayNode fields = multiMatch.putArray("fields");
+                    mapping.getTextFields().forEach(fields::add);
+                    multiMatch.put("type", "cross_fields");
+                }
+                multiMatch.put("operator", "and");
+                boolQuery.set("must", objectMapper.createArrayNode()
+                    .add(objectMapper.createObjectNode().set("multi_match", multiMatch)));
+            }
+            if (!filters.isEmpty()) {
+                boolQuery.set("filter", filters);
+            }
+            if (!exclusions.isEmpty()) {
+                boolQuery.set("must_not", exclusions);
+            }
+            return objectMapper.createObjectNode().set("bool", boolQuery);
         }
     }
     
-    private String extractSearchTerms(String query) {
-        // Remove common query words
-        String cleaned = query
-            .replaceAll("^(find|search for|get|show me|list|find all|search) ", "")
-            .replaceAll(" (where|with|that|having) .+$", "")
-            .trim();
-        
-        return cleaned.isEmpty() ? "*" : cleaned;
+    private static String rangeKey(Operator operator) {
+        switch (operator) {
+            case GT:
+                return "gt";
+            case GTE:
+                return "gte";
+            case LT:
+                return "lt";
+            default:
+                return "lte";
+        }
+    }
+    
+    private static Map<String, Phrase[]> operatorTable(Phrase... phrases) {
+        Map<String, List<Phrase>> byFirstWord = new HashMap<>();
+        for (Phrase phrase : phrases) {
+            byFirstWord.computeIfAbsent(phrase.words[0], word -> new ArrayList<>()).add(phrase);
+        }
+        Map<String, Phrase[]> table = new HashMap<>();
+        byFirstWord.forEach((word, list) -> {
+            list.sort(Comparator.comparingInt((Phrase phrase) -> phrase.words.length).reversed());
+            table.put(word, list.toArray(new Phrase[0]));
+        });
+        return table;
     }
     
-    private boolean hasFilters(String query) {
-        return FILTER_PATTERN.matcher(query).find() || 
-               RANGE_PATTERN.matcher(query).find();
+    private static String[][] sortedByLength(String[][] phrases) {
+        String[][] sorted = phrases.clone();
+        Arrays.sort(sorted, Comparator.comparingInt((String[] phrase) -> phrase.length).reversed());
+        return sorted;
     }
     
-    private ObjectNode buildFilters(String query) {
-        // Simplified implementation - returns empty filter
-        // Can be extended with more sophisticated parsing in the future
-        return objectMapper.createObjectNode();
+    private static Set<String> reservedWords() {
+        Set<String> reserved = new HashSet<>(CLAUSE_STARTS);
+        reserved.addAll(COPULAS);
+        reserved.addAll(OPERATORS.keySet());
+        reserved.addAll(Set.of("and", "or", "to", "the", "a", "an", "all", "of", "in", "on", "for"));
+        return reserved;
     }
     
-    private String createFallbackQuery(String naturalLanguageQuery) {
+    private ObjectNode createFallbackQuery(String naturalLanguageQuery) {
         try {
             ObjectNode query = objectMapper.createObjectNode();
             
             ObjectNode queryString = objectMapper.createObjectNode();
             queryString.put("query", naturalLanguageQuery);
-            queryString.put("default_field", "_all");
+            List<String> textFields = mappingSupplier.get().getTextFields();
+            if (!textFields.isEmpty()) {
+                ArrayNode fields = queryString.putArray("fields");
+                textFields.forEach(fields::add);
+            }
             
             query.set("query", objectMapper.createObjectNode().set("query_string", queryString));
             query.put("size", 10);
             
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(query);
+            return query;
         } catch (Exception e) {
             logger.error("Error creating fallback query: ", e);
             throw new RuntimeException("Failed to create query", e);
         }
     }
 }
-
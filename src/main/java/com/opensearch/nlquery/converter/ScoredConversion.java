@@ -0,0 +1,43 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A converted DSL query with the converter's confidence (0 to 1) that it
+ * captures the whole question.
+ *
+ * A fallback conversion stands in for one that failed, e.g. the rule-based
+ * DSL returned while Bedrock is unavailable. It answers the query at hand but
+ * must not be cached or persisted, so the query is converted properly once
+ * the failure clears.
+ */
+public class ScoredConversion {
+    private final ObjectNode dsl;
+    private final double confidence;
+    private final boolean fallback;
+    
+    public ScoredConversion(ObjectNode dsl, double confidence) {
+        this(dsl, confidence, false);
+    }
+    
+    public ScoredConversion(ObjectNode dsl, double confidence, boolean fallback) {
+        this.dsl = dsl;
+        this.confidence = confidence;
+        this.fallback = fallback;
+    }
+    
+    public ObjectNode getDsl() {
+        return dsl;
+    }
+    
+    public double getConfidence() {
+        return confidence;
+    }
+    
+    /**
+     * Whether the DSL stands in for a conversion that failed
+     */
+    public boolean isFallback() {
+        return fallback;
+    }
+}
@@ -0,0 +1,132 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Assembles the DSL object from completion text that arrives in fragments.
+ *
+ * Leading whitespace and a markdown code fence are skipped; from the opening
+ * brace on, text goes through a non-blocking Jackson parser. Output that cannot
+ * be a JSON object fails on the fragment that breaks it, and the tree is ready
+ * as soon as the closing brace arrives. Anything after it is ignored.
+ */
+class StreamingDslParser {
+    private static final String FENCE = "```";
+    // Longest "```json" style fence line accepted before the JSON starts
+    private static final int MAX_FENCE_LINE = 32;
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final TokenBuffer tokens;
+    private final StringBuilder preamble = new StringBuilder();
+    private boolean inJson;
+    private int depth;
+    private ObjectNode dsl;
+
+    StreamingDslParser(ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.tokens = new TokenBuffer(parser);
+    }
+
+    /**
+     * Feed the next fragment of completion text. Returns true once the DSL
+     * object is complete; throws as soon as the text cannot be one.
+     */
+    boolean feed(String fragment) throws IOException {
+        if (dsl != null) {
+            return true;
+        }
+        if (!inJson) {
+            preamble.append(fragment);
+            fragment = skipPreamble();
+            if (fragment == null) {
+                return false;
+            }
+            inJson = true;
+        }
+
+        byte[] bytes = fragment.getBytes(StandardCharsets.UTF_8);
+        ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            tokens.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd() && --depth == 0) {
+                dsl = objectMapper.readTree(tokens.asParser(objectMapper));
+                parser.close();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The completed DSL, or null if the closing brace has not arrived yet
+     */
+    ObjectNode getDsl() {
+        return dsl;
+    }
+
+    /**
+     * Signal the end of the completion, failing if the DSL was left incomplete
+     */
+    ObjectNode finish() throws IOException {
+        if (dsl == null) {
+            throw new IOException("Completion ended before the DSL object was complete");
+        }
+        return dsl;
+    }
+
+    /**
+     * Strip whitespace and an optional code fence line from the buffered
+     * preamble. Returns the text from the opening brace on, or null if more
+     * text is needed to decide.
+     */
+    private String skipPreamble() throws IOException {
+        int position = skipWhitespace(0);
+        if (position < preamble.length() && preamble.charAt(position) == '`') {
+            int available = Math.min(FENCE.length(), preamble.length() - position);
+            if (!preamble.substring(position, position + available).equals(FENCE.substring(0, available))) {
+                throw notJson();
+            }
+            int lineEnd = preamble.indexOf("\n", position);
+            if (lineEnd < 0) {
+                if (preamble.length() - position > MAX_FENCE_LINE) {
+                    throw notJson();
+                }
+                return null;
+            }
+            position = skipWhitespace(lineEnd + 1);
+        }
+        if (position == preamble.length()) {
+            return null;
+        }
+        if (preamble.charAt(position) != '{') {
+            throw notJson();
+        }
+        return preamble.substring(position);
+    }
+
+    private int skipWhitespace(int position) {
+        while (position < preamble.length() && Character.isWhitespace(preamble.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private IOException notJson() {
+        String start = preamble.length() > 80 ? preamble.substring(0, 80) + "..." : preamble.toString();
+        return new IOException("Completion does not start with a JSON object: " + start);
+    }
+}
@@ -0,0 +1,162 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.metrics.Counter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Hybrid converter: the rule engine answers queries it is confident about in
+ * microseconds, and only ambiguous ones are escalated to the LLM.
+ *
+ * If the LLM call fails, the rule-based DSL is returned rather than failing the
+ * query, marked as a fallback so that it is not cached. Each tier has its own
+ * counter and latency histogram in the metrics registry; the counts read
+ * through this class are this instance's own.
+ */
+public class TieredQueryConverter implements QueryConverter {
+    private static final Logger logger = LoggerFactory.getLogger(TieredQueryConverter.class);
+
+    private final RuleBasedQueryConverter ruleConverter;
+    private final QueryConverter llmConverter;
+    private final double confidenceThreshold;
+
+    private final Counter ruleConversions = new Counter();
+    private final Counter llmConversions = new Counter();
+    private final Counter llmFallbacks = new Counter();
+    private final Counter registryFallbacks;
+    private final LatencyHistogram ruleLatency;
+    private final LatencyHistogram llmLatency;
+
+    public TieredQueryConverter(RuleBasedQueryConverter ruleConverter, QueryConverter llmConverter,
+                                double confidenceThreshold) {
+        this.ruleConverter = ruleConverter;
+        this.llmConverter = llmConverter;
+        this.confidenceThreshold = confidenceThreshold;
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        String conversions = "nlquery_tiered_conversions_total";
+        metrics.functionCounter(conversions, "Tiered conversions by answering tier",
+            this::getRuleConversionCount, "tier", "rule");
+        metrics.functionCounter(conversions, "Tiered conversions by answering tier",
+            this::getLlmConversionCount, "tier", "llm");
+        // Shared with the LLM tier's own fallback while its circuit breaker is open
+        this.registryFallbacks = metrics.fallbacks("llm_to_rules");
+        this.ruleLatency = metrics.stageLatency("tier_rule");
+        this.llmLatency = metrics.stageLatency("tier_llm");
+        logger.info("Tiered query conversion enabled (rule confidence threshold: {})", confidenceThreshold);
+    }
+
+    @Override
+    public ObjectNode convert(String naturalLanguageQuery) {
+        return Futures.join(convertAsync(naturalLanguageQuery));
+    }
+
+    /**
+     * Confident rule-based conversions complete immediately; the rest complete
+     * when the LLM responds
+     */
+    @Override
+    public CompletableFuture<ObjectNode> convertAsync(String naturalLanguageQuery) {
+        CompletableFuture<ScoredConversion> scored = convertScoredAsync(naturalLanguageQuery);
+        CompletableFuture<ObjectNode> result = scored.thenApply(ScoredConversion::getDsl);
+        Futures.propagateCancellation(result, scored);
+        return result;
+    }
+
+    /**
+     * As {@link #convertAsync(String)}; the rule-based DSL returned because the
+     * LLM call failed is marked as a fallback
+     */
+    @Override
+    public CompletableFuture<ScoredConversion> convertScoredAsync(String naturalLanguageQuery) {
+        long startNanos = System.nanoTime();
+        ScoredConversion ruleResult = ruleConverter.convertScored(naturalLanguageQuery);
+
+        if (ruleResult.getConfidence() >= confidenceThreshold) {
+            ruleConversions.increment();
+            ruleLatency.recordSince(startNanos);
+            logger.debug("Rule tier answered (confidence {}): {}", ruleResult.getConfidence(), naturalLanguageQuery);
+            return CompletableFuture.completedFuture(ruleResult);
+        }
+
+        logger.debug("Escalating to LLM tier (confidence {}): {}", ruleResult.getConfidence(), naturalLanguageQuery);
+        llmConversions.increment();
+        CompletableFuture<ScoredConversion> llmResult = llmConverter.convertScoredAsync(naturalLanguageQuery);
+        CompletableFuture<ScoredConversion> result = llmResult.handle((conversion, error) -> {
+            llmLatency.recordSince(startNanos);
+            if (error == null) {
+                if (!conversion.isFallback()) {
+                    return conversion;
+                }
+                // The LLM tier's own fallback is already in the registry; answer with the rules at hand
+                llmFallbacks.increment();
+                return new ScoredConversion(ruleResult.getDsl(), ruleResult.getConfidence(), true);
+            }
+            if (llmResult.isCancelled()) {
+                throw new CompletionException(error);
+            }
+            llmFallbacks.increment();
+            registryFallbacks.increment();
+            logger.warn("LLM conversion failed, using rule-based DSL: {}", Futures.unwrap(error).getMessage());
+            return new ScoredConversion(ruleResult.getDsl(), ruleResult.getConfidence(), true);
+        });
+        Futures.propagateCancellation(result, llmResult);
+        return result;
+    }
+
+    /**
+     * Queries answered by the rule engine
+     */
+    public long getRuleConversionCount() {
+        return ruleConversions.get();
+    }
+
+    /**
+     * Queries escalated to the LLM
+     */
+    public long getLlmConversionCount() {
+        return llmConversions.get();
+    }
+
+    /**
+     * Escalated queries answered with the rule-based DSL because the LLM call
+     * failed or its circuit breaker was open
+     */
+    public long getLlmFallbackCount() {
+        return llmFallbacks.get();
+    }
+
+    public LatencyHistogram getRuleLatency() {
+        return ruleLatency;
+    }
+
+    public LatencyHistogram getLlmLatency() {
+        return llmLatency;
+    }
+
+    /**
+     * Covers both tiers and the threshold that picks between them; null when
+     * the LLM tier is not persistable
+     */
+    @Override
+    public String getFingerprint() {
+        String llmFingerprint = llmConverter.getFingerprint();
+        if (llmFingerprint == null) {
+            return null;
+        }
+        return "tiered/" + confidenceThreshold + "/rules-" + RuleBasedQueryConverter.RULES_VERSION + "/" + llmFingerprint;
+    }
+
+    @Override
+    public void close() {
+        logger.info("Rule tier: {} queries ({}); LLM tier: {} queries, {} fallbacks ({})",
+            getRuleConversionCount(), ruleLatency, getLlmConversionCount(), getLlmFallbackCount(), llmLatency);
+        llmConverter.close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Navigation over the {@code bool} queries of a search body shared by the
+ * structural rewrites
+ */
+final class BoolQueries {
+    static final String MUST = "must";
+    static final String FILTER = "filter";
+    static final String SHOULD = "should";
+    static final String MUST_NOT = "must_not";
+    static final List<String> OCCURRENCES = List.of(MUST, FILTER, SHOULD, MUST_NOT);
+
+    /** Compound queries and the keys under which they hold single sub-queries */
+    private static final List<String[]> WRAPPERS = List.of(
+        new String[] {"constant_score", "filter"},
+        new String[] {"nested", "query"},
+        new String[] {"has_child", "query"},
+        new String[] {"has_parent", "query"},
+        new String[] {"function_score", "query"},
+        new String[] {"boosting", "positive"},
+        new String[] {"boosting", "negative"});
+
+    private BoolQueries() {
+    }
+
+    /**
+     * Visit the body of every {@code bool} query under {@code query}, inner ones
+     * before the ones containing them, and report whether any visit changed
+     * something. Only known query positions are descended into, so a field
+     * that happens to be called {@code bool} is never mistaken for a query.
+     */
+    static boolean forEachBool(JsonNode query, Predicate<ObjectNode> visitor) {
+        if (query == null || !query.isObject()) {
+            return false;
+        }
+        boolean changed = false;
+        JsonNode bool = query.get("bool");
+        if (bool != null && bool.isObject()) {
+            ObjectNode body = (ObjectNode) bool;
+            for (String occurrence : OCCURRENCES) {
+                JsonNode clauses = body.get(occurrence);
+                if (clauses != null && clauses.isArray()) {
+                    for (JsonNode clause : clauses) {
+                        changed |= forEachBool(clause, visitor);
+                    }
+                } else {
+                    changed |= forEachBool(clauses, visitor);
+                }
+            }
+            changed |= visitor.test(body);
+            return changed;
+        }
+        for (String[] wrapper : WRAPPERS) {
+            JsonNode compound = query.get(wrapper[0]);
+            if (compound != null && compound.isObject()) {
+                changed |= forEachBool(compound.get(wrapper[1]), visitor);
+            }
+        }
+        JsonNode disMax = query.get("dis_max");
+        if (disMax != null && disMax.isObject() && disMax.path("queries").isArray()) {
+            for (JsonNode clause : disMax.get("queries")) {
+                changed |= forEachBool(clause, visitor);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Clauses of one occurrence as an array, converting the single-object
+     * shorthand ({@code "must": {...}}) in place; null when there are none
+     */
+    static ArrayNode clauses(ObjectNode body, String occurrence) {
+        JsonNode clauses = body.get(occurrence);
+        if (clauses == null || clauses.isNull()) {
+            return null;
+        }
+        if (clauses.isArray()) {
+            return (ArrayNode) clauses;
+        }
+        ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        array.add(clauses);
+        body.set(occurrence, array);
+        return array;
+    }
+
+    /**
+     * The body of {@code clause} if it is nothing but a {@code bool} query
+     */
+    static ObjectNode boolBody(JsonNode clause) {
+        if (clause == null || !clause.isObject() || clause.size() != 1) {
+            return null;
+        }
+        JsonNode bool = clause.get("bool");
+        return bool != null && bool.isObject() ? (ObjectNode) bool : null;
+    }
+
+    /**
+     * Append clauses to an occurrence, creating it if needed
+     */
+    static void addClauses(ObjectNode body, String occurrence, JsonNode clauses) {
+        if (clauses == null || clauses.isNull()) {
+            return;
+        }
+        ArrayNode target = clauses(body, occurrence);
+        if (target == null) {
+            target = body.putArray(occurrence);
+        }
+        if (clauses.isArray()) {
+            target.addAll((ArrayNode) clauses);
+        } else {
+            target.add(clauses);
+        }
+    }
+
+    /**
+     * Drop occurrences left without clauses
+     */
+    static void removeEmpty(ObjectNode body) {
+        for (String occurrence : OCCURRENCES) {
+            JsonNode clauses = body.get(occurrence);
+            if (clauses != null && clauses.isArray() && clauses.isEmpty()) {
+                body.remove(occurrence);
+            }
+        }
+    }
+}
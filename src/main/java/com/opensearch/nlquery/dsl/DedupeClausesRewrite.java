@@ -0,0 +1,65 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static com.opensearch.nlquery.dsl.BoolQueries.FILTER;
+import static com.opensearch.nlquery.dsl.BoolQueries.MUST;
+import static com.opensearch.nlquery.dsl.BoolQueries.SHOULD;
+
+/**
+ * Drop clauses repeated within one occurrence of a {@code bool}, which LLM
+ * output and flattened bools both produce, as well as filter clauses that
+ * repeat a must clause. Should clauses are left alone when the bool sets
+ * {@code minimum_should_match}, since each copy counts towards it.
+ */
+public class DedupeClausesRewrite implements DslRewrite {
+
+    @Override
+    public String getName() {
+        return "dedupe_clauses";
+    }
+
+    @Override
+    public boolean apply(ObjectNode dsl) {
+        return BoolQueries.forEachBool(dsl.get("query"), DedupeClausesRewrite::dedupe);
+    }
+
+    private static boolean dedupe(ObjectNode body) {
+        boolean changed = false;
+        Set<JsonNode> must = new HashSet<>();
+        for (String occurrence : BoolQueries.OCCURRENCES) {
+            if (SHOULD.equals(occurrence) && body.has("minimum_should_match")) {
+                continue;
+            }
+            JsonNode existing = body.get(occurrence);
+            if (existing == null || !existing.isArray()) {
+                if (MUST.equals(occurrence) && existing != null) {
+                    must.add(existing);
+                }
+                continue;
+            }
+            // JsonNode equality is structural, so identical clauses collide whatever their origin
+            Set<JsonNode> seen = FILTER.equals(occurrence) ? new HashSet<>(must) : new HashSet<>();
+            Iterator<JsonNode> clauses = ((ArrayNode) existing).elements();
+            while (clauses.hasNext()) {
+                if (!seen.add(clauses.next())) {
+                    clauses.remove();
+                    changed = true;
+                }
+            }
+            if (MUST.equals(occurrence)) {
+                must.addAll(seen);
+            }
+        }
+        if (changed) {
+            BoolQueries.removeEmpty(body);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,97 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.metrics.Counter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites generated DSL for cheaper execution before it is sent.
+ *
+ * The rewrites run in order on a copy of the query, so converted queries
+ * shared through the conversion cache are never modified. Structural rewrites
+ * come first (flattening exposes duplicates and exact-value clauses), then
+ * the request-level limits. Every rewrite that changes a query is counted in
+ * {@code nlquery_dsl_rewrites_total{rewrite}}.
+ */
+public class DslOptimizer {
+    private static final Logger logger = LoggerFactory.getLogger(DslOptimizer.class);
+
+    private final List<DslRewrite> rewrites;
+    private final List<Counter> applied;
+    private final LatencyHistogram latency;
+
+    public DslOptimizer(List<DslRewrite> rewrites) {
+        this.rewrites = List.copyOf(rewrites);
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.applied = new ArrayList<>(rewrites.size());
+        for (DslRewrite rewrite : rewrites) {
+            applied.add(metrics.counter("nlquery_dsl_rewrites_total", "Generated queries changed by each DSL rewrite",
+                "rewrite", rewrite.getName()));
+        }
+        this.latency = metrics.stageLatency("dsl_optimize");
+    }
+
+    /**
+     * The rewrites enabled in the configuration; none when the optimizer is off
+     */
+    public static DslOptimizer fromConfig(AppConfig config) {
+        List<DslRewrite> rewrites = new ArrayList<>();
+        if (config.isDslOptimizerEnabled()) {
+            rewrites.add(new FlattenBoolRewrite());
+            rewrites.add(new DedupeClausesRewrite());
+            rewrites.add(new FilterContextRewrite());
+            if (config.getDslTrackTotalHits() > 0) {
+                rewrites.add(new TrackTotalHitsRewrite(config.getDslTrackTotalHits()));
+            }
+            if (config.getMaxResults() > 0) {
+                rewrites.add(new SizeCapRewrite(config.getMaxResults()));
+            }
+            if (config.getDslTerminateAfter() > 0) {
+                rewrites.add(new TerminateAfterRewrite(config.getDslTerminateAfter()));
+            }
+            if (config.getDslTimeout() != null && !config.getDslTimeout().isBlank()) {
+                rewrites.add(new TimeoutRewrite(config.getDslTimeout().trim()));
+            }
+            logger.info("DSL optimizer enabled with rewrites: {}",
+                rewrites.stream().map(DslRewrite::getName).collect(Collectors.toList()));
+        }
+        return new DslOptimizer(rewrites);
+    }
+
+    /**
+     * The optimized query, or {@code dsl} itself when no rewrite applies or it
+     * is not a search body
+     */
+    public JsonNode optimize(JsonNode dsl) {
+        if (rewrites.isEmpty() || dsl == null || !dsl.isObject()) {
+            return dsl;
+        }
+        long startNanos = System.nanoTime();
+        ObjectNode copy = ((ObjectNode) dsl).deepCopy();
+        boolean changed = false;
+        for (int i = 0; i < rewrites.size(); i++) {
+            if (rewrites.get(i).apply(copy)) {
+                applied.get(i).increment();
+                changed = true;
+            }
+        }
+        latency.recordSince(startNanos);
+        if (changed) {
+            logger.debug("Optimized DSL: {}", copy);
+        }
+        return changed ? copy : dsl;
+    }
+
+    public List<DslRewrite> getRewrites() {
+        return rewrites;
+    }
+}
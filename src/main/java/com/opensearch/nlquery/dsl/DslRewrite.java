@@ -0,0 +1,22 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * One rewrite of a search body that keeps the hits it matches while making
+ * it cheaper to execute
+ */
+public interface DslRewrite {
+
+    /**
+     * Label the rewrite is counted under in {@code nlquery_dsl_rewrites_total}
+     */
+    String getName();
+
+    /**
+     * Rewrite the search body in place
+     *
+     * @return whether anything was changed
+     */
+    boolean apply(ObjectNode dsl);
+}
@@ -0,0 +1,105 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of checking a DSL query against an index mapping: the query with
+ * any local repairs applied, what was repaired, and the problems left
+ */
+public final class DslValidation {
+    private final ObjectNode dsl;
+    private final List<Problem> problems;
+    private final List<String> repairs;
+    private final boolean checked;
+
+    DslValidation(ObjectNode dsl, List<Problem> problems, List<String> repairs, boolean checked) {
+        this.dsl = dsl;
+        this.problems = Collections.unmodifiableList(problems);
+        this.repairs = Collections.unmodifiableList(repairs);
+        this.checked = checked;
+    }
+
+    /**
+     * The query to send: the original when nothing was repaired, otherwise a repaired copy
+     */
+    public ObjectNode getDsl() {
+        return dsl;
+    }
+
+    /**
+     * Problems that could not be repaired locally; empty when the query is valid
+     */
+    public List<Problem> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Descriptions of the repairs applied to {@link #getDsl()}
+     */
+    public List<String> getRepairs() {
+        return repairs;
+    }
+
+    public boolean isValid() {
+        return problems.isEmpty();
+    }
+
+    public boolean isRepaired() {
+        return !repairs.isEmpty();
+    }
+
+    /**
+     * False when there was no mapping to check against and the query was passed through
+     */
+    public boolean isChecked() {
+        return checked;
+    }
+
+    /**
+     * One problem per line, e.g. to send back to the model that wrote the query
+     */
+    public String describeProblems() {
+        StringBuilder description = new StringBuilder();
+        for (Problem problem : problems) {
+            if (description.length() > 0) {
+                description.append('\n');
+            }
+            description.append("- ").append(problem);
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "valid" + (isRepaired() ? " after repairs " + repairs : "") : problems.toString();
+    }
+
+    /**
+     * A problem at a position in the query, e.g. {@code query.bool.filter[0].range.price}
+     */
+    public static final class Problem {
+        private final String path;
+        private final String message;
+
+        Problem(String path, String message) {
+            this.path = path;
+            this.message = message;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return path + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.opensearch.nlquery.mapping.FieldType;
+import com.opensearch.nlquery.mapping.IndexMapping;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Checks a DSL query against the mapping of the index it targets, without a
+ * round trip to the cluster.
+ *
+ * Fields named by field-level queries, {@code multi_match} field lists,
+ * {@code exists} and {@code sort} must be mapped; an unknown name that
+ * resolves to a mapped field (case, plural, leaf of a path) is replaced by
+ * it. Term-level queries and sorts on text fields are moved to the
+ * field's keyword sub-field, or a {@code term} becomes a {@code match}.
+ * Values of numeric and boolean fields must parse, ranges need known
+ * parameters and at least one bound, and numeric ranges must not be empty.
+ * Bool queries may only hold known clauses, and a query object exactly one
+ * query type. Whatever cannot be repaired is reported as a
+ * {@link DslValidation.Problem} with its position in the query.
+ *
+ * Queries under {@code nested}, {@code has_child} and {@code has_parent}
+ * are not checked: their fields are not part of the flattened mapping.
+ * Without a mapping the query is passed through unchecked.
+ */
+public class DslValidator {
+    private static final Set<String> BOOL_PARAMETERS = Set.of(
+        "must", "filter", "should", "must_not", "minimum_should_match", "boost", "_name", "adjust_pure_negative");
+    private static final Set<String> RANGE_PARAMETERS = Set.of(
+        "gt", "gte", "lt", "lte", "from", "to", "include_lower", "include_upper",
+        "format", "time_zone", "relation", "boost");
+    private static final Set<String> LOWER_BOUNDS = Set.of("gt", "gte", "from");
+    private static final Set<String> UPPER_BOUNDS = Set.of("lt", "lte", "to");
+    private static final Set<String> QUERY_PARAMETERS = Set.of("boost", "_name");
+    private static final Set<String> FIELD_QUERIES = Set.of(
+        "match", "match_phrase", "match_phrase_prefix", "match_bool_prefix", "prefix", "wildcard", "regexp", "fuzzy");
+
+    /**
+     * Validate {@code dsl}, which is not modified; repairs are made on a copy
+     */
+    public DslValidation validate(ObjectNode dsl, IndexMapping mapping) {
+        if (mapping == null || mapping.isEmpty()) {
+            return new DslValidation(dsl, List.of(), List.of(), false);
+        }
+        Check check = new Check(dsl.deepCopy(), mapping);
+        check.run();
+        return new DslValidation(check.repairs.isEmpty() ? dsl : check.dsl, check.problems, check.repairs, true);
+    }
+
+    /**
+     * State of one validation
+     */
+    private static final class Check {
+        private final ObjectNode dsl;
+        private final IndexMapping mapping;
+        private final List<DslValidation.Problem> problems = new ArrayList<>();
+        private final List<String> repairs = new ArrayList<>();
+
+        Check(ObjectNode dsl, IndexMapping mapping) {
+            this.dsl = dsl;
+            this.mapping = mapping;
+        }
+
+        void run() {
+            if (dsl.has("query")) {
+                checkQuery(dsl.get("query"), "query");
+            }
+            checkCount("size");
+            checkCount("from");
+            checkSort();
+        }
+
+        private void checkQuery(JsonNode query, String path) {
+            if (!query.isObject() || query.size() != 1) {
+                problem(path, query.isObject() && query.size() > 1
+                    ? "a query object must hold exactly one query type, found " + names(query)
+                        + "; combine them in a bool query"
+                    : "expected a query object");
+                return;
+            }
+            ObjectNode clause = (ObjectNode) query;
+            String type = clause.fieldNames().next();
+            JsonNode body = clause.get(type);
+            String at = path + "." + type;
+            switch (type) {
+                case "bool":
+                    checkBool(body, at);
+                    break;
+                case "constant_score":
+                    checkChild(body, "filter", at);
+                    break;
+                case "function_score":
+                    checkChild(body, "query", at);
+                    break;
+                case "boosting":
+                    checkChild(body, "positive", at);
+                    checkChild(body, "negative", at);
+                    break;
+                case "dis_max":
+                    checkClauses(body.path("queries"), at + ".queries");
+                    break;
+                case "term":
+                case "terms":
+                    checkTermLevel(clause, type, body, at);
+                    break;
+                case "range":
+                    checkRange(body, at);
+                    break;
+                case "exists":
+                    checkExists(body, at);
+                    break;
+                case "multi_match":
+                case "query_string":
+                case "simple_query_string":
+                    checkFieldList(body, at);
+                    break;
+                default:
+                    if (FIELD_QUERIES.contains(type)) {
+                        ObjectNode fields = object(body, at);
+                        String field = fields != null ? fieldOf(fields, type, at) : null;
+                        if (field != null) {
+                            resolveKey(fields, field, at);
+                        }
+                    }
+                    // nested, has_child, has_parent, match_all, ids and the rest are not checked
+            }
+        }
+
+        private void checkBool(JsonNode body, String at) {
+            ObjectNode bool = object(body, at);
+            if (bool == null) {
+                return;
+            }
+            Iterator<String> keys = bool.fieldNames();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (!BOOL_PARAMETERS.contains(key)) {
+                    problem(at, "unknown bool clause [" + key + "]; use must, filter, should or must_not");
+                }
+            }
+            for (String occurrence : BoolQueries.OCCURRENCES) {
+                if (bool.has(occurrence)) {
+                    checkClauses(bool.get(occurrence), at + "." + occurrence);
+                }
+            }
+        }
+
+        private void checkClauses(JsonNode clauses, String at) {
+            if (clauses.isArray()) {
+                for (int i = 0; i < clauses.size(); i++) {
+                    checkQuery(clauses.get(i), at + "[" + i + "]");
+                }
+            } else if (!clauses.isMissingNode()) {
+                checkQuery(clauses, at);
+            }
+        }
+
+        private void checkChild(JsonNode body, String key, String at) {
+            if (body.has(key)) {
+                checkQuery(body.get(key), at + "." + key);
+            }
+        }
+
+        private void checkTermLevel(ObjectNode clause, String type, JsonNode body, String at) {
+            ObjectNode fields = object(body, at);
+            String field = fields != null ? fieldOf(fields, type, at) : null;
+            String name = field != null ? resolveKey(fields, field, at) : null;
+            if (name == null) {
+                return;
+            }
+            FieldType fieldType = mapping.typeOf(name);
+            JsonNode value = fields.get(name);
+            if (fieldType == FieldType.TEXT) {
+                String keyword = mapping.keywordFieldFor(name);
+                JsonNode text = value.isObject() ? value.get("value") : value;
+                if (keyword != null) {
+                    fields.set(keyword, fields.remove(name));
+                    repair(type + " on text field " + name + " moved to " + keyword);
+                } else if ("term".equals(type) && text != null && text.isValueNode()) {
+                    clause.remove("term");
+                    clause.putObject("match").set(name, text);
+                    repair("term on text field " + name + " replaced by match");
+                } else {
+                    problem(at + "." + name, type + " on text field [" + name
+                        + "] only matches exact indexed terms; use match, or a keyword field");
+                }
+                return;
+            }
+            if ("term".equals(type)) {
+                checkValue(fieldType, name, value.isObject() ? value.get("value") : value, at + "." + name);
+            } else if (value.isArray()) {
+                for (JsonNode element : value) {
+                    checkValue(fieldType, name, element, at + "." + name);
+                }
+            } else if (!value.isObject()) {
+                // An object is a terms lookup, which reads the values from another document
+                problem(at + "." + name, "terms expects an array of values");
+            }
+        }
+
+        private void checkRange(JsonNode body, String at) {
+            ObjectNode fields = object(body, at);
+            String field = fields != null ? fieldOf(fields, "range", at) : null;
+            String name = field != null ? resolveKey(fields, field, at) : null;
+            if (name == null) {
+                return;
+            }
+            String fieldPath = at + "." + name;
+            JsonNode bounds = fields.get(name);
+            if (!bounds.isObject()) {
+                problem(fieldPath, "range expects an object of bounds, e.g. {\"gte\": 10, \"lt\": 20}");
+                return;
+            }
+            FieldType fieldType = mapping.typeOf(name);
+            if (fieldType == FieldType.TEXT) {
+                problem(fieldPath, "range on text field [" + name
+                    + "] compares terms alphabetically; use a numeric, date or keyword field");
+                return;
+            }
+            Double lower = null;
+            Double upper = null;
+            boolean bounded = false;
+            Iterator<String> keys = bounds.fieldNames();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                JsonNode value = bounds.get(key);
+                if (!RANGE_PARAMETERS.contains(key)) {
+                    problem(fieldPath, "unknown range parameter [" + key + "]; use gt, gte, lt or lte");
+                    continue;
+                }
+                if ((!LOWER_BOUNDS.contains(key) && !UPPER_BOUNDS.contains(key)) || value.isNull()) {
+                    continue;
+                }
+                bounded = true;
+                if (fieldType == FieldType.NUMERIC && checkValue(fieldType, name, value, fieldPath + "." + key)) {
+                    if (LOWER_BOUNDS.contains(key)) {
+                        lower = value.asDouble();
+                    } else {
+                        upper = value.asDouble();
+                    }
+                }
+            }
+            if (!bounded) {
+                problem(fieldPath, "range has no bounds; set at least one of gt, gte, lt or lte");
+            } else if (lower != null && upper != null && lower > upper) {
+                problem(fieldPath, "range on [" + name + "] is empty: its lower bound " + format(lower)
+                    + " is above its upper bound " + format(upper));
+            }
+        }
+
+        private void checkExists(JsonNode body, String at) {
+            JsonNode field = body.path("field");
+            if (!field.isTextual()) {
+                problem(at, "exists expects {\"field\": \"<name>\"}");
+                return;
+            }
+            String name = resolve(field.asText(), at);
+            if (name != null && !name.equals(field.asText())) {
+                ((ObjectNode) body).put("field", name);
+            }
+        }
+
+        private void checkFieldList(JsonNode body, String at) {
+            if (body.path("default_field").isTextual()) {
+                String field = body.get("default_field").asText();
+                String name = resolve(field, at + ".default_field");
+                if (name != null && !name.equals(field)) {
+                    ((ObjectNode) body).put("default_field", name);
+                }
+            }
+            JsonNode fields = body.path("fields");
+            if (!fields.isArray()) {
+                return;
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                String entry = fields.get(i).asText();
+                int caret = entry.indexOf('^');
+                String field = caret >= 0 ? entry.substring(0, caret) : entry;
+                String name = resolve(field, at + ".fields[" + i + "]");
+                if (name != null && !name.equals(field)) {
+                    ((ArrayNode) fields).set(i, TextNode.valueOf(caret >= 0 ? name + entry.substring(caret) : name));
+                }
+            }
+        }
+
+        private void checkCount(String key) {
+            JsonNode value = dsl.get(key);
+            if (value == null) {
+                return;
+            }
+            boolean valid = value.isIntegralNumber() ? value.canConvertToInt() && value.asInt() >= 0
+                : value.isTextual() && value.asText().matches("\\d{1,9}");
+            if (!valid) {
+                problem(key, key + " must be a non-negative integer, found " + value);
+            }
+        }
+
+        private void checkSort() {
+            JsonNode sort = dsl.get("sort");
+            if (sort == null) {
+                return;
+            }
+            if (sort.isTextual()) {
+                String name = sortField(sort.asText(), "sort");
+                if (name != null) {
+                    dsl.put("sort", name);
+                }
+                return;
+            }
+            List<JsonNode> entries = new ArrayList<>();
+            if (sort.isArray()) {
+                sort.forEach(entries::add);
+            } else {
+                entries.add(sort);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                JsonNode entry = entries.get(i);
+                String at = sort.isArray() ? "sort[" + i + "]" : "sort";
+                if (entry.isTextual()) {
+                    String name = sortField(entry.asText(), at);
+                    if (name != null) {
+                        ((ArrayNode) sort).set(i, TextNode.valueOf(name));
+                    }
+                } else if (entry.isObject()) {
+                    ObjectNode fields = (ObjectNode) entry;
+                    for (String field : names(fields)) {
+                        String name = sortField(field, at);
+                        if (name != null) {
+                            fields.set(name, fields.remove(field));
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Replacement for a sort field, or null to keep it
+         */
+        private String sortField(String field, String at) {
+            if (field.startsWith("_")) {
+                return null;
+            }
+            String name = resolve(field, at);
+            if (name == null) {
+                return null;
+            }
+            if (mapping.typeOf(name) == FieldType.TEXT) {
+                String keyword = mapping.keywordFieldFor(name);
+                if (keyword == null) {
+                    problem(at, "cannot sort on text field [" + name + "]; sort on a keyword, numeric or date field");
+                    return null;
+                }
+                repair("sort on text field " + name + " moved to " + keyword);
+                return keyword;
+            }
+            return name.equals(field) ? null : name;
+        }
+
+        /**
+         * Whether a value fits the field's type, reporting it if not
+         */
+        private boolean checkValue(FieldType fieldType, String field, JsonNode value, String at) {
+            if (value == null || value.isNull()) {
+                return false;
+            }
+            boolean valid = true;
+            if (fieldType == FieldType.NUMERIC) {
+                valid = value.isNumber() || value.isTextual() && isNumber(value.asText());
+            } else if (fieldType == FieldType.BOOLEAN) {
+                valid = value.isBoolean() || "true".equals(value.asText()) || "false".equals(value.asText());
+            }
+            if (!valid) {
+                problem(at, "[" + field + "] is a " + fieldType.name().toLowerCase(Locale.ROOT) + " field but the value is " + value);
+            }
+            return valid;
+        }
+
+        /**
+         * Resolve the field named by a key of {@code fields}, renaming the key
+         * if the field was found under another name
+         */
+        private String resolveKey(ObjectNode fields, String field, String at) {
+            String name = resolve(field, at);
+            if (name != null && !name.equals(field)) {
+                fields.set(name, fields.remove(field));
+            }
+            return name;
+        }
+
+        /**
+         * The mapped field a name refers to, or null (with a problem) if none;
+         * wildcard patterns are returned as they are
+         */
+        private String resolve(String field, String at) {
+            if (field.indexOf('*') >= 0 || mapping.typeOf(field) != null) {
+                return field;
+            }
+            String resolved = mapping.resolve(field);
+            if (resolved == null && field.indexOf('.') > 0) {
+                resolved = mapping.resolve(field.substring(field.lastIndexOf('.') + 1));
+            }
+            if (resolved == null) {
+                problem(at, "unknown field [" + field + "], it is not in the index mapping");
+                return null;
+            }
+            repair("unknown field " + field + " renamed to " + resolved);
+            return resolved;
+        }
+
+        /**
+         * The field a single-field query targets, skipping parameters such as boost
+         */
+        private String fieldOf(ObjectNode fields, String type, String at) {
+            Iterator<String> keys = fields.fieldNames();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (!QUERY_PARAMETERS.contains(key)) {
+                    return key;
+                }
+            }
+            problem(at, type + " query names no field");
+            return null;
+        }
+
+        private ObjectNode object(JsonNode body, String at) {
+            if (body.isObject()) {
+                return (ObjectNode) body;
+            }
+            problem(at, "expected an object, found " + body);
+            return null;
+        }
+
+        private void problem(String path, String message) {
+            problems.add(new DslValidation.Problem(path, message));
+        }
+
+        private void repair(String description) {
+            repairs.add(description);
+        }
+
+        private static List<String> names(JsonNode node) {
+            List<String> names = new ArrayList<>(node.size());
+            node.fieldNames().forEachRemaining(names::add);
+            return names;
+        }
+
+        private static boolean isNumber(String text) {
+            try {
+                Double.parseDouble(text.trim());
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static String format(double value) {
+            return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+        }
+    }
+}
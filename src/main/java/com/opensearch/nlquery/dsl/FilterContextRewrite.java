@@ -0,0 +1,65 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static com.opensearch.nlquery.dsl.BoolQueries.FILTER;
+import static com.opensearch.nlquery.dsl.BoolQueries.MUST;
+
+/**
+ * Move exact-value clauses ({@code term}, {@code terms}, {@code range},
+ * {@code exists}, {@code ids}) from must to filter. They match the same
+ * documents either way, but in filter context they skip scoring and their
+ * results can be cached by the cluster across queries. Ranking then comes
+ * from the full-text clauses alone.
+ */
+public class FilterContextRewrite implements DslRewrite {
+    private static final Set<String> NON_SCORING = Set.of("term", "terms", "range", "exists", "ids");
+
+    @Override
+    public String getName() {
+        return "filter_context";
+    }
+
+    @Override
+    public boolean apply(ObjectNode dsl) {
+        return BoolQueries.forEachBool(dsl.get("query"), FilterContextRewrite::moveToFilter);
+    }
+
+    private static boolean moveToFilter(ObjectNode body) {
+        JsonNode must = body.get(MUST);
+        if (must == null || must.isNull()) {
+            return false;
+        }
+        List<JsonNode> moved = new ArrayList<>();
+        if (must.isArray()) {
+            Iterator<JsonNode> clauses = ((ArrayNode) must).elements();
+            while (clauses.hasNext()) {
+                JsonNode clause = clauses.next();
+                if (isNonScoring(clause)) {
+                    moved.add(clause);
+                    clauses.remove();
+                }
+            }
+        } else if (isNonScoring(must)) {
+            moved.add(must);
+            body.remove(MUST);
+        }
+        if (moved.isEmpty()) {
+            return false;
+        }
+        moved.forEach(clause -> BoolQueries.addClauses(body, FILTER, clause));
+        BoolQueries.removeEmpty(body);
+        return true;
+    }
+
+    private static boolean isNonScoring(JsonNode clause) {
+        return clause.isObject() && clause.size() == 1 && NON_SCORING.contains(clause.fieldNames().next());
+    }
+}
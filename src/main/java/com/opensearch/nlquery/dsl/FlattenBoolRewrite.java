@@ -0,0 +1,165 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.opensearch.nlquery.dsl.BoolQueries.FILTER;
+import static com.opensearch.nlquery.dsl.BoolQueries.MUST;
+import static com.opensearch.nlquery.dsl.BoolQueries.MUST_NOT;
+import static com.opensearch.nlquery.dsl.BoolQueries.SHOULD;
+
+/**
+ * Merge {@code bool} queries nested in another {@code bool} into it, so the
+ * cluster builds one set of clauses instead of a tree of scorers.
+ *
+ * An inner bool is inlined only when that cannot change the hits or their
+ * scores: its must, filter and must_not clauses into an outer must or filter
+ * (inner must becomes filter there), its should clauses into an outer should
+ * without {@code minimum_should_match} or into an outer must_not. Inner bools
+ * carrying {@code minimum_should_match}, {@code boost} or {@code _name} are
+ * left alone. A bool holding a single must clause is replaced by that clause.
+ */
+public class FlattenBoolRewrite implements DslRewrite {
+
+    @Override
+    public String getName() {
+        return "flatten_bool";
+    }
+
+    @Override
+    public boolean apply(ObjectNode dsl) {
+        boolean changed = BoolQueries.forEachBool(dsl.get("query"), FlattenBoolRewrite::flatten);
+        JsonNode single;
+        while ((single = singleMust(BoolQueries.boolBody(dsl.get("query")))) != null) {
+            dsl.set("query", single);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static boolean flatten(ObjectNode body) {
+        Map<String, List<JsonNode>> merged = new LinkedHashMap<>();
+        boolean changed = false;
+        for (String occurrence : BoolQueries.OCCURRENCES) {
+            JsonNode existing = body.get(occurrence);
+            if (existing == null || existing.isNull()) {
+                continue;
+            }
+            List<JsonNode> kept = new ArrayList<>();
+            boolean flattened = false;
+            for (JsonNode clause : existing.isArray() ? existing : List.of(existing)) {
+                ObjectNode inner = BoolQueries.boolBody(clause);
+                JsonNode single = singleMust(inner);
+                if (single != null) {
+                    kept.add(single);
+                    flattened = true;
+                } else if (inner != null && canMerge(body, occurrence, inner)) {
+                    inner.fields().forEachRemaining(entry -> {
+                        String target = target(occurrence, entry.getKey());
+                        List<JsonNode> clauses = merged.computeIfAbsent(target, key -> new ArrayList<>());
+                        if (entry.getValue().isArray()) {
+                            entry.getValue().forEach(clauses::add);
+                        } else {
+                            clauses.add(entry.getValue());
+                        }
+                    });
+                    flattened = true;
+                } else {
+                    kept.add(clause);
+                }
+            }
+            if (flattened) {
+                body.putArray(occurrence).addAll(kept);
+                changed = true;
+            }
+        }
+        merged.forEach((occurrence, clauses) -> clauses.forEach(
+            clause -> BoolQueries.addClauses(body, occurrence, clause)));
+        if (changed) {
+            BoolQueries.removeEmpty(body);
+        }
+        return changed;
+    }
+
+    /**
+     * Whether inlining {@code inner}, found under {@code occurrence} of
+     * {@code outer}, keeps the outer query's meaning
+     */
+    private static boolean canMerge(ObjectNode outer, String occurrence, ObjectNode inner) {
+        if (inner.isEmpty()) {
+            // Matches everything; removing it from a must would turn a
+            // should-only bool into one that requires a should match
+            return false;
+        }
+        Iterator<String> keys = inner.fieldNames();
+        boolean required = false;
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (target(occurrence, key) == null) {
+                return false;
+            }
+            required |= (MUST.equals(key) || FILTER.equals(key)) && hasClauses(inner.get(key));
+        }
+        switch (occurrence) {
+            case MUST:
+            case FILTER:
+                // Without a must or filter left, outer should clauses would become required
+                return required;
+            case SHOULD:
+                return hasClauses(inner.get(SHOULD)) && !outer.has("minimum_should_match");
+            default:
+                // An empty should matches everything, so its negation matches nothing
+                return hasClauses(inner.get(SHOULD));
+        }
+    }
+
+    /**
+     * Where a clause under {@code innerKey} of an inner bool goes when the
+     * bool is inlined under {@code occurrence}, or null if it cannot be
+     */
+    private static String target(String occurrence, String innerKey) {
+        switch (occurrence) {
+            case MUST:
+                return MUST.equals(innerKey) || FILTER.equals(innerKey) || MUST_NOT.equals(innerKey) ? innerKey : null;
+            case FILTER:
+                if (MUST.equals(innerKey) || FILTER.equals(innerKey)) {
+                    return FILTER;
+                }
+                return MUST_NOT.equals(innerKey) ? MUST_NOT : null;
+            case SHOULD:
+                return SHOULD.equals(innerKey) ? SHOULD : null;
+            case MUST_NOT:
+                // not (a or b) is (not a) and (not b)
+                return SHOULD.equals(innerKey) ? MUST_NOT : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The clause of a bool that holds nothing but one must clause
+     */
+    private static JsonNode singleMust(ObjectNode body) {
+        if (body == null || body.size() != 1) {
+            return null;
+        }
+        JsonNode must = body.get(MUST);
+        if (must == null || must.isNull()) {
+            return null;
+        }
+        if (must.isArray()) {
+            return must.size() == 1 ? must.get(0) : null;
+        }
+        return must;
+    }
+
+    private static boolean hasClauses(JsonNode clauses) {
+        return clauses != null && !clauses.isNull() && (!clauses.isArray() || !clauses.isEmpty());
+    }
+}
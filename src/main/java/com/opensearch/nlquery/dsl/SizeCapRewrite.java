@@ -0,0 +1,32 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Cap {@code size} at the configured maximum number of results, setting it
+ * when the DSL leaves it out, so a generated query cannot ask the cluster to
+ * fetch and return more hits than are shown
+ */
+public class SizeCapRewrite implements DslRewrite {
+    private final int maxResults;
+
+    public SizeCapRewrite(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    @Override
+    public String getName() {
+        return "size_cap";
+    }
+
+    @Override
+    public boolean apply(ObjectNode dsl) {
+        JsonNode size = dsl.get("size");
+        if (size != null && size.canConvertToInt() && size.asInt() >= 0 && size.asInt() <= maxResults) {
+            return false;
+        }
+        dsl.put("size", maxResults);
+        return true;
+    }
+}
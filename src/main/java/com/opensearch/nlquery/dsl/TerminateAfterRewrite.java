@@ -0,0 +1,31 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Set {@code terminate_after} when the DSL has none, so each shard stops
+ * after collecting that many matching documents. Hits are then the best of
+ * the documents seen rather than of the whole index, which suits large
+ * indices where any good match will do.
+ */
+public class TerminateAfterRewrite implements DslRewrite {
+    private final long terminateAfter;
+
+    public TerminateAfterRewrite(long terminateAfter) {
+        this.terminateAfter = terminateAfter;
+    }
+
+    @Override
+    public String getName() {
+        return "terminate_after";
+    }
+
+    @Override
+    public boolean apply(ObjectNode dsl) {
+        if (dsl.has("terminate_after")) {
+            return false;
+        }
+        dsl.put("terminate_after", terminateAfter);
+        return true;
+    }
+}
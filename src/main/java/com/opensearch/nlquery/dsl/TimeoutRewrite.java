@@ -0,0 +1,30 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Set the search {@code timeout} (e.g. {@code "500ms"}) when the DSL has
+ * none; shards still running when it expires return the hits collected so
+ * far instead of holding up the response
+ */
+public class TimeoutRewrite implements DslRewrite {
+    private final String timeout;
+
+    public TimeoutRewrite(String timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String getName() {
+        return "timeout";
+    }
+
+    @Override
+    public boolean apply(ObjectNode dsl) {
+        if (dsl.has("timeout")) {
+            return false;
+        }
+        dsl.put("timeout", timeout);
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Bound {@code track_total_hits}, so the cluster stops counting matches once
+ * the bound is reached instead of visiting every one. Only the returned hits
+ * are used here, so an exact total is rarely worth its cost. An explicit
+ * {@code false} or a lower bound is kept.
+ */
+public class TrackTotalHitsRewrite implements DslRewrite {
+    private final int bound;
+
+    public TrackTotalHitsRewrite(int bound) {
+        this.bound = bound;
+    }
+
+    @Override
+    public String getName() {
+        return "track_total_hits";
+    }
+
+    @Override
+    public boolean apply(ObjectNode dsl) {
+        JsonNode current = dsl.get("track_total_hits");
+        boolean unbounded = current == null || current.isNull()
+            || (current.isBoolean() && current.booleanValue())
+            || (current.isNumber() && (current.asLong() < 0 || current.asLong() > bound));
+        if (!unbounded) {
+            return false;
+        }
+        dsl.put("track_total_hits", bound);
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package com.opensearch.nlquery.mapping;
+
+/**
+ * Query-relevant category of a mapped field
+ */
+public enum FieldType {
+    TEXT,
+    KEYWORD,
+    NUMERIC,
+    DATE,
+    BOOLEAN,
+    OTHER;
+
+    /**
+     * Categorize an OpenSearch mapping type name
+     */
+    public static FieldType of(String mappingType) {
+        if (mappingType == null) {
+            return OTHER;
+        }
+        switch (mappingType) {
+            case "text":
+            case "match_only_text":
+                return TEXT;
+            case "keyword":
+            case "constant_keyword":
+            case "wildcard":
+                return KEYWORD;
+            case "long":
+            case "integer":
+            case "short":
+            case "byte":
+            case "double":
+            case "float":
+            case "half_float":
+            case "scaled_float":
+            case "unsigned_long":
+                return NUMERIC;
+            case "date":
+            case "date_nanos":
+                return DATE;
+            case "boolean":
+                return BOOLEAN;
+            default:
+                return OTHER;
+        }
+    }
+
+    /**
+     * Whether term and range queries on the field compare exact values
+     */
+    public boolean isExact() {
+        return this == KEYWORD || this == NUMERIC || this == DATE || this == BOOLEAN;
+    }
+}
@@ -0,0 +1,257 @@
+package com.opensearch.nlquery.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the searchable fields of an index.
+ *
+ * Field paths are kept in a sorted array with a parallel array of type
+ * ordinals; a lower-cased alias table maps full paths and leaf names (and
+ * their singular forms) to a field so words from a question can be resolved.
+ */
+public final class IndexMapping {
+    private static final FieldType[] TYPES = FieldType.values();
+    private static final List<String> DATE_FIELD_PREFERENCE = Arrays.asList(
+        "@timestamp", "timestamp", "date", "created_at", "createdAt", "created", "updated_at");
+
+    public static final IndexMapping EMPTY = new IndexMapping(new TreeMap<>(), 0);
+
+    private final String[] names;
+    private final byte[] types;
+    private final Map<String, Integer> aliases;
+    private final List<String> textFields;
+    private final String defaultDateField;
+    private final String fingerprint;
+
+    private IndexMapping(TreeMap<String, FieldType> fields, int maxTextFields) {
+        this.names = fields.keySet().toArray(new String[0]);
+        this.types = new byte[names.length];
+        int i = 0;
+        for (FieldType type : fields.values()) {
+            types[i++] = (byte) type.ordinal();
+        }
+
+        // Shorter paths win an alias, so "city" prefers "city" over "address.city"
+        Integer[] byDepth = new Integer[names.length];
+        for (int j = 0; j < names.length; j++) {
+            byDepth[j] = j;
+        }
+        Arrays.sort(byDepth, Comparator.comparingInt((Integer j) -> depth(names[j])).thenComparing(j -> names[j]));
+
+        Map<String, Integer> aliasTable = new HashMap<>();
+        List<String> text = new ArrayList<>();
+        for (Integer j : byDepth) {
+            String name = names[j];
+            // Multi-fields such as title.keyword are reached through their parent
+            if (isMultiField(fields, name)) {
+                continue;
+            }
+            String lower = name.toLowerCase(Locale.ROOT);
+            String leaf = lower.substring(lower.lastIndexOf('.') + 1);
+            aliasTable.putIfAbsent(lower, j);
+            aliasTable.putIfAbsent(leaf, j);
+            if (TYPES[types[j]] == FieldType.TEXT && text.size() < maxTextFields) {
+                text.add(name);
+            }
+        }
+        this.aliases = aliasTable;
+        this.textFields = Collections.unmodifiableList(text);
+        this.defaultDateField = chooseDateField();
+        this.fingerprint = computeFingerprint();
+    }
+
+    /**
+     * Build a snapshot from a {@code GET <index>/_mapping} response. Mappings of
+     * several indices (for an alias or pattern) are merged.
+     *
+     * @param maxTextFields cap on the text fields selected for full-text queries
+     */
+    public static IndexMapping fromMappingResponse(JsonNode response, int maxTextFields) {
+        TreeMap<String, FieldType> fields = new TreeMap<>();
+        Iterator<JsonNode> indices = response.elements();
+        while (indices.hasNext()) {
+            collectFields(indices.next().path("mappings").path("properties"), "", fields);
+        }
+        return new IndexMapping(fields, maxTextFields);
+    }
+
+    private static void collectFields(JsonNode properties, String prefix, Map<String, FieldType> fields) {
+        Iterator<Map.Entry<String, JsonNode>> entries = properties.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            String path = prefix + entry.getKey();
+            JsonNode definition = entry.getValue();
+            String type = definition.path("type").asText("object");
+
+            if (definition.has("properties")) {
+                // Nested documents need nested queries; only plain objects are flattened
+                if (!"nested".equals(type)) {
+                    collectFields(definition.get("properties"), path + ".", fields);
+                }
+                continue;
+            }
+            if (!definition.path("index").asBoolean(true)) {
+                continue;
+            }
+            fields.putIfAbsent(path, FieldType.of(type));
+
+            Iterator<Map.Entry<String, JsonNode>> multiFields = definition.path("fields").fields();
+            while (multiFields.hasNext()) {
+                Map.Entry<String, JsonNode> multiField = multiFields.next();
+                fields.putIfAbsent(path + "." + multiField.getKey(),
+                    FieldType.of(multiField.getValue().path("type").asText(null)));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Type of a field by its full path, or null if it is not mapped
+     */
+    public FieldType typeOf(String field) {
+        int index = Arrays.binarySearch(names, field);
+        return index >= 0 ? TYPES[types[index]] : null;
+    }
+
+    /**
+     * Resolve a word from a question to a field path: case-insensitive full
+     * path or leaf name, also trying the singular form. Null if none matches.
+     */
+    public String resolve(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        Integer index = aliases.get(lower);
+        if (index == null && lower.length() > 3 && lower.endsWith("s")) {
+            index = aliases.get(lower.substring(0, lower.length() - 1));
+        }
+        return index != null ? names[index] : null;
+    }
+
+    /**
+     * Exact-match sub-field of a text field (e.g. title.keyword), or null
+     */
+    public String keywordFieldFor(String textField) {
+        String prefix = textField + ".";
+        int index = Arrays.binarySearch(names, prefix);
+        for (int i = index >= 0 ? index : -index - 1; i < names.length && names[i].startsWith(prefix); i++) {
+            if (TYPES[types[i]] == FieldType.KEYWORD && names[i].indexOf('.', prefix.length()) < 0) {
+                return names[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Text fields targeted by full-text queries, shallowest first
+     */
+    public List<String> getTextFields() {
+        return textFields;
+    }
+
+    /**
+     * Date field used for time phrases that do not name a field, or null
+     */
+    public String getDefaultDateField() {
+        return defaultDateField;
+    }
+
+    /**
+     * Short hash of the fields, their types and the selected text fields;
+     * snapshots with the same fingerprint convert a question the same way
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Compact "name:type" listing of up to {@code maxFields} fields, e.g. for an LLM prompt
+     */
+    public String describe(int maxFields) {
+        StringBuilder description = new StringBuilder();
+        int listed = 0;
+        for (int i = 0; i < names.length && listed < maxFields; i++) {
+            FieldType type = TYPES[types[i]];
+            if (type == FieldType.OTHER) {
+                continue;
+            }
+            if (listed++ > 0) {
+                description.append(", ");
+            }
+            description.append(names[i]).append(':').append(type.name().toLowerCase(Locale.ROOT));
+        }
+        return description.toString();
+    }
+
+    private String chooseDateField() {
+        for (String candidate : DATE_FIELD_PREFERENCE) {
+            if (typeOf(candidate) == FieldType.DATE) {
+                return candidate;
+            }
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (TYPES[types[i]] == FieldType.DATE && names[i].indexOf('.') < 0) {
+                return names[i];
+            }
+        }
+        return null;
+    }
+
+    private String computeFingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < names.length; i++) {
+                digest.update(names[i].getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(types[i]);
+            }
+            digest.update((byte) 1);
+            for (String field : textFields) {
+                digest.update(field.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            StringBuilder hex = new StringBuilder();
+            byte[] hash = digest.digest();
+            for (int i = 0; i < 6; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean isMultiField(Map<String, FieldType> fields, String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && fields.get(name.substring(0, dot)) == FieldType.TEXT;
+    }
+
+    private static int depth(String name) {
+        int depth = 0;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) == '.') {
+                depth++;
+            }
+        }
+        return depth;
+    }
+}
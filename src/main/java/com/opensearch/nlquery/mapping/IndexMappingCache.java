@@ -0,0 +1,130 @@
+package com.opensearch.nlquery.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Caches the field mapping of each index that is queried.
+ *
+ * The mapping is fetched the first time an index is asked for and then
+ * refreshed in the background. A failed fetch yields an empty mapping and
+ * a failed refresh keeps the previous snapshot; both are retried on the
+ * next refresh. Listeners hear about refreshes that change a mapping, so
+ * conversions made against the old one can be dropped.
+ */
+public class IndexMappingCache implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(IndexMappingCache.class);
+
+    private final MappingFetcher fetcher;
+    private final int maxTextFields;
+    private final ConcurrentHashMap<String, IndexMapping> mappings = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+    private final List<BiConsumer<String, IndexMapping>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param refreshSeconds background refresh interval; 0 or less disables refreshing
+     */
+    public IndexMappingCache(MappingFetcher fetcher, int refreshSeconds, int maxTextFields) {
+        this.fetcher = fetcher;
+        this.maxTextFields = maxTextFields;
+        if (refreshSeconds > 0) {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "index-mapping-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refresher.scheduleWithFixedDelay(this::refreshAll, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+        } else {
+            this.refresher = null;
+        }
+    }
+
+    /**
+     * Mapping of the index, fetching it on first use
+     */
+    public IndexMapping get(String index) {
+        IndexMapping mapping = mappings.get(index);
+        if (mapping != null) {
+            return mapping;
+        }
+        return mappings.computeIfAbsent(index, name -> {
+            try {
+                return load(name);
+            } catch (Exception e) {
+                logger.warn("Failed to fetch mapping for index {}, continuing without it: {}", name, e.getMessage());
+                return IndexMapping.EMPTY;
+            }
+        });
+    }
+
+    /**
+     * Call {@code listener} with the index and its new mapping whenever a
+     * refresh finds a mapping different from the cached one, including one
+     * that replaces the empty mapping of a failed first fetch
+     */
+    public void addChangeListener(BiConsumer<String, IndexMapping> listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(BiConsumer<String, IndexMapping> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Re-fetch every cached mapping now
+     */
+    public void refreshAll() {
+        for (String index : mappings.keySet()) {
+            IndexMapping mapping;
+            try {
+                mapping = load(index);
+            } catch (Exception e) {
+                logger.warn("Failed to refresh mapping for index {}, keeping the previous one: {}", index, e.getMessage());
+                continue;
+            }
+            IndexMapping previous = mappings.put(index, mapping);
+            if (previous != null && !previous.getFingerprint().equals(mapping.getFingerprint())) {
+                logger.info("Mapping of index {} changed: {} fields, {} text fields",
+                    index, mapping.size(), mapping.getTextFields().size());
+                for (BiConsumer<String, IndexMapping> listener : changeListeners) {
+                    try {
+                        listener.accept(index, mapping);
+                    } catch (RuntimeException e) {
+                        logger.warn("Mapping change listener failed for index {}: {}", index, e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private IndexMapping load(String index) throws IOException {
+        IndexMapping mapping = IndexMapping.fromMappingResponse(fetcher.fetch(index), maxTextFields);
+        logger.debug("Loaded mapping for index {}: {} fields, {} text fields, date field: {}",
+            index, mapping.size(), mapping.getTextFields().size(), mapping.getDefaultDateField());
+        return mapping;
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Fetches the raw {@code _mapping} response of an index
+     */
+    public interface MappingFetcher {
+        JsonNode fetch(String index) throws IOException;
+    }
+}
@@ -0,0 +1,138 @@
+package com.opensearch.nlquery.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the registry as a single read-only MBean,
+ * {@code com.opensearch.nlquery:type=Metrics}.
+ *
+ * Attribute names are the metric name followed by its label values, e.g.
+ * {@code nlquery_errors_total.bedrock_http}; each histogram contributes
+ * {@code .count}, {@code .p50_ms}, {@code .p99_ms}, {@code .p999_ms} and
+ * {@code .max_ms} attributes.
+ */
+public class JmxExporter implements DynamicMBean, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JmxExporter.class);
+
+    static final String OBJECT_NAME = "com.opensearch.nlquery:type=Metrics";
+
+    private final MetricsRegistry registry;
+    private final ObjectName objectName;
+    private final MBeanServer server;
+
+    public JmxExporter(MetricsRegistry registry) {
+        this.registry = registry;
+        this.server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            this.objectName = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (Exception e) {
+            throw new RuntimeException("Registering metrics MBean failed", e);
+        }
+        logger.info("Metrics registered with JMX as {}", OBJECT_NAME);
+    }
+
+    private Map<String, Supplier<Object>> attributes() {
+        Map<String, Supplier<Object>> attributes = new LinkedHashMap<>();
+        for (MetricsRegistry.Metric metric : registry.getMetrics()) {
+            StringBuilder name = new StringBuilder(metric.getName());
+            String[] labels = metric.getLabels();
+            for (int i = 1; i < labels.length; i += 2) {
+                name.append('.').append(labels[i]);
+            }
+            String base = name.toString();
+
+            LatencyHistogram histogram = metric.getHistogram();
+            if (histogram != null) {
+                attributes.put(base + ".count", histogram::getCount);
+                attributes.put(base + ".p50_ms", () -> toMillis(histogram.getPercentileNanos(50)));
+                attributes.put(base + ".p99_ms", () -> toMillis(histogram.getPercentileNanos(99)));
+                attributes.put(base + ".p999_ms", () -> toMillis(histogram.getPercentileNanos(99.9)));
+                attributes.put(base + ".max_ms", () -> toMillis(histogram.getMaxNanos()));
+            } else {
+                attributes.put(base, metric::getValue);
+            }
+        }
+        return attributes;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Supplier<Object> value = attributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        Map<String, Supplier<Object>> attributes = attributes();
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Supplier<Object> value = attributes.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value.get()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+        throw new UnsupportedOperationException("Metrics are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("No operations on metrics");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Supplier<Object>> attributes = attributes();
+        MBeanAttributeInfo[] infos = new MBeanAttributeInfo[attributes.size()];
+        int i = 0;
+        for (String name : attributes.keySet()) {
+            String type = name.endsWith(".count") ? Long.class.getName() : Double.class.getName();
+            infos[i++] = new MBeanAttributeInfo(name, type, name, true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), "OpenSearch NL query metrics", infos, null, null, null);
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.unregisterMBean(objectName);
+        } catch (Exception e) {
+            logger.debug("Unregistering metrics MBean failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.opensearch.nlquery.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets.
+ *
+ * Values up to 16 ns get exact buckets; above that each power of two is split
+ * into 8 buckets, so a reported percentile is within 12.5% of the true value.
+ * Recording is a couple of atomic adds and safe from any thread.
+ */
+public class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record one latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Record the time elapsed since {@code startNanos} (a {@link System#nanoTime()} reading)
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return sum.sum();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public double getMeanNanos() {
+        long total = count.sum();
+        return total == 0 ? 0.0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), or 0 when empty
+     */
+    public long getPercentileNanos(double percentile) {
+        return getPercentilesNanos(percentile)[0];
+    }
+
+    /**
+     * Several percentiles (0-100, ascending) from a single pass over the buckets
+     */
+    public long[] getPercentilesNanos(double... percentiles) {
+        long[] counts = snapshotBuckets();
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        long[] values = new long[percentiles.length];
+        if (total == 0) {
+            return values;
+        }
+
+        long maxNanos = max.get();
+        long seen = 0;
+        int bucket = -1;
+        for (int p = 0; p < percentiles.length; p++) {
+            long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentiles[p])) / 100.0));
+            while (seen < rank && bucket < BUCKET_COUNT - 1) {
+                seen += counts[++bucket];
+            }
+            values[p] = Math.min(bucketUpperBound(bucket), maxNanos);
+        }
+        return values;
+    }
+
+    /**
+     * Number of recorded values at or below each threshold (ascending, in
+     * nanoseconds), to bucket resolution
+     */
+    public long[] getCumulativeCounts(long... thresholdsNanos) {
+        long[] counts = snapshotBuckets();
+        long[] cumulative = new long[thresholdsNanos.length];
+        long seen = 0;
+        int bucket = 0;
+        for (int t = 0; t < thresholdsNanos.length; t++) {
+            while (bucket < BUCKET_COUNT && bucketUpperBound(bucket) <= thresholdsNanos[t]) {
+                seen += counts[bucket++];
+            }
+            cumulative[t] = seen;
+        }
+        return cumulative;
+    }
+
+    private long[] snapshotBuckets() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * One-line summary in milliseconds, e.g. for logging on shutdown
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms",
+            getCount(), toMillis(getMeanNanos()), toMillis(getPercentileNanos(50)),
+            toMillis(getPercentileNanos(99)), toMillis(getMaxNanos()));
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        if (exponent >= 60) {
+            return Long.MAX_VALUE;
+        }
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + subBucket) * width + width - 1;
+    }
+}
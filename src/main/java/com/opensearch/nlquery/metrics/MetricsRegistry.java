@@ -0,0 +1,172 @@
+package com.opensearch.nlquery.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Named, labelled metrics shared by the exporters.
+ *
+ * Histograms and counters are created on first use and returned on every later
+ * call with the same name and labels, so hot paths should look them up once
+ * and keep the reference. Gauges and function counters read a value owned by
+ * another component; registering one again replaces the previous reading.
+ */
+public class MetricsRegistry {
+    /** Latency of every pipeline stage, labelled by stage */
+    public static final String STAGE_LATENCY = "nlquery_stage_latency_seconds";
+    /** Failures of every pipeline stage, labelled by stage */
+    public static final String ERRORS = "nlquery_errors_total";
+    /** Degraded answers, labelled by the kind of fallback taken */
+    public static final String FALLBACKS = "nlquery_fallbacks_total";
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentSkipListMap<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    /**
+     * Registry used by the application and its exporters
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param labels alternating label names and values
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) getOrCreate(name, help, Type.HISTOGRAM, labels).value;
+    }
+
+    /**
+     * @param labels alternating label names and values
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) getOrCreate(name, help, Type.COUNTER, labels).value;
+    }
+
+    /**
+     * Register a gauge read from {@code value} at export time
+     */
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        Metric metric = new Metric(name, help, Type.GAUGE, labels, value);
+        metrics.put(metric.key, metric);
+    }
+
+    /**
+     * Register a counter maintained elsewhere and read from {@code value} at export time
+     */
+    public void functionCounter(String name, String help, DoubleSupplier value, String... labels) {
+        Metric metric = new Metric(name, help, Type.COUNTER, labels, value);
+        metrics.put(metric.key, metric);
+    }
+
+    public LatencyHistogram stageLatency(String stage) {
+        return histogram(STAGE_LATENCY, "Latency of each query pipeline stage", "stage", stage);
+    }
+
+    public Counter errors(String stage) {
+        return counter(ERRORS, "Failed pipeline stages", "stage", stage);
+    }
+
+    public Counter fallbacks(String kind) {
+        return counter(FALLBACKS, "Queries answered by a fallback path", "kind", kind);
+    }
+
+    /**
+     * All metrics, sorted so that series of the same name are adjacent
+     */
+    public List<Metric> getMetrics() {
+        return new ArrayList<>(metrics.values());
+    }
+
+    private Metric getOrCreate(String name, String help, Type type, String[] labels) {
+        String key = key(name, labels);
+        Metric metric = metrics.get(key);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(key, k -> new Metric(name, help, type, labels,
+                type == Type.HISTOGRAM ? new LatencyHistogram() : new Counter()));
+        }
+        if (metric.type != type) {
+            throw new IllegalArgumentException("Metric " + key + " is already registered as a " + metric.type);
+        }
+        return metric;
+    }
+
+    private static String key(String name, String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs: " + Arrays.toString(labels));
+        }
+        StringBuilder key = new StringBuilder(name);
+        for (int i = 0; i < labels.length; i += 2) {
+            key.append(i == 0 ? '{' : ',').append(labels[i]).append('=').append(labels[i + 1]);
+        }
+        return labels.length > 0 ? key.append('}').toString() : key.toString();
+    }
+
+    public enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    /**
+     * One series: a name, its labels and the object holding its value
+     */
+    public static final class Metric {
+        private final String key;
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final String[] labels;
+        private final Object value;
+
+        private Metric(String name, String help, Type type, String[] labels, Object value) {
+            this.key = key(name, labels);
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labels = labels.clone();
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getHelp() {
+            return help;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Alternating label names and values
+         */
+        public String[] getLabels() {
+            return labels.clone();
+        }
+
+        /**
+         * The histogram of a {@link Type#HISTOGRAM} metric, otherwise null
+         */
+        public LatencyHistogram getHistogram() {
+            return value instanceof LatencyHistogram ? (LatencyHistogram) value : null;
+        }
+
+        /**
+         * Current value of a counter or gauge
+         */
+        public double getValue() {
+            if (value instanceof Counter) {
+                return ((Counter) value).get();
+            }
+            if (value instanceof DoubleSupplier) {
+                return ((DoubleSupplier) value).getAsDouble();
+            }
+            return ((LatencyHistogram) value).getCount();
+        }
+    }
+}
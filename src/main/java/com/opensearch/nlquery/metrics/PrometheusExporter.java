@@ -0,0 +1,198 @@
+package com.opensearch.nlquery.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the registry in the Prometheus text exposition format on {@code /metrics}.
+ *
+ * Histograms are exported as Prometheus histograms with fixed second buckets,
+ * plus a {@code <name>_quantile} gauge family carrying p50, p99 and p99.9 since
+ * process start.
+ */
+public class PrometheusExporter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusExporter.class);
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] BUCKET_SECONDS = {
+        0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+    private static final long[] BUCKET_NANOS = new long[BUCKET_SECONDS.length];
+    private static final String[] BUCKET_LABELS = new String[BUCKET_SECONDS.length];
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    static {
+        for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+            BUCKET_NANOS[i] = (long) (BUCKET_SECONDS[i] * TimeUnit.SECONDS.toNanos(1));
+            BUCKET_LABELS[i] = BigDecimal.valueOf(BUCKET_SECONDS[i]).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Start serving on all interfaces
+     *
+     * @param port listening port; 0 picks a free one
+     */
+    public PrometheusExporter(MetricsRegistry registry, int port) {
+        this.registry = registry;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Starting metrics endpoint on port " + port + " failed", e);
+        }
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        logger.info("Prometheus metrics available on http://0.0.0.0:{}/metrics", getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = scrape(registry).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Render every metric of the registry in the text exposition format
+     */
+    public static String scrape(MetricsRegistry registry) {
+        Map<String, List<MetricsRegistry.Metric>> families = new LinkedHashMap<>();
+        for (MetricsRegistry.Metric metric : registry.getMetrics()) {
+            families.computeIfAbsent(metric.getName(), name -> new ArrayList<>()).add(metric);
+        }
+
+        StringBuilder out = new StringBuilder(4096);
+        for (List<MetricsRegistry.Metric> family : families.values()) {
+            MetricsRegistry.Metric first = family.get(0);
+            String name = first.getName();
+            if (first.getType() == MetricsRegistry.Type.HISTOGRAM) {
+                writeHeader(out, name, first.getHelp(), "histogram");
+                for (MetricsRegistry.Metric metric : family) {
+                    writeHistogram(out, metric);
+                }
+                String quantileName = quantileName(name);
+                writeHeader(out, quantileName, first.getHelp() + " (quantiles since start)", "gauge");
+                for (MetricsRegistry.Metric metric : family) {
+                    long[] values = metric.getHistogram().getPercentilesNanos(PERCENTILES);
+                    for (int i = 0; i < QUANTILES.length; i++) {
+                        writeSample(out, quantileName, metric.getLabels(), "quantile",
+                            Double.toString(QUANTILES[i]), seconds(values[i]));
+                    }
+                }
+            } else {
+                writeHeader(out, name, first.getHelp(),
+                    first.getType() == MetricsRegistry.Type.COUNTER ? "counter" : "gauge");
+                for (MetricsRegistry.Metric metric : family) {
+                    writeSample(out, name, metric.getLabels(), null, null, metric.getValue());
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void writeHistogram(StringBuilder out, MetricsRegistry.Metric metric) {
+        LatencyHistogram histogram = metric.getHistogram();
+        // Buckets are read after the count and clamped to it, so they never exceed +Inf
+        long count = histogram.getCount();
+        long totalNanos = histogram.getTotalNanos();
+        long[] cumulative = histogram.getCumulativeCounts(BUCKET_NANOS);
+        String bucketName = metric.getName() + "_bucket";
+        for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+            writeSample(out, bucketName, metric.getLabels(), "le", BUCKET_LABELS[i],
+                Math.min(cumulative[i], count));
+        }
+        writeSample(out, bucketName, metric.getLabels(), "le", "+Inf", count);
+        writeSample(out, metric.getName() + "_sum", metric.getLabels(), null, null, seconds(totalNanos));
+        writeSample(out, metric.getName() + "_count", metric.getLabels(), null, null, count);
+    }
+
+    private static void writeHeader(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ')
+            .append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeSample(StringBuilder out, String name, String[] labels,
+                                    String extraLabel, String extraValue, double value) {
+        out.append(name);
+        if (labels.length > 0 || extraLabel != null) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                appendLabel(out, labels[i], labels[i + 1]);
+            }
+            if (extraLabel != null) {
+                appendLabel(out, extraLabel, extraValue);
+            }
+            out.setCharAt(out.length() - 1, '}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static void appendLabel(StringBuilder out, String name, String value) {
+        out.append(name).append("=\"")
+            .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+            .append("\",");
+    }
+
+    private static String quantileName(String histogramName) {
+        return histogramName.endsWith("_seconds")
+            ? histogramName.substring(0, histogramName.length() - "_seconds".length()) + "_quantile_seconds"
+            : histogramName + "_quantile";
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
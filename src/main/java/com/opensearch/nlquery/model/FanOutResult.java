@@ -0,0 +1,37 @@
+package com.opensearch.nlquery.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merged hits of a search fanned out over several targets, and the targets
+ * that did not answer in time or failed
+ */
+public class FanOutResult {
+    private final List<SearchResult> results;
+    private final Map<String, String> failures;
+
+    public FanOutResult(List<SearchResult> results, Map<String, String> failures) {
+        this.results = results;
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    public List<SearchResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Error of each target left out of the results, in target order
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Whether some targets are missing from the results
+     */
+    public boolean isPartial() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package com.opensearch.nlquery.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of running one natural language query through the convert -> search pipeline
+ */
+public class QueryResult {
+    private final String naturalLanguageQuery;
+    private final JsonNode dslQuery;
+    private final List<SearchResult> results;
+    private final Map<String, String> failedTargets;
+    
+    public QueryResult(String naturalLanguageQuery, JsonNode dslQuery, List<SearchResult> results) {
+        this(naturalLanguageQuery, dslQuery, results, Map.of());
+    }
+    
+    /**
+     * Result of a fan-out search, missing the hits of {@code failedTargets}
+     */
+    public QueryResult(String naturalLanguageQuery, JsonNode dslQuery, List<SearchResult> results,
+                       Map<String, String> failedTargets) {
+        this.naturalLanguageQuery = naturalLanguageQuery;
+        this.dslQuery = dslQuery;
+        this.results = results;
+        this.failedTargets = failedTargets;
+    }
+    
+    public String getNaturalLanguageQuery() {
+        return naturalLanguageQuery;
+    }
+    
+    public JsonNode getDslQuery() {
+        return dslQuery;
+    }
+    
+    public List<SearchResult> getResults() {
+        return results;
+    }
+    
+    /**
+     * Error of each fan-out target left out of the results; empty otherwise
+     */
+    public Map<String, String> getFailedTargets() {
+        return failedTargets;
+    }
+    
+    public boolean isPartial() {
+        return !failedTargets.isEmpty();
+    }
+    
+    @Override
+    public String toString() {
+        return "QueryResult{" +
+            "naturalLanguageQuery='" + naturalLanguageQuery + '\'' +
+            ", results=" + results.size() +
+            (isPartial() ? ", failedTargets=" + failedTargets.keySet() : "") +
+            '}';
+    }
+}
@@ -0,0 +1,50 @@
+package com.opensearch.nlquery.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * A JSON value captured as UTF-8 bytes instead of being decoded.
+ *
+ * Used as the document type of search requests, so each hit's {@code _source}
+ * is copied token by token into a compact byte array rather than built into
+ * nested maps.
+ */
+@JsonDeserialize(using = RawJson.Deserializer.class)
+public final class RawJson {
+    private final byte[] bytes;
+
+    public RawJson(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    static final class Deserializer extends JsonDeserializer<RawJson> {
+        private static final JsonFactory FACTORY = new JsonFactory();
+        // Reused per thread so the only allocation per document is the final array
+        private static final ThreadLocal<ByteArrayOutputStream> BUFFERS =
+            ThreadLocal.withInitial(() -> new ByteArrayOutputStream(8192));
+
+        @Override
+        public RawJson deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            ByteArrayOutputStream buffer = BUFFERS.get();
+            buffer.reset();
+            try (JsonGenerator generator = FACTORY.createGenerator(buffer)) {
+                generator.copyCurrentStructure(parser);
+            }
+            byte[] bytes = buffer.toByteArray();
+            buffer.reset();
+            return new RawJson(bytes);
+        }
+    }
+}
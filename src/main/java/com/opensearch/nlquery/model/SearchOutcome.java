@@ -0,0 +1,36 @@
+package com.opensearch.nlquery.model;
+
+import java.util.List;
+
+/**
+ * Result of one search inside a multi-search request: either hits or an error
+ */
+public class SearchOutcome {
+    private final List<SearchResult> results;
+    private final String error;
+    
+    private SearchOutcome(List<SearchResult> results, String error) {
+        this.results = results;
+        this.error = error;
+    }
+    
+    public static SearchOutcome success(List<SearchResult> results) {
+        return new SearchOutcome(results, null);
+    }
+    
+    public static SearchOutcome failure(String error) {
+        return new SearchOutcome(null, error);
+    }
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+    
+    public List<SearchResult> getResults() {
+        return results;
+    }
+    
+    public String getError() {
+        return error;
+    }
+}
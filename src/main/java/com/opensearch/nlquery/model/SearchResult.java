@@ -1,46 +1,217 @@
 package com.opensearch.nlquery.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Model representing a search result from OpenSearch
+ * Model representing a search result from OpenSearch.
+ *
+ * The {@code _source} is kept as the raw JSON bytes of the hit and only decoded
+ * into maps when {@link #getSource()} is called; {@link #getSourceField(String)}
+ * reads a single top-level field without decoding the rest. Serializing the
+ * result with Jackson writes the raw JSON as is.
+ *
+ * A result can be frozen once it is shared, e.g. by the search result cache;
+ * its setters then throw, and {@link #getSource()} decodes a fresh map for
+ * each caller instead of keeping one that callers could change for each other.
  */
 public class SearchResult {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private String index;
     private String id;
     private Double score;
-    private Map<String, Object> source;
-    
+    private List<Object> sortValues;
+    private byte[] rawSource;
+    private volatile Map<String, Object> source;
+    private volatile boolean frozen;
+
+    /**
+     * Index the hit was found in, e.g. the concrete index behind an alias or
+     * pattern, which tells merged fan-out results apart
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    public void setIndex(String index) {
+        checkNotFrozen();
+        this.index = index;
+    }
+
     public String getId() {
         return id;
     }
-    
+
     public void setId(String id) {
+        checkNotFrozen();
         this.id = id;
     }
-    
+
     public Double getScore() {
         return score;
     }
-    
+
     public void setScore(Double score) {
+        checkNotFrozen();
         this.score = score;
     }
-    
+
+    /**
+     * The hit's {@code sort} values, one per sort key of the DSL, or null
+     * when the DSL has no sort. Numbers are Long or Double, keywords String,
+     * and a missing value may be null.
+     */
+    @JsonIgnore
+    public List<Object> getSortValues() {
+        return sortValues;
+    }
+
+    public void setSortValues(List<Object> sortValues) {
+        checkNotFrozen();
+        this.sortValues = sortValues;
+    }
+
+    /**
+     * The decoded {@code _source}, decoding it on first access, or on every
+     * access once the result is frozen
+     */
+    @JsonIgnore
     public Map<String, Object> getSource() {
-        return source;
+        Map<String, Object> decoded = source;
+        if (decoded == null && rawSource != null) {
+            try {
+                decoded = MAPPER.readValue(rawSource, MAP_TYPE);
+            } catch (IOException e) {
+                throw new RuntimeException("Decoding _source of hit " + id + " failed", e);
+            }
+            if (!frozen) {
+                source = decoded;
+            }
+        }
+        return decoded;
     }
-    
+
     public void setSource(Map<String, Object> source) {
+        checkNotFrozen();
         this.source = source;
+        this.rawSource = null;
     }
-    
+
+    /**
+     * A single top-level {@code _source} field, or null if absent. Only that
+     * field is decoded; the rest of the document is skipped.
+     */
+    public Object getSourceField(String field) {
+        Map<String, Object> decoded = source;
+        if (decoded != null) {
+            return decoded.get(field);
+        }
+        if (rawSource == null) {
+            return null;
+        }
+        try (JsonParser parser = MAPPER.getFactory().createParser(rawSource)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean match = field.equals(parser.getCurrentName());
+                parser.nextToken();
+                if (match) {
+                    return MAPPER.readValue(parser, Object.class);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("Decoding _source of hit " + id + " failed", e);
+        }
+    }
+
+    /**
+     * The {@code _source} as returned by OpenSearch (UTF-8 JSON), or null once
+     * it has been replaced by {@link #setSource(Map)}; not to be modified
+     */
+    @JsonIgnore
+    public byte[] getRawSource() {
+        return rawSource;
+    }
+
+    public void setRawSource(byte[] rawSource) {
+        checkNotFrozen();
+        this.rawSource = rawSource;
+        this.source = null;
+    }
+
+    /**
+     * Make the result read-only before sharing it. A source set as a map is
+     * encoded to raw JSON, so no caller holds the map the result keeps.
+     */
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        Map<String, Object> decoded = source;
+        if (rawSource == null && decoded != null) {
+            try {
+                rawSource = MAPPER.writeValueAsBytes(decoded);
+            } catch (IOException e) {
+                throw new RuntimeException("Encoding _source of hit " + id + " failed", e);
+            }
+        }
+        if (sortValues != null) {
+            sortValues = Collections.unmodifiableList(sortValues);
+        }
+        source = null;
+        frozen = true;
+    }
+
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Search result " + id + " is shared and cannot be changed");
+        }
+    }
+
+    @JsonProperty("source")
+    @JsonRawValue
+    private String sourceJson() throws IOException {
+        if (rawSource != null) {
+            return new String(rawSource, StandardCharsets.UTF_8);
+        }
+        Map<String, Object> decoded = source;
+        return decoded != null ? MAPPER.writeValueAsString(decoded) : null;
+    }
+
     @Override
     public String toString() {
+        String sourceText;
+        try {
+            sourceText = sourceJson();
+        } catch (IOException e) {
+            sourceText = String.valueOf(source);
+        }
         return "SearchResult{" +
-            "id='" + id + '\'' +
+            "index='" + index + '\'' +
+            ", id='" + id + '\'' +
             ", score=" + score +
-            ", source=" + source +
+            ", source=" + sourceText +
             '}';
     }
 }
-
@@ -0,0 +1,401 @@
+package com.opensearch.nlquery.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import com.opensearch.nlquery.service.NaturalLanguageQueryService;
+import com.opensearch.nlquery.service.QueryPipeline;
+import com.opensearch.nlquery.service.SearchTarget;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded HTTP server exposing the pipeline as JSON endpoints:
+ * {@code POST /convert} and {@code POST /search} take {@code {"query": "..."}}
+ * (search also an optional {@code "index"}), and {@code GET /health} reports
+ * whether the server is accepting requests. With fan-out targets configured,
+ * a search without an index runs against all of them and reports the targets
+ * it is missing.
+ *
+ * Worker threads only read the request and start the non-blocking conversion or
+ * search; the response is written when it completes, so a worker is never held
+ * while Bedrock or OpenSearch is working. Workers are virtual threads when the
+ * JDK has them and {@code server.virtualThreads} is set, otherwise a fixed pool.
+ *
+ * Load is bounded twice: at most {@code maxInFlight} requests are processed at
+ * once (more are refused with 429), and in pool mode a request that finds the
+ * worker queue full is refused with 503 without reading its body. Requests
+ * running longer than the request timeout get 504 and are cancelled. On close,
+ * new requests get 503 while in-flight ones are given the shutdown grace period
+ * to finish; whatever is left is then cancelled.
+ */
+public class QueryServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(QueryServer.class);
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    // Set while the dispatcher runs a request the worker pool had no room for
+    private static final ThreadLocal<Boolean> REJECTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final NaturalLanguageQueryService nlQueryService;
+    private final QueryPipeline pipeline;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String defaultIndex;
+    private final int maxInFlight;
+    private final long requestTimeoutMs;
+    private final long shutdownGraceMs;
+
+    private final Semaphore permits;
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private volatile boolean draining;
+
+    private final MetricsRegistry metrics;
+    private final LatencyHistogram convertLatency;
+    private final LatencyHistogram searchLatency;
+
+    /**
+     * Start serving on all interfaces
+     */
+    public QueryServer(NaturalLanguageQueryService nlQueryService, QueryPipeline pipeline, AppConfig config) {
+        this.nlQueryService = nlQueryService;
+        this.pipeline = pipeline;
+        this.defaultIndex = config.getDefaultIndex();
+        this.maxInFlight = config.getServerMaxInFlight();
+        this.requestTimeoutMs = config.getServerRequestTimeoutMs();
+        this.shutdownGraceMs = config.getServerShutdownGraceMs();
+        this.permits = new Semaphore(maxInFlight);
+
+        this.metrics = MetricsRegistry.getDefault();
+        this.convertLatency = metrics.stageLatency("http_convert");
+        this.searchLatency = metrics.stageLatency("http_search");
+        metrics.gauge("nlquery_http_in_flight", "HTTP requests being processed",
+            () -> maxInFlight - permits.availablePermits());
+
+        this.workers = createWorkers(config);
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(config.getServerPort()), 0);
+        } catch (IOException e) {
+            workers.shutdownNow();
+            throw new RuntimeException("Starting HTTP server on port " + config.getServerPort() + " failed", e);
+        }
+        server.setExecutor(admissionExecutor(workers));
+        server.createContext("/convert", exchange -> handle(exchange, "convert", convertLatency, this::convert));
+        server.createContext("/search", exchange -> handle(exchange, "search", searchLatency, this::search));
+        server.createContext("/health", this::health);
+        server.start();
+        logger.info("HTTP server listening on http://0.0.0.0:{} (max in flight: {}, request timeout: {} ms)",
+            getPort(), maxInFlight, requestTimeoutMs);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private static ExecutorService createWorkers(AppConfig config) {
+        if (config.isServerVirtualThreads()) {
+            ExecutorService virtualThreads = virtualThreadExecutor();
+            if (virtualThreads != null) {
+                logger.info("HTTP server using a virtual thread per request");
+                return virtualThreads;
+            }
+            logger.info("Virtual threads not available on this JDK, using a pool of {} worker threads",
+                config.getServerWorkerThreads());
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(config.getServerWorkerThreads(), config.getServerWorkerThreads(),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getServerMaxInFlight()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "http-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()} when running on JDK 21+,
+     * looked up reflectively since the code is compiled for Java 11; null otherwise
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hands requests to the workers; one they have no room for is run on the
+     * dispatcher thread just long enough to answer 503
+     */
+    private static Executor admissionExecutor(ExecutorService workers) {
+        return task -> {
+            try {
+                workers.execute(task);
+            } catch (RejectedExecutionException e) {
+                REJECTED.set(Boolean.TRUE);
+                try {
+                    task.run();
+                } finally {
+                    REJECTED.set(Boolean.FALSE);
+                }
+            }
+        };
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, LatencyHistogram latency,
+                        Function<JsonNode, CompletableFuture<Map<String, Object>>> operation) {
+        long startNanos = System.nanoTime();
+        if (REJECTED.get()) {
+            refuse(exchange, endpoint, 503, "Server is saturated");
+            return;
+        }
+        if (draining) {
+            refuse(exchange, endpoint, 503, "Server is shutting down");
+            return;
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            refuse(exchange, endpoint, 405, "Use POST");
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            refuse(exchange, endpoint, 429, "Too many requests in flight");
+            return;
+        }
+
+        CompletableFuture<Map<String, Object>> response;
+        try {
+            response = operation.apply(readBody(exchange));
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Map<String, Object>> timed = response.orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        inFlight.add(timed);
+        timed.whenComplete((body, error) -> {
+            try {
+                if (error == null) {
+                    body.put("tookMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                    respond(exchange, endpoint, 200, body);
+                } else {
+                    respondError(exchange, endpoint, Futures.unwrap(error));
+                }
+            } finally {
+                latency.recordSince(startNanos);
+                inFlight.remove(timed);
+                permits.release();
+            }
+        });
+    }
+
+    private CompletableFuture<Map<String, Object>> convert(JsonNode request) {
+        String query = requireQuery(request);
+        return withCancellation(nlQueryService.convertToDSLAsync(query), dsl -> {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("query", query);
+            body.put("dsl", dsl);
+            return body;
+        });
+    }
+
+    private CompletableFuture<Map<String, Object>> search(JsonNode request) {
+        String query = requireQuery(request);
+        if (!request.hasNonNull("index") && pipeline.isFanOutEnabled()) {
+            return fanOutSearch(query);
+        }
+        String index = request.path("index").asText(defaultIndex);
+        return withCancellation(pipeline.executeAsync(query, index), result -> {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("query", query);
+            body.put("index", index);
+            body.put("dsl", result.getDslQuery());
+            body.put("total", result.getResults().size());
+            body.put("hits", result.getResults());
+            return body;
+        });
+    }
+
+    private CompletableFuture<Map<String, Object>> fanOutSearch(String query) {
+        return withCancellation(pipeline.executeFanOutAsync(query), result -> {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("query", query);
+            body.put("targets", pipeline.getFanOutTargets().stream()
+                .map(SearchTarget::toString).collect(Collectors.toList()));
+            body.put("dsl", result.getDslQuery());
+            body.put("partial", result.isPartial());
+            if (result.isPartial()) {
+                body.put("failedTargets", result.getFailedTargets());
+            }
+            body.put("total", result.getResults().size());
+            body.put("hits", result.getResults());
+            return body;
+        });
+    }
+
+    /**
+     * Map the result, cancelling the underlying work if the mapped future fails
+     * first, e.g. on the request timeout
+     */
+    private static <T> CompletableFuture<Map<String, Object>> withCancellation(
+            CompletableFuture<T> work, Function<T, Map<String, Object>> mapper) {
+        CompletableFuture<Map<String, Object>> mapped = work.thenApply(mapper);
+        Futures.propagateCancellation(mapped, work);
+        return mapped;
+    }
+
+    private static String requireQuery(JsonNode request) {
+        String query = request.path("query").asText("").trim();
+        if (query.isEmpty()) {
+            throw new BadRequestException(400, "Missing \"query\"");
+        }
+        return query;
+    }
+
+    private JsonNode readBody(HttpExchange exchange) {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (body.size() + read > MAX_BODY_BYTES) {
+                    throw new BadRequestException(413, "Request body larger than " + MAX_BODY_BYTES + " bytes");
+                }
+                body.write(buffer, 0, read);
+            }
+            JsonNode request = objectMapper.readTree(body.toByteArray());
+            if (request == null || !request.isObject()) {
+                throw new BadRequestException(400, "Request body must be a JSON object");
+            }
+            return request;
+        } catch (IOException e) {
+            throw new BadRequestException(400, "Unreadable request body: " + e.getMessage());
+        }
+    }
+
+    private void health(HttpExchange exchange) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", draining ? "draining" : "ok");
+        body.put("inFlight", maxInFlight - permits.availablePermits());
+        respond(exchange, "health", draining ? 503 : 200, body);
+    }
+
+    private void respondError(HttpExchange exchange, String endpoint, Throwable error) {
+        if (error instanceof BadRequestException) {
+            refuse(exchange, endpoint, ((BadRequestException) error).status, error.getMessage());
+        } else if (error instanceof TimeoutException) {
+            refuse(exchange, endpoint, 504, "Request timed out after " + requestTimeoutMs + " ms");
+        } else if (error instanceof CancellationException) {
+            refuse(exchange, endpoint, 503, "Server is shutting down");
+        } else {
+            logger.error("Request to /{} failed: ", endpoint, error);
+            String message = error.getCause() != null
+                ? error.getMessage() + ": " + Futures.unwrap(error.getCause()).getMessage()
+                : error.getMessage();
+            refuse(exchange, endpoint, 500, message);
+        }
+    }
+
+    private void refuse(HttpExchange exchange, String endpoint, int status, String message) {
+        if (status == 429 || status == 503) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message);
+        respond(exchange, endpoint, status, body);
+    }
+
+    private void respond(HttpExchange exchange, String endpoint, int status, Map<String, Object> body) {
+        metrics.counter("nlquery_http_responses_total", "HTTP responses by endpoint and status",
+            "endpoint", endpoint, "status", Integer.toString(status)).increment();
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to send response to {}: {}", exchange.getRemoteAddress(), e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Stop accepting requests, let in-flight ones finish within the shutdown
+     * grace period, cancel the rest and stop the server
+     */
+    @Override
+    public void close() {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        logger.info("HTTP server shutting down, waiting up to {} ms for {} requests in flight",
+            shutdownGraceMs, inFlight.size());
+        try {
+            if (permits.tryAcquire(maxInFlight, shutdownGraceMs, TimeUnit.MILLISECONDS)) {
+                permits.release(maxInFlight);
+            } else {
+                logger.warn("Cancelling {} requests still in flight after the grace period", inFlight.size());
+                inFlight.forEach(request -> request.cancel(true));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server.stop(1);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+        logger.info("HTTP server stopped");
+    }
+
+    /**
+     * A request rejected before any work started
+     */
+    private static final class BadRequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        BadRequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.opensearch.nlquery.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.aws.SigV4Signer;
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.metrics.Counter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import com.opensearch.nlquery.model.FanOutResult;
+import com.opensearch.nlquery.model.SearchOutcome;
+import com.opensearch.nlquery.model.SearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs one DSL query against several indices or clusters and merges the hits.
+ *
+ * All targets are searched at once through their cluster's
+ * {@link OpenSearchService}, so a fan-out takes about as long as its slowest
+ * target rather than the sum of them. Each target has its own timeout; a
+ * target that times out is cancelled, and it and any failed target are
+ * reported in {@link FanOutResult#getFailures()} while the hits of the others
+ * are returned. The fan-out only fails when every target does.
+ *
+ * Hits are merged through a min-heap bounded at {@code from + size}, so the
+ * merge holds at most one page of candidates however many targets answer;
+ * {@code from} is applied after the merge. The DSL is optimized (see
+ * {@link OpenSearchService#optimize(JsonNode)}) for the page asked for, so
+ * {@code size} is capped before each target is asked for its first
+ * {@code from + size} hits.
+ *
+ * Without a {@code sort} in the DSL, hits are merged by score. Scores of
+ * different indices are only roughly comparable, since term statistics are
+ * per index; hits without a score rank after scored ones. With a sort, hits
+ * are merged by their sort values in the order of each sort key, missing
+ * values last. Ties are interleaved across targets by position.
+ */
+public class FanOutSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(FanOutSearchService.class);
+
+    // OpenSearch's default page size when the DSL has none
+    private static final int DEFAULT_SIZE = 10;
+
+    // Best candidate first on ties: earliest position, then earliest target
+    private static final Comparator<Candidate> BY_POSITION = Comparator
+        .comparingInt((Candidate candidate) -> candidate.rank)
+        .thenComparingInt(candidate -> candidate.target);
+
+    // Best candidate first: highest score, then by position
+    private static final Comparator<Candidate> BY_SCORE = Comparator
+        .comparingDouble((Candidate candidate) -> candidate.score).reversed()
+        .thenComparing(BY_POSITION);
+
+    private final List<SearchTarget> targets;
+    private final OpenSearchService primary;
+    private final List<OpenSearchService> services;
+    private final List<OpenSearchService> ownedServices = new ArrayList<>();
+    private final long targetTimeoutMs;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final LatencyHistogram fanOutLatency;
+    private final Counter targetSuccesses;
+    private final Counter targetTimeouts;
+    private final Counter targetErrors;
+    private final Counter partialResults;
+    private final Counter fanOutErrors;
+
+    /**
+     * Fan out over {@code opensearch.fanOut.targets}
+     */
+    public FanOutSearchService(AppConfig config, OpenSearchService primary, SigV4Signer signer) {
+        this(SearchTarget.parseList(config.getFanOutTargets()), config, primary, signer);
+    }
+
+    /**
+     * Fan out over the given targets. Targets on {@code opensearch.endpoint}
+     * are searched through {@code primary}; a client is created for every
+     * other cluster and closed with this service.
+     */
+    public FanOutSearchService(List<SearchTarget> targets, AppConfig config, OpenSearchService primary,
+                               SigV4Signer signer) {
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Fan-out search needs at least one target");
+        }
+        this.targets = List.copyOf(targets);
+        this.primary = primary;
+        this.services = new ArrayList<>(targets.size());
+        Map<String, OpenSearchService> clusters = new LinkedHashMap<>();
+        for (SearchTarget target : targets) {
+            String endpoint = target.getEndpoint();
+            if (endpoint == null || endpoint.equals(config.getOpensearchEndpoint())) {
+                services.add(primary);
+            } else {
+                services.add(clusters.computeIfAbsent(endpoint, url -> {
+                    OpenSearchService service = new OpenSearchService(config, signer, url);
+                    ownedServices.add(service);
+                    return service;
+                }));
+            }
+        }
+        this.targetTimeoutMs = config.getFanOutTargetTimeoutMs();
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        String outcomes = "nlquery_fan_out_targets_total";
+        String outcomesHelp = "Fan-out target searches by outcome";
+        this.fanOutLatency = metrics.stageLatency("fan_out");
+        this.targetSuccesses = metrics.counter(outcomes, outcomesHelp, "outcome", "success");
+        this.targetTimeouts = metrics.counter(outcomes, outcomesHelp, "outcome", "timeout");
+        this.targetErrors = metrics.counter(outcomes, outcomesHelp, "outcome", "error");
+        this.partialResults = metrics.counter("nlquery_fan_out_partial_total",
+            "Fan-out searches answered without some of their targets");
+        this.fanOutErrors = metrics.errors("fan_out");
+        logger.info("Fan-out search over {} on {} cluster(s), target timeout {} ms",
+            this.targets, ownedServices.size() + 1, targetTimeoutMs);
+    }
+
+    /**
+     * Search every target in parallel and merge the hits. Cancelling the
+     * returned future cancels the target searches still running.
+     */
+    public CompletableFuture<FanOutResult> searchAsync(JsonNode dslQuery) {
+        long startNanos = System.nanoTime();
+        // Optimized once for the page asked for, so the size cap applies to it and not to
+        // the wider per-target requests below, which are sent without optimizing again
+        JsonNode optimized;
+        try {
+            optimized = primary.optimize(dslQuery);
+        } catch (RuntimeException e) {
+            fanOutErrors.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+        int from = pageValue(optimized.get("from"), 0);
+        int size = pageValue(optimized.get("size"), DEFAULT_SIZE);
+
+        // Each target must return the first from + size hits for the merged page to be right;
+        // the DSL may be shared through the conversion cache, so it is copied before changing
+        JsonNode targetQuery = optimized;
+        if (from > 0 && optimized.isObject()) {
+            ObjectNode copy = ((ObjectNode) optimized).deepCopy();
+            copy.put("from", 0);
+            copy.put("size", from + size);
+            targetQuery = copy;
+        }
+
+        List<CompletableFuture<SearchOutcome>> outcomes = new ArrayList<>(targets.size());
+        List<CompletableFuture<List<SearchResult>>> searches = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            CompletableFuture<List<SearchResult>> search =
+                services.get(i).searchOptimizedAsync(targetQuery, targets.get(i).getIndex());
+            CompletableFuture<List<SearchResult>> bounded = search.copy();
+            if (targetTimeoutMs > 0) {
+                bounded.orTimeout(targetTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+            // A target that times out is cancelled, aborting its request
+            Futures.propagateCancellation(bounded, search);
+            searches.add(bounded);
+            outcomes.add(bounded.handle(this::outcome));
+        }
+
+        CompletableFuture<FanOutResult> result = CompletableFuture
+            .allOf(outcomes.toArray(new CompletableFuture<?>[0]))
+            .thenApply(done -> {
+                List<List<SearchResult>> hits = new ArrayList<>(targets.size());
+                Map<String, String> failures = new LinkedHashMap<>();
+                for (int i = 0; i < targets.size(); i++) {
+                    SearchOutcome outcome = outcomes.get(i).join();
+                    if (outcome.isSuccess()) {
+                        hits.add(outcome.getResults());
+                    } else {
+                        failures.put(targets.get(i).toString(), outcome.getError());
+                    }
+                }
+                if (hits.isEmpty()) {
+                    fanOutErrors.increment();
+                    throw new RuntimeException("Fan-out search failed on every target: " + failures);
+                }
+                if (!failures.isEmpty()) {
+                    partialResults.increment();
+                    logger.warn("Fan-out search returned partial results without {}", failures);
+                }
+                List<SearchResult> merged = merge(hits, from, size, optimized.get("sort"));
+                fanOutLatency.recordSince(startNanos);
+                logger.info("Fan-out search completed. Found {} results from {} of {} targets",
+                    merged.size(), hits.size(), targets.size());
+                return new FanOutResult(merged, failures);
+            });
+        for (CompletableFuture<List<SearchResult>> search : searches) {
+            Futures.propagateCancellation(result, search);
+        }
+        return result;
+    }
+
+    /**
+     * Blocking variant of {@link #searchAsync(JsonNode)}
+     */
+    public FanOutResult search(JsonNode dslQuery) {
+        return Futures.join(searchAsync(dslQuery));
+    }
+
+    public List<SearchTarget> getTargets() {
+        return targets;
+    }
+
+    private SearchOutcome outcome(List<SearchResult> results, Throwable error) {
+        if (error == null) {
+            targetSuccesses.increment();
+            return SearchOutcome.success(results);
+        }
+        Throwable cause = Futures.unwrap(error);
+        if (cause instanceof CancellationException) {
+            return SearchOutcome.failure("cancelled");
+        }
+        if (cause instanceof TimeoutException) {
+            targetTimeouts.increment();
+            return SearchOutcome.failure("timed out after " + targetTimeoutMs + " ms");
+        }
+        targetErrors.increment();
+        Throwable root = cause.getCause() != null ? cause.getCause() : cause;
+        return SearchOutcome.failure(root.getMessage() != null ? root.getMessage() : root.toString());
+    }
+
+    /**
+     * The best {@code from + size} hits of all targets, without the first
+     * {@code from}, ranked by the DSL's {@code sort} if not null and by score
+     * otherwise (package-private for tests)
+     */
+    static List<SearchResult> merge(List<List<SearchResult>> hits, int from, int size, JsonNode sort) {
+        int limit = from + size;
+        int available = 0;
+        for (List<SearchResult> targetHits : hits) {
+            available += targetHits.size();
+        }
+        if (limit <= 0 || available == 0) {
+            return new ArrayList<>();
+        }
+        List<Boolean> descending = sortOrders(sort);
+        Comparator<Candidate> bestFirst = descending.isEmpty()
+            ? BY_SCORE
+            : ((Comparator<Candidate>) (a, b) -> compareSortValues(a.result, b.result, descending))
+                .thenComparing(BY_POSITION);
+        Comparator<Candidate> worstFirst = bestFirst.reversed();
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Math.min(limit, available), worstFirst);
+        for (int target = 0; target < hits.size(); target++) {
+            List<SearchResult> targetHits = hits.get(target);
+            for (int rank = 0; rank < targetHits.size(); rank++) {
+                Candidate candidate = new Candidate(targetHits.get(rank), target, rank);
+                if (best.size() < limit) {
+                    best.add(candidate);
+                } else if (worstFirst.compare(candidate, best.peek()) > 0) {
+                    best.poll();
+                    best.add(candidate);
+                } else {
+                    // Each target's hits come best first, so none of the rest can make it either
+                    break;
+                }
+            }
+        }
+        SearchResult[] ranked = new SearchResult[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = best.poll().result;
+        }
+        return from >= ranked.length
+            ? new ArrayList<>()
+            : new ArrayList<>(Arrays.asList(ranked).subList(from, ranked.length));
+    }
+
+    /**
+     * Whether each sort key of the DSL sorts descending: {@code "field"},
+     * {@code {"field": "desc"}} or {@code {"field": {"order": "desc"}}}, where
+     * {@code _score} defaults to descending and other keys to ascending
+     */
+    private static List<Boolean> sortOrders(JsonNode sort) {
+        List<Boolean> descending = new ArrayList<>();
+        if (sort == null || sort.isNull()) {
+            return descending;
+        }
+        for (JsonNode key : sort.isArray() ? sort : List.of(sort)) {
+            if (key.isTextual()) {
+                descending.add("_score".equals(key.asText()));
+            } else if (key.isObject() && key.size() > 0) {
+                String field = key.fieldNames().next();
+                JsonNode spec = key.get(field);
+                String order = spec.isTextual() ? spec.asText() : spec.path("order").asText(null);
+                descending.add(order != null ? "desc".equalsIgnoreCase(order) : "_score".equals(field));
+            }
+        }
+        return descending;
+    }
+
+    /**
+     * Negative if {@code a} sorts before {@code b}. Missing values sort last
+     * whatever the order, as OpenSearch does by default.
+     */
+    private static int compareSortValues(SearchResult a, SearchResult b, List<Boolean> descending) {
+        List<Object> aValues = a.getSortValues();
+        List<Object> bValues = b.getSortValues();
+        for (int i = 0; i < descending.size(); i++) {
+            Object aValue = aValues != null && i < aValues.size() ? aValues.get(i) : null;
+            Object bValue = bValues != null && i < bValues.size() ? bValues.get(i) : null;
+            if (aValue == null || bValue == null) {
+                if (aValue != bValue) {
+                    return aValue == null ? 1 : -1;
+                }
+                continue;
+            }
+            int compared = compareValues(aValue, bValue);
+            if (compared != 0) {
+                return descending.get(i) ? -compared : compared;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareValues(Object a, Object b) {
+        if (a instanceof Long && b instanceof Long) {
+            return Long.compare((Long) a, (Long) b);
+        }
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof Boolean && b instanceof Boolean) {
+            return Boolean.compare((Boolean) a, (Boolean) b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    private static int pageValue(JsonNode node, int defaultValue) {
+        return node != null && node.canConvertToInt() && node.asInt() >= 0 ? node.asInt() : defaultValue;
+    }
+
+    /**
+     * Close the clients created for other clusters; the primary service is left open
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        for (OpenSearchService service : ownedServices) {
+            service.close();
+        }
+    }
+
+    private static final class Candidate {
+        private final SearchResult result;
+        private final double score;
+        private final int target;
+        private final int rank;
+
+        Candidate(SearchResult result, int target, int rank) {
+            this.result = result;
+            this.score = result.getScore() != null ? result.getScore() : Double.NEGATIVE_INFINITY;
+            this.target = target;
+            this.rank = rank;
+        }
+    }
+}
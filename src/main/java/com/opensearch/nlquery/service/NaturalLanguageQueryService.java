@@ -2,60 +2,359 @@ package com.opensearch.nlquery.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.aws.SigV4Signer;
+import com.opensearch.nlquery.cache.BoundedCache;
+import com.opensearch.nlquery.cache.CacheStats;
+import com.opensearch.nlquery.cache.ConversionStore;
+import com.opensearch.nlquery.cache.JsonSizeEstimator;
+import com.opensearch.nlquery.cache.QueryNormalizer;
+import com.opensearch.nlquery.concurrent.Futures;
 import com.opensearch.nlquery.config.AppConfig;
 import com.opensearch.nlquery.converter.LLMQueryConverter;
+import com.opensearch.nlquery.converter.QueryConverter;
 import com.opensearch.nlquery.converter.RuleBasedQueryConverter;
+import com.opensearch.nlquery.converter.ScoredConversion;
+import com.opensearch.nlquery.converter.TieredQueryConverter;
+import com.opensearch.nlquery.mapping.IndexMapping;
+import com.opensearch.nlquery.mapping.IndexMappingCache;
+import com.opensearch.nlquery.metrics.Counter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
 /**
- * Service for converting natural language queries to OpenSearch DSL
+ * Service for converting natural language queries to OpenSearch DSL.
+ *
+ * The DSL is returned as a Jackson tree and handed to the executor as is. The
+ * same instance may be served from the conversion cache to many callers, so
+ * callers must treat it as read-only and copy it before modifying.
+ *
+ * Conversions from converters with a fingerprint (LLM and tiered) are also
+ * appended to a {@link ConversionStore}; at startup the most recent ones are
+ * loaded into the cache, and cache misses are looked up in the store before
+ * converting again. Fallback conversions, e.g. rule-based DSL returned while
+ * Bedrock is unavailable, are neither cached nor stored.
+ *
+ * Conversions depend on the mapping of the default index, so cache and store
+ * keys start with the mapping's fingerprint, and the cache is cleared when a
+ * mapping refresh finds the mapping changed.
  */
 public class NaturalLanguageQueryService {
     private static final Logger logger = LoggerFactory.getLogger(NaturalLanguageQueryService.class);
     
-    private final LLMQueryConverter llmConverter;
-    private final RuleBasedQueryConverter ruleBasedConverter;
-    private final ObjectMapper objectMapper;
+    private static final int KEY_VERSION = 2;
+    
+    private final QueryConverter converter;
+    private final BoundedCache<String, ObjectNode> conversionCache;
+    private final ConversionStore conversionStore;
+    private final Supplier<IndexMapping> mapping;
+    private final IndexMappingCache mappingCache;
+    private final BiConsumer<String, IndexMapping> mappingListener;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final LatencyHistogram convertLatency;
+    private final Counter convertErrors;
     
     public NaturalLanguageQueryService(AppConfig config) {
-        this.objectMapper = new ObjectMapper();
+        this(config, createConverter(config, () -> IndexMapping.EMPTY, null), null);
+    }
+    
+    /**
+     * Create the service with converters that target the fields of the default
+     * index, as known to the mapping cache
+     */
+    public NaturalLanguageQueryService(AppConfig config, IndexMappingCache mappingCache) {
+        this(config, mappingCache, null);
+    }
+    
+    /**
+     * As above, with Bedrock requests signed by a signer shared with the
+     * OpenSearch service (null to let the converter create its own)
+     */
+    public NaturalLanguageQueryService(AppConfig config, IndexMappingCache mappingCache, SigV4Signer signer) {
+        this(config, createConverter(config, defaultMapping(config, mappingCache), signer), mappingCache);
+    }
+    
+    /**
+     * Create the service around an explicit converter, e.g. a stub in benchmarks
+     */
+    public NaturalLanguageQueryService(AppConfig config, QueryConverter converter) {
+        this(config, converter, null);
+    }
+    
+    /**
+     * As above, for a converter that targets the default index as known to
+     * {@code mappingCache} (null if its conversions do not depend on a mapping)
+     */
+    public NaturalLanguageQueryService(AppConfig config, QueryConverter converter, IndexMappingCache mappingCache) {
+        this.converter = converter;
+        this.mapping = defaultMapping(config, mappingCache);
+        this.mappingCache = mappingCache;
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.convertLatency = metrics.stageLatency("convert");
+        this.convertErrors = metrics.errors("convert");
+        
+        if (config.isConversionCacheEnabled()) {
+            this.conversionCache = new BoundedCache<>(
+                config.getConversionCacheMaxEntries(),
+                config.getConversionCacheMaxBytes(),
+                config.getConversionCacheTtlSeconds() * 1000L,
+                (key, dsl) -> 2L * key.length() + JsonSizeEstimator.estimateBytes(dsl) + 96);
+            registerCacheMetrics(metrics);
+            logger.info("Conversion cache enabled (max entries: {}, max bytes: {}, ttl: {}s)",
+                config.getConversionCacheMaxEntries(), config.getConversionCacheMaxBytes(),
+                config.getConversionCacheTtlSeconds());
+        } else {
+            this.conversionCache = null;
+        }
+        
+        if (mappingCache != null && conversionCache != null) {
+            String defaultIndex = config.getDefaultIndex();
+            this.mappingListener = (index, changed) -> {
+                if (index.equals(defaultIndex)) {
+                    conversionCache.invalidateAll();
+                    logger.info("Mapping of index {} changed, cleared the conversion cache", index);
+                }
+            };
+            mappingCache.addChangeListener(mappingListener);
+        } else {
+            this.mappingListener = null;
+        }
         
-        // Initialize converters
+        this.conversionStore = openStore(config, converter.getFingerprint());
+        if (conversionStore != null) {
+            metrics.gauge("nlquery_conversion_store_entries", "Conversions in the persistent store",
+                conversionStore::size);
+            if (conversionCache != null) {
+                warmCache(config.getConversionCacheMaxEntries());
+            }
+        }
+    }
+    
+    private static ConversionStore openStore(AppConfig config, String fingerprint) {
+        if (!config.isConversionStoreEnabled() || fingerprint == null) {
+            return null;
+        }
+        try {
+            // Stored keys are built from normalized queries, so a new key layout or normalizer invalidates them too
+            return ConversionStore.open(Paths.get(config.getConversionStorePath()),
+                fingerprint + "/normalizer-" + QueryNormalizer.VERSION + "/keys-" + KEY_VERSION,
+                config.getConversionStoreMaxAgeHours() * 3600_000L);
+        } catch (IOException e) {
+            logger.warn("Failed to open conversion store {}, starting without it: {}",
+                config.getConversionStorePath(), e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Load the most recent stored conversions into the cache
+     */
+    private void warmCache(int maxEntries) {
+        long startNanos = System.nanoTime();
+        int[] loaded = {0};
+        conversionStore.forEachRecent(maxEntries, (key, dsl) -> {
+            ObjectNode dslQuery = parse(key, dsl);
+            if (dslQuery != null) {
+                conversionCache.put(key, dslQuery);
+                loaded[0]++;
+            }
+        });
+        logger.info("Loaded {} stored conversions into the cache in {} ms",
+            loaded[0], (System.nanoTime() - startNanos) / 1_000_000);
+    }
+    
+    private static Supplier<IndexMapping> defaultMapping(AppConfig config, IndexMappingCache mappingCache) {
+        return mappingCache != null ? () -> mappingCache.get(config.getDefaultIndex()) : () -> IndexMapping.EMPTY;
+    }
+    
+    private void registerCacheMetrics(MetricsRegistry metrics) {
+        String events = "nlquery_conversion_cache_events_total";
+        String eventsHelp = "Conversion cache lookups and removals";
+        metrics.functionCounter(events, eventsHelp, () -> conversionCache.stats().getHitCount(), "event", "hit");
+        metrics.functionCounter(events, eventsHelp, () -> conversionCache.stats().getMissCount(), "event", "miss");
+        metrics.functionCounter(events, eventsHelp, () -> conversionCache.stats().getEvictionCount(), "event", "eviction");
+        metrics.functionCounter(events, eventsHelp, () -> conversionCache.stats().getExpirationCount(), "event", "expiration");
+        metrics.gauge("nlquery_conversion_cache_entries", "Entries in the conversion cache",
+            () -> conversionCache.stats().getEntryCount());
+        metrics.gauge("nlquery_conversion_cache_bytes", "Estimated size of the conversion cache",
+            () -> conversionCache.stats().getByteSize());
+    }
+    
+    private static QueryConverter createConverter(AppConfig config, Supplier<IndexMapping> mappingSupplier,
+                                                  SigV4Signer signer) {
         if (config.isUseLLMForConversion() && config.getBedrockModelId() != null) {
-            this.llmConverter = new LLMQueryConverter(config);
-            this.ruleBasedConverter = null;
+            LLMQueryConverter llmConverter = signer != null
+                ? new LLMQueryConverter(config, mappingSupplier, signer)
+                : new LLMQueryConverter(config, mappingSupplier);
+            if (config.isTieredConversionEnabled()) {
+                logger.info("Using tiered query conversion with Bedrock model: {}", config.getBedrockModelId());
+                return new TieredQueryConverter(new RuleBasedQueryConverter(mappingSupplier),
+                    llmConverter, config.getTieredConfidenceThreshold());
+            }
             logger.info("Using LLM-based query conversion with Bedrock model: {}", config.getBedrockModelId());
-        } else {
-            this.llmConverter = null;
-            this.ruleBasedConverter = new RuleBasedQueryConverter();
-            logger.info("Using rule-based query conversion");
+            return llmConverter;
         }
+        logger.info("Using rule-based query conversion");
+        return new RuleBasedQueryConverter(mappingSupplier);
     }
     
     /**
-     * Convert natural language query to OpenSearch DSL JSON
+     * Convert natural language query to OpenSearch DSL
      */
-    public String convertToDSL(String naturalLanguageQuery) {
+    public ObjectNode convertToDSL(String naturalLanguageQuery) {
+        long startNanos = System.nanoTime();
+        String cacheKey = cacheKey(naturalLanguageQuery);
+        ObjectNode cached = lookup(cacheKey);
+        if (cached != null) {
+            convertLatency.recordSince(startNanos);
+            return cached;
+        }
+        
         try {
-            String dslQuery;
-            
-            if (llmConverter != null) {
-                // Use LLM for conversion
-                dslQuery = llmConverter.convert(naturalLanguageQuery);
-            } else {
-                // Use rule-based conversion
-                dslQuery = ruleBasedConverter.convert(naturalLanguageQuery);
-            }
-            
-            // Validate and format JSON
-            ObjectNode jsonNode = (ObjectNode) objectMapper.readTree(dslQuery);
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonNode);
+            ScoredConversion conversion = Futures.join(converter.convertScoredAsync(naturalLanguageQuery));
+            cache(cacheKey, conversion);
+            convertLatency.recordSince(startNanos);
+            return conversion.getDsl();
             
         } catch (Exception e) {
+            convertErrors.increment();
             logger.error("Failed to convert natural language to DSL: ", e);
             throw new RuntimeException("Query conversion failed", e);
         }
     }
+    
+    /**
+     * Non-blocking variant of {@link #convertToDSL(String)}. Cache hits and
+     * rule-based conversions complete immediately; LLM conversions complete
+     * when the Bedrock response arrives.
+     */
+    public CompletableFuture<ObjectNode> convertToDSLAsync(String naturalLanguageQuery) {
+        long startNanos = System.nanoTime();
+        String cacheKey = cacheKey(naturalLanguageQuery);
+        ObjectNode stored = lookup(cacheKey);
+        if (stored != null) {
+            convertLatency.recordSince(startNanos);
+            return CompletableFuture.completedFuture(stored);
+        }
+        
+        CompletableFuture<ScoredConversion> conversion = converter.convertScoredAsync(naturalLanguageQuery);
+        CompletableFuture<ObjectNode> cached = conversion.handle((scored, error) -> {
+            if (error != null) {
+                if (!conversion.isCancelled()) {
+                    convertErrors.increment();
+                }
+                logger.error("Failed to convert natural language to DSL: ", error);
+                throw new RuntimeException("Query conversion failed", Futures.unwrap(error));
+            }
+            cache(cacheKey, scored);
+            convertLatency.recordSince(startNanos);
+            return scored.getDsl();
+        });
+        Futures.propagateCancellation(cached, conversion);
+        return cached;
+    }
+    
+    /**
+     * Fingerprint of the current mapping and the normalized query, so a changed
+     * mapping (or one that was empty because its fetch failed) does not reuse
+     * conversions made against another
+     */
+    private String cacheKey(String naturalLanguageQuery) {
+        return conversionCache != null || conversionStore != null
+            ? mapping.get().getFingerprint() + '/' + QueryNormalizer.normalize(naturalLanguageQuery) : null;
+    }
+    
+    /**
+     * The cached conversion, or the stored one (which is then cached), or null
+     */
+    private ObjectNode lookup(String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+        if (conversionCache != null) {
+            ObjectNode cached = conversionCache.get(cacheKey);
+            if (cached != null) {
+                logger.debug("Conversion cache hit for: {}", cacheKey);
+                return cached;
+            }
+        }
+        if (conversionStore != null) {
+            byte[] dsl = conversionStore.get(cacheKey);
+            ObjectNode stored = dsl != null ? parse(cacheKey, dsl) : null;
+            if (stored != null) {
+                logger.debug("Conversion store hit for: {}", cacheKey);
+                if (conversionCache != null) {
+                    conversionCache.put(cacheKey, stored);
+                }
+                return stored;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Cache and persist a conversion, unless it is a fallback standing in for
+     * a failed one
+     */
+    private void cache(String cacheKey, ScoredConversion conversion) {
+        if (cacheKey == null || conversion.isFallback()) {
+            return;
+        }
+        ObjectNode dslQuery = conversion.getDsl();
+        if (conversionCache != null) {
+            conversionCache.put(cacheKey, dslQuery);
+        }
+        if (conversionStore != null) {
+            try {
+                conversionStore.put(cacheKey, objectMapper.writeValueAsBytes(dslQuery));
+            } catch (IOException e) {
+                logger.warn("Failed to persist conversion for '{}': {}", cacheKey, e.getMessage());
+            }
+        }
+    }
+    
+    private ObjectNode parse(String cacheKey, byte[] dsl) {
+        try {
+            return (ObjectNode) objectMapper.readTree(dsl);
+        } catch (IOException | ClassCastException e) {
+            logger.warn("Ignoring unreadable stored conversion for '{}': {}", cacheKey, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Conversion cache statistics, or null when the cache is disabled
+     */
+    public CacheStats getCacheStats() {
+        return conversionCache != null ? conversionCache.stats() : null;
+    }
+    
+    /**
+     * Release resources held by the underlying converter and the conversion store;
+     * later calls do nothing
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (mappingListener != null) {
+            mappingCache.removeChangeListener(mappingListener);
+        }
+        if (conversionCache != null) {
+            logger.info("Conversion cache stats: {}", conversionCache.stats());
+        }
+        if (conversionStore != null) {
+            conversionStore.close();
+        }
+        converter.close();
+    }
 }
-
@@ -2,49 +2,196 @@ package com.opensearch.nlquery.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.aws.SigV4RequestInterceptor;
+import com.opensearch.nlquery.aws.SigV4Signer;
+import com.opensearch.nlquery.cache.BoundedCache;
+import com.opensearch.nlquery.cache.CacheStats;
+import com.opensearch.nlquery.cache.DslCanonicalizer;
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.concurrent.Hedger;
+import com.opensearch.nlquery.concurrent.SingleFlight;
 import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.dsl.DslOptimizer;
+import com.opensearch.nlquery.mapping.IndexMapping;
+import com.opensearch.nlquery.mapping.IndexMappingCache;
+import com.opensearch.nlquery.metrics.Counter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import com.opensearch.nlquery.model.RawJson;
+import com.opensearch.nlquery.model.SearchOutcome;
 import com.opensearch.nlquery.model.SearchResult;
 import org.apache.http.HttpHost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.entity.NByteArrayEntity;
+import org.apache.http.util.EntityUtils;
 import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpParser;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
 import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.SortOptions;
+import org.opensearch.client.opensearch._types.SortOrder;
 import org.opensearch.client.opensearch._types.query_dsl.Query;
+import org.opensearch.client.opensearch.core.MsearchRequest;
+import org.opensearch.client.opensearch.core.MsearchResponse;
 import org.opensearch.client.opensearch.core.SearchRequest;
 import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.msearch.MultiSearchResponseItem;
+import org.opensearch.client.opensearch.core.msearch.MultisearchBody;
+import org.opensearch.client.opensearch.core.msearch.RequestItem;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Pit;
+import org.opensearch.client.opensearch.core.search.SourceConfig;
+import org.opensearch.client.opensearch.core.search.TrackHits;
 import org.opensearch.client.transport.rest_client.RestClientTransport;
+import org.opensearch.client.util.PathEncoder;
+import org.opensearch.client.Cancellable;
+import org.opensearch.client.Request;
+import org.opensearch.client.Response;
+import org.opensearch.client.ResponseListener;
 import org.opensearch.client.RestClient;
 import org.opensearch.client.RestClientBuilder;
 import jakarta.json.stream.JsonParser;
-import java.io.StringReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
- * Service for interacting with AWS OpenSearch
+ * Service for interacting with AWS OpenSearch.
+ *
+ * One instance is meant to be shared: the clients and their connection pool are
+ * thread-safe and created once, and all per-request state lives on the stack.
  */
 public class OpenSearchService {
     private static final Logger logger = LoggerFactory.getLogger(OpenSearchService.class);
+    private static final List<String> SEARCH_BODY_KEYS = List.of(
+        "query", "size", "from", "sort", "_source", "track_total_hits", "terminate_after", "timeout");
     
     private final AppConfig config;
     private final ObjectMapper objectMapper;
     private final JacksonJsonpMapper jsonpMapper;
-    private OpenSearchClient client;
+    private final OpenSearchClient client;
+    private final OpenSearchAsyncClient asyncClient;
+    private final RestClient restClient;
+    private final SigV4Signer ownedSigner;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final IndexMappingCache mappingCache;
+    private final SourceConfig defaultSource;
+    private final JsonNode defaultSourceJson;
+    private final boolean fastPath;
+    private final Hedger hedger;
+    private final BoundedCache<String, List<SearchResult>> resultCache;
+    private final SingleFlight<String, List<SearchResult>> inFlightSearches = new SingleFlight<>();
+    private final DslOptimizer optimizer;
+    
+    private final LatencyHistogram searchLatency;
+    private final LatencyHistogram msearchLatency;
+    private final LatencyHistogram dslParseLatency;
+    private final LatencyHistogram httpLatency;
+    private final LatencyHistogram hitMappingLatency;
+    private final LatencyHistogram pageLatency;
+    private final Counter searchErrors;
     
     public OpenSearchService(AppConfig config) {
+        this(config, config.isOpensearchSigningEnabled() ? SigV4Signer.create() : null, true,
+            config.getOpensearchEndpoint());
+    }
+    
+    /**
+     * Create the service signing with a signer shared with other clients, e.g.
+     * the Bedrock converter; the signer is left open on {@link #close()}
+     */
+    public OpenSearchService(AppConfig config, SigV4Signer signer) {
+        this(config, signer, false, config.getOpensearchEndpoint());
+    }
+    
+    /**
+     * Create the service for another cluster than {@code opensearch.endpoint},
+     * e.g. a fan-out target, with the same settings and shared signer. Its
+     * hedging metrics are labelled with the endpoint's host; its result cache
+     * is not exported as metrics.
+     */
+    public OpenSearchService(AppConfig config, SigV4Signer signer, String endpoint) {
+        this(config, signer, false, endpoint);
+    }
+    
+    private OpenSearchService(AppConfig config, SigV4Signer signer, boolean ownsSigner, String endpoint) {
         this.config = config;
         this.objectMapper = new ObjectMapper();
         this.jsonpMapper = new JacksonJsonpMapper(objectMapper);
-        initializeClient();
+        this.ownedSigner = ownsSigner ? signer : null;
+        SigV4RequestInterceptor signing = null;
+        if (config.isOpensearchSigningEnabled()) {
+            signing = new SigV4RequestInterceptor(signer, config.getRegion(), config.getOpensearchSigningService(),
+                config.isOpensearchUnsignedPayload(), MetricsRegistry.getDefault().stageLatency("opensearch_sign"));
+            logger.info("Signing OpenSearch requests with SigV4 for service {} in {}{}",
+                config.getOpensearchSigningService(), config.getRegion(),
+                config.isOpensearchUnsignedPayload() ? " (unsigned payload)" : "");
+        }
+        this.restClient = buildRestClient(config, endpoint, signing);
+        
+        // Create OpenSearch transport with Jackson JSON mapper
+        RestClientTransport transport = new RestClientTransport(restClient, jsonpMapper);
+        
+        // Create OpenSearch clients; both share the transport and its connection pool
+        this.client = new OpenSearchClient(transport);
+        this.asyncClient = new OpenSearchAsyncClient(transport);
+        logger.info("OpenSearch client initialized for endpoint: {}", endpoint);
+        boolean primary = endpoint.equals(config.getOpensearchEndpoint());
+        this.defaultSource = sourceFilter(
+            splitFields(config.getSourceIncludes()), splitFields(config.getSourceExcludes()));
+        this.defaultSourceJson = sourceFilterJson(
+            splitFields(config.getSourceIncludes()), splitFields(config.getSourceExcludes()));
+        this.fastPath = config.isSearchFastPathEnabled();
+        if (fastPath) {
+            logger.info("Searches use the streaming fast path on the low-level REST client");
+        }
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.searchLatency = metrics.stageLatency("search");
+        this.msearchLatency = metrics.stageLatency("msearch");
+        this.dslParseLatency = metrics.stageLatency("dsl_parse");
+        this.httpLatency = metrics.stageLatency("opensearch_http");
+        this.hitMappingLatency = metrics.stageLatency("hit_mapping");
+        this.pageLatency = metrics.stageLatency("search_page");
+        this.searchErrors = metrics.errors("opensearch");
+        // Further clusters are told apart in the hedging metrics and timer threads by host
+        String target = primary ? "opensearch" : "opensearch_" + URI.create(endpoint).getHost();
+        this.hedger = new Hedger(target, config.isOpensearchHedgingEnabled(),
+            config.getOpensearchHedgingPercentile(), config.getOpensearchHedgingBudgetPercent(),
+            config.isOpensearchAdaptiveTimeoutEnabled(), config.getOpensearchAdaptiveTimeoutMultiplier(),
+            config.getOpensearchAdaptiveTimeoutMinMs(), config.getSocketTimeout());
+        hedger.registerMetrics(metrics, target);
+        if (config.isSearchCacheEnabled()) {
+            this.resultCache = new BoundedCache<>(
+                config.getSearchCacheMaxEntries(),
+                config.getSearchCacheMaxBytes(),
+                config.getSearchCacheTtlSeconds() * 1000L,
+                OpenSearchService::estimateBytes);
+            if (primary) {
+                registerResultCacheMetrics(metrics);
+            }
+            logger.info("Search result cache enabled (max entries: {}, max bytes: {}, ttl: {}s)",
+                config.getSearchCacheMaxEntries(), config.getSearchCacheMaxBytes(), config.getSearchCacheTtlSeconds());
+        } else {
+            this.resultCache = null;
+        }
+        this.optimizer = DslOptimizer.fromConfig(config);
+        this.mappingCache = new IndexMappingCache(
+            this::fetchMapping, config.getMappingRefreshSeconds(), config.getMappingMaxTextFields());
     }
     
-    private void initializeClient() {
+    private static RestClient buildRestClient(AppConfig config, String endpointUrl, SigV4RequestInterceptor signing) {
         try {
-            URI endpoint = URI.create(config.getOpensearchEndpoint());
+            URI endpoint = URI.create(endpointUrl);
             int port = endpoint.getPort();
             if (port == -1) {
                 // Default ports based on scheme
@@ -62,17 +209,19 @@ public class OpenSearchService {
                 return requestConfigBuilder;
             });
             
-            // For AWS OpenSearch, we would typically use AWS request signing
-            // For now, using basic REST client - AWS signing can be added via custom interceptor
-            RestClient restClient = builder.build();
-            
-            // Create OpenSearch transport with Jackson JSON mapper
-            RestClientTransport transport = new RestClientTransport(restClient, jsonpMapper);
-            
-            // Create OpenSearch client
-            this.client = new OpenSearchClient(transport);
+            // Size the async connection pool so many searches can be in flight at once;
+            // with signing enabled, every request is signed as the last interceptor
+            builder.setHttpClientConfigCallback(httpClientBuilder -> {
+                httpClientBuilder
+                    .setMaxConnTotal(config.getOpensearchMaxConnections())
+                    .setMaxConnPerRoute(config.getOpensearchMaxConnectionsPerRoute());
+                if (signing != null) {
+                    httpClientBuilder.addInterceptorLast(signing);
+                }
+                return httpClientBuilder;
+            });
             
-            logger.info("OpenSearch client initialized for endpoint: {}", config.getOpensearchEndpoint());
+            return builder.build();
             
         } catch (Exception e) {
             logger.error("Failed to initialize OpenSearch client: ", e);
@@ -80,80 +229,850 @@ public class OpenSearchService {
         }
     }
     
+    private void registerResultCacheMetrics(MetricsRegistry metrics) {
+        String events = "nlquery_search_cache_events_total";
+        String eventsHelp = "Search result cache lookups, removals and misses joining an identical search in flight";
+        metrics.functionCounter(events, eventsHelp, () -> resultCache.stats().getHitCount(), "event", "hit");
+        metrics.functionCounter(events, eventsHelp, () -> resultCache.stats().getMissCount(), "event", "miss");
+        metrics.functionCounter(events, eventsHelp, () -> resultCache.stats().getEvictionCount(), "event", "eviction");
+        metrics.functionCounter(events, eventsHelp, () -> resultCache.stats().getExpirationCount(), "event", "expiration");
+        metrics.functionCounter(events, eventsHelp, inFlightSearches::getDeduplicatedCount, "event", "coalesced");
+        metrics.gauge("nlquery_search_cache_hit_ratio", "Share of searches answered from the result cache since start",
+            () -> resultCache.stats().getHitRate());
+        metrics.gauge("nlquery_search_cache_entries", "Entries in the search result cache",
+            () -> resultCache.stats().getEntryCount());
+        metrics.gauge("nlquery_search_cache_bytes", "Estimated size of the search result cache",
+            () -> resultCache.stats().getByteSize());
+    }
+    
     /**
-     * Execute search query against OpenSearch
+     * Execute search query against OpenSearch. With hedging, adaptive
+     * timeouts, the fast path ({@code opensearch.fastPath.enabled}) or the
+     * result cache enabled this waits on {@link #searchAsync(JsonNode, String)}.
+     * With the result cache, the list and its frozen hits are shared and
+     * unmodifiable (see {@link SearchResult#freeze()}).
+     * The query is optimized (see {@link DslOptimizer}) before it is sent
+     * or looked up in the cache.
      */
-    public List<SearchResult> search(String dslQuery, String index) {
+    public List<SearchResult> search(JsonNode dslQuery, String index) {
+        dslQuery = optimizer.optimize(dslQuery);
+        String cacheKey = resultCacheKey(dslQuery, index);
+        List<SearchResult> cached = cachedResults(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (hedger.isEnabled() || fastPath || cacheKey != null) {
+            return Futures.join(searchUncached(dslQuery, index, cacheKey));
+        }
         logger.debug("Executing search on index: {} with query: {}", index, dslQuery);
+        long startNanos = System.nanoTime();
         
         try {
-            // Parse the DSL query JSON
-            JsonNode queryJson = objectMapper.readTree(dslQuery);
-            
-            // Build search request
-            SearchRequest.Builder requestBuilder = new SearchRequest.Builder()
-                .index(index);
-            
-            // Extract query from DSL
-            if (queryJson.has("query")) {
-                JsonNode queryNode = queryJson.get("query");
-                // Parse query JSON into Query object using JsonpMapper
-                String queryJsonString = objectMapper.writeValueAsString(queryNode);
-                try (JsonParser parser = jsonpMapper.jsonProvider().createParser(new StringReader(queryJsonString))) {
-                    Query query = jsonpMapper.deserialize(parser, Query.class);
-                    requestBuilder.query(query);
+            SearchRequest request = buildSearchRequest(dslQuery, index);
+            dslParseLatency.recordSince(startNanos);
+            
+            // Execute search
+            long sentNanos = System.nanoTime();
+            SearchResponse<RawJson> response = client.search(request, RawJson.class);
+            httpLatency.recordSince(sentNanos);
+            
+            List<SearchResult> results = mapHits(response);
+            searchLatency.recordSince(startNanos);
+            logger.info("Search completed. Found {} results", results.size());
+            return results;
+            
+        } catch (Exception e) {
+            logger.error("Error executing search: ", e);
+            searchErrors.increment();
+            throw new RuntimeException("Search execution failed", e);
+        }
+    }
+    
+    /**
+     * Non-blocking variant of {@link #search(JsonNode, String)} running on the
+     * async HTTP client, hedged and timed out as configured. Cancelling the
+     * returned future aborts the request. A search found in the result cache
+     * completes at once, and concurrent misses for the same search share one
+     * request.
+     */
+    public CompletableFuture<List<SearchResult>> searchAsync(JsonNode dslQuery, String index) {
+        JsonNode optimized;
+        try {
+            optimized = optimizer.optimize(dslQuery);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return searchOptimizedAsync(optimized, index);
+    }
+    
+    /**
+     * {@link #searchAsync(JsonNode, String)} for a DSL already optimized
+     * through {@link #optimize(JsonNode)}, sent as is
+     */
+    CompletableFuture<List<SearchResult>> searchOptimizedAsync(JsonNode optimized, String index) {
+        String cacheKey;
+        try {
+            cacheKey = resultCacheKey(optimized, index);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        List<SearchResult> cached = cachedResults(cacheKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return searchUncached(optimized, index, cacheKey);
+    }
+    
+    /**
+     * Apply the optimizer's rewrites as a search would
+     */
+    JsonNode optimize(JsonNode dslQuery) {
+        return optimizer.optimize(dslQuery);
+    }
+    
+    private CompletableFuture<List<SearchResult>> searchUncached(JsonNode dslQuery, String index, String cacheKey) {
+        if (cacheKey == null) {
+            return hedger.execute(() -> sendSearch(dslQuery, index));
+        }
+        return inFlightSearches.execute(cacheKey, () -> {
+            CompletableFuture<List<SearchResult>> found = hedger.execute(() -> sendSearch(dslQuery, index));
+            // Cached before any caller sees the results, so every caller gets the shared copy
+            CompletableFuture<List<SearchResult>> cached = found.thenApply(results -> cacheResults(cacheKey, results));
+            Futures.propagateCancellation(cached, found);
+            return cached;
+        });
+    }
+    
+    /**
+     * Index and canonical DSL, or null when the result cache is off
+     */
+    private String resultCacheKey(JsonNode dslQuery, String index) {
+        return resultCache != null ? index + '\n' + DslCanonicalizer.canonicalize(dslQuery) : null;
+    }
+    
+    private List<SearchResult> cachedResults(String cacheKey) {
+        if (cacheKey == null) {
+            return null;
+        }
+        List<SearchResult> cached = resultCache.get(cacheKey);
+        if (cached != null) {
+            logger.debug("Search served from the result cache");
+        }
+        return cached;
+    }
+    
+    /**
+     * Freeze the hits and cache them as an unmodifiable list, which is
+     * returned for the callers of the search to share
+     */
+    private List<SearchResult> cacheResults(String cacheKey, List<SearchResult> results) {
+        for (SearchResult result : results) {
+            result.freeze();
+        }
+        List<SearchResult> shared = List.copyOf(results);
+        resultCache.put(cacheKey, shared);
+        return shared;
+    }
+    
+    /**
+     * Hits are weighed by their raw {@code _source}; a source decoded through
+     * {@link SearchResult#getSource()} later adds to the real footprint
+     */
+    private static long estimateBytes(String cacheKey, List<SearchResult> results) {
+        long bytes = 2L * cacheKey.length() + 96;
+        for (SearchResult result : results) {
+            bytes += 96;
+            if (result.getIndex() != null) {
+                bytes += 2L * result.getIndex().length();
+            }
+            if (result.getId() != null) {
+                bytes += 2L * result.getId().length();
+            }
+            if (result.getRawSource() != null) {
+                bytes += result.getRawSource().length;
+            }
+            if (result.getSortValues() != null) {
+                bytes += 32L * result.getSortValues().size();
+            }
+        }
+        return bytes;
+    }
+    
+    /**
+     * Drop cached results of searches that targeted the index, e.g. after
+     * writing to it. Searches over index patterns are dropped as well, since
+     * they may have covered it; searches through an alias are not.
+     *
+     * @return number of cached searches removed
+     */
+    public int invalidateSearchCache(String index) {
+        if (resultCache == null) {
+            return 0;
+        }
+        int removed = resultCache.invalidateIf(key -> {
+            String targets = key.substring(0, key.indexOf('\n'));
+            for (String target : targets.split(",")) {
+                if (target.equals(index) || target.indexOf('*') >= 0) {
+                    return true;
                 }
             }
+            return false;
+        });
+        logger.info("Invalidated {} cached searches for index {}", removed, index);
+        return removed;
+    }
+    
+    /**
+     * Drop every cached search result
+     */
+    public void invalidateSearchCache() {
+        if (resultCache != null) {
+            resultCache.invalidateAll();
+        }
+    }
+    
+    /**
+     * Result cache statistics, or null when the cache is disabled
+     */
+    public CacheStats getSearchCacheStats() {
+        return resultCache != null ? resultCache.stats() : null;
+    }
+    
+    private CompletableFuture<List<SearchResult>> sendSearch(JsonNode dslQuery, String index) {
+        if (fastPath) {
+            return sendRawSearch(dslQuery, index);
+        }
+        logger.debug("Executing async search on index: {} with query: {}", index, dslQuery);
+        long startNanos = System.nanoTime();
+        
+        try {
+            SearchRequest request = buildSearchRequest(dslQuery, index);
+            dslParseLatency.recordSince(startNanos);
             
-            // Extract size
-            if (queryJson.has("size")) {
-                requestBuilder.size(queryJson.get("size").asInt());
-            }
+            long sentNanos = System.nanoTime();
+            CompletableFuture<SearchResponse<RawJson>> response = asyncClient.search(request, RawJson.class);
             
-            // Extract from
-            if (queryJson.has("from")) {
-                requestBuilder.from(queryJson.get("from").asInt());
-            }
+            CompletableFuture<List<SearchResult>> results = response.handle((searchResponse, error) -> {
+                if (error != null) {
+                    // Cancelled: a hedge answered first, or the caller gave up
+                    if (!response.isCancelled()) {
+                        searchErrors.increment();
+                        logger.error("Error executing search: ", error);
+                    }
+                    throw new RuntimeException("Search execution failed", error);
+                }
+                httpLatency.recordSince(sentNanos);
+                List<SearchResult> mapped = mapHits(searchResponse);
+                searchLatency.recordSince(startNanos);
+                logger.info("Search completed. Found {} results", mapped.size());
+                return mapped;
+            });
+            Futures.propagateCancellation(results, response);
+            return results;
             
-            SearchRequest request = requestBuilder.build();
+        } catch (Exception e) {
+            logger.error("Error executing search: ", e);
+            searchErrors.increment();
+            return CompletableFuture.failedFuture(new RuntimeException("Search execution failed", e));
+        }
+    }
+    
+    /**
+     * Fast path of {@link #sendSearch}: the DSL is written as the request body
+     * of the low-level client and the response body is read straight into
+     * results by {@link SearchResponseReader}, skipping the typed request and
+     * response models
+     */
+    private CompletableFuture<List<SearchResult>> sendRawSearch(JsonNode dslQuery, String index) {
+        logger.debug("Executing async search on index: {} with query: {}", index, dslQuery);
+        long startNanos = System.nanoTime();
+        
+        try {
+            Request request = buildRawSearchRequest(dslQuery, index);
+            dslParseLatency.recordSince(startNanos);
             
-            // Execute search
-            @SuppressWarnings("rawtypes")
-            SearchResponse<Map> response = client.search(request, Map.class);
-            
-            // Convert results
-            List<SearchResult> results = new ArrayList<>();
-            response.hits().hits().forEach(hit -> {
-                SearchResult result = new SearchResult();
-                result.setId(hit.id());
-                result.setScore(hit.score());
-                @SuppressWarnings("unchecked")
-                Map<String, Object> source = (Map<String, Object>) hit.source();
-                result.setSource(source);
-                results.add(result);
+            long sentNanos = System.nanoTime();
+            CompletableFuture<List<SearchResult>> results = new CompletableFuture<>();
+            Cancellable inFlight = restClient.performRequestAsync(request, new ResponseListener() {
+                @Override
+                public void onSuccess(Response response) {
+                    try {
+                        byte[] body = EntityUtils.toByteArray(response.getEntity());
+                        httpLatency.recordSince(sentNanos);
+                        List<SearchResult> mapped = readHits(body, new ArrayList<>());
+                        searchLatency.recordSince(startNanos);
+                        logger.info("Search completed. Found {} results", mapped.size());
+                        results.complete(mapped);
+                    } catch (Exception e) {
+                        onFailure(e);
+                    }
+                }
+                
+                @Override
+                public void onFailure(Exception error) {
+                    // Cancelled: a hedge answered first, or the caller gave up
+                    if (!results.isCancelled()) {
+                        searchErrors.increment();
+                        logger.error("Error executing search: ", error);
+                    }
+                    results.completeExceptionally(new RuntimeException("Search execution failed", error));
+                }
             });
+            results.whenComplete((found, error) -> {
+                if (results.isCancelled()) {
+                    inFlight.cancel();
+                }
+            });
+            return results;
             
+        } catch (Exception e) {
+            logger.error("Error executing search: ", e);
+            searchErrors.increment();
+            return CompletableFuture.failedFuture(new RuntimeException("Search execution failed", e));
+        }
+    }
+    
+    /**
+     * Search on the fast path, reading the hits into {@code results}: the
+     * results already in the list are overwritten, more are added as needed
+     * and those left over are removed. For callers that search repeatedly and
+     * consume each result list before the next search, such as exports and
+     * benchmarks, so result objects are not reallocated per search.
+     *
+     * The query is optimized, but the search is neither hedged nor served
+     * from or added to the result cache, whose lists must not change.
+     *
+     * @return {@code results}
+     */
+    public List<SearchResult> searchInto(JsonNode dslQuery, String index, List<SearchResult> results) {
+        dslQuery = optimizer.optimize(dslQuery);
+        logger.debug("Executing search on index: {} with query: {}", index, dslQuery);
+        long startNanos = System.nanoTime();
+        
+        try {
+            Request request = buildRawSearchRequest(dslQuery, index);
+            dslParseLatency.recordSince(startNanos);
+            
+            long sentNanos = System.nanoTime();
+            Response response = restClient.performRequest(request);
+            byte[] body = EntityUtils.toByteArray(response.getEntity());
+            httpLatency.recordSince(sentNanos);
+            
+            readHits(body, results);
+            searchLatency.recordSince(startNanos);
             logger.info("Search completed. Found {} results", results.size());
             return results;
             
         } catch (Exception e) {
             logger.error("Error executing search: ", e);
+            searchErrors.increment();
             throw new RuntimeException("Search execution failed", e);
         }
     }
     
     /**
-     * Close the OpenSearch client
+     * Iterate over every hit of the query, however many there are.
+     *
+     * Pages of {@code opensearch.stream.pageSize} hits are read with
+     * {@code search_after} inside a point in time, so the result set does not
+     * shift while it is read and deep pages cost the same as the first. Hits are
+     * ordered by the DSL's sort (relevance by default), with ties broken on
+     * {@code _shard_doc}, which is unique within the point in time; the DSL's
+     * size and from are ignored. If the cluster cannot create a point in time,
+     * pages are read from the live index instead, with ties broken on
+     * {@code _id} since {@code _doc} repeats across shards.
+     *
+     * Close the iterator when stopping early so the point in time is released.
      */
-    public void close() {
+    public SearchResultIterator searchIterator(JsonNode dslQuery, String index) {
+        dslQuery = optimizer.optimize(dslQuery);
+        logger.debug("Streaming search on index: {} with query: {}", index, dslQuery);
+        
+        Query query;
+        List<SortOptions> sort;
+        SourceConfig source = sourceConfig(dslQuery);
+        try {
+            query = dslQuery.has("query") ? parseQuery(dslQuery.get("query")) : null;
+            sort = parseSort(dslQuery.get("sort"));
+        } catch (Exception e) {
+            throw new RuntimeException("Search execution failed", e);
+        }
+        if (sort.isEmpty()) {
+            sort.add(SortOptions.of(s -> s.score(score -> score.order(SortOrder.Desc))));
+        }
+        String pitId = createPit(index);
+        // search_after skips or repeats hits unless every hit has a distinct sort key
+        String tiebreaker = pitId != null ? "_shard_doc" : "_id";
+        sort.add(SortOptions.of(s -> s.field(field -> field.field(tiebreaker).order(SortOrder.Asc))));
+        int pageSize = config.getStreamPageSize();
+        Pit pit = pitId != null
+            ? new Pit.Builder().id(pitId).keepAlive(config.getStreamPitKeepAlive()).build()
+            : null;
+        
+        SearchResultIterator.PageFetcher fetcher = searchAfter -> {
+            SearchRequest.Builder request = new SearchRequest.Builder()
+                .size(pageSize)
+                .sort(sort)
+                .trackTotalHits(track -> track.enabled(false));
+            if (pit != null) {
+                request.pit(pit);
+            } else {
+                request.index(index);
+            }
+            if (query != null) {
+                request.query(query);
+            }
+            if (searchAfter != null) {
+                request.searchAfter(searchAfter);
+            }
+            if (source != null) {
+                request.source(source);
+            }
+            return fetchPage(request.build(), pageSize);
+        };
+        return new SearchResultIterator(fetcher, () -> deletePit(pitId));
+    }
+    
+    /**
+     * {@link #searchIterator(JsonNode, String)} as a sequential stream; close the
+     * stream (e.g. with try-with-resources) when not reading it to the end
+     */
+    public Stream<SearchResult> searchStream(JsonNode dslQuery, String index) {
+        return searchIterator(dslQuery, index).stream();
+    }
+    
+    private CompletableFuture<SearchResultIterator.Page> fetchPage(SearchRequest request, int pageSize) {
+        long startNanos = System.nanoTime();
+        try {
+            CompletableFuture<SearchResponse<RawJson>> response = asyncClient.search(request, RawJson.class);
+            CompletableFuture<SearchResultIterator.Page> page = response.handle((searchResponse, error) -> {
+                if (error != null) {
+                    if (!response.isCancelled()) {
+                        searchErrors.increment();
+                    }
+                    throw new RuntimeException("Search execution failed", Futures.unwrap(error));
+                }
+                pageLatency.recordSince(startNanos);
+                List<Hit<RawJson>> hits = searchResponse.hits().hits();
+                List<String> searchAfter = hits.size() < pageSize ? null : hits.get(hits.size() - 1).sort();
+                return new SearchResultIterator.Page(mapHits(searchResponse), searchAfter);
+            });
+            Futures.propagateCancellation(page, response);
+            return page;
+        } catch (Exception e) {
+            searchErrors.increment();
+            return CompletableFuture.failedFuture(new RuntimeException("Search execution failed", e));
+        }
+    }
+    
+    private String createPit(String index) {
         try {
-            if (client != null) {
-                client._transport().close();
-                client = null;
+            String pitId = client.createPit(pit -> pit
+                .targetIndexes(index)
+                .keepAlive(time -> time.time(config.getStreamPitKeepAlive()))).pitId();
+            logger.debug("Created point in time on index {}", index);
+            return pitId;
+        } catch (Exception e) {
+            logger.warn("Could not create a point in time on index {}, paging over the live index: {}",
+                index, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void deletePit(String pitId) {
+        if (pitId == null || closed.get()) {
+            return;
+        }
+        try {
+            client.deletePit(pit -> pit.pitId(List.of(pitId)));
+        } catch (Exception e) {
+            logger.warn("Failed to delete point in time, it expires on its own: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Run several DSL queries against the index in a single _msearch round trip.
+     * The returned outcomes are in the same order as {@code dslQueries}; a query
+     * that cannot be parsed or fails on the cluster yields a failed outcome
+     * without affecting the others.
+     */
+    public CompletableFuture<List<SearchOutcome>> multiSearchAsync(List<? extends JsonNode> dslQueries, String index) {
+        logger.debug("Executing multi-search of {} queries on index: {}", dslQueries.size(), index);
+        long startNanos = System.nanoTime();
+        
+        SearchOutcome[] outcomes = new SearchOutcome[dslQueries.size()];
+        List<Integer> positions = new ArrayList<>(dslQueries.size());
+        List<RequestItem> items = new ArrayList<>(dslQueries.size());
+        
+        for (int i = 0; i < dslQueries.size(); i++) {
+            try {
+                MultisearchBody body = buildMultisearchBody(optimizer.optimize(dslQueries.get(i)));
+                items.add(RequestItem.of(item -> item
+                    .header(header -> header.index(index))
+                    .body(body)));
+                positions.add(i);
+            } catch (Exception e) {
+                outcomes[i] = SearchOutcome.failure("Invalid DSL query: " + e.getMessage());
+            }
+        }
+        
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(Arrays.asList(outcomes));
+        }
+        
+        try {
+            MsearchRequest request = new MsearchRequest.Builder().searches(items).build();
+            CompletableFuture<MsearchResponse<RawJson>> response = asyncClient.msearch(request, RawJson.class);
+            
+            CompletableFuture<List<SearchOutcome>> results = response.handle((msearchResponse, error) -> {
+                if (error != null) {
+                    searchErrors.increment();
+                    logger.error("Error executing multi-search: ", error);
+                    String message = "Multi-search execution failed: " + Futures.unwrap(error).getMessage();
+                    positions.forEach(position -> outcomes[position] = SearchOutcome.failure(message));
+                } else {
+                    List<MultiSearchResponseItem<RawJson>> responses = msearchResponse.responses();
+                    for (int i = 0; i < responses.size(); i++) {
+                        MultiSearchResponseItem<RawJson> item = responses.get(i);
+                        outcomes[positions.get(i)] = item.isResult()
+                            ? SearchOutcome.success(toSearchResults(item.result()))
+                            : SearchOutcome.failure(item.failure().error().type() + ": " + item.failure().error().reason());
+                    }
+                }
+                msearchLatency.recordSince(startNanos);
+                return Arrays.asList(outcomes);
+            });
+            Futures.propagateCancellation(results, response);
+            return results;
+            
+        } catch (Exception e) {
+            logger.error("Error executing multi-search: ", e);
+            searchErrors.increment();
+            return CompletableFuture.failedFuture(new RuntimeException("Multi-search execution failed", e));
+        }
+    }
+    
+    /**
+     * Translate DSL into a typed search request (package-private for benchmarks)
+     */
+    SearchRequest buildSearchRequest(JsonNode queryJson, String index) throws IOException {
+        // Build search request
+        SearchRequest.Builder requestBuilder = new SearchRequest.Builder()
+            .index(index);
+        
+        // Extract query from DSL
+        if (queryJson.has("query")) {
+            requestBuilder.query(parseQuery(queryJson.get("query")));
+        }
+        
+        // Extract size
+        if (queryJson.has("size")) {
+            requestBuilder.size(queryJson.get("size").asInt());
+        }
+        
+        // Extract from
+        if (queryJson.has("from")) {
+            requestBuilder.from(queryJson.get("from").asInt());
+        }
+        
+        // Extract execution limits, set by the DSL optimizer unless the DSL has its own
+        TrackHits trackTotalHits = trackTotalHits(queryJson.get("track_total_hits"));
+        if (trackTotalHits != null) {
+            requestBuilder.trackTotalHits(trackTotalHits);
+        }
+        if (queryJson.has("terminate_after")) {
+            requestBuilder.terminateAfter(queryJson.get("terminate_after").asLong());
+        }
+        if (queryJson.hasNonNull("timeout")) {
+            requestBuilder.timeout(queryJson.get("timeout").asText());
+        }
+        
+        // Extract sort
+        List<SortOptions> sort = parseSort(queryJson.get("sort"));
+        if (!sort.isEmpty()) {
+            requestBuilder.sort(sort);
+        }
+        
+        // Extract _source filtering
+        SourceConfig source = sourceConfig(queryJson);
+        if (source != null) {
+            requestBuilder.source(source);
+        }
+        
+        return requestBuilder.build();
+    }
+    
+    private Request buildRawSearchRequest(JsonNode queryJson, String index) throws IOException {
+        // Encoded like the typed client's paths, so names with reserved characters stay one segment
+        Request request = new Request("POST", "/" + PathEncoder.encode(index) + "/_search");
+        request.setEntity(new NByteArrayEntity(buildSearchBody(queryJson), ContentType.APPLICATION_JSON));
+        return request;
+    }
+    
+    /**
+     * Fast path request body: the DSL keys {@link #buildSearchRequest} honors,
+     * copied as they are, with the default {@code _source} filter when the DSL
+     * has none (package-private for benchmarks)
+     */
+    byte[] buildSearchBody(JsonNode queryJson) throws IOException {
+        ObjectNode body = objectMapper.createObjectNode();
+        for (String key : SEARCH_BODY_KEYS) {
+            JsonNode value = queryJson.get(key);
+            if (value != null && !value.isNull()) {
+                body.set(key, value);
+            }
+        }
+        if (!body.has("_source") && defaultSourceJson != null) {
+            body.set("_source", defaultSourceJson);
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+    
+    private MultisearchBody buildMultisearchBody(JsonNode queryJson) throws IOException {
+        MultisearchBody.Builder bodyBuilder = new MultisearchBody.Builder();
+        
+        if (queryJson.has("query")) {
+            bodyBuilder.query(parseQuery(queryJson.get("query")));
+        }
+        if (queryJson.has("size")) {
+            bodyBuilder.size(queryJson.get("size").asInt());
+        }
+        if (queryJson.has("from")) {
+            bodyBuilder.from(queryJson.get("from").asInt());
+        }
+        // An msearch body has no terminate_after
+        TrackHits trackTotalHits = trackTotalHits(queryJson.get("track_total_hits"));
+        if (trackTotalHits != null) {
+            bodyBuilder.trackTotalHits(trackTotalHits);
+        }
+        if (queryJson.hasNonNull("timeout")) {
+            bodyBuilder.timeout(queryJson.get("timeout").asText());
+        }
+        List<SortOptions> sort = parseSort(queryJson.get("sort"));
+        if (!sort.isEmpty()) {
+            bodyBuilder.sort(sort);
+        }
+        SourceConfig source = sourceConfig(queryJson);
+        if (source != null) {
+            bodyBuilder.source(source);
+        }
+        
+        return bodyBuilder.build();
+    }
+    
+    /**
+     * Parse a DSL track_total_hits: {@code true}, {@code false} or a bound on the count
+     */
+    private static TrackHits trackTotalHits(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isBoolean()) {
+            return TrackHits.of(track -> track.enabled(node.booleanValue()));
+        }
+        return TrackHits.of(track -> track.count(node.asInt()));
+    }
+    
+    /**
+     * Parse a DSL sort: a field name, a {@code {"field": order}} object, or an array of those
+     */
+    private List<SortOptions> parseSort(JsonNode sortNode) {
+        List<SortOptions> sort = new ArrayList<>();
+        if (sortNode == null || sortNode.isNull()) {
+            return sort;
+        }
+        for (JsonNode element : sortNode.isArray() ? sortNode : List.of(sortNode)) {
+            if (element.isTextual()) {
+                String field = element.asText();
+                sort.add("_score".equals(field)
+                    ? SortOptions.of(s -> s.score(score -> score.order(SortOrder.Desc)))
+                    : SortOptions.of(s -> s.field(f -> f.field(field).order(SortOrder.Asc))));
+            } else {
+                try (JsonParser parser = new JacksonJsonpParser(objectMapper.treeAsTokens(element))) {
+                    sort.add(jsonpMapper.deserialize(parser, SortOptions.class));
+                }
+            }
+        }
+        return sort;
+    }
+    
+    /**
+     * Source filtering of a DSL query: its own {@code _source} (false, a field,
+     * a list of fields or an includes/excludes object), else the configured
+     * default. Null returns the whole document.
+     */
+    private SourceConfig sourceConfig(JsonNode queryJson) {
+        JsonNode sourceNode = queryJson.get("_source");
+        if (sourceNode == null || sourceNode.isNull()) {
+            return defaultSource;
+        }
+        if (sourceNode.isBoolean()) {
+            return SourceConfig.of(s -> s.fetch(sourceNode.asBoolean()));
+        }
+        if (sourceNode.isObject()) {
+            return sourceFilter(fieldList(sourceNode.get("includes")), fieldList(sourceNode.get("excludes")));
+        }
+        return sourceFilter(fieldList(sourceNode), List.of());
+    }
+    
+    private static SourceConfig sourceFilter(List<String> includes, List<String> excludes) {
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return null;
+        }
+        return SourceConfig.of(s -> s.filter(filter -> {
+            if (!includes.isEmpty()) {
+                filter.includes(includes);
+            }
+            if (!excludes.isEmpty()) {
+                filter.excludes(excludes);
+            }
+            return filter;
+        }));
+    }
+    
+    private JsonNode sourceFilterJson(List<String> includes, List<String> excludes) {
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return null;
+        }
+        ObjectNode filter = objectMapper.createObjectNode();
+        if (!includes.isEmpty()) {
+            includes.forEach(filter.putArray("includes")::add);
+        }
+        if (!excludes.isEmpty()) {
+            excludes.forEach(filter.putArray("excludes")::add);
+        }
+        return filter;
+    }
+    
+    private static List<String> fieldList(JsonNode node) {
+        List<String> fields = new ArrayList<>();
+        if (node != null) {
+            for (JsonNode field : node.isArray() ? node : List.of(node)) {
+                if (field.isTextual() && !field.asText().isEmpty()) {
+                    fields.add(field.asText());
+                }
+            }
+        }
+        return fields;
+    }
+    
+    private static List<String> splitFields(String fields) {
+        List<String> result = new ArrayList<>();
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                if (!field.trim().isEmpty()) {
+                    result.add(field.trim());
+                }
+            }
+        }
+        return result;
+    }
+    
+    private Query parseQuery(JsonNode queryNode) {
+        // Stream the tree's tokens straight into the client's Query deserializer
+        try (JsonParser parser = new JacksonJsonpParser(objectMapper.treeAsTokens(queryNode))) {
+            return jsonpMapper.deserialize(parser, Query.class);
+        }
+    }
+    private List<SearchResult> mapHits(SearchResponse<RawJson> response) {
+        long startNanos = System.nanoTime();
+        List<SearchResult> results = toSearchResults(response);
+        hitMappingLatency.recordSince(startNanos);
+        return results;
+    }
+    
+    private List<SearchResult> readHits(byte[] body, List<SearchResult> results) throws IOException {
+        long startNanos = System.nanoTime();
+        SearchResponseReader.read(body, results);
+        hitMappingLatency.recordSince(startNanos);
+        return results;
+    }
+    
+    /**
+     * Map response hits to results (package-private for benchmarks)
+     */
+    List<SearchResult> toSearchResults(SearchResponse<RawJson> response) {
+        // Convert results
+        List<SearchResult> results = new ArrayList<>();
+        response.hits().hits().forEach(hit -> {
+            SearchResult result = new SearchResult();
+            result.setIndex(hit.index());
+            result.setId(hit.id());
+            result.setScore(hit.score());
+            if (!hit.sort().isEmpty()) {
+                result.setSortValues(sortValues(hit.sort()));
+            }
+            if (hit.source() != null) {
+                result.setRawSource(hit.source().getBytes());
             }
+            results.add(result);
+        });
+        return results;
+    }
+    
+    /**
+     * The client reads sort values as strings; numbers are turned back into
+     * numbers so they compare as such, which also turns a numeric-looking
+     * keyword into a number
+     */
+    private static List<Object> sortValues(List<String> sort) {
+        List<Object> values = new ArrayList<>(sort.size());
+        for (String value : sort) {
+            Object parsed = value;
+            if (value != null) {
+                try {
+                    parsed = Long.parseLong(value);
+                } catch (NumberFormatException notLong) {
+                    try {
+                        parsed = Double.parseDouble(value);
+                    } catch (NumberFormatException notNumber) {
+                        // A keyword
+                    }
+                }
+            }
+            values.add(parsed);
+        }
+        return values;
+    }
+    
+    /**
+     * Field mapping of the index, fetched on first use and refreshed in the background
+     */
+    public IndexMapping getIndexMapping(String index) {
+        return mappingCache.get(index);
+    }
+    
+    public IndexMappingCache getMappingCache() {
+        return mappingCache;
+    }
+    
+    private JsonNode fetchMapping(String index) throws IOException {
+        Response response = restClient.performRequest(new Request("GET", "/" + PathEncoder.encode(index) + "/_mapping"));
+        try (InputStream body = response.getEntity().getContent()) {
+            return objectMapper.readTree(body);
+        }
+    }
+    
+    /**
+     * Close the OpenSearch client; later calls do nothing
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (resultCache != null) {
+            logger.info("Search result cache stats: {}", resultCache.stats());
+        }
+        mappingCache.close();
+        hedger.close();
+        try {
+            client._transport().close();
         } catch (IOException e) {
             logger.error("Error closing OpenSearch client: ", e);
         }
+        if (ownedSigner != null) {
+            ownedSigner.close();
+        }
     }
 }
 
@@ -0,0 +1,161 @@
+package com.opensearch.nlquery.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.metrics.Counter;
+import com.opensearch.nlquery.metrics.LatencyHistogram;
+import com.opensearch.nlquery.metrics.MetricsRegistry;
+import com.opensearch.nlquery.model.FanOutResult;
+import com.opensearch.nlquery.model.QueryResult;
+import com.opensearch.nlquery.model.SearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Non-blocking convert -> search pipeline.
+ *
+ * No thread is held while Bedrock or OpenSearch is working, so a small number of
+ * threads can keep many queries in flight. Each query is bounded by the configured
+ * pipeline timeout; when it fires, or when the caller cancels the returned future,
+ * the stage currently in flight is cancelled as well.
+ *
+ * With a {@link FanOutSearchService}, {@link #executeFanOutAsync(String)} runs
+ * the converted query against all of its targets instead of one index.
+ */
+public class QueryPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(QueryPipeline.class);
+    
+    private final NaturalLanguageQueryService nlQueryService;
+    private final OpenSearchService openSearchService;
+    private final FanOutSearchService fanOutSearchService;
+    private final long timeoutMs;
+    private final LatencyHistogram pipelineLatency;
+    private final Counter pipelineErrors;
+    private final Counter pipelineTimeouts;
+    
+    public QueryPipeline(NaturalLanguageQueryService nlQueryService, OpenSearchService openSearchService, AppConfig config) {
+        this(nlQueryService, openSearchService, null, config);
+    }
+    
+    /**
+     * @param fanOutSearchService fan-out over several targets, or null
+     */
+    public QueryPipeline(NaturalLanguageQueryService nlQueryService, OpenSearchService openSearchService,
+                         FanOutSearchService fanOutSearchService, AppConfig config) {
+        this.nlQueryService = nlQueryService;
+        this.openSearchService = openSearchService;
+        this.fanOutSearchService = fanOutSearchService;
+        this.timeoutMs = config.getPipelineTimeoutMs();
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.pipelineLatency = metrics.stageLatency("pipeline");
+        this.pipelineErrors = metrics.errors("pipeline");
+        this.pipelineTimeouts = metrics.counter("nlquery_pipeline_timeouts_total",
+            "Queries that exceeded the pipeline timeout");
+    }
+    
+    /**
+     * Convert the query and run it against the index
+     */
+    public CompletableFuture<QueryResult> executeAsync(String naturalLanguageQuery, String index) {
+        return run(naturalLanguageQuery, dslQuery -> {
+            logger.debug("Converted '{}', executing on index: {}", naturalLanguageQuery, index);
+            CompletableFuture<List<SearchResult>> search = openSearchService.searchAsync(dslQuery, index);
+            CompletableFuture<QueryResult> result =
+                search.thenApply(results -> new QueryResult(naturalLanguageQuery, dslQuery, results));
+            Futures.propagateCancellation(result, search);
+            return result;
+        });
+    }
+    
+    /**
+     * Convert the query and run it against every fan-out target. The result
+     * is partial when some targets timed out or failed.
+     *
+     * @throws IllegalStateException if the pipeline has no fan-out
+     */
+    public CompletableFuture<QueryResult> executeFanOutAsync(String naturalLanguageQuery) {
+        if (fanOutSearchService == null) {
+            throw new IllegalStateException("No fan-out targets configured");
+        }
+        return run(naturalLanguageQuery, dslQuery -> {
+            logger.debug("Converted '{}', executing on targets: {}",
+                naturalLanguageQuery, fanOutSearchService.getTargets());
+            CompletableFuture<FanOutResult> search = fanOutSearchService.searchAsync(dslQuery);
+            CompletableFuture<QueryResult> result = search.thenApply(found ->
+                new QueryResult(naturalLanguageQuery, dslQuery, found.getResults(), found.getFailures()));
+            Futures.propagateCancellation(result, search);
+            return result;
+        });
+    }
+    
+    /**
+     * Whether {@link #executeFanOutAsync(String)} is available
+     */
+    public boolean isFanOutEnabled() {
+        return fanOutSearchService != null;
+    }
+    
+    /**
+     * Targets of {@link #executeFanOutAsync(String)}; empty without fan-out
+     */
+    public List<SearchTarget> getFanOutTargets() {
+        return fanOutSearchService != null ? fanOutSearchService.getTargets() : List.of();
+    }
+    
+    private CompletableFuture<QueryResult> run(
+            String naturalLanguageQuery, Function<ObjectNode, CompletableFuture<QueryResult>> search) {
+        long startNanos = System.nanoTime();
+        AtomicReference<CompletableFuture<?>> currentStage = new AtomicReference<>();
+        
+        CompletableFuture<ObjectNode> conversion = nlQueryService.convertToDSLAsync(naturalLanguageQuery);
+        currentStage.set(conversion);
+        
+        CompletableFuture<QueryResult> result = conversion
+            .thenCompose(dslQuery -> {
+                CompletableFuture<QueryResult> searched = search.apply(dslQuery);
+                currentStage.set(searched);
+                return searched;
+            })
+            .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        
+        // Timeout or caller cancellation stops whichever stage is still running
+        result.whenComplete((value, error) -> {
+            pipelineLatency.recordSince(startNanos);
+            Throwable cause = error != null ? Futures.unwrap(error) : null;
+            if (cause instanceof TimeoutException) {
+                pipelineTimeouts.increment();
+            } else if (cause != null && !(cause instanceof CancellationException)) {
+                pipelineErrors.increment();
+            }
+            CompletableFuture<?> stage = currentStage.get();
+            if (error != null && stage != null && !stage.isDone()) {
+                logger.debug("Cancelling in-flight stage for query: {}", naturalLanguageQuery);
+                stage.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    /**
+     * Blocking convenience wrapper around {@link #executeAsync(String, String)}
+     */
+    public QueryResult execute(String naturalLanguageQuery, String index) {
+        return Futures.join(executeAsync(naturalLanguageQuery, index));
+    }
+    
+    /**
+     * Blocking convenience wrapper around {@link #executeFanOutAsync(String)}
+     */
+    public QueryResult executeFanOut(String naturalLanguageQuery) {
+        return Futures.join(executeFanOutAsync(naturalLanguageQuery));
+    }
+}
@@ -0,0 +1,138 @@
+package com.opensearch.nlquery.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.opensearch.nlquery.model.SearchResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the hits of a raw {@code _search} response body straight into
+ * {@link SearchResult}s with a streaming parser.
+ *
+ * Only {@code hits.hits[]._index}, {@code _id}, {@code _score},
+ * {@code sort} and {@code _source} are read; everything else is skipped without being
+ * decoded. Each {@code _source} is sliced out of the body as is, so no
+ * document is parsed into a tree or re-encoded. Package-private for
+ * benchmarks.
+ */
+final class SearchResponseReader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private SearchResponseReader() {
+    }
+
+    static List<SearchResult> read(byte[] body) throws IOException {
+        return read(body, new ArrayList<>());
+    }
+
+    /**
+     * Read the hits into {@code results}, overwriting the results already in
+     * it, adding more as needed and removing those left over
+     *
+     * @return {@code results}
+     */
+    static List<SearchResult> read(byte[] body, List<SearchResult> results) throws IOException {
+        int count = 0;
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Search response is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("hits".equals(field) && value == JsonToken.START_OBJECT) {
+                    count = readHitsObject(parser, body, results);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (results.size() > count) {
+            results.subList(count, results.size()).clear();
+        }
+        return results;
+    }
+
+    private static int readHitsObject(JsonParser parser, byte[] body, List<SearchResult> results) throws IOException {
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("hits".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    SearchResult result;
+                    if (count < results.size()) {
+                        result = results.get(count);
+                    } else {
+                        result = new SearchResult();
+                        results.add(result);
+                    }
+                    readHit(parser, body, result);
+                    count++;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    private static void readHit(JsonParser parser, byte[] body, SearchResult result) throws IOException {
+        String index = null;
+        String id = null;
+        Double score = null;
+        List<Object> sort = null;
+        byte[] source = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("_index".equals(field)) {
+                index = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            } else if ("_id".equals(field)) {
+                id = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            } else if ("_score".equals(field)) {
+                score = value.isNumeric() ? parser.getDoubleValue() : null;
+            } else if ("sort".equals(field) && value == JsonToken.START_ARRAY) {
+                sort = readSortValues(parser);
+            } else if ("_source".equals(field) && value == JsonToken.START_OBJECT) {
+                int start = (int) parser.getTokenLocation().getByteOffset();
+                parser.skipChildren();
+                int end = (int) parser.getTokenLocation().getByteOffset() + 1;
+                source = Arrays.copyOfRange(body, start, end);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        result.setIndex(index);
+        result.setId(id);
+        result.setScore(score);
+        result.setSortValues(sort);
+        result.setRawSource(source);
+    }
+
+    private static List<Object> readSortValues(JsonParser parser) throws IOException {
+        List<Object> values = new ArrayList<>();
+        JsonToken value;
+        while ((value = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                values.add(parser.getLongValue());
+            } else if (value.isNumeric()) {
+                // Also an unsigned_long beyond the range of a long
+                values.add(parser.getDoubleValue());
+            } else if (value == JsonToken.VALUE_STRING) {
+                values.add(parser.getText());
+            } else if (value == JsonToken.VALUE_TRUE || value == JsonToken.VALUE_FALSE) {
+                values.add(value == JsonToken.VALUE_TRUE);
+            } else {
+                values.add(null);
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,120 @@
+package com.opensearch.nlquery.service;
+
+import com.opensearch.nlquery.concurrent.Futures;
+import com.opensearch.nlquery.model.SearchResult;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over every hit of a query, one page at a time.
+ *
+ * The next page is requested as soon as the current one arrives, so it is
+ * usually ready by the time the caller has consumed the current one. At most
+ * two pages are held at once, however many hits are read. The iterator closes
+ * itself when the last page is consumed or a page fails; close it (or the
+ * stream built from it) to stop early.
+ */
+public class SearchResultIterator implements Iterator<SearchResult>, AutoCloseable {
+    private final PageFetcher fetcher;
+    private final Runnable onClose;
+
+    private List<SearchResult> current = Collections.emptyList();
+    private int position;
+    private CompletableFuture<Page> next;
+    private boolean closed;
+
+    /**
+     * Request the first page immediately
+     *
+     * @param onClose run once when the iterator is closed, e.g. to release a point in time
+     */
+    SearchResultIterator(PageFetcher fetcher, Runnable onClose) {
+        this.fetcher = fetcher;
+        this.onClose = onClose;
+        this.next = fetcher.fetch(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (position >= current.size()) {
+            if (next == null) {
+                close();
+                return false;
+            }
+            Page page;
+            try {
+                page = Futures.join(next);
+            } catch (RuntimeException e) {
+                next = null;
+                close();
+                throw e;
+            }
+            current = page.results;
+            position = 0;
+            next = page.searchAfter != null && !closed ? fetcher.fetch(page.searchAfter) : null;
+        }
+        return true;
+    }
+
+    @Override
+    public SearchResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.get(position++);
+    }
+
+    /**
+     * Sequential stream over the remaining hits; closing it closes the iterator
+     */
+    public Stream<SearchResult> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(this::close);
+    }
+
+    /**
+     * Cancel the prefetched page, if any, and release server-side resources
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (next != null) {
+            next.cancel(true);
+            next = null;
+        }
+        current = Collections.emptyList();
+        onClose.run();
+    }
+
+    /**
+     * One page of hits and the sort values to continue after, or null on the last page
+     */
+    static final class Page {
+        final List<SearchResult> results;
+        final List<String> searchAfter;
+
+        Page(List<SearchResult> results, List<String> searchAfter) {
+            this.results = results;
+            this.searchAfter = searchAfter;
+        }
+    }
+
+    /**
+     * Requests the page following {@code searchAfter} (null for the first page)
+     */
+    interface PageFetcher {
+        CompletableFuture<Page> fetch(List<String> searchAfter);
+    }
+}
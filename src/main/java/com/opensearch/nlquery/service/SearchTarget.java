@@ -0,0 +1,72 @@
+package com.opensearch.nlquery.service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An index, alias or pattern on one cluster, searched as part of a fan-out.
+ *
+ * Written {@code index} for the cluster at {@code opensearch.endpoint}, or
+ * {@code index@https://host:port} for another one.
+ */
+public final class SearchTarget {
+    private final String index;
+    private final String endpoint;
+
+    public SearchTarget(String index, String endpoint) {
+        if (index == null || index.isBlank()) {
+            throw new IllegalArgumentException("Search target without an index");
+        }
+        this.index = index;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Parse one {@code index} or {@code index@endpoint} target
+     */
+    public static SearchTarget parse(String spec) {
+        String trimmed = spec.trim();
+        int at = trimmed.indexOf('@');
+        if (at < 0) {
+            return new SearchTarget(trimmed, null);
+        }
+        String endpoint = trimmed.substring(at + 1).trim();
+        URI uri = URI.create(endpoint);
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Invalid endpoint in search target: " + spec);
+        }
+        return new SearchTarget(trimmed.substring(0, at).trim(), endpoint);
+    }
+
+    /**
+     * Parse comma-separated targets; blank entries are skipped
+     */
+    public static List<SearchTarget> parseList(String specs) {
+        List<SearchTarget> targets = new ArrayList<>();
+        if (specs != null) {
+            for (String spec : specs.split(",")) {
+                if (!spec.isBlank()) {
+                    targets.add(parse(spec));
+                }
+            }
+        }
+        return targets;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * Endpoint of the target's cluster, or null for {@code opensearch.endpoint}
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public String toString() {
+        return endpoint != null ? index + '@' + endpoint : index;
+    }
+}
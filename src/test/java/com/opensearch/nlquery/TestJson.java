@@ -0,0 +1,39 @@
+package com.opensearch.nlquery;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON test fixtures written with single quotes, which are turned into double
+ * quotes so fixtures need no escaping
+ */
+public final class TestJson {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TestJson() {
+    }
+
+    public static JsonNode json(String json) {
+        try {
+            return MAPPER.readTree(text(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON fixture: " + json, e);
+        }
+    }
+
+    public static ObjectNode object(String json) {
+        return (ObjectNode) json(json);
+    }
+
+    public static byte[] bytes(String json) {
+        return text(json).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(String json) {
+        return json.replace('\'', '"');
+    }
+}
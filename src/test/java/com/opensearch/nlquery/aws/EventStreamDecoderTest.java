@@ -0,0 +1,154 @@
+package com.opensearch.nlquery.aws;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventStreamDecoderTest {
+
+    private final List<EventStreamDecoder.Message> messages = new ArrayList<>();
+    private final EventStreamDecoder decoder = new EventStreamDecoder(messages::add);
+
+    /**
+     * Encode one message with string headers (name, value pairs) and extra raw header bytes
+     */
+    private static byte[] message(String payload, byte[] extraHeaders, String... headers) {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        for (int i = 0; i < headers.length; i += 2) {
+            byte[] name = headers[i].getBytes(StandardCharsets.UTF_8);
+            byte[] value = headers[i + 1].getBytes(StandardCharsets.UTF_8);
+            headerBytes.write(name.length);
+            headerBytes.writeBytes(name);
+            headerBytes.write(7);
+            headerBytes.write(value.length >> 8);
+            headerBytes.write(value.length);
+            headerBytes.writeBytes(value);
+        }
+        headerBytes.writeBytes(extraHeaders);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        int totalLength = 12 + headerBytes.size() + payloadBytes.length + 4;
+
+        ByteBuffer frame = ByteBuffer.allocate(totalLength);
+        frame.putInt(totalLength).putInt(headerBytes.size());
+        frame.putInt(crc(frame.array(), 8));
+        frame.put(headerBytes.toByteArray()).put(payloadBytes);
+        frame.putInt(crc(frame.array(), totalLength - 4));
+        return frame.array();
+    }
+
+    private static byte[] event(String payload) {
+        return message(payload, new byte[0], ":message-type", "event", ":event-type", "chunk");
+    }
+
+    private static int crc(byte[] bytes, int count) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, count);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private void feed(byte[] bytes, int from, int to) throws IOException {
+        decoder.feed(ByteBuffer.wrap(bytes, from, to - from));
+    }
+
+    private String payload(int index) {
+        return new String(messages.get(index).getPayload(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void decodesMessagesFedTogether() throws IOException {
+        byte[] stream = concat(event("first"), event("second"));
+        feed(stream, 0, stream.length);
+        assertEquals(2, messages.size());
+        assertEquals("first", payload(0));
+        assertEquals("second", payload(1));
+        assertEquals("event", messages.get(0).getMessageType());
+        assertEquals("chunk", messages.get(0).getHeader(":event-type"));
+        assertFalse(decoder.hasPartialMessage());
+    }
+
+    @Test
+    void decodesMessagesSplitAtEveryByte() throws IOException {
+        byte[] stream = concat(event("first"), event("second"));
+        for (int i = 0; i < stream.length; i++) {
+            feed(stream, i, i + 1);
+        }
+        assertEquals(2, messages.size());
+        assertEquals("second", payload(1));
+        assertFalse(decoder.hasPartialMessage());
+    }
+
+    @Test
+    void keepsPartialMessageUntilTheRestArrives() throws IOException {
+        byte[] first = event("first");
+        byte[] stream = concat(first, event("second"));
+        // The first message and the prelude and part of the second
+        int split = first.length + 15;
+        feed(stream, 0, split);
+        assertEquals(1, messages.size());
+        assertTrue(decoder.hasPartialMessage());
+        feed(stream, split, stream.length);
+        assertEquals(2, messages.size());
+        assertEquals("second", payload(1));
+    }
+
+    @Test
+    void skipsHeadersOfOtherTypes() throws IOException {
+        ByteArrayOutputStream extra = new ByteArrayOutputStream();
+        // true, byte, short, int, long, bytes, timestamp and uuid headers
+        int[][] typesAndLengths = {{0, 0}, {2, 1}, {3, 2}, {4, 4}, {5, 8}, {8, 8}, {9, 16}};
+        for (int[] typeAndLength : typesAndLengths) {
+            extra.write(1);
+            extra.write('h');
+            extra.write(typeAndLength[0]);
+            extra.writeBytes(new byte[typeAndLength[1]]);
+        }
+        extra.writeBytes(new byte[]{1, 'b', 6, 0, 3, 1, 2, 3});
+        byte[] stream = message("{}", extra.toByteArray(), ":message-type", "event", "x", "y");
+        feed(stream, 0, stream.length);
+        assertEquals("event", messages.get(0).getMessageType());
+        assertEquals("y", messages.get(0).getHeader("x"));
+        assertNull(messages.get(0).getHeader("h"));
+        assertEquals("{}", payload(0));
+    }
+
+    @Test
+    void rejectsCorruptPrelude() {
+        byte[] stream = event("first");
+        stream[9] ^= 1;
+        assertThrows(IOException.class, () -> feed(stream, 0, stream.length));
+    }
+
+    @Test
+    void rejectsCorruptMessage() {
+        byte[] stream = event("first");
+        stream[stream.length - 6] ^= 1;
+        assertThrows(IOException.class, () -> feed(stream, 0, stream.length));
+        assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownHeaderType() {
+        byte[] stream = message("{}", new byte[]{1, 'h', 12});
+        assertThrows(IOException.class, () -> feed(stream, 0, stream.length));
+    }
+}
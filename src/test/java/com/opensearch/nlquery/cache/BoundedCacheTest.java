@@ -0,0 +1,43 @@
+package com.opensearch.nlquery.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoundedCacheTest {
+
+    private static BoundedCache<String, String> cache(int maxEntries, long maxBytes) {
+        return new BoundedCache<>(maxEntries, maxBytes, 0, (key, value) -> value.length());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        BoundedCache<String, String> cache = cache(2, 1000);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void evictsByWeight() {
+        BoundedCache<String, String> cache = cache(10, 10);
+        cache.put("a", "123456");
+        cache.put("b", "123456");
+        assertNull(cache.get("a"));
+        assertEquals("123456", cache.get("b"));
+    }
+
+    @Test
+    void oversizedPutDropsPreviousValue() {
+        BoundedCache<String, String> cache = cache(10, 10);
+        cache.put("a", "old");
+        cache.put("a", "far too large for the cache");
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.stats().getByteSize());
+    }
+}
@@ -0,0 +1,184 @@
+package com.opensearch.nlquery.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversionStoreTest {
+    private static final String FINGERPRINT = "model-a/prompt-1";
+
+    @TempDir
+    Path dir;
+
+    private Path file() {
+        return dir.resolve("store").resolve("conversions.bin");
+    }
+
+    private ConversionStore open() throws IOException {
+        return ConversionStore.open(file(), FINGERPRINT, 0);
+    }
+
+    private static byte[] dsl(String text) {
+        return ("{\"query\":{\"match\":{\"title\":\"" + text + "\"}}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void reopeningRestoresEntries() throws IOException {
+        try (ConversionStore store = open()) {
+            assertEquals(0, store.size());
+            store.put("find laptops", dsl("laptops"));
+            store.put("find phones", dsl("phones"));
+            // Appended since the file was mapped
+            assertArrayEquals(dsl("laptops"), store.get("find laptops"));
+        }
+        try (ConversionStore store = open()) {
+            assertEquals(2, store.size());
+            assertArrayEquals(dsl("laptops"), store.get("find laptops"));
+            assertArrayEquals(dsl("phones"), store.get("find phones"));
+            assertNull(store.get("find tablets"));
+        }
+    }
+
+    @Test
+    void changedFingerprintDiscardsEntries() throws IOException {
+        try (ConversionStore store = open()) {
+            store.put("find laptops", dsl("laptops"));
+        }
+        try (ConversionStore store = ConversionStore.open(file(), "model-b/prompt-1", 0)) {
+            assertEquals(0, store.size());
+            assertNull(store.get("find laptops"));
+            store.put("find phones", dsl("phones"));
+        }
+        // The file now belongs to the new fingerprint
+        try (ConversionStore store = open()) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void laterPutReplacesEarlierOne() throws IOException {
+        try (ConversionStore store = open()) {
+            store.put("find laptops", dsl("old"));
+            store.put("find laptops", dsl("new"));
+            assertEquals(1, store.size());
+            assertArrayEquals(dsl("new"), store.get("find laptops"));
+        }
+        try (ConversionStore store = open()) {
+            assertEquals(1, store.size());
+            assertArrayEquals(dsl("new"), store.get("find laptops"));
+        }
+    }
+
+    @Test
+    void truncatedTailIsCutOff() throws IOException {
+        try (ConversionStore store = open()) {
+            store.put("find laptops", dsl("laptops"));
+            store.put("find phones", dsl("phones"));
+        }
+        long intact = Files.size(file());
+        // A record torn halfway through its write
+        try (FileChannel channel = FileChannel.open(file(), StandardOpenOption.WRITE)) {
+            channel.truncate(intact - 5);
+        }
+
+        try (ConversionStore store = open()) {
+            assertEquals(1, store.size());
+            assertArrayEquals(dsl("laptops"), store.get("find laptops"));
+            assertNull(store.get("find phones"));
+            store.put("find tablets", dsl("tablets"));
+        }
+        try (ConversionStore store = open()) {
+            assertEquals(2, store.size());
+            assertArrayEquals(dsl("tablets"), store.get("find tablets"));
+        }
+    }
+
+    @Test
+    void corruptTailIsCutOff() throws IOException {
+        try (ConversionStore store = open()) {
+            store.put("find laptops", dsl("laptops"));
+            store.put("find phones", dsl("phones"));
+        }
+        long intact = Files.size(file());
+        byte[] bytes = Files.readAllBytes(file());
+        // Flip a byte of the last record's DSL, then add trailing garbage
+        bytes[bytes.length - 3] ^= 0x01;
+        Files.write(file(), bytes);
+        Files.write(file(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, StandardOpenOption.APPEND);
+
+        try (ConversionStore store = open()) {
+            assertEquals(1, store.size());
+            assertArrayEquals(dsl("laptops"), store.get("find laptops"));
+            assertNull(store.get("find phones"));
+        }
+        assertTrue(Files.size(file()) < intact);
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnOpen() throws IOException, InterruptedException {
+        try (ConversionStore store = open()) {
+            store.put("find laptops", dsl("laptops"));
+        }
+        Thread.sleep(20);
+        try (ConversionStore store = ConversionStore.open(file(), FINGERPRINT, 60_000)) {
+            assertEquals(1, store.size());
+        }
+        try (ConversionStore store = ConversionStore.open(file(), FINGERPRINT, 10)) {
+            assertEquals(0, store.size());
+            assertNull(store.get("find laptops"));
+            store.put("find phones", dsl("phones"));
+            assertArrayEquals(dsl("phones"), store.get("find phones"));
+        }
+    }
+
+    @Test
+    void compactsWhenMostRecordsAreSuperseded() throws IOException {
+        try (ConversionStore store = open()) {
+            for (int i = 0; i < 1500; i++) {
+                store.put("find laptops", dsl("laptops " + i));
+            }
+            store.put("find phones", dsl("phones"));
+        }
+        long before = Files.size(file());
+
+        try (ConversionStore store = open()) {
+            assertEquals(2, store.size());
+            assertArrayEquals(dsl("laptops 1499"), store.get("find laptops"));
+            assertArrayEquals(dsl("phones"), store.get("find phones"));
+        }
+        assertTrue(Files.size(file()) < before / 100, "compacted to " + Files.size(file()) + " bytes");
+        assertTrue(Files.notExists(file().resolveSibling("conversions.bin.compact")));
+
+        try (ConversionStore store = open()) {
+            assertEquals(2, store.size());
+            assertArrayEquals(dsl("laptops 1499"), store.get("find laptops"));
+        }
+    }
+
+    @Test
+    void visitsRecentEntriesOldestFirst() throws IOException {
+        try (ConversionStore store = open()) {
+            store.put("a", dsl("a"));
+            store.put("b", dsl("b"));
+            store.put("c", dsl("c"));
+            store.put("a", dsl("a2"));
+
+            List<String> keys = new ArrayList<>();
+            store.forEachRecent(2, (key, value) -> keys.add(key));
+            assertEquals(List.of("c", "a"), keys);
+        }
+    }
+}
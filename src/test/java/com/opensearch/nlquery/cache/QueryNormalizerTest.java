@@ -0,0 +1,38 @@
+package com.opensearch.nlquery.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class QueryNormalizerTest {
+
+    @Test
+    void foldsCaseAndWhitespace() {
+        assertEquals("find docs about churn", QueryNormalizer.normalize("  Find\tdocs   ABOUT\nchurn "));
+    }
+
+    @Test
+    void keepsNegatedComparisons() {
+        assertNotEquals(
+            QueryNormalizer.normalize("orders where status = shipped"),
+            QueryNormalizer.normalize("orders where status != shipped"));
+        assertEquals("orders where status != shipped", QueryNormalizer.normalize("Orders where status != shipped"));
+    }
+
+    @Test
+    void keepsQuotesAndCommas() {
+        String quoted = QueryNormalizer.normalize("tickets where tag is \"a, b\"");
+        String unquoted = QueryNormalizer.normalize("tickets where tag is a, b");
+        String separate = QueryNormalizer.normalize("tickets where tag is a b");
+        assertNotEquals(quoted, unquoted);
+        assertNotEquals(unquoted, separate);
+        assertEquals("tickets where tag is \"a, b\"", quoted);
+    }
+
+    @Test
+    void keepsSentencePunctuation() {
+        assertEquals("find docs?", QueryNormalizer.normalize("Find docs?"));
+        assertEquals("price > 10.", QueryNormalizer.normalize("price > 10."));
+    }
+}
@@ -0,0 +1,91 @@
+package com.opensearch.nlquery.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimiterTest {
+
+    @Test
+    void queuesCallsOverTheLimitAndAdmitsThemInOrder() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 0.5, 2.0, 10);
+        AdaptiveLimiter.Permit first = limiter.acquire().join();
+        CompletableFuture<AdaptiveLimiter.Permit> second = limiter.acquire();
+        CompletableFuture<AdaptiveLimiter.Permit> third = limiter.acquire();
+        assertFalse(second.isDone());
+        assertEquals(2, limiter.getQueued());
+
+        first.release(AdaptiveLimiter.Outcome.SUCCESS);
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(1, limiter.getInFlight());
+
+        second.join().release(AdaptiveLimiter.Outcome.SUCCESS);
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 0.5, 2.0, 1);
+        limiter.acquire();
+        limiter.acquire();
+        CompletableFuture<AdaptiveLimiter.Permit> rejected = limiter.acquire();
+        CompletionException error = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void throttlingCutsTheLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 20, 0.5, 2.0, 10);
+        limiter.acquire().join().release(AdaptiveLimiter.Outcome.THROTTLED);
+        assertEquals(5, limiter.getLimit());
+        assertEquals(1, limiter.getThrottledCount());
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 2, 3, 0.1, 2.0, 10);
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire().join().release(AdaptiveLimiter.Outcome.SUCCESS);
+        }
+        assertEquals(3, limiter.getLimit());
+        limiter.acquire().join().release(AdaptiveLimiter.Outcome.THROTTLED);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void ignoredOutcomesLeaveTheLimitAlone() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 8, 0.5, 2.0, 10);
+        limiter.acquire().join().release(AdaptiveLimiter.Outcome.IGNORED);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void cancelledWaiterHandsItsPermitBack() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 0.5, 2.0, 10);
+        AdaptiveLimiter.Permit first = limiter.acquire().join();
+        limiter.acquire().cancel(true);
+        first.release(AdaptiveLimiter.Outcome.SUCCESS);
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void releasingTwiceCountsOnce() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 2, 0.5, 2.0, 10);
+        AdaptiveLimiter.Permit first = limiter.acquire().join();
+        limiter.acquire().join();
+        first.release(AdaptiveLimiter.Outcome.SUCCESS);
+        first.release(AdaptiveLimiter.Outcome.SUCCESS);
+        assertEquals(1, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,89 @@
+package com.opensearch.nlquery.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private final List<CircuitBreaker.State> transitions = new ArrayList<>();
+
+    private CircuitBreaker breaker(long openMillis, int halfOpenProbes) {
+        return new CircuitBreaker(10, 4, 0.5, openMillis, halfOpenProbes, transitions::add);
+    }
+
+    private static void fail(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private static void succeed(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    void staysClosedUntilMinimumCalls() {
+        CircuitBreaker breaker = breaker(60_000, 1);
+        fail(breaker, 3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(breaker, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void staysClosedBelowTheFailureRate() {
+        CircuitBreaker breaker = breaker(60_000, 1);
+        succeed(breaker, 6);
+        fail(breaker, 4);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        // The oldest successes leave the window of ten
+        fail(breaker, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void closesAfterSuccessfulProbes() {
+        CircuitBreaker breaker = breaker(0, 2);
+        fail(breaker, 4);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED),
+            transitions);
+    }
+
+    @Test
+    void reopensWhenAProbeFails() {
+        CircuitBreaker breaker = breaker(0, 1);
+        fail(breaker, 4);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void ignoredProbeGivesItsSlotBack() {
+        CircuitBreaker breaker = breaker(0, 1);
+        fail(breaker, 4);
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+}
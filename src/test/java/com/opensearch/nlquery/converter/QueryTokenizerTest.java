@@ -0,0 +1,34 @@
+package com.opensearch.nlquery.converter;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class QueryTokenizerTest {
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+            arguments("find laptops", "[WORD:find, WORD:laptops]"),
+            arguments("  Shipped orders?  ", "[WORD:Shipped, WORD:orders]"),
+            arguments("price >= 10.5, qty!=3", "[WORD:price, SYMBOL:>=, NUMBER:10.5, COMMA:,, WORD:qty, SYMBOL:!=, NUMBER:3]"),
+            arguments("under $20.", "[WORD:under, NUMBER:20]"),
+            arguments("delta -4 to -1.5", "[WORD:delta, NUMBER:-4, WORD:to, NUMBER:-1.5]"),
+            arguments("author is \"Jane Doe\" and", "[WORD:author, WORD:is, QUOTED:Jane Doe, WORD:and]"),
+            arguments("title \"unterminated quote", "[WORD:title, QUOTED:unterminated quote]"),
+            arguments("a<b c=d", "[WORD:a, SYMBOL:<, WORD:b, WORD:c, SYMBOL:=, WORD:d]"),
+            arguments("v1.2.3 2024-01-01;", "[WORD:v1.2.3, WORD:2024-01-01]"),
+            arguments("", "[]")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("queries")
+    void tokenizes(String query, String tokens) {
+        assertEquals(tokens, QueryTokenizer.tokenize(query).toString());
+    }
+}
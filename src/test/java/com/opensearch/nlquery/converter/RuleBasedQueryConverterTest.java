@@ -0,0 +1,135 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opensearch.nlquery.mapping.IndexMapping;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class RuleBasedQueryConverterTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final IndexMapping MAPPING = IndexMapping.fromMappingResponse(object(
+        "{'products':{'mappings':{'properties':{"
+            + "'title':{'type':'text','fields':{'keyword':{'type':'keyword'}}},"
+            + "'description':{'type':'text'},"
+            + "'category':{'type':'keyword'},"
+            + "'price':{'type':'float'},"
+            + "'in_stock':{'type':'boolean'},"
+            + "'created_at':{'type':'date'}}}}}"), 20);
+
+    private static final String TEXT_FIELDS = "'fields':['description','title'],'type':'cross_fields',";
+
+    /**
+     * The DSL as parsed from JSON, so numbers compare by value rather than by node type
+     */
+    private static JsonNode reparsed(JsonNode dsl) throws Exception {
+        return MAPPER.readTree(dsl.toString());
+    }
+
+    private static String text(String terms) {
+        return "{'multi_match':{'query':'" + terms + "','operator':'and'}}";
+    }
+
+    private static String mappedText(String terms) {
+        return "{'multi_match':{'query':'" + terms + "'," + TEXT_FIELDS + "'operator':'and'}}";
+    }
+
+    private static String bool(String must, String filter) {
+        return "{'query':{'bool':{" + (must != null ? "'must':[" + must + "]" : "")
+            + (must != null && filter != null ? "," : "")
+            + (filter != null ? "'filter':[" + filter + "]" : "") + "}},'size':10}";
+    }
+
+    /**
+     * Queries the regex rules handled keep the same full-text terms: leading
+     * commands are dropped, and so is the condition clause, which the regex
+     * rules left as an empty filter and the grammar turns into real clauses
+     */
+    static Stream<Arguments> withoutMapping() {
+        return Stream.of(
+            arguments("find laptops", bool(text("laptops"), null)),
+            arguments("search for red shoes", bool(text("red shoes"), null)),
+            arguments("Find all laptops.", bool(text("laptops"), null)),
+            arguments("laptops", bool(text("laptops"), null)),
+            arguments("show me all", "{'query':{'match_all':{}},'size':10}"),
+            arguments("find laptops where price greater than 500",
+                bool(text("laptops"), "{'range':{'price':{'gt':500}}}")),
+            arguments("show me shoes with category is sneakers and price under 100",
+                bool(text("shoes"), "{'term':{'category':'sneakers'}},{'range':{'price':{'lt':100}}}")),
+            arguments("find products where price between 10 and 20",
+                bool(text("products"), "{'range':{'price':{'gte':10,'lte':20}}}")),
+            arguments("find laptops with ram at least 16, price at most 900",
+                bool(text("laptops"), "{'range':{'ram':{'gte':16}}},{'range':{'price':{'lte':900}}}")),
+            arguments("laptops price >= 1000", bool(text("laptops"), "{'range':{'price':{'gte':1000}}}")),
+            arguments("list books that author is not \"Jane Doe\"",
+                "{'query':{'bool':{'must':[" + text("books") + "],"
+                    + "'must_not':[{'term':{'author':'Jane Doe'}}]}},'size':10}")
+        );
+    }
+
+    static Stream<Arguments> withMapping() {
+        return Stream.of(
+            arguments("find laptops", bool(mappedText("laptops"), null)),
+            arguments("show me shoes with category is sneakers and price under 100",
+                bool(mappedText("shoes"), "{'term':{'category':'sneakers'}},{'range':{'price':{'lt':100}}}")),
+            arguments("find items where in_stock is true",
+                bool(mappedText("items"), "{'term':{'in_stock':true}}")),
+            arguments("find lamps where title is \"Desk Lamp\"",
+                bool(mappedText("lamps"), "{'term':{'title.keyword':'Desk Lamp'}}")),
+            // A time phrase on a word that is not a date field goes to the index's date field
+            arguments("orders after 2024-01-01", bool(null, "{'range':{'created_at':{'gt':'2024-01-01'}}}")),
+            arguments("products from 2023-01-01 to 2023-12-31",
+                bool(null, "{'range':{'created_at':{'gte':'2023-01-01','lte':'2023-12-31'}}}")),
+            // Conditions on unmapped fields are kept as text
+            arguments("find laptops where color is red", bool(mappedText("laptops color red"), null))
+        );
+    }
+
+    /**
+     * Query, confidence without a mapping, confidence against the mapping
+     */
+    static Stream<Arguments> confidence() {
+        return Stream.of(
+            arguments("find laptops", 1.0, 1.0),
+            arguments("find laptops where price greater than 500", 1.0, 1.0),
+            // Question opener, an unmodelled word and a fifth free-text word
+            arguments("what are the best laptops", 0.1, 0.1),
+            arguments("laptops sorted by price", 0.65, 0.65),
+            // Range field guessed from free text, resolved to the date field with a mapping
+            arguments("orders after 2024-01-01", 0.65, 1.0),
+            // Condition on a field the mapping does not have
+            arguments("find laptops where color is red", 1.0, 0.75),
+            arguments("find laptops with", 1.0, 1.0),
+            arguments("find laptops with and", 1.0, 1.0),
+            arguments("shoes that fit", 0.75, 0.75),
+            arguments("not not not red shoes", 0.0, 0.0)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("withoutMapping")
+    void convertsWithoutMapping(String query, String dsl) throws Exception {
+        assertEquals(object(dsl), reparsed(new RuleBasedQueryConverter().convert(query)), query);
+    }
+
+    @ParameterizedTest
+    @MethodSource("withMapping")
+    void convertsAgainstMapping(String query, String dsl) throws Exception {
+        assertEquals(object(dsl), reparsed(new RuleBasedQueryConverter(() -> MAPPING).convert(query)), query);
+    }
+
+    @ParameterizedTest
+    @MethodSource("confidence")
+    void scoresConfidence(String query, double withoutMapping, double withMapping) {
+        assertEquals(withoutMapping, new RuleBasedQueryConverter().convertScored(query).getConfidence(), 1e-9, query);
+        assertEquals(withMapping,
+            new RuleBasedQueryConverter(() -> MAPPING).convertScored(query).getConfidence(), 1e-9, query);
+    }
+}
@@ -0,0 +1,99 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingDslParserTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String DSL = "{\"query\":{\"match\":{\"title\":\"café {x}\"}},\"size\":5}";
+
+    private static StreamingDslParser parser() throws IOException {
+        return new StreamingDslParser(MAPPER);
+    }
+
+    /**
+     * Feed the text one character at a time, returning the parser once it is complete
+     */
+    private static StreamingDslParser feedByCharacter(String text) throws IOException {
+        StreamingDslParser parser = parser();
+        for (int i = 0; i < text.length(); i++) {
+            boolean complete = parser.feed(text.substring(i, i + 1));
+            assertEquals(complete, parser.getDsl() != null);
+        }
+        return parser;
+    }
+
+    @Test
+    void assemblesDslFromSingleCharacterFragments() throws IOException {
+        assertEquals(MAPPER.readTree(DSL), feedByCharacter(DSL).finish());
+    }
+
+    @Test
+    void completesAtTheClosingBrace() throws IOException {
+        StreamingDslParser parser = parser();
+        assertFalse(parser.feed(DSL.substring(0, DSL.length() - 1)));
+        assertNull(parser.getDsl());
+        assertTrue(parser.feed("}\n\nThis query matches"));
+        assertEquals(MAPPER.readTree(DSL), parser.getDsl());
+        // Text after the DSL is ignored
+        assertTrue(parser.feed(" anything {"));
+    }
+
+    @Test
+    void skipsWhitespaceAndCodeFenceSplitAcrossFragments() throws IOException {
+        StreamingDslParser parser = parser();
+        assertFalse(parser.feed("  \n`"));
+        assertFalse(parser.feed("``js"));
+        assertFalse(parser.feed("on\n  "));
+        assertFalse(parser.feed("{\"size\""));
+        assertTrue(parser.feed(":1}\n```"));
+        assertEquals(MAPPER.readTree("{\"size\":1}"), parser.getDsl());
+    }
+
+    @Test
+    void skipsCodeFenceFedByCharacter() throws IOException {
+        assertEquals(MAPPER.readTree(DSL), feedByCharacter("```json\n" + DSL + "\n```").finish());
+    }
+
+    @Test
+    void failsOnTheFirstFragmentThatIsNotJson() throws IOException {
+        StreamingDslParser parser = parser();
+        assertFalse(parser.feed("  "));
+        assertThrows(IOException.class, () -> parser.feed("Here is the query"));
+    }
+
+    @Test
+    void failsOnMalformedFence() throws IOException {
+        StreamingDslParser parser = parser();
+        assertFalse(parser.feed("``"));
+        assertThrows(IOException.class, () -> parser.feed("x"));
+    }
+
+    @Test
+    void failsOnOverlongFenceLine() throws IOException {
+        StreamingDslParser parser = parser();
+        assertThrows(IOException.class, () -> parser.feed("```" + "x".repeat(40)));
+    }
+
+    @Test
+    void failsOnInvalidJsonInsideTheObject() throws IOException {
+        StreamingDslParser parser = parser();
+        assertFalse(parser.feed("{\"query\":"));
+        assertThrows(IOException.class, () -> parser.feed("match}"));
+    }
+
+    @Test
+    void finishFailsWhenTheObjectIsIncomplete() throws IOException {
+        StreamingDslParser parser = parser();
+        parser.feed("{\"query\":{}");
+        assertThrows(IOException.class, parser::finish);
+    }
+}
@@ -0,0 +1,140 @@
+package com.opensearch.nlquery.converter;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredQueryConverterTest {
+    private static final ObjectNode LLM_DSL = object("{'query':{'match':{'title':'laptops'}},'size':5}");
+    private static final String CONFIDENT = "find laptops";
+    // Confidence 0.1: a question with an unmodelled word
+    private static final String AMBIGUOUS = "what are the best laptops";
+
+    private final RuleBasedQueryConverter rules = new RuleBasedQueryConverter();
+    private final StubLlm llm = new StubLlm();
+    private final TieredQueryConverter tiered = new TieredQueryConverter(rules, llm, 0.6);
+
+    @Test
+    void answersConfidentQueriesWithRules() {
+        ScoredConversion conversion = tiered.convertScoredAsync(CONFIDENT).join();
+        assertEquals(rules.convert(CONFIDENT), conversion.getDsl());
+        assertFalse(conversion.isFallback());
+        assertTrue(llm.calls.isEmpty());
+        assertEquals(1, tiered.getRuleConversionCount());
+        assertEquals(0, tiered.getLlmConversionCount());
+    }
+
+    @Test
+    void escalatesAmbiguousQueriesToTheLlm() {
+        CompletableFuture<ObjectNode> result = tiered.convertAsync(AMBIGUOUS);
+        assertFalse(result.isDone());
+        llm.calls.get(0).complete(new ScoredConversion(LLM_DSL, 1.0));
+        assertEquals(LLM_DSL, result.join());
+        assertEquals(0, tiered.getRuleConversionCount());
+        assertEquals(1, tiered.getLlmConversionCount());
+        assertEquals(0, tiered.getLlmFallbackCount());
+    }
+
+    @Test
+    void thresholdPicksTheTier() {
+        TieredQueryConverter permissive = new TieredQueryConverter(rules, llm, 0.1);
+        permissive.convertAsync(AMBIGUOUS).join();
+        assertEquals(1, permissive.getRuleConversionCount());
+
+        TieredQueryConverter strict = new TieredQueryConverter(rules, llm, 1.01);
+        strict.convertAsync(CONFIDENT);
+        assertEquals(1, strict.getLlmConversionCount());
+    }
+
+    @Test
+    void fallsBackToRulesWhenTheLlmFails() {
+        CompletableFuture<ScoredConversion> result = tiered.convertScoredAsync(AMBIGUOUS);
+        llm.calls.get(0).completeExceptionally(new IllegalStateException("Bedrock is down"));
+        ScoredConversion conversion = result.join();
+        assertEquals(rules.convert(AMBIGUOUS), conversion.getDsl());
+        assertTrue(conversion.isFallback());
+        assertEquals(1, tiered.getLlmFallbackCount());
+    }
+
+    @Test
+    void answersWithItsOwnRulesWhenTheLlmTierFellBack() {
+        CompletableFuture<ScoredConversion> result = tiered.convertScoredAsync(AMBIGUOUS);
+        llm.calls.get(0).complete(new ScoredConversion(object("{'query':{'match_all':{}}}"), 0.0, true));
+        ScoredConversion conversion = result.join();
+        assertEquals(rules.convert(AMBIGUOUS), conversion.getDsl());
+        assertTrue(conversion.isFallback());
+        assertEquals(1, tiered.getLlmFallbackCount());
+    }
+
+    @Test
+    void cancellingTheResultCancelsTheLlmCall() {
+        CompletableFuture<ObjectNode> result = tiered.convertAsync(AMBIGUOUS);
+        result.cancel(true);
+        assertTrue(llm.calls.get(0).isCancelled());
+        assertEquals(0, tiered.getLlmFallbackCount());
+    }
+
+    @Test
+    void cancelledLlmCallIsNotAnsweredWithRules() {
+        CompletableFuture<ScoredConversion> result = tiered.convertScoredAsync(AMBIGUOUS);
+        llm.calls.get(0).cancel(true);
+        CompletionException error = assertThrows(CompletionException.class, result::join);
+        assertTrue(error.getCause() instanceof CancellationException);
+        assertEquals(0, tiered.getLlmFallbackCount());
+    }
+
+    @Test
+    void countsPerInstance() {
+        TieredQueryConverter other = new TieredQueryConverter(rules, llm, 0.6);
+        other.convertAsync(CONFIDENT);
+        other.convertAsync(CONFIDENT);
+        tiered.convertAsync(CONFIDENT);
+        assertEquals(2, other.getRuleConversionCount());
+        assertEquals(1, tiered.getRuleConversionCount());
+    }
+
+    @Test
+    void fingerprintCoversThresholdRulesAndLlm() {
+        assertNull(tiered.getFingerprint());
+        llm.fingerprint = "model/prompt";
+        assertEquals("tiered/0.6/rules-" + RuleBasedQueryConverter.RULES_VERSION + "/model/prompt",
+            tiered.getFingerprint());
+    }
+
+    /**
+     * LLM tier whose calls are completed by the test
+     */
+    private static final class StubLlm implements QueryConverter {
+        final List<CompletableFuture<ScoredConversion>> calls = new ArrayList<>();
+        String fingerprint;
+
+        @Override
+        public ObjectNode convert(String naturalLanguageQuery) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<ScoredConversion> convertScoredAsync(String naturalLanguageQuery) {
+            CompletableFuture<ScoredConversion> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        }
+
+        @Override
+        public String getFingerprint() {
+            return fingerprint;
+        }
+    }
+}
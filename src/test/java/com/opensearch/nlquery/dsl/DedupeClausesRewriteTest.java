@@ -0,0 +1,51 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DedupeClausesRewriteTest {
+
+    private final DedupeClausesRewrite rewrite = new DedupeClausesRewrite();
+
+    @Test
+    void dropsRepeatedClauses() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':[{'match':{'t':'a'}},{'match':{'t':'a'}},{'term':{'c':'x'}}]}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'must':[{'match':{'t':'a'}},{'term':{'c':'x'}}]}}}"), dsl);
+    }
+
+    @Test
+    void dropsFiltersRepeatingAMustClause() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':[{'term':{'c':'x'}}],"
+            + "'filter':[{'term':{'c':'x'}},{'range':{'p':{'lt':5}}}]}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'must':[{'term':{'c':'x'}}],'filter':[{'range':{'p':{'lt':5}}}]}}}"), dsl);
+    }
+
+    @Test
+    void removesOccurrenceLeftEmpty() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':{'match':{'t':'a'}},'filter':[{'match':{'t':'a'}}]}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'must':{'match':{'t':'a'}}}}}"), dsl);
+    }
+
+    @Test
+    void keepsRepeatedShouldWithMinimumShouldMatch() {
+        String query = "{'query':{'bool':{'should':[{'term':{'a':1}},{'term':{'a':1}}],'minimum_should_match':2}}}";
+        ObjectNode dsl = object(query);
+        assertFalse(rewrite.apply(dsl));
+        assertEquals(object(query), dsl);
+    }
+
+    @Test
+    void dedupesNestedBools() {
+        ObjectNode dsl = object("{'query':{'constant_score':{'filter':{'bool':{'filter':[{'term':{'a':1}},{'term':{'a':1}}]}}}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'constant_score':{'filter':{'bool':{'filter':[{'term':{'a':1}}]}}}}}"), dsl);
+    }
+}
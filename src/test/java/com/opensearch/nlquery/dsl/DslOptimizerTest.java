@@ -0,0 +1,38 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DslOptimizerTest {
+
+    private final DslOptimizer optimizer = new DslOptimizer(List.of(
+        new FlattenBoolRewrite(), new DedupeClausesRewrite(), new FilterContextRewrite(), new SizeCapRewrite(10)));
+
+    @Test
+    void rewritesACopy() {
+        String query = "{'query':{'bool':{'must':[{'match':{'t':'a'}},"
+            + "{'bool':{'must':[{'term':{'c':'x'}},{'match':{'t':'a'}}]}}]}},'size':100}";
+        ObjectNode dsl = object(query);
+        JsonNode optimized = optimizer.optimize(dsl);
+        assertNotSame(dsl, optimized);
+        assertEquals(object(query), dsl);
+        assertEquals(object("{'query':{'bool':{'must':[{'match':{'t':'a'}}],'filter':[{'term':{'c':'x'}}]}},'size':10}"),
+            optimized);
+    }
+
+    @Test
+    void returnsTheQueryItselfWhenNothingChanges() {
+        ObjectNode dsl = object("{'query':{'match':{'t':'a'}},'size':5}");
+        assertSame(dsl, optimizer.optimize(dsl));
+        assertNull(optimizer.optimize(null));
+    }
+}
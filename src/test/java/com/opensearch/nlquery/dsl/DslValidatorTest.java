@@ -0,0 +1,123 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.mapping.IndexMapping;
+import org.junit.jupiter.api.Test;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DslValidatorTest {
+    private static final IndexMapping MAPPING = IndexMapping.fromMappingResponse(object(
+        "{'products':{'mappings':{'properties':{"
+            + "'title':{'type':'text','fields':{'keyword':{'type':'keyword'}}},"
+            + "'body':{'type':'text'},"
+            + "'price':{'type':'float'},"
+            + "'in_stock':{'type':'boolean'},"
+            + "'category':{'type':'keyword'},"
+            + "'created_at':{'type':'date'}}}}}"), 10);
+
+    private final DslValidator validator = new DslValidator();
+
+    private DslValidation validate(String dsl) {
+        return validator.validate(object(dsl), MAPPING);
+    }
+
+    @Test
+    void passesValidQueryThrough() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':[{'match':{'title':'lamp'}}],"
+            + "'filter':[{'term':{'category':'home'}},{'range':{'price':{'gte':10,'lt':50}}}]}},"
+            + "'sort':[{'price':'asc'}],'size':10}");
+        DslValidation validation = validator.validate(dsl, MAPPING);
+        assertTrue(validation.isValid());
+        assertFalse(validation.isRepaired());
+        assertTrue(validation.isChecked());
+        assertSame(dsl, validation.getDsl());
+    }
+
+    @Test
+    void passesQueryThroughWithoutMapping() {
+        ObjectNode dsl = object("{'query':{'term':{'nope':1}}}");
+        DslValidation validation = validator.validate(dsl, IndexMapping.EMPTY);
+        assertFalse(validation.isChecked());
+        assertTrue(validation.isValid());
+        assertSame(dsl, validation.getDsl());
+    }
+
+    @Test
+    void renamesFieldsResolvedFromTheMapping() {
+        ObjectNode dsl = object("{'query':{'match':{'Titles':'lamp'}}}");
+        DslValidation validation = validator.validate(dsl, MAPPING);
+        assertTrue(validation.isValid());
+        assertTrue(validation.isRepaired());
+        assertEquals(object("{'query':{'match':{'title':'lamp'}}}"), validation.getDsl());
+        assertEquals(object("{'query':{'match':{'Titles':'lamp'}}}"), dsl);
+    }
+
+    @Test
+    void movesTermOnTextToKeywordSubField() {
+        DslValidation validation = validate("{'query':{'term':{'title':'Desk Lamp'}}}");
+        assertTrue(validation.isValid());
+        assertEquals(object("{'query':{'term':{'title.keyword':'Desk Lamp'}}}"), validation.getDsl());
+    }
+
+    @Test
+    void replacesTermOnTextWithoutKeywordByMatch() {
+        DslValidation validation = validate("{'query':{'term':{'body':'lamp'}}}");
+        assertTrue(validation.isValid());
+        assertEquals(object("{'query':{'match':{'body':'lamp'}}}"), validation.getDsl());
+    }
+
+    @Test
+    void reportsUnknownFieldWithItsPath() {
+        DslValidation validation = validate("{'query':{'bool':{'filter':[{'term':{'colour':'red'}}]}}}");
+        assertFalse(validation.isValid());
+        assertEquals(1, validation.getProblems().size());
+        assertEquals("query.bool.filter[0].term", validation.getProblems().get(0).getPath());
+    }
+
+    @Test
+    void reportsValuesThatDoNotFitTheFieldType() {
+        DslValidation validation = validate("{'query':{'bool':{'filter':["
+            + "{'term':{'in_stock':'maybe'}},{'range':{'price':{'lt':'cheap'}}}]}}}");
+        assertEquals(2, validation.getProblems().size());
+        assertEquals("query.bool.filter[0].term.in_stock", validation.getProblems().get(0).getPath());
+        assertEquals("query.bool.filter[1].range.price.lt", validation.getProblems().get(1).getPath());
+    }
+
+    @Test
+    void reportsEmptyAndUnboundedRanges() {
+        assertTrue(validate("{'query':{'range':{'price':{'gte':50,'lte':10}}}}")
+            .getProblems().get(0).getMessage().contains("is empty"));
+        assertTrue(validate("{'query':{'range':{'price':{'boost':2}}}}")
+            .getProblems().get(0).getMessage().contains("no bounds"));
+        assertFalse(validate("{'query':{'range':{'body':{'gte':'a'}}}}").isValid());
+    }
+
+    @Test
+    void reportsMalformedStructure() {
+        assertEquals("query", validate("{'query':{'match':{'title':'a'},'term':{'category':'b'}}}")
+            .getProblems().get(0).getPath());
+        assertEquals("query.bool", validate("{'query':{'bool':{'and':[{'match':{'title':'a'}}]}}}")
+            .getProblems().get(0).getPath());
+        assertEquals("size", validate("{'query':{'match_all':{}},'size':-1}").getProblems().get(0).getPath());
+    }
+
+    @Test
+    void movesSortOnTextToKeywordAndReportsItOtherwise() {
+        DslValidation keyword = validate("{'sort':[{'title':'asc'},'_score']}");
+        assertTrue(keyword.isValid());
+        assertEquals(object("{'sort':[{'title.keyword':'asc'},'_score']}"), keyword.getDsl());
+
+        DslValidation text = validate("{'sort':'body'}");
+        assertEquals("sort", text.getProblems().get(0).getPath());
+    }
+
+    @Test
+    void leavesNestedQueriesUnchecked() {
+        assertTrue(validate("{'query':{'nested':{'path':'variants','query':{'term':{'variants.sku':'x'}}}}}").isValid());
+    }
+}
@@ -0,0 +1,46 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilterContextRewriteTest {
+
+    private final FilterContextRewrite rewrite = new FilterContextRewrite();
+
+    @Test
+    void movesExactValueClausesToFilter() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':[{'match':{'t':'a'}},{'term':{'c':'x'}},"
+            + "{'range':{'p':{'lt':5}}}]}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'must':[{'match':{'t':'a'}}],"
+            + "'filter':[{'term':{'c':'x'}},{'range':{'p':{'lt':5}}}]}}}"), dsl);
+    }
+
+    @Test
+    void appendsToExistingFilter() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':[{'exists':{'field':'c'}}],'filter':{'ids':{'values':['1']}}}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'filter':[{'ids':{'values':['1']}},{'exists':{'field':'c'}}]}}}"), dsl);
+    }
+
+    @Test
+    void movesSingleMustObject() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':{'terms':{'c':['x','y']}}}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'filter':[{'terms':{'c':['x','y']}}]}}}"), dsl);
+    }
+
+    @Test
+    void leavesScoringClausesAlone() {
+        String query = "{'query':{'bool':{'must':[{'match':{'t':'a'}},{'multi_match':{'query':'b','fields':['t']}}],"
+            + "'should':[{'term':{'c':'x'}}]}}}";
+        ObjectNode dsl = object(query);
+        assertFalse(rewrite.apply(dsl));
+        assertEquals(object(query), dsl);
+    }
+}
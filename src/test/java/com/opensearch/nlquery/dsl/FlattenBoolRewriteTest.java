@@ -0,0 +1,63 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlattenBoolRewriteTest {
+
+    private final FlattenBoolRewrite rewrite = new FlattenBoolRewrite();
+
+    @Test
+    void mergesInnerFilterIntoOuterBool() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':[{'match':{'t':'a'}},"
+            + "{'bool':{'filter':[{'term':{'c':'x'}}]}}]}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'must':[{'match':{'t':'a'}}],'filter':[{'term':{'c':'x'}}]}}}"), dsl);
+    }
+
+    @Test
+    void innerMustBecomesFilterUnderFilter() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':[{'match':{'t':'a'}}],"
+            + "'filter':[{'bool':{'must':[{'term':{'c':'x'}},{'term':{'d':'y'}}]}}]}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'must':[{'match':{'t':'a'}}],"
+            + "'filter':[{'term':{'c':'x'}},{'term':{'d':'y'}}]}}}"), dsl);
+    }
+
+    @Test
+    void replacesBoolWithItsSingleMustClause() {
+        ObjectNode dsl = object("{'query':{'bool':{'must':{'match':{'t':'a'}}}},'size':5}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'match':{'t':'a'}},'size':5}"), dsl);
+    }
+
+    @Test
+    void mergesShouldIntoShould() {
+        ObjectNode dsl = object("{'query':{'bool':{'should':[{'bool':{'should':[{'term':{'a':1}},{'term':{'b':2}}]}},"
+            + "{'term':{'c':3}}]}}}");
+        assertTrue(rewrite.apply(dsl));
+        assertEquals(object("{'query':{'bool':{'should':[{'term':{'c':3}},{'term':{'a':1}},{'term':{'b':2}}]}}}"), dsl);
+    }
+
+    @Test
+    void keepsInnerBoolWithMinimumShouldMatch() {
+        String query = "{'query':{'bool':{'must':[{'match':{'t':'a'}},"
+            + "{'bool':{'should':[{'term':{'a':1}},{'term':{'b':2}}],'minimum_should_match':1}}]}}}";
+        ObjectNode dsl = object(query);
+        assertFalse(rewrite.apply(dsl));
+        assertEquals(object(query), dsl);
+    }
+
+    @Test
+    void keepsEmptyInnerBoolNextToShould() {
+        String query = "{'query':{'bool':{'must':[{'bool':{}}],'should':[{'term':{'a':1}}]}}}";
+        ObjectNode dsl = object(query);
+        assertFalse(rewrite.apply(dsl));
+        assertEquals(object(query), dsl);
+    }
+}
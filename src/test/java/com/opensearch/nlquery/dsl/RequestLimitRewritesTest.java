@@ -0,0 +1,78 @@
+package com.opensearch.nlquery.dsl;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static com.opensearch.nlquery.TestJson.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The rewrites that set or bound top-level request parameters
+ */
+class RequestLimitRewritesTest {
+
+    @Test
+    void sizeCapSetsMissingOrLargeSize() {
+        SizeCapRewrite rewrite = new SizeCapRewrite(10);
+        for (String dsl : new String[] {"{}", "{'size':50}", "{'size':-1}", "{'size':'many'}"}) {
+            ObjectNode query = object(dsl);
+            assertTrue(rewrite.apply(query), dsl);
+            assertEquals(10, query.get("size").asInt(), dsl);
+        }
+    }
+
+    @Test
+    void sizeCapKeepsSmallerSize() {
+        ObjectNode query = object("{'size':5}");
+        assertFalse(new SizeCapRewrite(10).apply(query));
+        assertEquals(5, query.get("size").asInt());
+        assertFalse(new SizeCapRewrite(10).apply(object("{'size':10}")));
+    }
+
+    @Test
+    void trackTotalHitsBoundsUnboundedCounts() {
+        TrackTotalHitsRewrite rewrite = new TrackTotalHitsRewrite(1000);
+        for (String dsl : new String[] {"{}", "{'track_total_hits':true}", "{'track_total_hits':5000}",
+                "{'track_total_hits':-1}", "{'track_total_hits':null}"}) {
+            ObjectNode query = object(dsl);
+            assertTrue(rewrite.apply(query), dsl);
+            assertEquals(1000, query.get("track_total_hits").asInt(), dsl);
+        }
+    }
+
+    @Test
+    void trackTotalHitsKeepsFalseAndLowerBounds() {
+        TrackTotalHitsRewrite rewrite = new TrackTotalHitsRewrite(1000);
+        for (String dsl : new String[] {"{'track_total_hits':false}", "{'track_total_hits':500}"}) {
+            ObjectNode query = object(dsl);
+            assertFalse(rewrite.apply(query), dsl);
+            assertEquals(object(dsl), query);
+        }
+    }
+
+    @Test
+    void timeoutIsSetOnlyWhenMissing() {
+        TimeoutRewrite rewrite = new TimeoutRewrite("500ms");
+        ObjectNode query = object("{}");
+        assertTrue(rewrite.apply(query));
+        assertEquals("500ms", query.get("timeout").asText());
+
+        ObjectNode own = object("{'timeout':'2s'}");
+        assertFalse(rewrite.apply(own));
+        assertEquals("2s", own.get("timeout").asText());
+    }
+
+    @Test
+    void terminateAfterIsSetOnlyWhenMissing() {
+        TerminateAfterRewrite rewrite = new TerminateAfterRewrite(10000);
+        ObjectNode query = object("{}");
+        assertTrue(rewrite.apply(query));
+        assertEquals(10000, query.get("terminate_after").asLong());
+
+        ObjectNode own = object("{'terminate_after':50}");
+        assertFalse(rewrite.apply(own));
+        assertEquals(50, own.get("terminate_after").asLong());
+    }
+}
@@ -0,0 +1,93 @@
+package com.opensearch.nlquery.mapping;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static com.opensearch.nlquery.TestJson.json;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexMappingCacheTest {
+    private static final JsonNode PRODUCTS = json(
+        "{'products':{'mappings':{'properties':{'title':{'type':'text'},'price':{'type':'float'}}}}}");
+    private static final JsonNode PRODUCTS_WITH_DATE = json(
+        "{'products':{'mappings':{'properties':{'title':{'type':'text'},'price':{'type':'float'},"
+            + "'created_at':{'type':'date'}}}}}");
+
+    private JsonNode response = PRODUCTS;
+    private final List<String> changes = new ArrayList<>();
+    private final IndexMappingCache cache = new IndexMappingCache(this::fetch, 0, 20);
+
+    private JsonNode fetch(String index) throws IOException {
+        if (response == null) {
+            throw new IOException("connection refused");
+        }
+        return response;
+    }
+
+    @Test
+    void fingerprintFollowsFieldsAndTypes() {
+        String fingerprint = IndexMapping.fromMappingResponse(PRODUCTS, 20).getFingerprint();
+        assertEquals(fingerprint, IndexMapping.fromMappingResponse(PRODUCTS, 20).getFingerprint());
+        assertNotEquals(fingerprint, IndexMapping.fromMappingResponse(PRODUCTS_WITH_DATE, 20).getFingerprint());
+        assertNotEquals(fingerprint, IndexMapping.fromMappingResponse(json(
+            "{'products':{'mappings':{'properties':{'title':{'type':'keyword'},'price':{'type':'float'}}}}}"), 20)
+            .getFingerprint());
+        // The text fields picked for full-text queries change conversions too
+        assertNotEquals(fingerprint, IndexMapping.fromMappingResponse(PRODUCTS, 0).getFingerprint());
+        assertNotEquals(fingerprint, IndexMapping.EMPTY.getFingerprint());
+    }
+
+    @Test
+    void notifiesListenersWhenARefreshChangesTheMapping() {
+        cache.addChangeListener((index, mapping) -> changes.add(index + ":" + mapping.size()));
+        cache.get("products");
+
+        cache.refreshAll();
+        assertTrue(changes.isEmpty());
+
+        response = PRODUCTS_WITH_DATE;
+        cache.refreshAll();
+        assertEquals(List.of("products:3"), changes);
+        assertEquals("created_at", cache.get("products").getDefaultDateField());
+    }
+
+    @Test
+    void failedRefreshKeepsTheMappingSilently() {
+        cache.addChangeListener((index, mapping) -> changes.add(index));
+        IndexMapping mapping = cache.get("products");
+        response = null;
+        cache.refreshAll();
+        assertSame(mapping, cache.get("products"));
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void notifiesWhenAFailedFirstFetchIsReplaced() {
+        cache.addChangeListener((index, mapping) -> changes.add(index));
+        response = null;
+        assertSame(IndexMapping.EMPTY, cache.get("products"));
+        response = PRODUCTS;
+        cache.refreshAll();
+        assertEquals(List.of("products"), changes);
+        assertEquals(2, cache.get("products").size());
+    }
+
+    @Test
+    void removedListenerIsNotCalled() {
+        BiConsumer<String, IndexMapping> listener = (index, mapping) -> changes.add(index);
+        cache.addChangeListener(listener);
+        cache.removeChangeListener(listener);
+        cache.get("products");
+        response = PRODUCTS_WITH_DATE;
+        cache.refreshAll();
+        assertTrue(changes.isEmpty());
+    }
+}
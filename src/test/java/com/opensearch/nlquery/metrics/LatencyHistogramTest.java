@@ -0,0 +1,86 @@
+package com.opensearch.nlquery.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    private static final double MAX_RELATIVE_ERROR = 0.125;
+
+    @Test
+    void smallValuesGetExactBuckets() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.bucketIndex(value));
+            assertEquals(value, LatencyHistogram.bucketUpperBound(value));
+        }
+        // 16 and 17 share the first two-wide bucket
+        assertEquals(16, LatencyHistogram.bucketIndex(16));
+        assertEquals(16, LatencyHistogram.bucketIndex(17));
+        assertEquals(17, LatencyHistogram.bucketUpperBound(16));
+        assertEquals(17, LatencyHistogram.bucketIndex(18));
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        int index = 0;
+        for (long upper; (upper = LatencyHistogram.bucketUpperBound(index)) < Long.MAX_VALUE; index++) {
+            assertEquals(index, LatencyHistogram.bucketIndex(upper), "upper bound of bucket " + index);
+            assertEquals(index + 1, LatencyHistogram.bucketIndex(upper + 1), "value after bucket " + index);
+        }
+        // Buckets from 2^60 up are open-ended
+        assertEquals(LatencyHistogram.bucketIndex(1L << 60), index);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void upperBoundIsWithinTwelveAndAHalfPercent() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // Spread over nanoseconds to about a minute
+            long value = (long) Math.pow(2, random.nextDouble() * 36);
+            long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value));
+            assertTrue(upper >= value, "upper bound below " + value);
+            assertTrue(upper - value <= MAX_RELATIVE_ERROR * value, "upper bound " + upper + " for " + value);
+        }
+    }
+
+    @Test
+    void percentilesAreWithinTheBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[10_000];
+        Random random = new Random(7);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + (long) (random.nextDouble() * 50_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        double[] percentiles = {1, 50, 90, 99, 99.9};
+        long[] reported = histogram.getPercentilesNanos(percentiles);
+        for (int p = 0; p < percentiles.length; p++) {
+            long exact = values[(int) Math.ceil(values.length * percentiles[p] / 100.0) - 1];
+            assertTrue(reported[p] >= exact, "p" + percentiles[p]);
+            assertTrue(reported[p] - exact <= MAX_RELATIVE_ERROR * exact, "p" + percentiles[p]);
+        }
+        assertEquals(values[values.length - 1], histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    void tracksCountSumMaxAndCumulativeCounts() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(50));
+        histogram.record(5);
+        histogram.record(1_000);
+        histogram.record(1_000_000);
+        histogram.record(-3);
+        assertEquals(4, histogram.getCount());
+        assertEquals(1_001_005, histogram.getTotalNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertArrayEquals(new long[]{1, 2, 3, 3, 4}, histogram.getCumulativeCounts(0, 5, 1_200, 999_999, 1_200_000));
+    }
+}
@@ -0,0 +1,86 @@
+package com.opensearch.nlquery.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrometheusExporterTest {
+
+    @Test
+    void rendersCountersAndGauges() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("nlquery_requests_total", "Requests\nreceived", "path", "/search").add(3);
+        registry.counter("nlquery_requests_total", "Requests\nreceived", "path", "say \"hi\"\\").increment();
+        registry.gauge("nlquery_cache_entries", "Cached entries", () -> 12.5);
+
+        assertEquals(
+            "# HELP nlquery_cache_entries Cached entries\n"
+                + "# TYPE nlquery_cache_entries gauge\n"
+                + "nlquery_cache_entries 12.5\n"
+                + "# HELP nlquery_requests_total Requests\\nreceived\n"
+                + "# TYPE nlquery_requests_total counter\n"
+                + "nlquery_requests_total{path=\"/search\"} 3\n"
+                + "nlquery_requests_total{path=\"say \\\"hi\\\"\\\\\"} 1\n",
+            PrometheusExporter.scrape(registry));
+    }
+
+    @Test
+    void rendersHistogramBucketsAndQuantiles() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LatencyHistogram histogram = registry.histogram("nlquery_stage_latency_seconds", "Stage latency",
+            "stage", "search");
+        histogram.record(50_000);
+        histogram.record(3_000_000);
+        histogram.record(2_000_000_000);
+
+        String labels = "{stage=\"search\",";
+        assertEquals(
+            "# HELP nlquery_stage_latency_seconds Stage latency\n"
+                + "# TYPE nlquery_stage_latency_seconds histogram\n"
+                + bucket(labels, "0.0001", 1)
+                + bucket(labels, "0.00025", 1)
+                + bucket(labels, "0.0005", 1)
+                + bucket(labels, "0.001", 1)
+                + bucket(labels, "0.0025", 1)
+                + bucket(labels, "0.005", 2)
+                + bucket(labels, "0.01", 2)
+                + bucket(labels, "0.025", 2)
+                + bucket(labels, "0.05", 2)
+                + bucket(labels, "0.1", 2)
+                + bucket(labels, "0.25", 2)
+                + bucket(labels, "0.5", 2)
+                + bucket(labels, "1", 2)
+                + bucket(labels, "2.5", 3)
+                + bucket(labels, "5", 3)
+                + bucket(labels, "10", 3)
+                + bucket(labels, "30", 3)
+                + bucket(labels, "60", 3)
+                + bucket(labels, "+Inf", 3)
+                + "nlquery_stage_latency_seconds_sum{stage=\"search\"} 2.00305\n"
+                + "nlquery_stage_latency_seconds_count{stage=\"search\"} 3\n"
+                + "# HELP nlquery_stage_latency_quantile_seconds Stage latency (quantiles since start)\n"
+                + "# TYPE nlquery_stage_latency_quantile_seconds gauge\n"
+                // p50 is the upper bound of the bucket holding 3ms; the top quantiles are capped at the max
+                + "nlquery_stage_latency_quantile_seconds{stage=\"search\",quantile=\"0.5\"} 0.003145727\n"
+                + "nlquery_stage_latency_quantile_seconds{stage=\"search\",quantile=\"0.99\"} 2\n"
+                + "nlquery_stage_latency_quantile_seconds{stage=\"search\",quantile=\"0.999\"} 2\n",
+            PrometheusExporter.scrape(registry));
+    }
+
+    @Test
+    void emptyHistogramHasZeroBuckets() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.histogram("nlquery_wait", "Wait");
+        String output = PrometheusExporter.scrape(registry);
+        assertTrue(output.contains("nlquery_wait_bucket{le=\"0.0001\"} 0\n"), output);
+        assertTrue(output.contains("nlquery_wait_bucket{le=\"+Inf\"} 0\n"), output);
+        assertTrue(output.contains("nlquery_wait_count 0\n"), output);
+        assertTrue(output.contains("# TYPE nlquery_wait_quantile gauge\n"), output);
+        assertTrue(output.contains("nlquery_wait_quantile{quantile=\"0.5\"} 0\n"), output);
+    }
+
+    private static String bucket(String labels, String le, long count) {
+        return "nlquery_stage_latency_seconds_bucket" + labels + "le=\"" + le + "\"} " + count + "\n";
+    }
+}
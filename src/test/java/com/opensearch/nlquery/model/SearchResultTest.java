@@ -0,0 +1,74 @@
+package com.opensearch.nlquery.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchResultTest {
+
+    private static SearchResult result(String source) {
+        SearchResult result = new SearchResult();
+        result.setId("1");
+        result.setScore(2.0);
+        result.setRawSource(source.getBytes(StandardCharsets.UTF_8));
+        return result;
+    }
+
+    @Test
+    void decodesSourceOnceWhileMutable() {
+        SearchResult result = result("{\"title\":\"a\"}");
+        assertSame(result.getSource(), result.getSource());
+        assertEquals("a", result.getSourceField("title"));
+    }
+
+    @Test
+    void frozenResultRefusesChanges() {
+        SearchResult result = result("{\"title\":\"a\"}");
+        result.freeze();
+        assertThrows(UnsupportedOperationException.class, () -> result.setScore(1.0));
+        assertThrows(UnsupportedOperationException.class, () -> result.setId("2"));
+        assertThrows(UnsupportedOperationException.class, () -> result.setRawSource(new byte[0]));
+        assertThrows(UnsupportedOperationException.class, () -> result.setSource(Map.of()));
+        assertThrows(UnsupportedOperationException.class, () -> result.setSortValues(List.of()));
+    }
+
+    @Test
+    void freezingMakesSortValuesReadOnly() {
+        SearchResult result = result("{}");
+        result.setSortValues(new ArrayList<>(List.of(1L, "a")));
+        result.freeze();
+        assertThrows(UnsupportedOperationException.class, () -> result.getSortValues().set(0, 2L));
+        assertEquals(List.of(1L, "a"), result.getSortValues());
+    }
+
+    @Test
+    void frozenResultGivesEachCallerItsOwnSource() {
+        SearchResult result = result("{\"title\":\"a\"}");
+        result.freeze();
+        Map<String, Object> first = result.getSource();
+        first.put("title", "changed");
+        assertNotSame(first, result.getSource());
+        assertEquals("a", result.getSource().get("title"));
+    }
+
+    @Test
+    void freezingEncodesADecodedSource() {
+        SearchResult result = new SearchResult();
+        Map<String, Object> source = new HashMap<>();
+        source.put("title", "a");
+        result.setSource(source);
+        result.freeze();
+        source.put("title", "changed");
+        assertEquals("a", result.getSourceField("title"));
+        assertEquals("a", result.getSource().get("title"));
+    }
+}
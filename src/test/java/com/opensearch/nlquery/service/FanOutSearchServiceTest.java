@@ -0,0 +1,99 @@
+package com.opensearch.nlquery.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.opensearch.nlquery.model.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.opensearch.nlquery.TestJson.json;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FanOutSearchServiceTest {
+
+    private static SearchResult scored(String id, Double score) {
+        SearchResult result = new SearchResult();
+        result.setId(id);
+        result.setScore(score);
+        return result;
+    }
+
+    private static SearchResult sorted(String id, Object... sortValues) {
+        SearchResult result = new SearchResult();
+        result.setId(id);
+        result.setSortValues(Arrays.asList(sortValues));
+        return result;
+    }
+
+    private static List<String> ids(List<SearchResult> results) {
+        List<String> ids = new ArrayList<>();
+        for (SearchResult result : results) {
+            ids.add(result.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void mergesByScoreAcrossTargets() {
+        List<List<SearchResult>> hits = List.of(
+            List.of(scored("a1", 3.0), scored("a2", 1.0)),
+            List.of(scored("b1", 2.5), scored("b2", 2.0), scored("b3", 0.5)));
+        assertEquals(List.of("a1", "b1", "b2", "a2"), ids(FanOutSearchService.merge(hits, 0, 4, null)));
+    }
+
+    @Test
+    void skipsFromAfterMerging() {
+        List<List<SearchResult>> hits = List.of(
+            List.of(scored("a1", 3.0), scored("a2", 1.0)),
+            List.of(scored("b1", 2.5), scored("b2", 2.0)));
+        assertEquals(List.of("b2", "a2"), ids(FanOutSearchService.merge(hits, 2, 2, null)));
+        assertTrue(FanOutSearchService.merge(hits, 4, 2, null).isEmpty());
+    }
+
+    @Test
+    void ranksUnscoredHitsLastAndInterleavesTiesByPosition() {
+        List<List<SearchResult>> hits = List.of(
+            List.of(scored("a1", 1.0), scored("a2", null)),
+            List.of(scored("b1", 1.0), scored("b2", null)));
+        assertEquals(List.of("a1", "b1", "a2", "b2"), ids(FanOutSearchService.merge(hits, 0, 10, null)));
+    }
+
+    @Test
+    void mergesBySortValuesInEachKeysOrder() {
+        JsonNode sort = json("[{'date':{'order':'desc'}},'title']");
+        List<List<SearchResult>> hits = List.of(
+            List.of(sorted("a1", 300L, "b"), sorted("a2", 100L, "a")),
+            List.of(sorted("b1", 300L, "a"), sorted("b2", 200L, "z")));
+        assertEquals(List.of("b1", "a1", "b2", "a2"), ids(FanOutSearchService.merge(hits, 0, 4, sort)));
+    }
+
+    @Test
+    void sortsMissingValuesLastWhateverTheOrder() {
+        List<List<SearchResult>> hits = List.of(
+            List.of(sorted("a1", 5L), sorted("a2", (Object) null)),
+            List.of(sorted("b1", 7L), sorted("b2", (Object) null)));
+        assertEquals(List.of("a1", "b1", "a2", "b2"),
+            ids(FanOutSearchService.merge(hits, 0, 4, json("'price'"))));
+        assertEquals(List.of("b1", "a1", "a2", "b2"),
+            ids(FanOutSearchService.merge(hits, 0, 4, json("[{'price':'desc'}]"))));
+    }
+
+    @Test
+    void comparesMixedNumbersNumerically() {
+        List<List<SearchResult>> hits = List.of(
+            List.of(sorted("a1", 10L)),
+            List.of(sorted("b1", 9.5)));
+        assertEquals(List.of("b1", "a1"), ids(FanOutSearchService.merge(hits, 0, 2, json("['price']"))));
+    }
+
+    @Test
+    void sortsScoreDescendingByDefault() {
+        List<List<SearchResult>> hits = List.of(
+            List.of(sorted("a1", 1.0)),
+            List.of(sorted("b1", 2.0)));
+        assertEquals(List.of("b1", "a1"), ids(FanOutSearchService.merge(hits, 0, 2, json("['_score']"))));
+    }
+}
@@ -0,0 +1,150 @@
+package com.opensearch.nlquery.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.opensearch.nlquery.config.AppConfig;
+import com.opensearch.nlquery.converter.QueryConverter;
+import com.opensearch.nlquery.converter.RuleBasedQueryConverter;
+import com.opensearch.nlquery.converter.TieredQueryConverter;
+import com.opensearch.nlquery.mapping.IndexMapping;
+import com.opensearch.nlquery.mapping.IndexMappingCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.opensearch.nlquery.TestJson.json;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class NaturalLanguageQueryServiceTest {
+
+    private static AppConfig cachingConfig() {
+        AppConfig config = new AppConfig();
+        config.setConversionCacheEnabled(true);
+        config.setConversionCacheMaxEntries(100);
+        config.setConversionCacheMaxBytes(1 << 20);
+        config.setConversionCacheTtlSeconds(60);
+        return config;
+    }
+
+    @Test
+    void cachesConversions() {
+        StubLlm llm = new StubLlm();
+        NaturalLanguageQueryService service = new NaturalLanguageQueryService(cachingConfig(), llm);
+        service.convertToDSL("red shoes");
+        service.convertToDSLAsync("Red  shoes").join();
+        assertEquals(1, llm.calls.get());
+        service.close();
+    }
+
+    @Test
+    void doesNotCacheRuleFallbackWhenLlmFails() {
+        StubLlm llm = new StubLlm();
+        llm.failing.set(true);
+        TieredQueryConverter tiered = new TieredQueryConverter(
+            new RuleBasedQueryConverter(() -> IndexMapping.EMPTY), llm, 1.1);
+        NaturalLanguageQueryService service = new NaturalLanguageQueryService(cachingConfig(), tiered);
+
+        ObjectNode fallback = service.convertToDSLAsync("red shoes").join();
+        assertNotNull(fallback.get("query"));
+        assertEquals(0, service.getCacheStats().getEntryCount());
+
+        llm.failing.set(false);
+        assertEquals(StubLlm.DSL, service.convertToDSL("red shoes"));
+        assertEquals(2, llm.calls.get());
+        service.convertToDSL("red shoes");
+        assertEquals(2, llm.calls.get());
+        service.close();
+    }
+
+    @Test
+    void mappingChangeClearsCacheAndChangesKeys() {
+        AtomicReference<JsonNode> response = new AtomicReference<>(
+            json("{'products':{'mappings':{'properties':{'title':{'type':'text'}}}}}"));
+        IndexMappingCache mappingCache = new IndexMappingCache(index -> response.get(), 0, 20);
+        StubLlm llm = new StubLlm();
+        NaturalLanguageQueryService service = new NaturalLanguageQueryService(mappingConfig(), llm, mappingCache);
+
+        service.convertToDSL("red shoes");
+        service.convertToDSL("red shoes");
+        assertEquals(1, llm.calls.get());
+
+        // Unchanged mapping keeps the cache
+        mappingCache.refreshAll();
+        assertEquals(1, service.getCacheStats().getEntryCount());
+
+        response.set(json("{'products':{'mappings':{'properties':{'title':{'type':'text'},'color':{'type':'keyword'}}}}}"));
+        mappingCache.refreshAll();
+        assertEquals(0, service.getCacheStats().getEntryCount());
+        service.convertToDSL("red shoes");
+        assertEquals(2, llm.calls.get());
+        service.close();
+    }
+
+    @Test
+    void storedConversionsAreKeyedByTheMapping(@TempDir Path dir) {
+        JsonNode titleOnly = json("{'products':{'mappings':{'properties':{'title':{'type':'text'}}}}}");
+        AtomicReference<JsonNode> response = new AtomicReference<>();
+        AppConfig config = mappingConfig();
+        config.setConversionStoreEnabled(true);
+        config.setConversionStorePath(dir.resolve("conversions.log").toString());
+        StubLlm llm = new StubLlm();
+
+        // Converted while the first mapping fetch fails
+        NaturalLanguageQueryService service = new NaturalLanguageQueryService(config, llm,
+            new IndexMappingCache(index -> fetch(response), 0, 20));
+        service.convertToDSL("red shoes");
+        service.close();
+
+        response.set(titleOnly);
+        service = new NaturalLanguageQueryService(config, llm, new IndexMappingCache(index -> fetch(response), 0, 20));
+        service.convertToDSL("red shoes");
+        assertEquals(2, llm.calls.get());
+        service.close();
+
+        service = new NaturalLanguageQueryService(config, llm, new IndexMappingCache(index -> fetch(response), 0, 20));
+        service.convertToDSL("red shoes");
+        assertEquals(2, llm.calls.get());
+        service.close();
+    }
+
+    private static JsonNode fetch(AtomicReference<JsonNode> response) throws IOException {
+        if (response.get() == null) {
+            throw new IOException("connection refused");
+        }
+        return response.get();
+    }
+
+    private static AppConfig mappingConfig() {
+        AppConfig config = cachingConfig();
+        config.setDefaultIndex("products");
+        return config;
+    }
+
+    private static final class StubLlm implements QueryConverter {
+        static final ObjectNode DSL = new ObjectMapper().createObjectNode().put("size", 3);
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public ObjectNode convert(String naturalLanguageQuery) {
+            calls.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("Bedrock is down");
+            }
+            return DSL;
+        }
+
+        @Override
+        public String getFingerprint() {
+            return "stub";
+        }
+    }
+}
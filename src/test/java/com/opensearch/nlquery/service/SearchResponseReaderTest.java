@@ -0,0 +1,91 @@
+package com.opensearch.nlquery.service;
+
+import com.opensearch.nlquery.model.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.opensearch.nlquery.TestJson.bytes;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchResponseReaderTest {
+
+    private static String source(SearchResult result) {
+        return new String(result.getRawSource(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void readsHitsAndSkipsEverythingElse() throws IOException {
+        List<SearchResult> results = SearchResponseReader.read(bytes("{'took':3,'timed_out':false,"
+            + "'_shards':{'total':1,'successful':1},"
+            + "'hits':{'total':{'value':2,'relation':'eq'},'max_score':1.5,'hits':["
+            + "{'_index':'docs','_id':'1','_score':1.5,'_routing':'r','_source':{'title':'a','tags':['x',{'y':1}]},"
+            + "'highlight':{'title':['<em>a</em>']}},"
+            + "{'_index':'docs','_id':'2','_score':0.5,'_source':{}}]},"
+            + "'aggregations':{'by':{'buckets':[]}}}"));
+        assertEquals(2, results.size());
+        SearchResult first = results.get(0);
+        assertEquals("docs", first.getIndex());
+        assertEquals("1", first.getId());
+        assertEquals(1.5, first.getScore());
+        assertEquals("{\"title\":\"a\",\"tags\":[\"x\",{\"y\":1}]}", source(first));
+        assertEquals("{}", source(results.get(1)));
+    }
+
+    @Test
+    void slicesMultiByteSourcesIntact() throws IOException {
+        List<SearchResult> results = SearchResponseReader.read(bytes(
+            "{'hits':{'hits':[{'_id':'1','_source':{'title':'Café – naïve 日本'}}]}}"));
+        assertEquals("Café – naïve 日本", results.get(0).getSourceField("title"));
+    }
+
+    @Test
+    void readsMissingScoreAndSourceAsNull() throws IOException {
+        SearchResult result = SearchResponseReader.read(bytes(
+            "{'hits':{'hits':[{'_index':'docs','_id':'1','_score':null,'sort':[3]}]}}")).get(0);
+        assertNull(result.getScore());
+        assertNull(result.getRawSource());
+    }
+
+    @Test
+    void readsSortValuesByType() throws IOException {
+        SearchResult result = SearchResponseReader.read(bytes(
+            "{'hits':{'hits':[{'_id':'1','sort':[1700000000000,2.5,'abc',true,null]}]}}")).get(0);
+        assertEquals(Arrays.asList(1700000000000L, 2.5, "abc", true, null), result.getSortValues());
+    }
+
+    @Test
+    void reusesAndTrimsTheGivenResults() throws IOException {
+        List<SearchResult> results = new ArrayList<>(SearchResponseReader.read(bytes(
+            "{'hits':{'hits':[{'_id':'a','_source':{'n':1},'sort':[1]},{'_id':'b'},{'_id':'c'}]}}")));
+        SearchResult first = results.get(0);
+
+        assertSame(results, SearchResponseReader.read(bytes(
+            "{'hits':{'hits':[{'_id':'x'},{'_id':'y','_source':{'n':2}}]}}"), results));
+        assertEquals(2, results.size());
+        assertSame(first, results.get(0));
+        assertEquals("x", first.getId());
+        assertNull(first.getRawSource());
+        assertNull(first.getSortValues());
+        assertEquals("{\"n\":2}", source(results.get(1)));
+    }
+
+    @Test
+    void readsResponseWithoutHits() throws IOException {
+        assertTrue(SearchResponseReader.read(bytes("{'hits':{'total':{'value':0},'hits':[]}}")).isEmpty());
+        assertTrue(SearchResponseReader.read(bytes("{'took':1}")).isEmpty());
+    }
+
+    @Test
+    void rejectsBodyThatIsNotAnObject() {
+        assertThrows(IOException.class, () -> SearchResponseReader.read(bytes("[]")));
+    }
+}